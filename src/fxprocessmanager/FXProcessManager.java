@@ -1,28 +1,45 @@
 package fxprocessmanager;
 
 import com.sun.javafx.PlatformUtil;
+import fxprocessmanager.history.HistoryStore;
+import fxprocessmanager.host.ProcSampler;
+import fxprocessmanager.host.ProcessHost;
+import fxprocessmanager.index.InstanceFilter;
+import fxprocessmanager.index.InstanceIndex;
+import fxprocessmanager.process.InstanceSnapshot;
 import fxprocessmanager.process.Process;
 import fxprocessmanager.process.ProcessInstance;
 import fxprocessmanager.process.ProcessManager;
 import fxprocessmanager.process.ProcessPriority;
+import fxprocessmanager.process.ProcessSnapshot;
 import fxprocessmanager.process.ProcessState;
+import fxprocessmanager.server.SchedulerServer;
+import fxprocessmanager.timeline.TimelineStore;
+import fxprocessmanager.tuning.QuantumController;
+import fxprocessmanager.tuning.TuningDecision;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collection;
-import java.util.Comparator;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
+import java.util.Properties;
 import java.util.Random;
 import java.util.Set;
 import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
+import javafx.animation.Animation;
+import javafx.animation.PauseTransition;
 import javafx.application.Application;
 import javafx.application.Platform;
 import javafx.beans.binding.Bindings;
@@ -47,6 +64,7 @@ import javafx.scene.control.CheckBox;
 import javafx.scene.control.ComboBox;
 import javafx.scene.control.DialogEvent;
 import javafx.scene.control.Label;
+import javafx.scene.control.ListView;
 import javafx.scene.control.ProgressBar;
 import javafx.scene.control.SingleSelectionModel;
 import javafx.scene.control.Slider;
@@ -61,9 +79,11 @@ import javafx.scene.control.Tooltip;
 import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.input.MouseButton;
 import javafx.scene.input.MouseEvent;
+import javafx.scene.layout.GridPane;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.Priority;
 import javafx.scene.layout.VBox;
+import javafx.util.Duration;
 import javafx.stage.Stage;
 import javafx.stage.WindowEvent;
 
@@ -95,36 +115,57 @@ public class FXProcessManager extends Application {
         }
 
         private final ProcessInstance instance;
+        private final InstanceSnapshot snapshot;
         private final CheckBox checkBox;
         private final int pid;
         private final String name;
+        private final ProcessState state;
+        private final boolean paused;
         private final String stateString;
         private final String priorityString;
         private final int processTime;
         private final String isReadingString;
+        private final String cpuString;
+        private final String memoryString;
 
-        public ProcessInstanceRow(ProcessInstance instance) {
+        public ProcessInstanceRow(InstanceSnapshot snapshot) {
+            ProcessInstance instance = snapshot.getInstance();
             if (!instanceCheckBoxes.containsKey(instance)) {
                 instanceCheckBoxes.put(instance, new CheckBox());
             }
             this.instance = instance;
+            this.snapshot = snapshot;
             this.checkBox = instanceCheckBoxes.get(instance);
-            this.pid = instance.getPID();
-            this.name = instance.getProcess().getName();
-            this.stateString = getLocaleStateString(instance.info.getState());
-            this.priorityString = getLocalePriorityString(instance.getPriority());
-            this.processTime = instance.getProcessTime();
-            if (instance.info.isReading()) {
+            this.pid = snapshot.getPID();
+            this.name = snapshot.getProcess().getName();
+            this.state = snapshot.getState();
+            this.paused = snapshot.isPaused();
+            this.stateString = getLocaleStateString(state);
+            if (snapshot.getEffectivePriority() != snapshot.getPriority()) {
+                this.priorityString = getLocalePriorityString(snapshot.getPriority()) + " (" + getLocalePriorityString(snapshot.getEffectivePriority()) + ")";
+            } else {
+                this.priorityString = getLocalePriorityString(snapshot.getPriority());
+            }
+            this.processTime = snapshot.getProcessTime();
+            if (snapshot.isReading()) {
                 this.isReadingString = "Sí";
             } else {
                 this.isReadingString = "No";
             }
+            int cpu = snapshot.getCpuUsage();
+            long memory = snapshot.getResidentMemory();
+            this.cpuString = cpu < 0 ? "-" : String.format("%.1f %%", cpu / 10.0);
+            this.memoryString = memory < 0 ? "-" : String.format("%.1f MiB", memory / 1024.0);
         }
 
         public ProcessInstance getInstance() {
             return instance;
         }
 
+        public InstanceSnapshot getSnapshot() {
+            return snapshot;
+        }
+
         public CheckBox getCheckBox() {
             return checkBox;
         }
@@ -133,6 +174,14 @@ public class FXProcessManager extends Application {
             return pid;
         }
 
+        public ProcessState getState() {
+            return state;
+        }
+
+        public boolean isPaused() {
+            return paused;
+        }
+
         public String getName() {
             return name;
         }
@@ -152,6 +201,14 @@ public class FXProcessManager extends Application {
         public String getIsReadingString() {
             return isReadingString;
         }
+
+        public String getCpuString() {
+            return cpuString;
+        }
+
+        public String getMemoryString() {
+            return memoryString;
+        }
     }
 
     private static final class ProcessInstanceRowSelectionTableCell extends TableCell<ProcessInstanceRow, CheckBox> {
@@ -168,12 +225,21 @@ public class FXProcessManager extends Application {
     }
 
     private static final Random random = new Random();
+    private static final int CATALOG_CHUNK = 512;
+    private static final long HISTORY_REFRESH = 250;
     private final FXProcessManagerState state;
-    private final ProcessManager pm;
+    private final SimpleBooleanProperty loading;
+    private ProcessManager pm;
     private VBox root;
     private ObservableList<Node> children;
     private ObservableList<String> processNames;
     private ArrayList<Integer> processIndices;
+    private Label catalogLabel;
+    private SchedulerServer server;
+    private ProcessHost host;
+    private Properties hostCommands;
+    private ProcSampler sampler;
+    private boolean closed;
 
     public FXProcessManager() throws Exception {
         super();
@@ -194,8 +260,10 @@ public class FXProcessManager extends Application {
             dir.mkdir();
         }
         file = dirPath.resolve("state").toFile();
-        this.state = new FXProcessManagerState(file);
-        this.pm = this.state.getProcessManager();
+        this.state = new FXProcessManagerState(file, false);
+        this.loading = new SimpleBooleanProperty(true);
+        this.hostCommands = null;
+        this.closed = false;
     }
 
     @Override
@@ -203,15 +271,150 @@ public class FXProcessManager extends Application {
         root = new VBox();
         children = this.root.getChildren();
         initProcessListPane();
-        initActiveProcessesPane();
-        initOptionsPane();
 
         Scene scene = new Scene(root, 960, 720);
         primaryStage.setTitle("FXProcessManager");
         primaryStage.setScene(scene);
-        primaryStage.setOnCloseRequest((WindowEvent event) -> pm.destroy());
+        primaryStage.setOnCloseRequest((WindowEvent event) -> {
+            closed = true;
+            if (server != null) {
+                try {
+                    server.close();
+                } catch (IOException ex) {
+                    Logger.getLogger(FXProcessManager.class.getName()).log(Level.SEVERE, null, ex);
+                }
+            }
+            if (sampler != null) {
+                sampler.close();
+            }
+            if (host != null) {
+                host.close();
+            }
+            if (pm != null) {
+                pm.destroy();
+            }
+        });
         primaryStage.show();
         root.requestFocus();
+        loadCatalog();
+    }
+
+    private void attach(ProcessManager manager) {
+        if (closed) {
+            manager.destroy();
+            return;
+        }
+
+        pm = manager;
+        pm.setWatcherExecutor(Platform::runLater);
+        initActiveProcessesPane();
+        initTimelinePane();
+        initHistoryPane();
+        initOptionsPane();
+        initHost();
+    }
+
+    private void loadCatalog() {
+        ConcurrentLinkedQueue<Process[]> pending = new ConcurrentLinkedQueue<>();
+        AtomicBoolean scheduled = new AtomicBoolean(false);
+        Runnable drain = () -> {
+            scheduled.set(false);
+            ArrayList<String> names = new ArrayList<>();
+            Process[] chunk;
+            while ((chunk = pending.poll()) != null) {
+                for (Process p : chunk) {
+                    processIndices.add(processIndices.size());
+                    names.add(p.getName());
+                    bindHost(p);
+                }
+            }
+            processNames.addAll(names);
+            catalogLabel.setText("Cargando catálogo… (" + processNames.size() + ")");
+        };
+
+        Thread loader = new Thread(() -> {
+            ProcessManager manager = state.getProcessManager();
+            Platform.runLater(() -> attach(manager));
+            try {
+                state.loadProcesses(CATALOG_CHUNK, chunk -> {
+                    pending.add(chunk);
+                    if (scheduled.compareAndSet(false, true)) {
+                        Platform.runLater(drain);
+                    }
+                });
+            } catch (IOException | RuntimeException ex) {
+                Logger.getLogger(FXProcessManager.class.getName()).log(Level.SEVERE, null, ex);
+            }
+            Platform.runLater(() -> {
+                if (closed) {
+                    return;
+                }
+                drain.run();
+                if (!state.isLoaded()) {
+                    catalogLabel.setText("No se pudo cargar el catálogo");
+                    return;
+                }
+                loading.set(false);
+                initServer();
+            });
+        }, "catalog-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    private void initServer() {
+        String listen = getParameters().getNamed().get("listen");
+        if (listen == null) {
+            return;
+        }
+
+        try {
+            server = new SchedulerServer(pm, state.getProcesses(), Integer.parseInt(listen));
+            server.start();
+        } catch (IOException | IllegalArgumentException ex) {
+            Logger.getLogger(FXProcessManager.class.getName()).log(Level.SEVERE, null, ex);
+        }
+    }
+
+    private void initHost() {
+        Map<String, String> named = getParameters().getNamed();
+        String config = named.get("host");
+        if (config == null) {
+            return;
+        }
+
+        Properties commands = new Properties();
+        try (InputStream in = new FileInputStream(config)) {
+            commands.load(in);
+        } catch (IOException ex) {
+            Logger.getLogger(FXProcessManager.class.getName()).log(Level.SEVERE, "Cannot read host commands from " + config, ex);
+            return;
+        }
+
+        hostCommands = commands;
+        host = new ProcessHost(pm);
+        for (Process p : state.getProcesses()) {
+            bindHost(p);
+        }
+        sampler = new ProcSampler(host);
+        try {
+            String sample = named.get("sample");
+            sampler.start(sample == null ? ProcSampler.DEFAULT_INTERVAL : Long.parseLong(sample));
+        } catch (IllegalArgumentException ex) {
+            Logger.getLogger(FXProcessManager.class.getName()).log(Level.SEVERE, null, ex);
+            sampler.start();
+        }
+    }
+
+    private void bindHost(Process process) {
+        if (host == null) {
+            return;
+        }
+
+        String command = hostCommands.getProperty(process.getName());
+        if (command != null && !command.trim().isEmpty()) {
+            host.bind(process, command.trim().split("\\s+"));
+        }
     }
 
     private void initProcessListPane() {
@@ -220,19 +423,16 @@ public class FXProcessManager extends Application {
         TitledPane titledPane = new TitledPane("Lista de procesos", vbox);
 
         Label label = new Label("Procesos");
-        Process[] processes = state.getProcesses();
         processIndices = new ArrayList<>();
-        for (int i = 0; i < processes.length; i++) {
-            processIndices.add(i);
-        }
-        processNames = FXCollections.observableArrayList(
-            Arrays.stream(processes).map(p -> p.getName()).collect(Collectors.toList())
-        );
+        processNames = FXCollections.observableArrayList();
         ComboBox comboBox = new ComboBox(processNames);
         SingleSelectionModel selectionModel = comboBox.getSelectionModel();
         comboBox.setPromptText("Seleccione un proceso");
         comboBox.setMaxWidth(Double.MAX_VALUE);
-        HBox hbox1 = new HBox(label, comboBox);
+        catalogLabel = new Label("Cargando catálogo…");
+        catalogLabel.visibleProperty().bind(loading);
+        catalogLabel.managedProperty().bind(loading);
+        HBox hbox1 = new HBox(label, comboBox, catalogLabel);
         hbox1.setPadding(new Insets(10));
         hbox1.setSpacing(10);
         hbox1.setAlignment(Pos.CENTER_LEFT);
@@ -247,18 +447,22 @@ public class FXProcessManager extends Application {
                 return;
             }
 
+            if (pm == null) {
+                return;
+            }
             int processIndex = processIndices.get(index);
-            ProcessInstance instance = pm.start(
+            pm.start(
                 state.getProcess(processIndex),
                 ProcessPriority.getValue(random.nextInt(ProcessPriority.count)),
                 100 + random.nextInt(201),
-                10 + random.nextInt(41)
+                10 + random.nextInt(41),
+                random.nextBoolean()
             );
-            instance.info.setReadState(random.nextBoolean());
         });
 
         Button btn2 = new Button("Añadir proceso");
         btn2.setMinWidth(100);
+        btn2.disableProperty().bind(loading);
         TextInputDialog dialog = new TextInputDialog();
         dialog.setContentText("Nombre del proceso");
         dialog.setHeaderText("Añadir proceso");
@@ -277,6 +481,7 @@ public class FXProcessManager extends Application {
 
             Process proc = new Process(name);
             state.addProcess(proc);
+            bindHost(proc);
             processNames.add(name);
             processIndices.add(state.getProcessCount() - 1);
             try {
@@ -288,7 +493,7 @@ public class FXProcessManager extends Application {
 
         Button btn3 = new Button("Eliminar");
         btn3.setMinWidth(100);
-        btn3.disableProperty().bind(comboBox.valueProperty().isNull());
+        btn3.disableProperty().bind(comboBox.valueProperty().isNull().or(loading));
         btn3.setOnAction((ActionEvent event) -> {
             int index = selectionModel.getSelectedIndex();
             if (index == -1) {
@@ -317,6 +522,34 @@ public class FXProcessManager extends Application {
     private void initActiveProcessesPane() {
         VBox vbox = new VBox();
         TitledPane titledPane = new TitledPane("Procesos activos", vbox);
+        HBox filters = new HBox();
+        filters.setPadding(new Insets(10, 15, 10, 15));
+        filters.setSpacing(10);
+        filters.setAlignment(Pos.CENTER_LEFT);
+        ComboBox<String> stateFilter = new ComboBox<>();
+        stateFilter.getItems().add("Todos los estados");
+        for (ProcessState s : ProcessState.values()) {
+            stateFilter.getItems().add(ProcessInstanceRow.getLocaleStateString(s));
+        }
+        stateFilter.getSelectionModel().select(0);
+        ComboBox<String> priorityFilter = new ComboBox<>();
+        priorityFilter.getItems().add("Todas las prioridades");
+        for (ProcessPriority p : ProcessPriority.values()) {
+            priorityFilter.getItems().add(ProcessInstanceRow.getLocalePriorityString(p));
+        }
+        priorityFilter.getSelectionModel().select(0);
+        TextField nameFilter = new TextField();
+        nameFilter.setPromptText("Nombre");
+        CheckBox pausedFilter = new CheckBox("Pausado");
+        pausedFilter.setAllowIndeterminate(true);
+        pausedFilter.setIndeterminate(true);
+        CheckBox readingFilter = new CheckBox("Interacción");
+        readingFilter.setAllowIndeterminate(true);
+        readingFilter.setIndeterminate(true);
+        filters.getChildren().addAll(stateFilter, priorityFilter, nameFilter, pausedFilter, readingFilter);
+        InstanceIndex index = new InstanceIndex();
+        InstanceFilter filter = new InstanceFilter();
+        Map<Integer, ProcessInstanceRow> rowCache = new HashMap<>();
         TableView<ProcessInstanceRow> procTable = new TableView<>();
         procTable.setRowFactory(row -> new TableRow<ProcessInstanceRow>() {
             @Override
@@ -328,9 +561,8 @@ public class FXProcessManager extends Application {
                 }
 
                 String color = null;
-                ProcessInstance instance = item.getInstance();
-                if (instance.info.getState() != null) {
-                    switch (instance.info.getState()) {
+                if (item.getState() != null) {
+                    switch (item.getState()) {
                         case INACTIVE:
                             color = "#c7c7c7";
                             break;
@@ -352,7 +584,7 @@ public class FXProcessManager extends Application {
                 if (color != null) {
                     style += "-fx-background-color: " + color + ";";
                 }
-                if (pm.isPaused(instance)) {
+                if (item.isPaused()) {
                     style += "-fx-opacity: 0.75;";
                 }
             }
@@ -420,6 +652,10 @@ public class FXProcessManager extends Application {
         ptimeColumn.setCellValueFactory(new PropertyValueFactory<>("processTime"));
         TableColumn inputColumn = new TableColumn("Interacción");
         inputColumn.setCellValueFactory(new PropertyValueFactory<>("isReadingString"));
+        TableColumn<ProcessInstanceRow, String> cpuColumn = new TableColumn<>("CPU");
+        cpuColumn.setCellValueFactory(new PropertyValueFactory<>("cpuString"));
+        TableColumn<ProcessInstanceRow, String> memoryColumn = new TableColumn<>("Memoria (RSS)");
+        memoryColumn.setCellValueFactory(new PropertyValueFactory<>("memoryString"));
         procTable.getColumns().addAll(
             checkboxColumn,
             pidColumn,
@@ -427,7 +663,9 @@ public class FXProcessManager extends Application {
             stateColumn,
             priorityColumn,
             ptimeColumn,
-            inputColumn
+            inputColumn,
+            cpuColumn,
+            memoryColumn
         );
         int columnCount = procTable.getColumns().size();
         procTable.getColumns().forEach(c -> {
@@ -479,20 +717,19 @@ public class FXProcessManager extends Application {
                 boolean allPausable = false;
                 boolean allResumable = false;
                 for (ProcessInstanceRow row : selectionSet) {
-                    ProcessInstance instance = row.getInstance();
                     if (!allPausable && !allResumable) {
-                        if (!pm.isPaused(instance)) {
+                        if (!row.isPaused()) {
                             allPausable = true;
                         } else {
                             allResumable = true;
                         }
                     } else if (allPausable) {
-                        if (pm.isPaused(instance)) {
+                        if (row.isPaused()) {
                             allPausable = false;
                             break;
                         }
                     } else {
-                        if (!pm.isPaused(instance)) {
+                        if (!row.isPaused()) {
                             allResumable = false;
                             break;
                         }
@@ -542,14 +779,48 @@ public class FXProcessManager extends Application {
         progressPane.getChildren().addAll(progressLabel, progressBar);
         controls.getChildren().addAll(btn1, btn2, btn3, progressPane);
 
+        Runnable refreshRows = () -> {
+            ProcessSnapshot snapshot = index.getSnapshot();
+            if (snapshot == null) {
+                return;
+            }
+            int[] pids = filter.isEmpty() ? null : index.select(filter);
+            InstanceSnapshot[] ordered = pids == null ? snapshot.ordered() : snapshot.ordered(pids, pids.length);
+            ObservableList<ProcessInstanceRow> rows = procTable.getItems();
+            Collection<ProcessInstanceRow> newItems = new ArrayList<>(ordered.length);
+            for (InstanceSnapshot si : ordered) {
+                ProcessInstanceRow row = rowCache.get(si.getPID());
+                if (row == null || row.getSnapshot() != si) {
+                    row = new ProcessInstanceRow(si);
+                    rowCache.put(si.getPID(), row);
+                }
+                newItems.add(row);
+            }
+            Collection<ProcessInstanceRow> selectedRows = newItems.stream()
+                    .filter(r -> r.getCheckBox().isSelected())
+                    .collect(Collectors.toList());
+            rows.setAll(newItems);
+            selectionSet.clear();
+            selectionSet.addAll(selectedRows);
+        };
+        Runnable refreshFilter = () -> {
+            int stateIndex = stateFilter.getSelectionModel().getSelectedIndex();
+            int priorityIndex = priorityFilter.getSelectionModel().getSelectedIndex();
+            filter.setStates(stateIndex <= 0 ? null : EnumSet.of(ProcessState.values()[stateIndex - 1]));
+            filter.setPriorities(priorityIndex <= 0 ? null : EnumSet.of(ProcessPriority.getValue(priorityIndex - 1)));
+            filter.setNamePrefix(nameFilter.getText());
+            filter.setPaused(pausedFilter.isIndeterminate() ? null : pausedFilter.isSelected());
+            filter.setReading(readingFilter.isIndeterminate() ? null : readingFilter.isSelected());
+            refreshRows.run();
+        };
+
         pm.watch((Set<ProcessState> changes) -> {
-            ObservableList<ProcessInstance> instances = FXCollections.observableArrayList();
-            ProcessInstance executingInstance = pm.getExecutingInstance();
+            ProcessSnapshot snapshot = pm.getSnapshot();
+            InstanceSnapshot executingInstance = snapshot.getExecuting();
             if (executingInstance != null) {
                 double progress = executingInstance.getProgress();
-                int executed = executingInstance.info.getExecuted();
+                int executed = executingInstance.getExecuted();
                 int total = executingInstance.getProcessTime();
-                instances.add(executingInstance);
                 progressBar.setProgress(progress);
                 Tooltip.install(progressBar, progressTooltip);
                 progressTooltip.setText(Integer.toString(executed) + " / " + Integer.toString(total));
@@ -558,32 +829,104 @@ public class FXProcessManager extends Application {
                 progressBar.setTooltip(null);
                 Tooltip.uninstall(progressBar, progressTooltip);
             }
-            instances.addAll(
-                pm.collections.get(ProcessState.READY)
-                    .stream()
-                    .sorted(ProcessManager.hashComparator)
-                    .collect(Collectors.toList())
-            );
-            instances.addAll(pm.collections.get(ProcessState.SUSPENDED));
-            instances.addAll(pm.collections.get(ProcessState.INACTIVE));
-            ObservableList<ProcessInstanceRow> rows = procTable.getItems();
-            Collection<ProcessInstanceRow> newItems = instances.stream()
-                    .sorted(Comparator.comparing(ProcessInstance::getPID))
-                    .map(pi -> new ProcessInstanceRow(pi))
-                    .collect(Collectors.toList());
-            Collection<ProcessInstanceRow> selectedRows = newItems.stream()
-                    .filter(r -> r.getCheckBox().isSelected())
-                    .collect(Collectors.toList());
-            rows.setAll(newItems);
-            selectionSet.clear();
-            selectionSet.addAll(selectedRows);
+            index.update(snapshot, (before, after) -> {
+                if (after == null) {
+                    rowCache.remove(before.getPID());
+                }
+            });
+            refreshRows.run();
         });
 
-        vbox.getChildren().addAll(procTable, controls);
+        stateFilter.setOnAction(event -> refreshFilter.run());
+        priorityFilter.setOnAction(event -> refreshFilter.run());
+        nameFilter.textProperty().addListener((ObservableValue<? extends String> observable, String oldValue, String newValue) -> refreshFilter.run());
+        pausedFilter.setOnAction(event -> refreshFilter.run());
+        readingFilter.setOnAction(event -> refreshFilter.run());
+
+        vbox.getChildren().addAll(filters, procTable, controls);
         vbox.setPadding(Insets.EMPTY);
         this.children.add(titledPane);
     }
 
+    private void initTimelinePane() {
+        TimelineStore timeline = new TimelineStore(1 << 22, 1 << 22);
+        TimelineView timelineView = new TimelineView(timeline, pm);
+        TitledPane titledPane = new TitledPane("Línea de tiempo", timelineView);
+        titledPane.setExpanded(false);
+        titledPane.expandedProperty().addListener((ObservableValue<? extends Boolean> observable, Boolean oldValue, Boolean newValue) -> {
+            if (newValue) {
+                timelineView.refresh();
+            }
+        });
+        pm.listen(timeline);
+        pm.watch((Set<ProcessState> changes) -> {
+            if (titledPane.isExpanded()) {
+                timelineView.refresh();
+            }
+        });
+        this.children.add(titledPane);
+    }
+
+    private void initHistoryPane() {
+        HistoryStore history = new HistoryStore(1 << 20, 7L * 24 * 60 * 60 * 1000);
+        pm.listen(history);
+
+        VBox vbox = new VBox();
+        vbox.setPadding(new Insets(10));
+        vbox.setSpacing(10);
+        TitledPane titledPane = new TitledPane("Historial", vbox);
+        titledPane.setExpanded(false);
+        GridPane grid = new GridPane();
+        grid.setHgap(20);
+        grid.setVgap(5);
+        String[] headers = {"Prioridad", "Completados", "Detenidos", "Retorno medio", "Espera media"};
+        for (int i = 0; i < headers.length; i++) {
+            grid.add(new Label(headers[i]), i, 0);
+        }
+        ProcessPriority[] priorities = ProcessPriority.values();
+        Label[][] cells = new Label[priorities.length][headers.length - 1];
+        for (int i = 0; i < priorities.length; i++) {
+            grid.add(new Label(ProcessInstanceRow.getLocalePriorityString(priorities[i])), 0, i + 1);
+            for (int j = 0; j < cells[i].length; j++) {
+                cells[i][j] = new Label();
+                grid.add(cells[i][j], j + 1, i + 1);
+            }
+        }
+        Label summary = new Label();
+        ListView<String> completions = new ListView<>();
+        completions.setPrefHeight(120);
+        vbox.getChildren().addAll(grid, summary, completions);
+
+        Runnable refresh = () -> {
+            for (int i = 0; i < priorities.length; i++) {
+                cells[i][0].setText(Long.toString(history.getCompleted(priorities[i])));
+                cells[i][1].setText(Long.toString(history.getStopped(priorities[i])));
+                cells[i][2].setText(String.format("%.1f", history.getAverageTurnaround(priorities[i])));
+                cells[i][3].setText(String.format("%.1f", history.getAverageWait(priorities[i])));
+            }
+            summary.setText(String.format("%d registros, %d bloques, %.1f KiB", history.size(), history.getChunkCount(), history.getEncodedBytes() / 1024.0));
+            Map<Process, Long> counts = history.getGroupCompletions();
+            ArrayList<String> lines = new ArrayList<>(counts.size());
+            for (Map.Entry<Process, Long> entry : counts.entrySet()) {
+                lines.add(entry.getKey().getName() + ": " + entry.getValue());
+            }
+            completions.getItems().setAll(lines);
+        };
+        PauseTransition throttle = new PauseTransition(Duration.millis(HISTORY_REFRESH));
+        throttle.setOnFinished(event -> refresh.run());
+        titledPane.expandedProperty().addListener((ObservableValue<? extends Boolean> observable, Boolean oldValue, Boolean newValue) -> {
+            if (newValue) {
+                refresh.run();
+            }
+        });
+        pm.watch((Set<ProcessState> changes) -> {
+            if (titledPane.isExpanded() && throttle.getStatus() != Animation.Status.RUNNING) {
+                throttle.playFromStart();
+            }
+        });
+        this.children.add(titledPane);
+    }
+
     public void initOptionsPane() {
         VBox vbox = new VBox();
         TitledPane titledPane = new TitledPane("Opciones", vbox);
@@ -653,7 +996,34 @@ public class FXProcessManager extends Application {
         deltaSlider.valueProperty().addListener((ObservableValue<? extends Number> observable, Number oldValue, Number newValue) -> {
             pm.setDelta(newValue.intValue());
         });
-        deltaContainer.getChildren().addAll(deltaLabel, deltaSlider);
+        CheckBox autoDeltaCheckBox = new CheckBox("Ajuste automático");
+        Label tuningLabel = new Label();
+        QuantumController[] controller = new QuantumController[1];
+        autoDeltaCheckBox.setOnAction(event -> {
+            if (autoDeltaCheckBox.isSelected()) {
+                controller[0] = new QuantumController(pm);
+                controller[0].setRange((int) deltaSlider.getMin(), (int) deltaSlider.getMax());
+            } else if (controller[0] != null) {
+                controller[0].close();
+                controller[0] = null;
+                pm.setDelta((int) deltaSlider.getValue());
+                tuningLabel.setText("");
+            }
+            deltaSlider.setDisable(autoDeltaCheckBox.isSelected());
+        });
+        pm.watch((Set<ProcessState> changes) -> {
+            if (controller[0] == null) {
+                return;
+            }
+            TuningDecision decision = controller[0].getLastDecision();
+            deltaSlider.setValue(pm.getDelta());
+            if (decision != null) {
+                tuningLabel.setText(String.format("%d → %d (%s, retorno %.1f, %.2f cambios/proceso)",
+                    decision.getPreviousDelta(), decision.getDelta(), decision.getReason(),
+                    decision.getAverageTurnaround(), decision.getSwitchesPerCompletion()));
+            }
+        });
+        deltaContainer.getChildren().addAll(deltaLabel, deltaSlider, autoDeltaCheckBox, tuningLabel);
         vbox.getChildren().addAll(timeContainer, deltaContainer);
         this.children.add(titledPane);
     }
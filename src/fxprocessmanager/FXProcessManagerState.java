@@ -1,72 +1,120 @@
 package fxprocessmanager;
 
+import fxprocessmanager.jfr.StateSaveEvent;
 import fxprocessmanager.process.Process;
 import fxprocessmanager.process.ProcessManager;
+import java.io.BufferedInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.function.Consumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 public class FXProcessManagerState {
+    private static final int BUFFER_SIZE = 1 << 16;
+
     private final File file;
     private final ArrayList<Process> processes;
-    private final ProcessManager pm;
+    private ProcessManager pm;
+    private volatile boolean loaded;
 
     public FXProcessManagerState(File file) {
+        this(file, true);
+    }
+
+    public FXProcessManagerState(File file, boolean load) {
         this.file = file;
         this.processes = new ArrayList<>();
-        this.pm = new ProcessManager(5);
-        try {
-            this.loadData();
-        } catch (IOException ex) {
-            Logger.getLogger(FXProcessManagerState.class.getName()).log(Level.SEVERE, null, ex);
+        this.pm = null;
+        this.loaded = false;
+        if (load) {
+            try {
+                this.loadProcesses(Integer.MAX_VALUE, null);
+            } catch (IOException ex) {
+                Logger.getLogger(FXProcessManagerState.class.getName()).log(Level.SEVERE, null, ex);
+            }
         }
     }
 
-    private void loadData() throws IOException {
-        try {
-            FileInputStream fis = new FileInputStream(file);
-            int header = -1;
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public void loadProcesses(int chunkSize, Consumer<Process[]> chunks) throws IOException {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be a positive integer");
+        }
+        if (loaded) {
+            throw new IllegalStateException("Process catalog is already loaded");
+        }
+
+        ArrayList<Process> chunk = new ArrayList<>(Math.min(chunkSize, 1024));
+        try (InputStream in = new BufferedInputStream(new FileInputStream(file), BUFFER_SIZE)) {
             int b;
+            while ((b = in.read()) != -1) {
+                if (b != 0x00) {
+                    break;
+                }
 
-            while ((b = fis.read()) != -1) {
-                if (header == -1) {
-                    header = b;
-                    continue;
+                int high = in.read();
+                int low = in.read();
+                if (high == -1 || low == -1) {
+                    this.throwInvalidFormatException();
                 }
 
-                if (header == 0x00) {
-                    int count = ((int) b) << 8;
-                    b = fis.read();
-                    if (b == -1) {
+                int count = (high << 8) | low;
+                byte[] processNameBytes = new byte[255];
+                for (int i = 0; i < count; i++) {
+                    int length = in.read();
+                    if (length == -1) {
                         this.throwInvalidFormatException();
                     }
 
-                    count |= b;
-                    for (int i = 0; i < count; i++) {
-                        int length = fis.read();
-                        if (length == -1) {
-                            this.throwInvalidFormatException();
-                        }
-
-                        byte[] processNameBytes = new byte[length];
-                        if (fis.read(processNameBytes) == -1) {
+                    int read = 0;
+                    while (read < length) {
+                        int n = in.read(processNameBytes, read, length - read);
+                        if (n == -1) {
                             this.throwInvalidFormatException();
                         }
-
-                        Process p = new Process(new String(processNameBytes));
-                        processes.add(p);
+                        read += n;
                     }
 
-                    header = -1;
+                    chunk.add(new Process(new String(processNameBytes, 0, length)));
+                    if (chunk.size() == chunkSize) {
+                        publish(chunk, chunks);
+                    }
                 }
             }
-        } catch (FileNotFoundException | IllegalArgumentException ex) {
+            publish(chunk, chunks);
+            loaded = true;
+        } catch (FileNotFoundException ex) {
+            file.createNewFile();
+            loaded = true;
+        } catch (IllegalArgumentException ex) {
             file.createNewFile();
+        } finally {
+            publish(chunk, chunks);
+        }
+    }
+
+    private void publish(ArrayList<Process> chunk, Consumer<Process[]> chunks) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+
+        Process[] arr = chunk.toArray(new Process[chunk.size()]);
+        chunk.clear();
+        synchronized (this) {
+            processes.addAll(Arrays.asList(arr));
+        }
+        if (chunks != null) {
+            chunks.accept(arr);
         }
     }
 
@@ -74,53 +122,70 @@ public class FXProcessManagerState {
         throw new IOException("Invalid file format");
     }
 
-    public void saveState() throws IOException {
+    public synchronized void saveState() throws IOException {
+        if (!loaded) {
+            throw new IllegalStateException("Process catalog cannot be saved before it is loaded");
+        }
         if (!file.exists()) {
             file.createNewFile();
         }
 
-        try {
-            int size = processes.size();
-            FileOutputStream fos = new FileOutputStream(file);
+        StateSaveEvent event = new StateSaveEvent();
+        event.begin();
+        int size = processes.size();
+        long bytes = 0;
+        try (FileOutputStream fos = new FileOutputStream(file)) {
             fos.write(0x00);
             fos.write((size >> 8) & 255);
             fos.write(size & 255);
+            bytes += 3;
             for (Process p : processes) {
                 String name = p.getName();
-                fos.write(name.length());
-                fos.write(name.getBytes());
+                byte[] nameBytes = name.getBytes();
+                fos.write(nameBytes.length);
+                fos.write(nameBytes);
+                bytes += 1 + nameBytes.length;
             }
         } catch (FileNotFoundException ex) {
             Logger.getLogger(FXProcessManagerState.class.getName()).log(Level.SEVERE, null, ex);
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.set(file.getPath(), size, bytes);
+                event.commit();
+            }
         }
     }
 
-    public boolean addProcess(Process proc) {
+    public synchronized boolean addProcess(Process proc) {
         return this.processes.add(proc);
     }
 
-    public boolean removeProcess(Process proc) {
+    public synchronized boolean removeProcess(Process proc) {
         return this.processes.remove(proc);
     }
 
-    public Process removeProcess(int index) {
+    public synchronized Process removeProcess(int index) {
         return this.processes.remove(index);
     }
 
-    public Process[] getProcesses() {
+    public synchronized Process[] getProcesses() {
         Process[] arr = new Process[processes.size()];
         return processes.toArray(arr);
     }
 
-    public Process getProcess(int index) {
+    public synchronized Process getProcess(int index) {
         return processes.get(index);
     }
 
-    public int getProcessCount() {
+    public synchronized int getProcessCount() {
         return processes.size();
     }
 
-    public ProcessManager getProcessManager() {
+    public synchronized ProcessManager getProcessManager() {
+        if (pm == null) {
+            pm = new ProcessManager(5);
+        }
         return pm;
     }
 }
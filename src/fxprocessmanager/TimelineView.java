@@ -0,0 +1,263 @@
+package fxprocessmanager;
+
+import fxprocessmanager.process.ProcessManager;
+import fxprocessmanager.process.ProcessState;
+import fxprocessmanager.timeline.TimelineStore;
+import java.util.Arrays;
+import javafx.geometry.Orientation;
+import javafx.geometry.VPos;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.control.ScrollBar;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.input.ScrollEvent;
+import javafx.scene.layout.Region;
+import javafx.scene.paint.Color;
+import javafx.scene.text.TextAlignment;
+
+public final class TimelineView extends Region {
+    private static final double GUTTER = 48;
+    private static final double AXIS = 18;
+    private static final double ROW_HEIGHT = 14;
+    private static final double MIN_TICKS_PER_PIXEL = 1.0 / 32;
+    private static final double MAX_TICKS_PER_PIXEL = 1 << 16;
+    private static final Color[] colors = {
+        Color.web("#c7c7c7"),
+        Color.web("#c5e1a5"),
+        Color.web("#8bc34a"),
+        Color.web("#bbdefb")
+    };
+    private static final byte[] ranks = {1, 2, 4, 3};
+    private static final ProcessState[] byRank = {null, ProcessState.INACTIVE, ProcessState.READY, ProcessState.SUSPENDED, ProcessState.EXECUTING};
+
+    private final TimelineStore store;
+    private final ProcessManager pm;
+    private final Canvas canvas;
+    private final ScrollBar hbar;
+    private final ScrollBar vbar;
+    private double viewStart;
+    private double ticksPerPixel;
+    private int firstPid;
+    private boolean follow;
+    private boolean updating;
+    private byte[][] columns;
+    private double dragX;
+    private double dragY;
+
+    public TimelineView(TimelineStore store, ProcessManager pm) {
+        if (store == null) {
+            throw new IllegalArgumentException("Timeline store cannot be null");
+        }
+        if (pm == null) {
+            throw new IllegalArgumentException("Process manager cannot be null");
+        }
+
+        this.store = store;
+        this.pm = pm;
+        this.canvas = new Canvas();
+        this.hbar = new ScrollBar();
+        this.vbar = new ScrollBar();
+        this.viewStart = 0;
+        this.ticksPerPixel = 1.0 / 8;
+        this.firstPid = 1;
+        this.follow = true;
+        this.updating = false;
+        this.columns = new byte[0][];
+
+        hbar.setOrientation(Orientation.HORIZONTAL);
+        vbar.setOrientation(Orientation.VERTICAL);
+        vbar.setMin(1);
+        hbar.valueProperty().addListener((observable, oldValue, newValue) -> {
+            if (updating) {
+                return;
+            }
+            viewStart = newValue.doubleValue();
+            follow = viewStart >= hbar.getMax() - 1;
+            draw();
+        });
+        vbar.valueProperty().addListener((observable, oldValue, newValue) -> {
+            if (updating) {
+                return;
+            }
+            firstPid = Math.max(1, newValue.intValue());
+            follow = false;
+            draw();
+        });
+        canvas.addEventHandler(ScrollEvent.SCROLL, this::scrolled);
+        canvas.addEventHandler(MouseEvent.MOUSE_PRESSED, event -> {
+            dragX = event.getX();
+            dragY = event.getY();
+        });
+        canvas.addEventHandler(MouseEvent.MOUSE_DRAGGED, event -> {
+            viewStart = Math.max(0, viewStart - (event.getX() - dragX) * ticksPerPixel);
+            firstPid = Math.max(1, firstPid - (int) ((event.getY() - dragY) / ROW_HEIGHT));
+            if (Math.abs(event.getY() - dragY) >= ROW_HEIGHT) {
+                dragY = event.getY();
+            }
+            dragX = event.getX();
+            follow = false;
+            refresh();
+        });
+        getChildren().addAll(canvas, hbar, vbar);
+        setMinHeight(AXIS + ROW_HEIGHT * 4);
+        setPrefHeight(AXIS + ROW_HEIGHT * 12);
+    }
+
+    public void refresh() {
+        long now = pm.getTick();
+        double width = canvas.getWidth() - GUTTER;
+        double visibleTicks = width * ticksPerPixel;
+        if (follow) {
+            viewStart = Math.max(0, now - visibleTicks * 0.9);
+            int lowest = store.getLowestOpenPID();
+            if (lowest > 0) {
+                firstPid = lowest;
+            }
+        }
+
+        updating = true;
+        hbar.setMax(Math.max(1, now - visibleTicks * 0.9));
+        hbar.setVisibleAmount(visibleTicks);
+        hbar.setValue(Math.min(viewStart, hbar.getMax()));
+        vbar.setMax(Math.max(1, store.getHighestPID()));
+        vbar.setVisibleAmount(visibleRows());
+        vbar.setValue(firstPid);
+        updating = false;
+        draw();
+    }
+
+    @Override
+    protected void layoutChildren() {
+        double width = getWidth();
+        double height = getHeight();
+        double barWidth = vbar.prefWidth(-1);
+        double barHeight = hbar.prefHeight(-1);
+        canvas.setWidth(Math.max(0, width - barWidth));
+        canvas.setHeight(Math.max(0, height - barHeight));
+        canvas.relocate(0, 0);
+        vbar.resizeRelocate(width - barWidth, 0, barWidth, height - barHeight);
+        hbar.resizeRelocate(GUTTER, height - barHeight, Math.max(0, width - barWidth - GUTTER), barHeight);
+        refresh();
+    }
+
+    private void scrolled(ScrollEvent event) {
+        if (event.isControlDown()) {
+            double x = Math.max(0, event.getX() - GUTTER);
+            double anchor = viewStart + x * ticksPerPixel;
+            double factor = Math.pow(1.25, -event.getDeltaY() / 40);
+            ticksPerPixel = Math.min(MAX_TICKS_PER_PIXEL, Math.max(MIN_TICKS_PER_PIXEL, ticksPerPixel * factor));
+            viewStart = Math.max(0, anchor - x * ticksPerPixel);
+        } else if (event.isShiftDown() || event.getDeltaX() != 0) {
+            double delta = event.isShiftDown() ? event.getDeltaY() : event.getDeltaX();
+            viewStart = Math.max(0, viewStart - delta * ticksPerPixel);
+        } else {
+            firstPid = Math.max(1, firstPid - (int) Math.signum(event.getDeltaY()) * 3);
+        }
+        follow = false;
+        event.consume();
+        refresh();
+    }
+
+    private int visibleRows() {
+        return Math.max(1, (int) ((canvas.getHeight() - AXIS) / ROW_HEIGHT));
+    }
+
+    private void draw() {
+        GraphicsContext gc = canvas.getGraphicsContext2D();
+        double width = canvas.getWidth();
+        double height = canvas.getHeight();
+        gc.setFill(Color.WHITE);
+        gc.fillRect(0, 0, width, height);
+        int pixels = (int) Math.max(0, width - GUTTER);
+        if (pixels == 0) {
+            return;
+        }
+
+        int rows = visibleRows();
+        int lastPid = Math.min(0xffff, firstPid + rows - 1);
+        long from = (long) Math.floor(viewStart);
+        long to = (long) Math.ceil(viewStart + pixels * ticksPerPixel) + 1;
+        long now = pm.getTick();
+        drawAxis(gc, pixels);
+
+        gc.setTextAlign(TextAlignment.RIGHT);
+        gc.setTextBaseline(VPos.CENTER);
+        gc.setFill(Color.GRAY);
+        for (int row = 0; row < rows && firstPid + row <= lastPid; row++) {
+            gc.fillText(Integer.toString(firstPid + row), GUTTER - 6, AXIS + row * ROW_HEIGHT + ROW_HEIGHT / 2);
+        }
+
+        gc.save();
+        gc.beginPath();
+        gc.rect(GUTTER, AXIS, pixels, height - AXIS);
+        gc.clip();
+        if (ticksPerPixel <= 1) {
+            store.query(from, to, firstPid, lastPid, now, (pid, state, start, end) -> {
+                double x0 = GUTTER + (start - viewStart) / ticksPerPixel;
+                double x1 = GUTTER + (end - viewStart) / ticksPerPixel;
+                gc.setFill(colors[state.ordinal()]);
+                gc.fillRect(x0, AXIS + (pid - firstPid) * ROW_HEIGHT + 1, Math.max(1, x1 - x0 - 1), ROW_HEIGHT - 2);
+            });
+        } else {
+            aggregate(from, to, firstPid, lastPid, now, pixels);
+            for (int row = 0; row <= lastPid - firstPid; row++) {
+                byte[] column = columns[row];
+                double y = AXIS + row * ROW_HEIGHT + 1;
+                int x = 0;
+                while (x < pixels) {
+                    byte rank = column[x];
+                    int run = x + 1;
+                    while (run < pixels && column[run] == rank) {
+                        run++;
+                    }
+                    if (rank != 0) {
+                        gc.setFill(colors[byRank[rank].ordinal()]);
+                        gc.fillRect(GUTTER + x, y, run - x, ROW_HEIGHT - 2);
+                    }
+                    x = run;
+                }
+            }
+        }
+        gc.restore();
+    }
+
+    private void aggregate(long from, long to, int minPid, int maxPid, long now, int pixels) {
+        int rows = maxPid - minPid + 1;
+        if (columns.length < rows || (rows > 0 && columns[0].length < pixels)) {
+            columns = new byte[Math.max(rows, 1)][pixels];
+        } else {
+            for (int row = 0; row < rows; row++) {
+                Arrays.fill(columns[row], 0, pixels, (byte) 0);
+            }
+        }
+
+        store.query(from, to, minPid, maxPid, now, (pid, state, start, end) -> {
+            byte[] column = columns[pid - minPid];
+            byte rank = ranks[state.ordinal()];
+            int x0 = (int) Math.max(0, Math.floor((start - viewStart) / ticksPerPixel));
+            int x1 = (int) Math.min(pixels, Math.ceil((end - viewStart) / ticksPerPixel));
+            for (int x = x0; x < x1; x++) {
+                if (column[x] < rank) {
+                    column[x] = rank;
+                }
+            }
+        });
+    }
+
+    private void drawAxis(GraphicsContext gc, int pixels) {
+        double span = pixels * ticksPerPixel;
+        double step = 1;
+        for (int i = 0; step / ticksPerPixel < 80; i++) {
+            step *= i % 3 == 1 ? 2.5 : 2;
+        }
+        gc.setStroke(Color.LIGHTGRAY);
+        gc.setFill(Color.GRAY);
+        gc.setTextAlign(TextAlignment.LEFT);
+        gc.setTextBaseline(VPos.CENTER);
+        for (double t = Math.ceil(viewStart / step) * step; t <= viewStart + span; t += step) {
+            double x = GUTTER + (t - viewStart) / ticksPerPixel;
+            gc.strokeLine(x, AXIS - 4, x, canvas.getHeight());
+            gc.fillText(Long.toString((long) t), x + 2, AXIS / 2);
+        }
+    }
+}
@@ -0,0 +1,271 @@
+package fxprocessmanager.cli;
+
+import fxprocessmanager.FXProcessManagerState;
+import fxprocessmanager.process.EvictionPolicy;
+import fxprocessmanager.process.Process;
+import fxprocessmanager.process.SchedulingPolicy;
+import fxprocessmanager.process.SimulationMode;
+import fxprocessmanager.sweep.SweepGrid;
+import fxprocessmanager.sweep.SweepWorkload;
+import fxprocessmanager.workload.TraceReader;
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Locale;
+
+public final class BatchOptions {
+    private File catalogFile;
+    private Process[] catalog;
+    private File trace;
+    private long[] populations;
+    private double[] rates;
+    private long[] seeds;
+    private double[] readings;
+    private int[] deltas;
+    private double[] weights;
+    private int memory;
+    private EvictionPolicy[] evictions;
+    private int swapCost;
+    private long endTick;
+    private SimulationMode mode;
+    private SchedulingPolicy policy;
+    private OutputFormat format;
+    private File output;
+    private int threads;
+    private boolean aggregate;
+
+    public BatchOptions() {
+        catalogFile = defaultCatalogFile();
+        trace = null;
+        populations = new long[] {10000};
+        rates = new double[] {0.1};
+        seeds = new long[] {1};
+        readings = new double[] {0.5};
+        deltas = new int[] {5};
+        weights = null;
+        memory = 0;
+        evictions = new EvictionPolicy[] {EvictionPolicy.LRU};
+        swapCost = 2;
+        endTick = Long.MAX_VALUE;
+        mode = SimulationMode.DISCRETE_EVENT;
+        policy = SchedulingPolicy.PRIORITY;
+        format = OutputFormat.CSV;
+        output = null;
+        threads = Runtime.getRuntime().availableProcessors();
+        aggregate = false;
+    }
+
+    public static BatchOptions parse(String[] args) {
+        BatchOptions options = new BatchOptions();
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            String value;
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument " + arg);
+            }
+            if (arg.equals("--aggregate")) {
+                options.aggregate = true;
+                continue;
+            }
+            if (eq >= 0) {
+                value = arg.substring(eq + 1);
+                arg = arg.substring(0, eq);
+            } else if (i + 1 < args.length) {
+                value = args[++i];
+            } else {
+                throw new IllegalArgumentException("Missing value for " + arg);
+            }
+
+            switch (arg) {
+                case "--catalog":
+                    options.catalogFile = new File(value);
+                    break;
+                case "--trace":
+                    options.trace = new File(value);
+                    break;
+                case "--count":
+                case "--population":
+                    double[] populations = parseDoubles(value);
+                    options.populations = new long[populations.length];
+                    for (int j = 0; j < populations.length; j++) {
+                        options.populations[j] = (long) populations[j];
+                    }
+                    break;
+                case "--rate":
+                    options.rates = parseDoubles(value);
+                    break;
+                case "--seed":
+                    String[] parts = value.split(",");
+                    options.seeds = new long[parts.length];
+                    for (int j = 0; j < parts.length; j++) {
+                        options.seeds[j] = Long.parseLong(parts[j].trim());
+                    }
+                    break;
+                case "--reading":
+                    options.readings = parseDoubles(value);
+                    break;
+                case "--delta":
+                    double[] deltas = parseDoubles(value);
+                    options.deltas = new int[deltas.length];
+                    for (int j = 0; j < deltas.length; j++) {
+                        options.deltas[j] = (int) deltas[j];
+                    }
+                    break;
+                case "--weights":
+                    options.weights = parseDoubles(value);
+                    break;
+                case "--memory":
+                    options.memory = Integer.parseInt(value);
+                    break;
+                case "--eviction":
+                    String[] names = value.split(",");
+                    options.evictions = new EvictionPolicy[names.length];
+                    for (int j = 0; j < names.length; j++) {
+                        options.evictions[j] = EvictionPolicy.valueOf(names[j].trim().toUpperCase(Locale.ROOT));
+                    }
+                    break;
+                case "--swap-cost":
+                    options.swapCost = Integer.parseInt(value);
+                    break;
+                case "--end-tick":
+                    options.endTick = Long.parseLong(value);
+                    break;
+                case "--mode":
+                    String mode = value.trim().toUpperCase(Locale.ROOT);
+                    options.mode = "DES".equals(mode) ? SimulationMode.DISCRETE_EVENT : SimulationMode.valueOf(mode);
+                    break;
+                case "--policy":
+                    options.policy = SchedulingPolicy.valueOf(value.trim().toUpperCase(Locale.ROOT));
+                    break;
+                case "--format":
+                    options.format = OutputFormat.valueOf(value.toUpperCase(Locale.ROOT));
+                    break;
+                case "--output":
+                    options.output = new File(value);
+                    break;
+                case "--threads":
+                    options.threads = Integer.parseInt(value);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option " + arg);
+            }
+        }
+        options.validate();
+        return options;
+    }
+
+    public Process[] getCatalog() {
+        if (catalog == null) {
+            if (catalogFile == null || !catalogFile.isFile()) {
+                throw new IllegalArgumentException("Process catalog not found: " + catalogFile);
+            }
+            catalog = new FXProcessManagerState(catalogFile).getProcesses();
+            if (catalog.length == 0) {
+                throw new IllegalArgumentException("Process catalog is empty: " + catalogFile);
+            }
+        }
+        return catalog;
+    }
+
+    public File getTrace() {
+        return trace;
+    }
+
+    public boolean isAggregate() {
+        return aggregate;
+    }
+
+    public double[] getWeights() {
+        return weights;
+    }
+
+    public int getMemory() {
+        return memory;
+    }
+
+    public int getSwapCost() {
+        return swapCost;
+    }
+
+    public long getEndTick() {
+        return endTick;
+    }
+
+    public SimulationMode getMode() {
+        return mode;
+    }
+
+    public SchedulingPolicy getPolicy() {
+        return policy;
+    }
+
+    public OutputFormat getFormat() {
+        return format;
+    }
+
+    public File getOutput() {
+        return output;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public SweepGrid grid() {
+        SweepGrid grid = new SweepGrid();
+        grid.setDeltas(deltas);
+        if (memory > 0) {
+            grid.setEvictions(evictions);
+        }
+        if (trace == null) {
+            grid.setPopulations(populations);
+            grid.setRates(rates);
+            grid.setReadings(readings);
+            grid.setSeeds(seeds);
+        }
+        return grid;
+    }
+
+    public SweepWorkload workload() {
+        if (trace == null) {
+            return SweepWorkload.generated(getCatalog(), weights);
+        }
+        Process[] catalog = catalogFile != null && catalogFile.isFile() ? getCatalog() : null;
+        return p -> new TraceReader(new BufferedInputStream(new FileInputStream(trace)), catalog);
+    }
+
+    private void validate() {
+        grid();
+        if (memory < 0) {
+            throw new IllegalArgumentException("Memory capacity cannot be negative");
+        }
+        if (threads < 1) {
+            throw new IllegalArgumentException("Thread count must be a positive integer");
+        }
+        if (trace != null && !trace.isFile()) {
+            throw new IllegalArgumentException("Trace file not found: " + trace);
+        }
+    }
+
+    private static double[] parseDoubles(String value) {
+        String[] parts = value.split(",");
+        double[] values = new double[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            values[i] = Double.parseDouble(parts[i].trim());
+        }
+        return values;
+    }
+
+    private static File defaultCatalogFile() {
+        String os = System.getProperty("os.name", "").toLowerCase(Locale.ROOT);
+        String base = os.startsWith("windows") ? System.getenv("APPDATA") : System.getenv("HOME");
+        if (base == null) {
+            return null;
+        }
+        Path dir = Paths.get(base).resolve(os.startsWith("windows") ? "fxpm" : ".fxpm");
+        return dir.resolve("state").toFile();
+    }
+}
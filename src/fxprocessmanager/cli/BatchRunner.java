@@ -0,0 +1,185 @@
+package fxprocessmanager.cli;
+
+import fxprocessmanager.process.EvictionPolicy;
+import fxprocessmanager.process.ProcessManagerStats;
+import fxprocessmanager.sweep.LatencyHistogram;
+import fxprocessmanager.sweep.SweepCell;
+import fxprocessmanager.sweep.SweepEngine;
+import fxprocessmanager.sweep.SweepParameters;
+import fxprocessmanager.sweep.SweepRun;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+public final class BatchRunner {
+    private static final String usage = String.join("\n",
+        "Usage: java -cp FXProcessManager.jar fxprocessmanager.cli.BatchRunner [options]",
+        "  --catalog FILE          process catalog in the FXProcessManager state format",
+        "  --trace FILE            replay a binary trace instead of generating a workload",
+        "  --population N[,N...]   arrivals per generated workload (default 10000)",
+        "  --rate R[,R...]         arrival rates per tick (default 0.1)",
+        "  --seed S[,S...]         workload seeds (default 1)",
+        "  --reading P[,P...]      ratio of reading processes (default 0.5)",
+        "  --weights L,N,H,HH      priority weights",
+        "  --delta D[,D...]        delta per tick (default 5)",
+        "  --memory N              memory capacity, 0 disables the memory manager",
+        "  --eviction P[,P...]     LRU, CLOCK or ARC (default LRU)",
+        "  --swap-cost N           swap-in stall ticks (default 2)",
+        "  --end-tick N            stop every run at this tick",
+        "  --mode tick|des         simulation mode (default des)",
+        "  --policy priority|fair  scheduling policy (default priority)",
+        "  --aggregate             merge seeds into one row per grid cell",
+        "  --format csv|json       output format (default csv)",
+        "  --output FILE           write results to FILE instead of stdout",
+        "  --threads N             parallel runs (default: available processors)"
+    );
+
+    private static final String[] runColumns = {
+        "run", "seed", "rate", "reading", "population", "delta", "eviction",
+        "ticks", "started", "completed", "stopped", "dispatches",
+        "throughput", "utilization", "avg_turnaround", "p50_turnaround", "p95_turnaround", "p99_turnaround",
+        "avg_wait", "p95_wait", "stall_ticks", "swap_ins", "swap_outs", "io_requests", "io_avg_latency",
+        "steps", "elapsed_ms"
+    };
+
+    private static final String[] cellColumns = {
+        "delta", "eviction", "population", "reading", "rate", "runs", "completed",
+        "throughput_mean", "throughput_stddev", "utilization_mean",
+        "avg_turnaround", "p50_turnaround", "p95_turnaround", "p99_turnaround",
+        "avg_wait", "p95_wait", "swap_ins_mean"
+    };
+
+    private BatchRunner() {
+    }
+
+    public static void main(String[] args) {
+        BatchOptions options;
+        try {
+            options = BatchOptions.parse(args);
+            options.workload();
+        } catch (IllegalArgumentException ex) {
+            System.err.println(ex.getMessage());
+            System.err.println(usage);
+            System.exit(2);
+            return;
+        }
+
+        try {
+            run(options);
+        } catch (IOException | RuntimeException ex) {
+            Throwable cause = ex instanceof UncheckedIOException ? ex.getCause() : ex;
+            System.err.println("Batch run failed: " + cause);
+            System.exit(1);
+        }
+    }
+
+    public static void run(BatchOptions options) throws IOException {
+        ForkJoinPool pool = new ForkJoinPool(options.getThreads());
+        SweepEngine engine = new SweepEngine(pool, options.workload());
+        if (options.getMemory() > 0) {
+            engine.setMemory(options.getMemory(), options.getSwapCost());
+        }
+        engine.setMode(options.getMode());
+        engine.setPolicy(options.getPolicy());
+        engine.setEndTick(options.getEndTick());
+
+        List<SweepRun> runs;
+        try {
+            runs = engine.run(options.grid());
+        } finally {
+            pool.shutdownNow();
+        }
+
+        PrintStream out = options.getOutput() == null
+            ? System.out
+            : new PrintStream(new FileOutputStream(options.getOutput()), false, "UTF-8");
+        try {
+            OutputFormat format = options.getFormat();
+            boolean first = true;
+            if (options.isAggregate()) {
+                format.begin(out, cellColumns);
+                for (SweepCell cell : SweepEngine.aggregate(runs)) {
+                    format.write(out, cellColumns, values(cell), first);
+                    first = false;
+                }
+            } else {
+                format.begin(out, runColumns);
+                for (SweepRun run : runs) {
+                    format.write(out, runColumns, values(run), first);
+                    first = false;
+                }
+            }
+            format.end(out);
+        } finally {
+            if (out != System.out) {
+                out.close();
+            }
+        }
+    }
+
+    private static String name(EvictionPolicy eviction) {
+        return eviction == null ? null : eviction.name();
+    }
+
+    private static Object[] values(SweepRun run) {
+        SweepParameters p = run.getParameters();
+        ProcessManagerStats stats = run.getStats();
+        LatencyHistogram turnaround = run.getTurnaround();
+        return new Object[] {
+            p.getIndex(),
+            p.getSeed(),
+            p.getRate(),
+            p.getReading(),
+            p.getPopulation(),
+            p.getDelta(),
+            name(p.getEviction()),
+            stats.getTicks(),
+            stats.getStarted(),
+            stats.getCompleted(),
+            stats.getStopped(),
+            stats.getDispatches(),
+            stats.getThroughput(),
+            stats.getUtilization(),
+            stats.getAverageTurnaround(),
+            turnaround.getPercentile(50),
+            turnaround.getPercentile(95),
+            turnaround.getPercentile(99),
+            stats.getAverageWait(),
+            run.getWait().getPercentile(95),
+            stats.getStallTicks(),
+            run.getSwapIns(),
+            run.getSwapOuts(),
+            run.getIORequests(),
+            run.getIOAverageLatency(),
+            run.getSteps(),
+            run.getElapsedNanos() / 1e6
+        };
+    }
+
+    private static Object[] values(SweepCell cell) {
+        SweepParameters p = cell.getParameters();
+        LatencyHistogram turnaround = cell.getTurnaround();
+        return new Object[] {
+            p.getDelta(),
+            name(p.getEviction()),
+            p.getPopulation(),
+            p.getReading(),
+            p.getRate(),
+            cell.getRuns(),
+            cell.getCompleted(),
+            cell.getThroughputMean(),
+            cell.getThroughputStdDev(),
+            cell.getUtilizationMean(),
+            turnaround.getMean(),
+            turnaround.getPercentile(50),
+            turnaround.getPercentile(95),
+            turnaround.getPercentile(99),
+            cell.getWait().getMean(),
+            cell.getWait().getPercentile(95),
+            cell.getSwapInsMean()
+        };
+    }
+}
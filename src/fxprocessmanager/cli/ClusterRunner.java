@@ -0,0 +1,191 @@
+package fxprocessmanager.cli;
+
+import fxprocessmanager.cluster.ClusterNode;
+import fxprocessmanager.cluster.ClusterView;
+import fxprocessmanager.cluster.NodeLoad;
+import fxprocessmanager.process.Process;
+import fxprocessmanager.process.ProcessManager;
+import fxprocessmanager.process.ProcessPriority;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Random;
+
+public final class ClusterRunner {
+    private static final String usage = String.join("\n",
+        "Usage: java -cp FXProcessManager.jar fxprocessmanager.cli.ClusterRunner [options]",
+        "  --id N                  node id, the lowest live id coordinates (required)",
+        "  --port N                loopback port to listen on (default: any)",
+        "  --join P[,P...]         loopback ports of seed nodes",
+        "  --population N          instances started on this node (default 0)",
+        "  --seed S                workload seed (default: node id)",
+        "  --delta D               delta per tick (default 5)",
+        "  --tick MS               tick interval in milliseconds (default 10)",
+        "  --gossip MS             gossip interval in milliseconds (default 100)",
+        "  --threshold N           ready surplus that triggers migration (default 4)",
+        "  --batch N               instances per migration (default 64)",
+        "  --transit BASE,BYTES    migration cost: base ticks plus one tick per BYTES (default 1,1024)",
+        "  --report MS             print the cluster view every MS milliseconds (default 1000)"
+    );
+
+    private ClusterRunner() {
+    }
+
+    public static void main(String[] args) {
+        int id = -1;
+        int port = 0;
+        ArrayList<Integer> joins = new ArrayList<>();
+        int population = 0;
+        Long seed = null;
+        int delta = 5;
+        long tick = 10;
+        long gossip = 100;
+        int threshold = 4;
+        int batch = 64;
+        int transitBase = 1;
+        int transitBytes = 1024;
+        long report = 1000;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                String arg = args[i];
+                String value;
+                int eq = arg.indexOf('=');
+                if (!arg.startsWith("--")) {
+                    throw new IllegalArgumentException("Unexpected argument " + arg);
+                }
+                if (eq >= 0) {
+                    value = arg.substring(eq + 1);
+                    arg = arg.substring(0, eq);
+                } else if (i + 1 < args.length) {
+                    value = args[++i];
+                } else {
+                    throw new IllegalArgumentException("Missing value for " + arg);
+                }
+
+                switch (arg) {
+                    case "--id":
+                        id = Integer.parseInt(value);
+                        break;
+                    case "--port":
+                        port = Integer.parseInt(value);
+                        break;
+                    case "--join":
+                        for (String part : value.split(",")) {
+                            joins.add(Integer.parseInt(part.trim()));
+                        }
+                        break;
+                    case "--population":
+                        population = Integer.parseInt(value);
+                        break;
+                    case "--seed":
+                        seed = Long.parseLong(value);
+                        break;
+                    case "--delta":
+                        delta = Integer.parseInt(value);
+                        break;
+                    case "--tick":
+                        tick = Long.parseLong(value);
+                        break;
+                    case "--gossip":
+                        gossip = Long.parseLong(value);
+                        break;
+                    case "--threshold":
+                        threshold = Integer.parseInt(value);
+                        break;
+                    case "--batch":
+                        batch = Integer.parseInt(value);
+                        break;
+                    case "--transit":
+                        String[] parts = value.split(",");
+                        if (parts.length != 2) {
+                            throw new IllegalArgumentException("Transit cost must be BASE,BYTES");
+                        }
+                        transitBase = Integer.parseInt(parts[0].trim());
+                        transitBytes = Integer.parseInt(parts[1].trim());
+                        break;
+                    case "--report":
+                        report = Long.parseLong(value);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option " + arg);
+                }
+            }
+            if (id < 0) {
+                throw new IllegalArgumentException("Missing value for --id");
+            }
+            if (tick <= 0 || report <= 0) {
+                throw new IllegalArgumentException("Tick and report intervals must be positive integers");
+            }
+        } catch (IllegalArgumentException ex) {
+            System.err.println(ex.getMessage());
+            System.err.println(usage);
+            System.exit(2);
+            return;
+        }
+
+        Process[] catalog = new Process[8];
+        for (int i = 0; i < catalog.length; i++) {
+            catalog[i] = new Process("proc" + i);
+        }
+        ProcessManager pm = new ProcessManager(delta);
+        try (ClusterNode node = new ClusterNode(pm, catalog, id, port)) {
+            node.setGossipInterval(gossip, gossip * 10);
+            node.setMigration(threshold, batch);
+            node.setTransitCost(transitBase, transitBytes);
+            for (int p : joins) {
+                node.join(p);
+            }
+
+            Random random = new Random(seed == null ? id : seed);
+            ProcessPriority[] priorities = ProcessPriority.values();
+            for (int i = 0; i < population; i++) {
+                pm.start(
+                    catalog[random.nextInt(catalog.length)],
+                    priorities[random.nextInt(priorities.length)],
+                    100 + random.nextInt(201),
+                    10 + random.nextInt(41),
+                    random.nextInt(4) == 0
+                );
+            }
+
+            System.out.println("node " + id + " listening on " + node.getPort());
+            node.start();
+            pm.setTickInterval(tick);
+            while (true) {
+                Thread.sleep(report);
+                print(node);
+            }
+        } catch (IOException | RuntimeException ex) {
+            System.err.println("Cluster node failed: " + ex);
+            System.exit(1);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } finally {
+            pm.setTickInterval(null);
+        }
+    }
+
+    private static void print(ClusterNode node) {
+        ClusterView view = node.getView();
+        StringBuilder line = new StringBuilder();
+        line.append("coordinator=").append(view.getCoordinator())
+            .append(" alive=").append(view.getAliveCount())
+            .append(" instances=").append(view.getInstances())
+            .append(" ready=").append(view.getReady())
+            .append(" completed=").append(view.getCompleted())
+            .append(" migrations=").append(view.getMigrations())
+            .append(" imbalance=").append(view.getImbalance())
+            .append(" transit_ticks=").append(node.getTransitTicks())
+            .append(" dropped=").append(node.getDropped())
+            .append(" unacknowledged=").append(node.getUnacknowledged())
+            .append(" bytes_out=").append(node.getBytesOut());
+        for (NodeLoad load : view.getNodes()) {
+            line.append(" [").append(load.getId())
+                .append(load.isAlive() ? "" : " down")
+                .append(" ready=").append(load.getReady())
+                .append(" in=").append(load.getMigratedIn())
+                .append(" out=").append(load.getMigratedOut())
+                .append(']');
+        }
+        System.out.println(line);
+    }
+}
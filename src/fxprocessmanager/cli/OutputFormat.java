@@ -0,0 +1,57 @@
+package fxprocessmanager.cli;
+
+import java.io.PrintStream;
+
+public enum OutputFormat {
+    CSV, JSON;
+
+    void begin(PrintStream out, String[] columns) {
+        if (this == CSV) {
+            out.println(String.join(",", columns));
+        } else {
+            out.print("[");
+        }
+    }
+
+    void write(PrintStream out, String[] columns, Object[] values, boolean first) {
+        StringBuilder sb = new StringBuilder();
+        if (this == CSV) {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    sb.append(',');
+                }
+                sb.append(values[i] == null ? "" : values[i]);
+            }
+            out.println(sb);
+            return;
+        }
+
+        sb.append(first ? "\n  {" : ",\n  {");
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append('"').append(columns[i]).append("\": ");
+            Object value = values[i];
+            if (value == null) {
+                sb.append("null");
+            } else if (value instanceof String) {
+                sb.append('"').append(value).append('"');
+            } else if (value instanceof Double && !Double.isFinite((Double) value)) {
+                sb.append("null");
+            } else {
+                sb.append(value);
+            }
+        }
+        sb.append('}');
+        out.print(sb);
+    }
+
+    void end(PrintStream out) {
+        if (this == JSON) {
+            out.println();
+            out.println("]");
+        }
+        out.flush();
+    }
+}
@@ -0,0 +1,936 @@
+package fxprocessmanager.cluster;
+
+import fxprocessmanager.process.Process;
+import fxprocessmanager.process.ProcessInfo;
+import fxprocessmanager.process.ProcessInstance;
+import fxprocessmanager.process.ProcessManager;
+import fxprocessmanager.process.ProcessManagerStats;
+import fxprocessmanager.process.ProcessPriority;
+import fxprocessmanager.process.ProcessSnapshot;
+import fxprocessmanager.process.ProcessState;
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+public final class ClusterNode implements Closeable {
+    private static final int INPUT_SIZE = 1 << 17;
+    private static final int OUTPUT_SIZE = 1 << 17;
+    private static final int LOAD_SIZE = 96;
+    private static final int MAX_RECORD_SIZE = 32;
+    private static final int MAX_BATCH = 4096;
+    private static final int BOUNCED = 1;
+    private static final ProcessPriority[] priorities = ProcessPriority.values();
+
+    private static final class Transfer {
+        private final long end;
+        private final int count;
+        private final byte[] frame;
+
+        Transfer(long end, int count, byte[] frame) {
+            this.end = end;
+            this.count = count;
+            this.frame = frame;
+        }
+    }
+
+    private static final class Peer {
+        private final SocketChannel channel;
+        private final InetSocketAddress target;
+        private final ByteBuffer in;
+        private ByteBuffer out;
+        private final ArrayDeque<Transfer> transfers;
+        private long appended;
+        private long written;
+        private boolean connected;
+        private int node;
+
+        Peer(SocketChannel channel, InetSocketAddress target, boolean connected) {
+            this.channel = channel;
+            this.target = target;
+            this.in = ByteBuffer.allocateDirect(INPUT_SIZE);
+            this.out = ByteBuffer.allocate(OUTPUT_SIZE);
+            this.transfers = new ArrayDeque<>();
+            this.appended = 0;
+            this.written = 0;
+            this.connected = connected;
+            this.node = -1;
+        }
+    }
+
+    private static final class Member {
+        private NodeLoad load;
+        private long seenAt;
+        private int inFlight;
+        private Peer peer;
+
+        Member(NodeLoad load, long seenAt) {
+            this.load = load;
+            this.seenAt = seenAt;
+            this.inFlight = 0;
+            this.peer = null;
+        }
+    }
+
+    private final ProcessManager pm;
+    private final int id;
+    private final Map<String, Process> names;
+    private final Selector selector;
+    private final ServerSocketChannel server;
+    private final InetSocketAddress address;
+    private final Thread thread;
+    private final HashMap<Integer, Member> members;
+    private final ArrayList<Peer> peers;
+    private final ArrayList<InetSocketAddress> seeds;
+    private final ConcurrentLinkedQueue<InetSocketAddress> joins;
+    private final Member self;
+    private final HashMap<String, Integer> outNames;
+    private final ByteBuffer outRecords;
+    private int outCount;
+    private int outNameBytes;
+    private volatile boolean running;
+    private volatile ClusterView view;
+    private volatile long gossipInterval;
+    private volatile long failureTimeout;
+    private volatile int threshold;
+    private volatile int batchSize;
+    private volatile int transitBase;
+    private volatile int transitBytesPerTick;
+    private volatile long bytesOut;
+    private volatile long bytesIn;
+    private volatile long transitTicks;
+    private volatile long bounced;
+    private volatile long dropped;
+    private volatile long unacknowledged;
+    private long heartbeat;
+    private long nextRound;
+
+    public ClusterNode(ProcessManager pm, Process[] catalog, int id, int port) throws IOException {
+        this(pm, catalog, id, new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+    }
+
+    public ClusterNode(ProcessManager pm, Process[] catalog, int id, InetSocketAddress address) throws IOException {
+        if (pm == null) {
+            throw new IllegalArgumentException("Process manager cannot be null");
+        }
+        if (id < 0) {
+            throw new IllegalArgumentException("Node id cannot be negative");
+        }
+        if (address == null) {
+            throw new IllegalArgumentException("Node address cannot be null");
+        }
+
+        this.pm = pm;
+        this.id = id;
+        this.names = new HashMap<>();
+        if (catalog != null) {
+            for (Process p : catalog) {
+                names.putIfAbsent(p.getName(), p);
+            }
+        }
+        this.selector = Selector.open();
+        this.server = ServerSocketChannel.open();
+        server.bind(address);
+        server.configureBlocking(false);
+        server.register(selector, SelectionKey.OP_ACCEPT);
+        this.address = (InetSocketAddress) server.getLocalAddress();
+        this.thread = new Thread(this::loop, "cluster-node-" + id);
+        this.thread.setDaemon(true);
+        this.members = new HashMap<>();
+        this.peers = new ArrayList<>();
+        this.seeds = new ArrayList<>();
+        this.joins = new ConcurrentLinkedQueue<>();
+        this.outNames = new HashMap<>();
+        this.outRecords = ByteBuffer.allocate(ClusterProtocol.MAX_FRAME_SIZE);
+        this.outCount = 0;
+        this.outNameBytes = 0;
+        this.running = false;
+        this.gossipInterval = 100;
+        this.failureTimeout = 1000;
+        this.threshold = 4;
+        this.batchSize = 64;
+        this.transitBase = 1;
+        this.transitBytesPerTick = 1024;
+        this.bytesOut = 0;
+        this.bytesIn = 0;
+        this.transitTicks = 0;
+        this.bounced = 0;
+        this.dropped = 0;
+        this.unacknowledged = 0;
+        this.heartbeat = 0;
+        this.nextRound = 0;
+        this.self = new Member(local(), System.currentTimeMillis());
+        members.put(id, self);
+        this.view = new ClusterView(new NodeLoad[] {self.load});
+    }
+
+    public void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        thread.start();
+    }
+
+    public void join(int port) {
+        join(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+    }
+
+    public void join(InetSocketAddress seed) {
+        if (seed == null) {
+            throw new IllegalArgumentException("Seed address cannot be null");
+        }
+        joins.add(seed);
+        selector.wakeup();
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public ProcessManager getProcessManager() {
+        return pm;
+    }
+
+    public InetSocketAddress getAddress() {
+        return address;
+    }
+
+    public int getPort() {
+        return address.getPort();
+    }
+
+    public ClusterView getView() {
+        return view;
+    }
+
+    public long getBytesOut() {
+        return bytesOut;
+    }
+
+    public long getBytesIn() {
+        return bytesIn;
+    }
+
+    public long getTransitTicks() {
+        return transitTicks;
+    }
+
+    public long getBounced() {
+        return bounced;
+    }
+
+    public long getDropped() {
+        return dropped;
+    }
+
+    public long getUnacknowledged() {
+        return unacknowledged;
+    }
+
+    public void setGossipInterval(long gossipInterval, long failureTimeout) {
+        if (gossipInterval <= 0) {
+            throw new IllegalArgumentException("Gossip interval must be a positive integer");
+        }
+        if (failureTimeout < gossipInterval) {
+            throw new IllegalArgumentException("Failure timeout cannot be shorter than the gossip interval");
+        }
+        this.gossipInterval = gossipInterval;
+        this.failureTimeout = failureTimeout;
+        selector.wakeup();
+    }
+
+    public void setMigration(int threshold, int batchSize) {
+        if (threshold < 1) {
+            throw new IllegalArgumentException("Migration threshold must be a positive integer");
+        }
+        if (batchSize < 1 || batchSize > MAX_BATCH) {
+            throw new IllegalArgumentException("Migration batch must be a value between 1 and " + MAX_BATCH);
+        }
+        this.threshold = threshold;
+        this.batchSize = batchSize;
+    }
+
+    public void setTransitCost(int transitBase, int transitBytesPerTick) {
+        if (transitBase < 0) {
+            throw new IllegalArgumentException("Transit base cost cannot be negative");
+        }
+        if (transitBytesPerTick <= 0) {
+            throw new IllegalArgumentException("Transit bandwidth must be a positive integer");
+        }
+        this.transitBase = transitBase;
+        this.transitBytesPerTick = transitBytesPerTick;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!selector.isOpen()) {
+            return;
+        }
+        running = false;
+        selector.wakeup();
+        if (thread.isAlive() && thread != Thread.currentThread()) {
+            try {
+                thread.join();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        for (Peer peer : peers.toArray(new Peer[peers.size()])) {
+            close(peer);
+        }
+        for (SelectionKey key : selector.keys()) {
+            key.channel().close();
+        }
+        selector.close();
+    }
+
+    private void loop() {
+        while (running) {
+            long now = System.currentTimeMillis();
+            if (now >= nextRound) {
+                round(now);
+                nextRound = now + gossipInterval;
+            }
+
+            try {
+                selector.select(Math.max(1, nextRound - System.currentTimeMillis()));
+            } catch (IOException ex) {
+                return;
+            }
+
+            Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+            while (keys.hasNext()) {
+                SelectionKey key = keys.next();
+                keys.remove();
+                Peer peer = (Peer) key.attachment();
+                try {
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isAcceptable()) {
+                        accept();
+                        continue;
+                    }
+                    if (key.isConnectable() && peer.channel.finishConnect()) {
+                        peer.connected = true;
+                        flush(peer);
+                    }
+                    if (key.isValid() && key.isWritable()) {
+                        flush(peer);
+                    }
+                    if (key.isValid() && key.isReadable()) {
+                        read(peer);
+                    }
+                } catch (IOException | RuntimeException ex) {
+                    if (peer != null) {
+                        disconnect(peer);
+                    }
+                }
+            }
+        }
+    }
+
+    private void round(long now) {
+        InetSocketAddress seed;
+        while ((seed = joins.poll()) != null) {
+            seeds.add(seed);
+        }
+
+        heartbeat++;
+        self.load = local();
+        self.seenAt = now;
+
+        Iterator<Member> it = members.values().iterator();
+        while (it.hasNext()) {
+            Member member = it.next();
+            if (member == self) {
+                continue;
+            }
+            long silent = now - member.seenAt;
+            if (silent > failureTimeout * 3) {
+                if (member.peer != null) {
+                    close(member.peer);
+                }
+                it.remove();
+            } else if (silent <= failureTimeout && member.peer == null && member.load.getId() < id) {
+                member.peer = connect(member.load.getAddress());
+                if (member.peer != null) {
+                    member.peer.node = member.load.getId();
+                }
+            }
+        }
+        for (InetSocketAddress address : seeds) {
+            if (!known(address)) {
+                connect(address);
+            }
+        }
+
+        for (int i = peers.size() - 1; i >= 0; i--) {
+            Peer peer = peers.get(i);
+            if (peer.connected) {
+                gossip(peer);
+            }
+        }
+        balance(now);
+
+        NodeLoad[] loads = new NodeLoad[members.size()];
+        int i = 0;
+        for (Member member : members.values()) {
+            loads[i++] = member.load.withAlive(member == self || now - member.seenAt <= failureTimeout);
+        }
+        view = new ClusterView(loads);
+    }
+
+    private boolean known(InetSocketAddress address) {
+        for (Peer peer : peers) {
+            if (address.equals(peer.target)) {
+                return true;
+            }
+        }
+        for (Member member : members.values()) {
+            if (member.peer != null && address.equals(member.load.getAddress())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private NodeLoad local() {
+        ProcessSnapshot snapshot = pm.getSnapshot();
+        ProcessManagerStats stats = snapshot.getStats();
+        return new NodeLoad(
+            id,
+            address,
+            heartbeat,
+            snapshot.getTick(),
+            snapshot.size(),
+            snapshot.count(ProcessState.READY),
+            stats.getStarted(),
+            stats.getCompleted(),
+            stats.getStopped(),
+            stats.getMigratedIn(),
+            stats.getMigratedOut(),
+            true
+        );
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel = server.accept();
+        if (channel == null) {
+            return;
+        }
+        channel.configureBlocking(false);
+        channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        Peer peer = new Peer(channel, null, true);
+        channel.register(selector, SelectionKey.OP_READ, peer);
+        peers.add(peer);
+    }
+
+    private Peer connect(InetSocketAddress target) {
+        SocketChannel channel = null;
+        try {
+            channel = SocketChannel.open();
+            channel.configureBlocking(false);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            boolean connected = channel.connect(target);
+            Peer peer = new Peer(channel, target, connected);
+            channel.register(selector, connected ? SelectionKey.OP_READ : SelectionKey.OP_CONNECT, peer);
+            peers.add(peer);
+            return peer;
+        } catch (IOException ex) {
+            if (channel != null) {
+                try {
+                    channel.close();
+                } catch (IOException ignored) {
+                }
+            }
+            return null;
+        }
+    }
+
+    private void disconnect(Peer peer) {
+        close(peer);
+        for (Member member : members.values()) {
+            if (member.peer == peer) {
+                member.peer = null;
+            }
+        }
+    }
+
+    private void close(Peer peer) {
+        peers.remove(peer);
+        SelectionKey key = peer.channel.keyFor(selector);
+        if (key != null) {
+            key.cancel();
+        }
+        try {
+            peer.channel.close();
+        } catch (IOException ex) {
+        }
+        Transfer transfer;
+        while ((transfer = peer.transfers.poll()) != null) {
+            if (transfer.end <= peer.written) {
+                unacknowledged += transfer.count;
+            } else {
+                restore(transfer);
+            }
+        }
+    }
+
+    private void restore(Transfer transfer) {
+        ByteBuffer in = ByteBuffer.wrap(transfer.frame);
+        in.getInt();
+        in.get();
+        Process[] table = readTable(in);
+        int count = readVarInt(in);
+        int[] adopted = {0};
+        pm.batch(() -> adopted[0] = adopt(in, table, count, 0));
+        dropped += count - adopted[0];
+    }
+
+    private void flush(Peer peer) throws IOException {
+        ByteBuffer out = peer.out;
+        if (peer.connected && out.position() > 0) {
+            out.flip();
+            peer.written += peer.channel.write(out);
+            out.compact();
+        }
+
+        SelectionKey key = peer.channel.keyFor(selector);
+        if (key == null || !key.isValid()) {
+            return;
+        }
+        if (!peer.connected) {
+            key.interestOps(SelectionKey.OP_CONNECT);
+        } else {
+            key.interestOps(out.position() > 0 ? SelectionKey.OP_READ | SelectionKey.OP_WRITE : SelectionKey.OP_READ);
+        }
+    }
+
+    private int begin(Peer peer, int opcode) {
+        ByteBuffer out = peer.out;
+        if (out.remaining() < ClusterProtocol.MAX_FRAME_SIZE + ClusterProtocol.HEADER_SIZE) {
+            ByteBuffer grown = ByteBuffer.allocate(Math.max(out.capacity() << 1, out.position() + (OUTPUT_SIZE << 1)));
+            out.flip();
+            grown.put(out);
+            peer.out = grown;
+            out = grown;
+        }
+        int mark = out.position();
+        out.position(mark + ClusterProtocol.HEADER_SIZE);
+        out.put((byte) opcode);
+        return mark;
+    }
+
+    private int finish(Peer peer, int mark) {
+        ByteBuffer out = peer.out;
+        int length = out.position() - mark - ClusterProtocol.HEADER_SIZE;
+        out.putShort(mark, (short) length);
+        peer.appended += length + ClusterProtocol.HEADER_SIZE;
+        return length + ClusterProtocol.HEADER_SIZE;
+    }
+
+    private void hold(Peer peer, int mark, int count) {
+        ByteBuffer out = peer.out;
+        int from = mark + ClusterProtocol.HEADER_SIZE + 1;
+        byte[] frame = new byte[out.position() - from];
+        for (int i = 0; i < frame.length; i++) {
+            frame[i] = out.get(from + i);
+        }
+        peer.transfers.add(new Transfer(peer.appended, count, frame));
+    }
+
+    private void read(Peer peer) throws IOException {
+        ByteBuffer in = peer.in;
+        if (peer.channel.read(in) < 0) {
+            disconnect(peer);
+            return;
+        }
+
+        in.flip();
+        int limit = in.limit();
+        while (in.remaining() >= ClusterProtocol.HEADER_SIZE) {
+            int start = in.position();
+            int length = in.getShort(start) & 0xffff;
+            if (length == 0) {
+                throw new IllegalStateException("Empty cluster frame");
+            }
+            int end = start + ClusterProtocol.HEADER_SIZE + length;
+            if (end > limit) {
+                break;
+            }
+
+            in.position(start + ClusterProtocol.HEADER_SIZE);
+            in.limit(end);
+            bytesIn += ClusterProtocol.HEADER_SIZE + length;
+            int opcode = in.get() & 0xff;
+            switch (opcode) {
+                case ClusterProtocol.GOSSIP:
+                    receiveGossip(peer, in);
+                    break;
+                case ClusterProtocol.MIGRATE:
+                    receiveMigrate(peer, in);
+                    break;
+                case ClusterProtocol.ACK:
+                    if (peer.transfers.poll() == null) {
+                        throw new IllegalStateException("Unexpected cluster acknowledgement");
+                    }
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown cluster opcode " + opcode);
+            }
+            in.limit(limit);
+            in.position(end);
+        }
+        in.compact();
+    }
+
+    private void gossip(Peer peer) {
+        int mark = begin(peer, ClusterProtocol.GOSSIP);
+        ByteBuffer out = peer.out;
+        int max = (ClusterProtocol.MAX_FRAME_SIZE - 3) / LOAD_SIZE;
+        int count = 1;
+        int countAt = out.position();
+        out.putShort((short) 0);
+        writeLoad(out, self.load);
+        for (Member member : members.values()) {
+            if (member == self || count == max) {
+                continue;
+            }
+            writeLoad(out, member.load);
+            count++;
+        }
+        out.putShort(countAt, (short) count);
+        bytesOut += finish(peer, mark);
+        try {
+            flush(peer);
+        } catch (IOException ex) {
+            disconnect(peer);
+        }
+    }
+
+    private void receiveGossip(Peer peer, ByteBuffer in) {
+        long now = System.currentTimeMillis();
+        int count = in.getShort() & 0xffff;
+        for (int i = 0; i < count; i++) {
+            NodeLoad load = readLoad(in);
+            if (i == 0 && peer.node < 0) {
+                peer.node = load.getId();
+            }
+            if (load.getId() == id) {
+                continue;
+            }
+
+            Member member = members.get(load.getId());
+            if (member == null) {
+                member = new Member(load, now);
+                members.put(load.getId(), member);
+            } else if (load.getHeartbeat() > member.load.getHeartbeat()) {
+                member.load = load;
+                member.seenAt = now;
+                if (i == 0) {
+                    member.inFlight = 0;
+                }
+            }
+            if (i == 0 && member.peer == null) {
+                member.peer = peer;
+            }
+        }
+    }
+
+    private void balance(long now) {
+        Member target = null;
+        int lowest = Integer.MAX_VALUE;
+        for (Member member : members.values()) {
+            if (member == self || member.peer == null || !member.peer.connected || now - member.seenAt > failureTimeout) {
+                continue;
+            }
+            int load = member.load.getInstances() + member.inFlight;
+            if (load < lowest) {
+                lowest = load;
+                target = member;
+            }
+        }
+        if (target == null) {
+            return;
+        }
+
+        int surplus = Math.min(self.load.getInstances() - lowest, self.load.getReady());
+        if (surplus <= threshold) {
+            return;
+        }
+
+        int count = Math.min(batchSize, surplus / 2);
+        outNames.clear();
+        outRecords.clear();
+        outCount = 0;
+        outNameBytes = 0;
+        synchronized (pm) {
+            ProcessInstance[] order = pm.getReadyOrder();
+            pm.batch(() -> drain(order, count));
+        }
+        if (outCount == 0) {
+            return;
+        }
+
+        Peer peer = target.peer;
+        String[] table = new String[outNames.size()];
+        for (Map.Entry<String, Integer> entry : outNames.entrySet()) {
+            table[entry.getValue()] = entry.getKey();
+        }
+        outRecords.flip();
+        int mark = begin(peer, ClusterProtocol.MIGRATE);
+        ByteBuffer out = peer.out;
+        out.putInt(id);
+        out.put((byte) 0);
+        writeVarInt(out, table.length);
+        for (String name : table) {
+            byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(out, bytes.length);
+            out.put(bytes);
+        }
+        writeVarInt(out, outCount);
+        out.put(outRecords);
+        bytesOut += finish(peer, mark);
+        hold(peer, mark, outCount);
+        target.inFlight += outCount;
+        try {
+            flush(peer);
+        } catch (IOException ex) {
+            disconnect(peer);
+        }
+    }
+
+    private void drain(ProcessInstance[] order, int count) {
+        long tick = pm.getTick();
+        for (int i = order.length - 1; i >= 0 && outCount < count; i--) {
+            ProcessInstance instance = order[i];
+            String name = instance.getProcess().getName();
+            Integer index = outNames.get(name);
+            int nameSize = index == null ? name.getBytes(StandardCharsets.UTF_8).length + 5 : 0;
+            if (outRecords.position() + outNameBytes + nameSize + MAX_RECORD_SIZE + 16 > ClusterProtocol.MAX_FRAME_SIZE) {
+                return;
+            }
+            if (!pm.migrate(instance)) {
+                continue;
+            }
+
+            if (index == null) {
+                index = outNames.size();
+                outNames.put(name, index);
+                outNameBytes += nameSize;
+            }
+            ProcessInfo info = instance.info;
+            writeVarInt(outRecords, index);
+            outRecords.put((byte) (instance.getPriority().ordinal() | (info.isReading() ? ClusterProtocol.READING : 0)));
+            outRecords.put((byte) (instance.getMemoryUsage() - 100));
+            outRecords.put((byte) (instance.getProcessTime() - 10));
+            outRecords.put((byte) info.getExecuted());
+            writeVarLong(outRecords, tick - info.getStartTick());
+            writeVarLong(outRecords, info.getWaitTicks());
+            outCount++;
+        }
+    }
+
+    private void receiveMigrate(Peer peer, ByteBuffer in) {
+        int frameSize = in.limit() - in.position() + ClusterProtocol.HEADER_SIZE + 1;
+        in.getInt();
+        int flags = in.get() & 0xff;
+        int tableStart = in.position();
+        Process[] table = readTable(in);
+        int tableEnd = in.position();
+        int count = readVarInt(in);
+        int transit = transitBase + frameSize / transitBytesPerTick;
+        validate(in, table, count);
+
+        int[] adopted = {0};
+        pm.batch(() -> adopted[0] = adopt(in, table, count, transit));
+        int rest = count - adopted[0];
+        bytesOut += finish(peer, begin(peer, ClusterProtocol.ACK));
+        if (rest > 0 && (flags & BOUNCED) != 0) {
+            dropped += rest;
+        } else if (rest > 0) {
+            int mark = begin(peer, ClusterProtocol.MIGRATE);
+            ByteBuffer out = peer.out;
+            out.putInt(id);
+            out.put((byte) BOUNCED);
+            for (int i = tableStart; i < tableEnd; i++) {
+                out.put(in.get(i));
+            }
+            writeVarInt(out, rest);
+            out.put(in);
+            bytesOut += finish(peer, mark);
+            hold(peer, mark, rest);
+            bounced += rest;
+        }
+        try {
+            flush(peer);
+        } catch (IOException ex) {
+            disconnect(peer);
+        }
+    }
+
+    private Process[] readTable(ByteBuffer in) {
+        int tableSize = readVarInt(in);
+        Process[] table = new Process[tableSize];
+        for (int i = 0; i < tableSize; i++) {
+            byte[] bytes = new byte[readVarInt(in)];
+            in.get(bytes);
+            String name = new String(bytes, StandardCharsets.UTF_8);
+            Process process = names.get(name);
+            if (process == null) {
+                process = new Process(name);
+                names.put(name, process);
+            }
+            table[i] = process;
+        }
+        return table;
+    }
+
+    private void validate(ByteBuffer in, Process[] table, int count) {
+        if (count < 0 || count > MAX_BATCH) {
+            throw new IllegalStateException("Invalid cluster migration batch of " + count + " records");
+        }
+
+        int mark = in.position();
+        try {
+            for (int i = 0; i < count; i++) {
+                int index = readVarInt(in);
+                int flags = in.get() & 0xff;
+                int memoryUsage = 100 + (in.get() & 0xff);
+                int processTime = 10 + (in.get() & 0xff);
+                int executed = in.get() & 0xff;
+                long age = readVarLong(in);
+                long waitTicks = readVarLong(in);
+                if (index < 0 || index >= table.length
+                    || (flags & ~(3 | ClusterProtocol.READING)) != 0
+                    || memoryUsage > 300
+                    || processTime > 50
+                    || executed >= processTime
+                    || age < 0 || waitTicks < 0 || waitTicks > age) {
+                    throw new IllegalStateException("Invalid cluster migration record");
+                }
+            }
+        } catch (BufferUnderflowException ex) {
+            throw new IllegalStateException("Truncated cluster migration frame", ex);
+        }
+        in.position(mark);
+    }
+
+    private int adopt(ByteBuffer in, Process[] table, int count, int transit) {
+        for (int i = 0; i < count; i++) {
+            int mark = in.position();
+            Process process = table[readVarInt(in)];
+            int flags = in.get() & 0xff;
+            int memoryUsage = 100 + (in.get() & 0xff);
+            int processTime = 10 + (in.get() & 0xff);
+            int executed = in.get() & 0xff;
+            long age = readVarLong(in);
+            long waitTicks = readVarLong(in);
+            try {
+                pm.adopt(
+                    process,
+                    priorities[flags & 3],
+                    memoryUsage,
+                    processTime,
+                    (flags & ClusterProtocol.READING) != 0,
+                    executed,
+                    age,
+                    waitTicks,
+                    transit
+                );
+            } catch (IllegalStateException ex) {
+                in.position(mark);
+                return i;
+            }
+            transitTicks += transit;
+        }
+        return count;
+    }
+
+    private static void writeLoad(ByteBuffer out, NodeLoad load) {
+        byte[] host = load.getAddress().getAddress().getAddress();
+        out.putInt(load.getId());
+        out.put((byte) host.length);
+        out.put(host);
+        out.putShort((short) load.getAddress().getPort());
+        out.putLong(load.getHeartbeat());
+        out.putLong(load.getTick());
+        out.putInt(load.getInstances());
+        out.putInt(load.getReady());
+        out.putLong(load.getStarted());
+        out.putLong(load.getCompleted());
+        out.putLong(load.getStopped());
+        out.putLong(load.getMigratedIn());
+        out.putLong(load.getMigratedOut());
+    }
+
+    private static NodeLoad readLoad(ByteBuffer in) {
+        int id = in.getInt();
+        byte[] host = new byte[in.get() & 0xff];
+        in.get(host);
+        InetSocketAddress address;
+        try {
+            address = new InetSocketAddress(InetAddress.getByAddress(host), in.getShort() & 0xffff);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Invalid node address", ex);
+        }
+        return new NodeLoad(
+            id,
+            address,
+            in.getLong(),
+            in.getLong(),
+            in.getInt(),
+            in.getInt(),
+            in.getLong(),
+            in.getLong(),
+            in.getLong(),
+            in.getLong(),
+            in.getLong(),
+            true
+        );
+    }
+
+    private static void writeVarInt(ByteBuffer out, int value) {
+        writeVarLong(out, value & 0xffffffffL);
+    }
+
+    private static void writeVarLong(ByteBuffer out, long value) {
+        while ((value & ~0x7fL) != 0) {
+            out.put((byte) ((value & 0x7f) | 0x80));
+            value >>>= 7;
+        }
+        out.put((byte) value);
+    }
+
+    private static int readVarInt(ByteBuffer in) {
+        return (int) readVarLong(in);
+    }
+
+    private static long readVarLong(ByteBuffer in) {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = in.get();
+            value |= (long) (b & 0x7f) << shift;
+            shift += 7;
+        } while (b < 0);
+        return value;
+    }
+}
@@ -0,0 +1,15 @@
+package fxprocessmanager.cluster;
+
+public final class ClusterProtocol {
+    public static final int HEADER_SIZE = 2;
+    public static final int MAX_FRAME_SIZE = 0xffff;
+
+    public static final int GOSSIP = 1;
+    public static final int MIGRATE = 2;
+    public static final int ACK = 3;
+
+    public static final int READING = 4;
+
+    private ClusterProtocol() {
+    }
+}
@@ -0,0 +1,110 @@
+package fxprocessmanager.cluster;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public final class ClusterView {
+    private final List<NodeLoad> nodes;
+    private final int coordinator;
+    private final int alive;
+    private final long instances;
+    private final long ready;
+    private final long started;
+    private final long completed;
+    private final long stopped;
+    private final long migrations;
+    private final int imbalance;
+
+    ClusterView(NodeLoad[] loads) {
+        NodeLoad[] sorted = loads.clone();
+        Arrays.sort(sorted, (a, b) -> Integer.compare(a.getId(), b.getId()));
+        int lowest = -1;
+        int count = 0;
+        long instanceSum = 0;
+        long readySum = 0;
+        long startedSum = 0;
+        long completedSum = 0;
+        long stoppedSum = 0;
+        long migrationSum = 0;
+        int minReady = Integer.MAX_VALUE;
+        int maxReady = 0;
+        for (NodeLoad load : sorted) {
+            if (!load.isAlive()) {
+                continue;
+            }
+            if (lowest < 0) {
+                lowest = load.getId();
+            }
+            count++;
+            instanceSum += load.getInstances();
+            readySum += load.getReady();
+            startedSum += load.getStarted();
+            completedSum += load.getCompleted();
+            stoppedSum += load.getStopped();
+            migrationSum += load.getMigratedOut();
+            minReady = Math.min(minReady, load.getReady());
+            maxReady = Math.max(maxReady, load.getReady());
+        }
+
+        this.nodes = Collections.unmodifiableList(Arrays.asList(sorted));
+        this.coordinator = lowest;
+        this.alive = count;
+        this.instances = instanceSum;
+        this.ready = readySum;
+        this.started = startedSum;
+        this.completed = completedSum;
+        this.stopped = stoppedSum;
+        this.migrations = migrationSum;
+        this.imbalance = count == 0 ? 0 : maxReady - minReady;
+    }
+
+    public List<NodeLoad> getNodes() {
+        return nodes;
+    }
+
+    public NodeLoad getNode(int id) {
+        for (NodeLoad load : nodes) {
+            if (load.getId() == id) {
+                return load;
+            }
+        }
+        return null;
+    }
+
+    public int getCoordinator() {
+        return coordinator;
+    }
+
+    public int getAliveCount() {
+        return alive;
+    }
+
+    public long getInstances() {
+        return instances;
+    }
+
+    public long getReady() {
+        return ready;
+    }
+
+    public long getStarted() {
+        return started;
+    }
+
+    public long getCompleted() {
+        return completed;
+    }
+
+    public long getStopped() {
+        return stopped;
+    }
+
+    public long getMigrations() {
+        return migrations;
+    }
+
+    public int getImbalance() {
+        return imbalance;
+    }
+}
@@ -0,0 +1,85 @@
+package fxprocessmanager.cluster;
+
+import java.net.InetSocketAddress;
+
+public final class NodeLoad {
+    private final int id;
+    private final InetSocketAddress address;
+    private final long heartbeat;
+    private final long tick;
+    private final int instances;
+    private final int ready;
+    private final long started;
+    private final long completed;
+    private final long stopped;
+    private final long migratedIn;
+    private final long migratedOut;
+    private final boolean alive;
+
+    NodeLoad(int id, InetSocketAddress address, long heartbeat, long tick, int instances, int ready, long started, long completed, long stopped, long migratedIn, long migratedOut, boolean alive) {
+        this.id = id;
+        this.address = address;
+        this.heartbeat = heartbeat;
+        this.tick = tick;
+        this.instances = instances;
+        this.ready = ready;
+        this.started = started;
+        this.completed = completed;
+        this.stopped = stopped;
+        this.migratedIn = migratedIn;
+        this.migratedOut = migratedOut;
+        this.alive = alive;
+    }
+
+    NodeLoad withAlive(boolean alive) {
+        return alive == this.alive ? this : new NodeLoad(id, address, heartbeat, tick, instances, ready, started, completed, stopped, migratedIn, migratedOut, alive);
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public InetSocketAddress getAddress() {
+        return address;
+    }
+
+    public long getHeartbeat() {
+        return heartbeat;
+    }
+
+    public long getTick() {
+        return tick;
+    }
+
+    public int getInstances() {
+        return instances;
+    }
+
+    public int getReady() {
+        return ready;
+    }
+
+    public long getStarted() {
+        return started;
+    }
+
+    public long getCompleted() {
+        return completed;
+    }
+
+    public long getStopped() {
+        return stopped;
+    }
+
+    public long getMigratedIn() {
+        return migratedIn;
+    }
+
+    public long getMigratedOut() {
+        return migratedOut;
+    }
+
+    public boolean isAlive() {
+        return alive;
+    }
+}
@@ -0,0 +1,5 @@
+package fxprocessmanager.flow;
+
+public enum OverflowPolicy {
+    DROP_OLDEST, COALESCE, BLOCK
+}
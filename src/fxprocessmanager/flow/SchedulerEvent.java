@@ -0,0 +1,70 @@
+package fxprocessmanager.flow;
+
+import fxprocessmanager.process.Process;
+import fxprocessmanager.process.ProcessEventType;
+import fxprocessmanager.process.ProcessInfo;
+import fxprocessmanager.process.ProcessInstance;
+import fxprocessmanager.process.ProcessPriority;
+import fxprocessmanager.process.ProcessState;
+
+public final class SchedulerEvent {
+    private final ProcessEventType type;
+    private final long tick;
+    private final int pid;
+    private final Process process;
+    private final ProcessPriority priority;
+    private final ProcessState state;
+    private final int executed;
+    private final boolean reading;
+
+    public SchedulerEvent(ProcessEventType type, long tick, ProcessInstance instance) {
+        if (type == null) {
+            throw new IllegalArgumentException("Event type cannot be null");
+        }
+        if (instance == null) {
+            throw new IllegalArgumentException("Process instance cannot be null");
+        }
+
+        long word = instance.info.getWord();
+        this.type = type;
+        this.tick = tick;
+        this.pid = instance.getPID();
+        this.process = instance.getProcess();
+        this.priority = instance.getPriority();
+        this.state = ProcessInfo.stateOf(word);
+        this.executed = ProcessInfo.executedOf(word);
+        this.reading = ProcessInfo.readingOf(word);
+    }
+
+    public ProcessEventType getType() {
+        return type;
+    }
+
+    public long getTick() {
+        return tick;
+    }
+
+    public int getPID() {
+        return pid;
+    }
+
+    public Process getProcess() {
+        return process;
+    }
+
+    public ProcessPriority getPriority() {
+        return priority;
+    }
+
+    public ProcessState getState() {
+        return state;
+    }
+
+    public int getExecuted() {
+        return executed;
+    }
+
+    public boolean isReading() {
+        return reading;
+    }
+}
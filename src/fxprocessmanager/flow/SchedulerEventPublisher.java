@@ -0,0 +1,438 @@
+package fxprocessmanager.flow;
+
+import fxprocessmanager.process.ProcessEventListener;
+import fxprocessmanager.process.ProcessEventType;
+import fxprocessmanager.process.ProcessInstance;
+import fxprocessmanager.process.ProcessManager;
+import java.io.Closeable;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
+
+public final class SchedulerEventPublisher implements Flow.Publisher<SchedulerEvent>, ProcessEventListener, Closeable {
+    public static final int DEFAULT_CAPACITY = 1024;
+    private static final int MAX_PIDS = 0x10000;
+
+    private final class EventSubscription implements Flow.Subscription, Runnable {
+        private final Flow.Subscriber<? super SchedulerEvent> subscriber;
+        private final SchedulerEvent[] buffer;
+        private final int mask;
+        private final OverflowPolicy policy;
+        private final boolean[] types;
+        private long[] latest;
+        private ArrayDeque<SchedulerEvent> spill;
+        private Throwable failure;
+        private long head;
+        private long tail;
+        private long demand;
+        private int waiters;
+        private boolean scheduled;
+        private boolean cancelled;
+        private boolean completed;
+
+        EventSubscription(Flow.Subscriber<? super SchedulerEvent> subscriber, int capacity, OverflowPolicy policy, Set<ProcessEventType> types) {
+            int size = Integer.highestOneBit(capacity);
+            if (size < capacity) {
+                size <<= 1;
+            }
+            this.subscriber = subscriber;
+            this.buffer = new SchedulerEvent[size];
+            this.mask = size - 1;
+            this.policy = policy;
+            this.types = new boolean[ProcessEventType.count];
+            for (ProcessEventType type : types) {
+                this.types[type.ordinal()] = true;
+            }
+            this.latest = null;
+            this.spill = null;
+            this.failure = null;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                cancel();
+                subscriber.onError(new IllegalArgumentException("Requested demand must be a positive integer"));
+                return;
+            }
+            synchronized (this) {
+                demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+            }
+            signal();
+        }
+
+        @Override
+        public void cancel() {
+            synchronized (this) {
+                if (cancelled) {
+                    return;
+                }
+                cancelled = true;
+                Arrays.fill(buffer, null);
+                head = tail;
+                spill = null;
+                if (waiters > 0) {
+                    notifyAll();
+                }
+            }
+            remove(this);
+        }
+
+        boolean accepts(ProcessEventType type) {
+            return types[type.ordinal()];
+        }
+
+        void offer(SchedulerEvent event) {
+            synchronized (this) {
+                if (cancelled || completed) {
+                    return;
+                }
+                if (policy == OverflowPolicy.BLOCK && (tail - head == buffer.length || spill != null && !spill.isEmpty())) {
+                    if (spill == null) {
+                        spill = new ArrayDeque<>();
+                    }
+                    if (spill.size() < buffer.length) {
+                        spill.add(event);
+                        return;
+                    }
+                    overflow();
+                } else {
+                    enqueue(event);
+                }
+            }
+            signal();
+        }
+
+        private void enqueue(SchedulerEvent event) {
+            if (tail - head == buffer.length) {
+                switch (policy) {
+                    case COALESCE:
+                        int pid = event.getPID();
+                        long sequence = latest != null && pid < latest.length ? latest[pid] - 1 : -1;
+                        if (sequence >= head) {
+                            SchedulerEvent pending = buffer[(int) sequence & mask];
+                            if (pending != null && pending.getPID() == event.getPID()) {
+                                buffer[(int) sequence & mask] = event;
+                                coalesced.increment();
+                                return;
+                            }
+                        }
+                        buffer[(int) head & mask] = null;
+                        head++;
+                        dropped.increment();
+                        break;
+                    default:
+                        buffer[(int) head & mask] = null;
+                        head++;
+                        dropped.increment();
+                        break;
+                }
+            }
+            if (policy == OverflowPolicy.COALESCE) {
+                track(event.getPID(), tail + 1);
+            }
+            buffer[(int) tail & mask] = event;
+            tail++;
+        }
+
+        private void overflow() {
+            dropped.add(tail - head + spill.size() + 1);
+            failure = new IllegalStateException("Subscriber fell more than " + 2 * buffer.length + " events behind");
+            Arrays.fill(buffer, null);
+            head = tail;
+            spill = null;
+            completed = true;
+            if (waiters > 0) {
+                notifyAll();
+            }
+        }
+
+        private void track(int pid, long sequence) {
+            if (latest == null || pid >= latest.length) {
+                int size = latest == null ? 64 : latest.length;
+                while (size <= pid) {
+                    size <<= 1;
+                }
+                latest = latest == null ? new long[Math.min(size, MAX_PIDS)] : Arrays.copyOf(latest, Math.min(size, MAX_PIDS));
+            }
+            latest[pid] = sequence;
+        }
+
+        void awaitSpace() {
+            synchronized (this) {
+                waiters++;
+                try {
+                    while (spill != null && !spill.isEmpty() && !cancelled) {
+                        wait();
+                    }
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    waiters--;
+                }
+            }
+        }
+
+        void complete() {
+            synchronized (this) {
+                completed = true;
+            }
+            signal();
+        }
+
+        void signal() {
+            synchronized (this) {
+                if (scheduled || cancelled) {
+                    return;
+                }
+                boolean ready = head < tail ? demand > 0 : completed;
+                if (!ready) {
+                    return;
+                }
+                scheduled = true;
+            }
+            try {
+                executor.execute(this);
+            } catch (RuntimeException ex) {
+                synchronized (this) {
+                    scheduled = false;
+                }
+                cancel();
+                subscriber.onError(ex);
+            }
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                SchedulerEvent event;
+                Throwable error = null;
+                synchronized (this) {
+                    if (cancelled) {
+                        scheduled = false;
+                        return;
+                    }
+                    if (head == tail) {
+                        scheduled = false;
+                        if (!completed) {
+                            return;
+                        }
+                        cancelled = true;
+                        event = null;
+                        error = failure;
+                    } else if (demand == 0) {
+                        scheduled = false;
+                        return;
+                    } else {
+                        int index = (int) head & mask;
+                        event = buffer[index];
+                        buffer[index] = null;
+                        head++;
+                        if (demand != Long.MAX_VALUE) {
+                            demand--;
+                        }
+                        if (spill != null && !spill.isEmpty()) {
+                            buffer[(int) tail & mask] = spill.poll();
+                            tail++;
+                            if (spill.isEmpty() && waiters > 0) {
+                                notifyAll();
+                            }
+                        }
+                    }
+                }
+
+                if (event == null) {
+                    if (error != null) {
+                        remove(this);
+                        subscriber.onError(error);
+                    } else {
+                        subscriber.onComplete();
+                    }
+                    return;
+                }
+                try {
+                    subscriber.onNext(event);
+                } catch (Throwable ex) {
+                    cancel();
+                    subscriber.onError(ex);
+                    return;
+                }
+            }
+        }
+    }
+
+    private final Executor executor;
+    private volatile EventSubscription[] subscriptions;
+    private ProcessManager pm;
+    private boolean closed;
+    private final LongAdder published;
+    private final LongAdder dropped;
+    private final LongAdder coalesced;
+
+    public SchedulerEventPublisher(Executor executor) {
+        if (executor == null) {
+            throw new IllegalArgumentException("Executor cannot be null");
+        }
+
+        this.executor = executor;
+        this.subscriptions = new EventSubscription[0];
+        this.pm = null;
+        this.closed = false;
+        this.published = new LongAdder();
+        this.dropped = new LongAdder();
+        this.coalesced = new LongAdder();
+    }
+
+    public SchedulerEventPublisher() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public synchronized void attach(ProcessManager pm) {
+        if (pm == null) {
+            throw new IllegalArgumentException("Process manager cannot be null");
+        }
+        if (this.pm != null) {
+            throw new IllegalStateException("Event publisher is already attached to a process manager");
+        }
+        if (closed) {
+            throw new IllegalStateException("Event publisher is closed");
+        }
+
+        this.pm = pm;
+        pm.listen(this);
+    }
+
+    public synchronized void detach() {
+        if (pm != null) {
+            pm.unlisten(this);
+            pm = null;
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscriptions.length;
+    }
+
+    public long getPublished() {
+        return published.sum();
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    public long getCoalesced() {
+        return coalesced.sum();
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super SchedulerEvent> subscriber) {
+        subscribe(subscriber, DEFAULT_CAPACITY, OverflowPolicy.DROP_OLDEST, null);
+    }
+
+    public void subscribe(Flow.Subscriber<? super SchedulerEvent> subscriber, int capacity, OverflowPolicy policy, Set<ProcessEventType> types) {
+        if (subscriber == null) {
+            throw new IllegalArgumentException("Subscriber cannot be null");
+        }
+        if (capacity <= 0 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Subscriber buffer capacity must be a positive integer");
+        }
+        if (policy == null) {
+            throw new IllegalArgumentException("Overflow policy cannot be null");
+        }
+
+        EventSubscription subscription = new EventSubscription(
+            subscriber,
+            capacity,
+            policy,
+            types == null ? EnumSet.allOf(ProcessEventType.class) : types
+        );
+        boolean duplicate = false;
+        boolean complete;
+        synchronized (this) {
+            for (EventSubscription current : subscriptions) {
+                if (current.subscriber == subscriber) {
+                    duplicate = true;
+                    break;
+                }
+            }
+            complete = closed;
+            if (!duplicate && !closed) {
+                EventSubscription[] updated = Arrays.copyOf(subscriptions, subscriptions.length + 1);
+                updated[subscriptions.length] = subscription;
+                subscriptions = updated;
+            }
+        }
+        if (duplicate) {
+            synchronized (subscription) {
+                subscription.cancelled = true;
+            }
+            subscriber.onSubscribe(subscription);
+            subscriber.onError(new IllegalStateException("Subscriber is already subscribed"));
+            return;
+        }
+        subscriber.onSubscribe(subscription);
+        if (complete) {
+            subscription.complete();
+        }
+    }
+
+    @Override
+    public void onEvent(ProcessEventType type, long tick, ProcessInstance instance) {
+        EventSubscription[] current = subscriptions;
+        SchedulerEvent event = null;
+        for (EventSubscription subscription : current) {
+            if (!subscription.accepts(type)) {
+                continue;
+            }
+            if (event == null) {
+                event = new SchedulerEvent(type, tick, instance);
+                published.increment();
+            }
+            subscription.offer(event);
+        }
+    }
+
+    @Override
+    public void beforeTick() {
+        for (EventSubscription subscription : subscriptions) {
+            if (subscription.policy == OverflowPolicy.BLOCK) {
+                subscription.awaitSpace();
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        EventSubscription[] current;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            detach();
+            closed = true;
+            current = subscriptions;
+            subscriptions = new EventSubscription[0];
+        }
+        for (EventSubscription subscription : current) {
+            subscription.complete();
+        }
+    }
+
+    private synchronized void remove(EventSubscription subscription) {
+        for (int i = 0; i < subscriptions.length; i++) {
+            if (subscriptions[i] == subscription) {
+                EventSubscription[] updated = new EventSubscription[subscriptions.length - 1];
+                System.arraycopy(subscriptions, 0, updated, 0, i);
+                System.arraycopy(subscriptions, i + 1, updated, i, updated.length - i);
+                subscriptions = updated;
+                return;
+            }
+        }
+    }
+}
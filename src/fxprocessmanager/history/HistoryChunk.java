@@ -0,0 +1,225 @@
+package fxprocessmanager.history;
+
+import java.util.Arrays;
+
+final class HistoryChunk {
+    static final int PID = 0;
+    static final int GROUP = 1;
+    static final int KIND = 2;
+    static final int PROCESS_TIME = 3;
+    static final int EXECUTED = 4;
+    static final int TURNAROUND = 5;
+    static final int END_TICK = 6;
+    static final int WAIT = 7;
+    static final int FINISHED_AT = 8;
+    static final int COLUMNS = 9;
+
+    private final int count;
+    private final byte[] data;
+    private final int[] offsets;
+    private final long[] completed;
+    private final long[] stopped;
+    private final long[] turnaround;
+    private final long[] wait;
+    private final int[] groupCompletions;
+    private final int[] groupRecords;
+    private final long newestFinished;
+
+    HistoryChunk(HistoryColumns columns, int priorities) {
+        count = columns.size;
+        completed = new long[priorities];
+        stopped = new long[priorities];
+        turnaround = new long[priorities];
+        wait = new long[priorities];
+        int groups = 0;
+        for (int i = 0; i < count; i++) {
+            groups = Math.max(groups, columns.groups[i] + 1);
+        }
+        groupCompletions = new int[groups];
+        groupRecords = new int[groups];
+        for (int i = 0; i < count; i++) {
+            groupRecords[columns.groups[i]]++;
+            int priority = columns.kinds[i] >> 1;
+            if ((columns.kinds[i] & 1) != 0) {
+                completed[priority]++;
+                turnaround[priority] += columns.endTicks[i] - columns.startTicks[i];
+                wait[priority] += columns.waitTicks[i];
+                groupCompletions[columns.groups[i]]++;
+            } else {
+                stopped[priority]++;
+            }
+        }
+        newestFinished = count == 0 ? 0 : columns.finishedAt[count - 1];
+
+        Encoder encoder = new Encoder(count * 12);
+        offsets = new int[COLUMNS + 1];
+        long previous;
+        offsets[PID] = encoder.size;
+        previous = 0;
+        for (int i = 0; i < count; i++) {
+            encoder.writeSigned(columns.pids[i] - previous);
+            previous = columns.pids[i];
+        }
+        offsets[GROUP] = encoder.size;
+        for (int i = 0; i < count; i++) {
+            encoder.write(columns.groups[i]);
+        }
+        offsets[KIND] = encoder.size;
+        for (int i = 0; i < count; i++) {
+            encoder.write(columns.kinds[i]);
+        }
+        offsets[PROCESS_TIME] = encoder.size;
+        for (int i = 0; i < count; i++) {
+            encoder.write(columns.processTimes[i]);
+        }
+        offsets[EXECUTED] = encoder.size;
+        for (int i = 0; i < count; i++) {
+            encoder.write(columns.executed[i]);
+        }
+        offsets[TURNAROUND] = encoder.size;
+        for (int i = 0; i < count; i++) {
+            encoder.write(columns.endTicks[i] - columns.startTicks[i]);
+        }
+        offsets[END_TICK] = encoder.size;
+        previous = 0;
+        for (int i = 0; i < count; i++) {
+            encoder.writeSigned(columns.endTicks[i] - previous);
+            previous = columns.endTicks[i];
+        }
+        offsets[WAIT] = encoder.size;
+        for (int i = 0; i < count; i++) {
+            encoder.write(columns.waitTicks[i]);
+        }
+        offsets[FINISHED_AT] = encoder.size;
+        previous = 0;
+        for (int i = 0; i < count; i++) {
+            encoder.writeSigned(columns.finishedAt[i] - previous);
+            previous = columns.finishedAt[i];
+        }
+        offsets[COLUMNS] = encoder.size;
+        data = Arrays.copyOf(encoder.buffer, encoder.size);
+    }
+
+    int size() {
+        return count;
+    }
+
+    int encodedSize() {
+        return data.length;
+    }
+
+    long getNewestFinished() {
+        return newestFinished;
+    }
+
+    long getCompleted(int priority) {
+        return completed[priority];
+    }
+
+    long getStopped(int priority) {
+        return stopped[priority];
+    }
+
+    long getTurnaround(int priority) {
+        return turnaround[priority];
+    }
+
+    long getWait(int priority) {
+        return wait[priority];
+    }
+
+    int getCompletions(int group) {
+        return group < groupCompletions.length ? groupCompletions[group] : 0;
+    }
+
+    int getGroupCount() {
+        return groupRecords.length;
+    }
+
+    int getRecords(int group) {
+        return groupRecords[group];
+    }
+
+    void decode(HistoryColumns columns) {
+        columns.size = count;
+        int[] position = {offsets[PID]};
+        long previous = 0;
+        for (int i = 0; i < count; i++) {
+            previous += readSigned(position);
+            columns.pids[i] = (int) previous;
+        }
+        for (int i = 0; i < count; i++) {
+            columns.groups[i] = (int) read(position);
+        }
+        for (int i = 0; i < count; i++) {
+            columns.kinds[i] = (byte) read(position);
+        }
+        for (int i = 0; i < count; i++) {
+            columns.processTimes[i] = (int) read(position);
+        }
+        for (int i = 0; i < count; i++) {
+            columns.executed[i] = (int) read(position);
+        }
+        for (int i = 0; i < count; i++) {
+            columns.startTicks[i] = read(position);
+        }
+        previous = 0;
+        for (int i = 0; i < count; i++) {
+            previous += readSigned(position);
+            columns.endTicks[i] = previous;
+            columns.startTicks[i] = previous - columns.startTicks[i];
+        }
+        for (int i = 0; i < count; i++) {
+            columns.waitTicks[i] = read(position);
+        }
+        previous = 0;
+        for (int i = 0; i < count; i++) {
+            previous += readSigned(position);
+            columns.finishedAt[i] = previous;
+        }
+    }
+
+    private long read(int[] position) {
+        long value = 0;
+        int shift = 0;
+        int p = position[0];
+        byte b;
+        do {
+            b = data[p++];
+            value |= (long) (b & 0x7f) << shift;
+            shift += 7;
+        } while (b < 0);
+        position[0] = p;
+        return value;
+    }
+
+    private long readSigned(int[] position) {
+        long value = read(position);
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static final class Encoder {
+        private byte[] buffer;
+        private int size;
+
+        Encoder(int capacity) {
+            buffer = new byte[Math.max(16, capacity)];
+            size = 0;
+        }
+
+        void write(long value) {
+            if (size + 10 > buffer.length) {
+                buffer = Arrays.copyOf(buffer, buffer.length << 1);
+            }
+            while ((value & ~0x7fL) != 0) {
+                buffer[size++] = (byte) ((value & 0x7f) | 0x80);
+                value >>>= 7;
+            }
+            buffer[size++] = (byte) value;
+        }
+
+        void writeSigned(long value) {
+            write((value << 1) ^ (value >> 63));
+        }
+    }
+}
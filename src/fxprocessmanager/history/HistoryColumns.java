@@ -0,0 +1,41 @@
+package fxprocessmanager.history;
+
+final class HistoryColumns {
+    final int[] pids;
+    final int[] groups;
+    final byte[] kinds;
+    final int[] processTimes;
+    final int[] executed;
+    final long[] startTicks;
+    final long[] endTicks;
+    final long[] waitTicks;
+    final long[] finishedAt;
+    int size;
+
+    HistoryColumns(int capacity) {
+        pids = new int[capacity];
+        groups = new int[capacity];
+        kinds = new byte[capacity];
+        processTimes = new int[capacity];
+        executed = new int[capacity];
+        startTicks = new long[capacity];
+        endTicks = new long[capacity];
+        waitTicks = new long[capacity];
+        finishedAt = new long[capacity];
+        size = 0;
+    }
+
+    void drop(int count) {
+        int kept = size - count;
+        System.arraycopy(pids, count, pids, 0, kept);
+        System.arraycopy(groups, count, groups, 0, kept);
+        System.arraycopy(kinds, count, kinds, 0, kept);
+        System.arraycopy(processTimes, count, processTimes, 0, kept);
+        System.arraycopy(executed, count, executed, 0, kept);
+        System.arraycopy(startTicks, count, startTicks, 0, kept);
+        System.arraycopy(endTicks, count, endTicks, 0, kept);
+        System.arraycopy(waitTicks, count, waitTicks, 0, kept);
+        System.arraycopy(finishedAt, count, finishedAt, 0, kept);
+        size = kept;
+    }
+}
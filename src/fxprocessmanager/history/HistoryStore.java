@@ -0,0 +1,326 @@
+package fxprocessmanager.history;
+
+import fxprocessmanager.process.Process;
+import fxprocessmanager.process.ProcessEventListener;
+import fxprocessmanager.process.ProcessEventType;
+import fxprocessmanager.process.ProcessInfo;
+import fxprocessmanager.process.ProcessInstance;
+import fxprocessmanager.process.ProcessPriority;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public final class HistoryStore implements ProcessEventListener {
+    private static final int CHUNK_BITS = 12;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final ProcessPriority[] priorities = ProcessPriority.values();
+
+    private final HistoryColumns open;
+    private final ArrayDeque<HistoryChunk> sealed;
+    private final IdentityHashMap<Process, Integer> groupIds;
+    private final ArrayList<Process> groups;
+    private final ArrayDeque<Integer> freeGroups;
+    private int[] groupRecords;
+    private long maxRecords;
+    private long maxAge;
+    private long sealedRecords;
+    private long encodedBytes;
+    private long evicted;
+
+    public HistoryStore(long maxRecords, long maxAge) {
+        open = new HistoryColumns(CHUNK_SIZE);
+        sealed = new ArrayDeque<>();
+        groupIds = new IdentityHashMap<>();
+        groups = new ArrayList<>();
+        freeGroups = new ArrayDeque<>();
+        groupRecords = new int[16];
+        setRetention(maxRecords, maxAge);
+        clear();
+    }
+
+    public HistoryStore() {
+        this(Long.MAX_VALUE, Long.MAX_VALUE);
+    }
+
+    public synchronized void setRetention(long maxRecords, long maxAge) {
+        if (maxRecords < CHUNK_SIZE) {
+            throw new IllegalArgumentException("History retention must keep at least " + CHUNK_SIZE + " records");
+        }
+        if (maxAge <= 0) {
+            throw new IllegalArgumentException("History retention age must be a positive integer");
+        }
+        this.maxRecords = maxRecords;
+        this.maxAge = maxAge;
+        trim(System.currentTimeMillis());
+    }
+
+    public synchronized long getMaxRecords() {
+        return maxRecords;
+    }
+
+    public synchronized long getMaxAge() {
+        return maxAge;
+    }
+
+    public synchronized void clear() {
+        open.size = 0;
+        sealed.clear();
+        groupIds.clear();
+        groups.clear();
+        freeGroups.clear();
+        groupRecords = new int[16];
+        sealedRecords = 0;
+        encodedBytes = 0;
+        evicted = 0;
+    }
+
+    public synchronized long size() {
+        trim(System.currentTimeMillis());
+        return sealedRecords + open.size;
+    }
+
+    public synchronized int getChunkCount() {
+        trim(System.currentTimeMillis());
+        return sealed.size();
+    }
+
+    public synchronized long getEncodedBytes() {
+        trim(System.currentTimeMillis());
+        return encodedBytes;
+    }
+
+    public synchronized long getEvicted() {
+        trim(System.currentTimeMillis());
+        return evicted;
+    }
+
+    @Override
+    public synchronized void onEvent(ProcessEventType type, long tick, ProcessInstance instance) {
+        if (type != ProcessEventType.COMPLETE && type != ProcessEventType.STOP) {
+            return;
+        }
+
+        ProcessInfo info = instance.info;
+        long now = System.currentTimeMillis();
+        int i = open.size++;
+        open.pids[i] = instance.getPID();
+        open.groups[i] = group(instance.getProcess());
+        open.kinds[i] = (byte) ((instance.getPriority().ordinal() << 1) | (type == ProcessEventType.COMPLETE ? 1 : 0));
+        open.processTimes[i] = instance.getProcessTime();
+        open.executed[i] = info.getExecuted();
+        open.startTicks[i] = info.getStartTick();
+        open.endTicks[i] = tick;
+        open.waitTicks[i] = info.getWaitTicks();
+        open.finishedAt[i] = now;
+        if (open.size == CHUNK_SIZE) {
+            HistoryChunk chunk = new HistoryChunk(open, priorities.length);
+            sealed.addLast(chunk);
+            sealedRecords += chunk.size();
+            encodedBytes += chunk.encodedSize();
+            open.size = 0;
+        }
+        trim(now);
+    }
+
+    public synchronized long getCompleted(ProcessPriority priority) {
+        trim(System.currentTimeMillis());
+        int p = priority.ordinal();
+        long count = 0;
+        for (HistoryChunk chunk : sealed) {
+            count += chunk.getCompleted(p);
+        }
+        for (int i = 0; i < open.size; i++) {
+            if (open.kinds[i] == ((p << 1) | 1)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public synchronized long getStopped(ProcessPriority priority) {
+        trim(System.currentTimeMillis());
+        int p = priority.ordinal();
+        long count = 0;
+        for (HistoryChunk chunk : sealed) {
+            count += chunk.getStopped(p);
+        }
+        for (int i = 0; i < open.size; i++) {
+            if (open.kinds[i] == p << 1) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public synchronized double getAverageTurnaround(ProcessPriority priority) {
+        trim(System.currentTimeMillis());
+        int p = priority.ordinal();
+        long count = 0;
+        long total = 0;
+        for (HistoryChunk chunk : sealed) {
+            count += chunk.getCompleted(p);
+            total += chunk.getTurnaround(p);
+        }
+        for (int i = 0; i < open.size; i++) {
+            if (open.kinds[i] == ((p << 1) | 1)) {
+                count++;
+                total += open.endTicks[i] - open.startTicks[i];
+            }
+        }
+        return count == 0 ? 0 : (double) total / count;
+    }
+
+    public synchronized double getAverageWait(ProcessPriority priority) {
+        trim(System.currentTimeMillis());
+        int p = priority.ordinal();
+        long count = 0;
+        long total = 0;
+        for (HistoryChunk chunk : sealed) {
+            count += chunk.getCompleted(p);
+            total += chunk.getWait(p);
+        }
+        for (int i = 0; i < open.size; i++) {
+            if (open.kinds[i] == ((p << 1) | 1)) {
+                count++;
+                total += open.waitTicks[i];
+            }
+        }
+        return count == 0 ? 0 : (double) total / count;
+    }
+
+    public synchronized long getCompletions(Process process) {
+        trim(System.currentTimeMillis());
+        Integer id = groupIds.get(process);
+        if (id == null) {
+            return 0;
+        }
+
+        int group = id;
+        long count = 0;
+        for (HistoryChunk chunk : sealed) {
+            count += chunk.getCompletions(group);
+        }
+        for (int i = 0; i < open.size; i++) {
+            if (open.groups[i] == group && (open.kinds[i] & 1) != 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public synchronized Map<Process, Long> getGroupCompletions() {
+        trim(System.currentTimeMillis());
+        long[] counts = new long[groups.size()];
+        for (HistoryChunk chunk : sealed) {
+            for (int group = 0; group < counts.length; group++) {
+                counts[group] += chunk.getCompletions(group);
+            }
+        }
+        for (int i = 0; i < open.size; i++) {
+            if ((open.kinds[i] & 1) != 0) {
+                counts[open.groups[i]]++;
+            }
+        }
+        LinkedHashMap<Process, Long> completions = new LinkedHashMap<>();
+        for (int group = 0; group < counts.length; group++) {
+            Process process = groups.get(group);
+            if (process != null) {
+                completions.put(process, counts[group]);
+            }
+        }
+        return completions;
+    }
+
+    public synchronized void visit(HistoryVisitor visitor) {
+        trim(System.currentTimeMillis());
+        HistoryColumns columns = new HistoryColumns(CHUNK_SIZE);
+        for (HistoryChunk chunk : sealed) {
+            chunk.decode(columns);
+            visit(columns, visitor);
+        }
+        visit(open, visitor);
+    }
+
+    private void visit(HistoryColumns columns, HistoryVisitor visitor) {
+        for (int i = 0; i < columns.size; i++) {
+            int kind = columns.kinds[i];
+            visitor.visit(
+                columns.pids[i],
+                groups.get(columns.groups[i]),
+                priorities[kind >> 1],
+                (kind & 1) != 0,
+                columns.processTimes[i],
+                columns.executed[i],
+                columns.startTicks[i],
+                columns.endTicks[i],
+                columns.waitTicks[i],
+                columns.finishedAt[i]
+            );
+        }
+    }
+
+    private int group(Process process) {
+        Integer id = groupIds.get(process);
+        if (id == null) {
+            if (freeGroups.isEmpty()) {
+                id = groups.size();
+                groups.add(process);
+            } else {
+                id = freeGroups.pollFirst();
+                groups.set(id, process);
+            }
+            groupIds.put(process, id);
+            if (id == groupRecords.length) {
+                groupRecords = Arrays.copyOf(groupRecords, id << 1);
+            }
+        }
+        groupRecords[id]++;
+        return id;
+    }
+
+    private void release(int group, int records) {
+        groupRecords[group] -= records;
+        if (groupRecords[group] == 0) {
+            groupIds.remove(groups.get(group));
+            groups.set(group, null);
+            freeGroups.addLast(group);
+        }
+    }
+
+    private void trim(long now) {
+        while (!sealed.isEmpty()) {
+            HistoryChunk oldest = sealed.peekFirst();
+            boolean full = sealedRecords + open.size > maxRecords;
+            boolean expired = now - oldest.getNewestFinished() > maxAge;
+            if (!full && !expired) {
+                break;
+            }
+            sealed.removeFirst();
+            sealedRecords -= oldest.size();
+            encodedBytes -= oldest.encodedSize();
+            evicted += oldest.size();
+            for (int group = 0; group < oldest.getGroupCount(); group++) {
+                int records = oldest.getRecords(group);
+                if (records > 0) {
+                    release(group, records);
+                }
+            }
+        }
+        if (!sealed.isEmpty()) {
+            return;
+        }
+
+        int expired = 0;
+        while (expired < open.size && now - open.finishedAt[expired] > maxAge) {
+            release(open.groups[expired], 1);
+            expired++;
+        }
+        if (expired > 0) {
+            open.drop(expired);
+            evicted += expired;
+        }
+    }
+}
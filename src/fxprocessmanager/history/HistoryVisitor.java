@@ -0,0 +1,8 @@
+package fxprocessmanager.history;
+
+import fxprocessmanager.process.Process;
+import fxprocessmanager.process.ProcessPriority;
+
+public interface HistoryVisitor {
+    public void visit(int pid, Process process, ProcessPriority priority, boolean completed, int processTime, int executed, long startTick, long endTick, long waitTicks, long finishedAt);
+}
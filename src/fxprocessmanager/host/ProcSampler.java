@@ -0,0 +1,302 @@
+package fxprocessmanager.host;
+
+import fxprocessmanager.process.ProcessInstance;
+import fxprocessmanager.process.ProcessManager;
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+public final class ProcSampler implements Closeable {
+    public static final long DEFAULT_INTERVAL = 1000;
+    private static final long USER_HZ = 100;
+    private static final int SMOOTHING = 4;
+    private static final int UTIME_FIELD = 14;
+    private static final int STIME_FIELD = 15;
+    private static final int RSS_FIELD = 24;
+    private static final long DEFAULT_PAGE_SIZE = 4096;
+
+    private static final class Slot {
+        private FileChannel channel;
+        private long cpuTicks;
+        private long sampledAt;
+        private int cpu;
+        private int generation;
+
+        Slot() {
+            this.channel = null;
+            this.cpuTicks = -1;
+            this.sampledAt = 0;
+            this.cpu = 0;
+            this.generation = 0;
+        }
+    }
+
+    private final ProcessHost host;
+    private final ProcessManager pm;
+    private final ScheduledExecutorService executor;
+    private final IdentityHashMap<java.lang.Process, Slot> slots;
+    private final ByteBuffer buffer;
+    private final Runnable publisher;
+    private ProcessInstance[] instances;
+    private java.lang.Process[] processes;
+    private int[] cpu;
+    private long[] memory;
+    private int count;
+    private long utime;
+    private long stime;
+    private long rss;
+    private int generation;
+    private long samples;
+    private ScheduledFuture<?> task;
+    private long interval;
+    private long pageSize;
+
+    public ProcSampler(ProcessHost host) {
+        if (host == null) {
+            throw new IllegalArgumentException("Process host cannot be null");
+        }
+
+        this.host = host;
+        this.pm = host.getProcessManager();
+        this.executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "proc-sampler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.slots = new IdentityHashMap<>();
+        this.buffer = ByteBuffer.allocateDirect(1024);
+        this.publisher = this::publish;
+        this.instances = new ProcessInstance[64];
+        this.processes = new java.lang.Process[64];
+        this.cpu = new int[64];
+        this.memory = new long[64];
+        this.count = 0;
+        this.utime = 0;
+        this.stime = 0;
+        this.rss = 0;
+        this.generation = 0;
+        this.samples = 0;
+        this.task = null;
+        this.interval = 0;
+        this.pageSize = 0;
+    }
+
+    public synchronized void start(long interval) {
+        if (interval <= 0) {
+            throw new IllegalArgumentException("Sampling interval must be a positive integer");
+        }
+        if (executor.isShutdown()) {
+            throw new IllegalStateException("Sampler is closed");
+        }
+
+        if (task != null) {
+            task.cancel(false);
+        }
+        this.interval = interval;
+        task = executor.scheduleWithFixedDelay(this::sample, 0, interval, TimeUnit.MILLISECONDS);
+    }
+
+    public void start() {
+        start(DEFAULT_INTERVAL);
+    }
+
+    public synchronized long getInterval() {
+        return interval;
+    }
+
+    public synchronized long getSamples() {
+        return samples;
+    }
+
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (task != null) {
+                task.cancel(false);
+                task = null;
+            }
+        }
+        executor.shutdown();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        for (Slot slot : slots.values()) {
+            closeChannel(slot);
+        }
+        slots.clear();
+    }
+
+    private void sample() {
+        if (pageSize == 0) {
+            pageSize = pageSize();
+        }
+        int total = host.collect(instances, processes);
+        while (total > instances.length) {
+            int capacity = Math.max(total, instances.length << 1);
+            instances = new ProcessInstance[capacity];
+            processes = new java.lang.Process[capacity];
+            cpu = Arrays.copyOf(cpu, capacity);
+            memory = Arrays.copyOf(memory, capacity);
+            total = host.collect(instances, processes);
+        }
+
+        generation++;
+        count = 0;
+        long now = System.nanoTime();
+        for (int i = 0; i < total; i++) {
+            java.lang.Process process = processes[i];
+            Slot slot = slots.get(process);
+            if (slot == null) {
+                slot = new Slot();
+                slots.put(process, slot);
+            }
+            slot.generation = generation;
+            if (!read(process, slot)) {
+                continue;
+            }
+
+            long ticks = utime + stime;
+            if (slot.cpuTicks >= 0 && now > slot.sampledAt) {
+                long instant = (ticks - slot.cpuTicks) * (1000_000_000_000L / USER_HZ) / (now - slot.sampledAt);
+                slot.cpu += ((int) instant - slot.cpu) / SMOOTHING;
+                if (slot.cpu == 0 && instant > 0) {
+                    slot.cpu = 1;
+                }
+            }
+            slot.cpuTicks = ticks;
+            slot.sampledAt = now;
+
+            instances[count] = instances[i];
+            processes[count] = process;
+            cpu[count] = slot.cpu;
+            memory[count] = rss * pageSize >> 10;
+            count++;
+        }
+        for (int i = count; i < total; i++) {
+            instances[i] = null;
+            processes[i] = null;
+        }
+
+        Iterator<Slot> it = slots.values().iterator();
+        while (it.hasNext()) {
+            Slot slot = it.next();
+            if (slot.generation != generation) {
+                closeChannel(slot);
+                it.remove();
+            }
+        }
+
+        if (count > 0) {
+            pm.batch(publisher);
+        }
+        synchronized (this) {
+            samples++;
+        }
+    }
+
+    private void publish() {
+        for (int i = 0; i < count; i++) {
+            ProcessInstance instance = instances[i];
+            if (host.owns(instance, processes[i])) {
+                instance.info.setUsage(cpu[i], memory[i]);
+                pm.touch(instance);
+            }
+        }
+    }
+
+    private boolean read(java.lang.Process process, Slot slot) {
+        buffer.clear();
+        try {
+            if (slot.channel == null) {
+                slot.channel = FileChannel.open(Paths.get("/proc", Long.toString(process.pid()), "stat"), StandardOpenOption.READ);
+            }
+            long position = 0;
+            int n;
+            while (buffer.hasRemaining() && (n = slot.channel.read(buffer, position)) > 0) {
+                position += n;
+            }
+        } catch (IOException ex) {
+            closeChannel(slot);
+            return false;
+        }
+        buffer.flip();
+        return parse();
+    }
+
+    private boolean parse() {
+        int start = -1;
+        for (int i = buffer.limit() - 1; i >= 0; i--) {
+            if (buffer.get(i) == ')') {
+                start = i + 1;
+                break;
+            }
+        }
+        if (start < 0) {
+            return false;
+        }
+
+        int field = 2;
+        long value = 0;
+        utime = 0;
+        stime = 0;
+        rss = 0;
+        for (int i = start; i < buffer.limit() && field <= RSS_FIELD; i++) {
+            byte b = buffer.get(i);
+            if (b == ' ' || b == '\n') {
+                if (field == UTIME_FIELD) {
+                    utime = value;
+                } else if (field == STIME_FIELD) {
+                    stime = value;
+                } else if (field == RSS_FIELD) {
+                    rss = value;
+                }
+                field++;
+                value = 0;
+            } else if (b >= '0' && b <= '9') {
+                value = value * 10 + (b - '0');
+            }
+        }
+        return field > RSS_FIELD;
+    }
+
+    private static void closeChannel(Slot slot) {
+        if (slot.channel == null) {
+            return;
+        }
+        try {
+            slot.channel.close();
+        } catch (IOException ex) {
+        }
+        slot.channel = null;
+    }
+
+    private static long pageSize() {
+        try {
+            java.lang.Process getconf = new ProcessBuilder("getconf", "PAGESIZE").redirectErrorStream(true).start();
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(getconf.getInputStream()))) {
+                String line = reader.readLine();
+                if (getconf.waitFor() == 0 && line != null) {
+                    return Long.parseLong(line.trim());
+                }
+            }
+        } catch (IOException | NumberFormatException ex) {
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        return DEFAULT_PAGE_SIZE;
+    }
+}
@@ -0,0 +1,390 @@
+package fxprocessmanager.host;
+
+import fxprocessmanager.process.Process;
+import fxprocessmanager.process.ProcessEventListener;
+import fxprocessmanager.process.ProcessEventType;
+import fxprocessmanager.process.ProcessInstance;
+import fxprocessmanager.process.ProcessManager;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+public final class ProcessHost implements ProcessEventListener, Closeable {
+    private static final int SIGNAL_BATCH = 512;
+    private static final long LAUNCH_TIMEOUT = 2000;
+    private static final String STOPPED_LAUNCH = "kill -STOP $$ && exec \"$0\" \"$@\"";
+    private static final String CHECKED_SIGNAL = "s=$1; shift; for e in \"$@\"; do p=${e%:*}; { read -r t < /proc/$p/stat; } 2>/dev/null || continue; set -- ${t##*) }; [ \"${20}\" = \"${e#*:}\" ] && kill -s $s $p; done";
+
+    private final class Child {
+        private final ProcessInstance instance;
+        private final String[] command;
+        private java.lang.Process process;
+        private String startTime;
+        private boolean running;
+        private boolean stopped;
+        private boolean started;
+        private boolean killed;
+
+        Child(ProcessInstance instance, String[] command) {
+            this.instance = instance;
+            this.command = command;
+            this.process = null;
+            this.startTime = null;
+            this.running = false;
+            this.stopped = false;
+            this.started = false;
+            this.killed = false;
+        }
+    }
+
+    private final ProcessManager pm;
+    private final Map<Process, String[]> commands;
+    private final Map<ProcessInstance, Child> children;
+    private final LinkedHashSet<Child> pending;
+    private final ExecutorService executor;
+    private boolean flushing;
+    private boolean closed;
+
+    public ProcessHost(ProcessManager pm) {
+        if (pm == null) {
+            throw new IllegalArgumentException("Process manager cannot be null");
+        }
+
+        this.pm = pm;
+        this.commands = new IdentityHashMap<>();
+        this.children = new HashMap<>();
+        this.pending = new LinkedHashSet<>();
+        this.executor = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "process-host");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.flushing = false;
+        this.closed = false;
+        pm.listen(this);
+    }
+
+    public void bind(Process process, String... command) {
+        if (process == null) {
+            throw new IllegalArgumentException("Process cannot be null");
+        }
+        if (command == null || command.length == 0) {
+            throw new IllegalArgumentException("Process command cannot be empty");
+        }
+
+        synchronized (pm) {
+            commands.put(process, command.clone());
+        }
+    }
+
+    public void unbind(Process process) {
+        synchronized (pm) {
+            commands.remove(process);
+        }
+    }
+
+    public String[] getCommand(Process process) {
+        synchronized (pm) {
+            String[] command = commands.get(process);
+            return command == null ? null : command.clone();
+        }
+    }
+
+    public long getNativePID(ProcessInstance instance) {
+        Child child;
+        synchronized (pm) {
+            child = children.get(instance);
+        }
+        if (child == null) {
+            return -1;
+        }
+        synchronized (pending) {
+            return child.process == null ? -1 : child.process.pid();
+        }
+    }
+
+    public ProcessManager getProcessManager() {
+        return pm;
+    }
+
+    public int getChildCount() {
+        synchronized (pm) {
+            return children.size();
+        }
+    }
+
+    @Override
+    public void onEvent(ProcessEventType type, long tick, ProcessInstance instance) {
+        switch (type) {
+            case START:
+                String[] command = commands.get(instance.getProcess());
+                if (command != null && command.length > 0 && !closed) {
+                    Child child = new Child(instance, command);
+                    children.put(instance, child);
+                    pm.setHosted(instance, true);
+                    request(child, false, false);
+                }
+                break;
+            case DISPATCH:
+                request(children.get(instance), true, false);
+                break;
+            case PREEMPT:
+            case BLOCK:
+            case PAUSE:
+                request(children.get(instance), false, false);
+                break;
+            case COMPLETE:
+            case STOP:
+            case MIGRATE:
+                request(children.remove(instance), false, true);
+                break;
+            default:
+                break;
+        }
+    }
+
+    @Override
+    public void close() {
+        synchronized (pm) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            pm.unlisten(this);
+            for (Child child : children.values()) {
+                pm.setHosted(child.instance, false);
+                request(child, false, true);
+            }
+            children.clear();
+        }
+        executor.shutdown();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    int collect(ProcessInstance[] instances, java.lang.Process[] processes) {
+        synchronized (pm) {
+            int count = 0;
+            synchronized (pending) {
+                for (Child child : children.values()) {
+                    if (child.process == null) {
+                        continue;
+                    }
+                    if (count < instances.length) {
+                        instances[count] = child.instance;
+                        processes[count] = child.process;
+                    }
+                    count++;
+                }
+            }
+            return count;
+        }
+    }
+
+    boolean owns(ProcessInstance instance, java.lang.Process process) {
+        synchronized (pm) {
+            Child child = children.get(instance);
+            return child != null && child.process == process;
+        }
+    }
+
+    private void request(Child child, boolean running, boolean kill) {
+        if (child == null) {
+            return;
+        }
+
+        boolean schedule;
+        synchronized (pending) {
+            child.running = running;
+            child.killed |= kill;
+            pending.add(child);
+            schedule = !flushing;
+            flushing = true;
+        }
+        if (schedule) {
+            executor.execute(this::flush);
+        }
+    }
+
+    private void flush() {
+        Child[] batch;
+        synchronized (pending) {
+            batch = pending.toArray(new Child[pending.size()]);
+            pending.clear();
+            flushing = false;
+        }
+
+        ArrayList<Child> launched = new ArrayList<>();
+        for (Child child : batch) {
+            if (!child.started) {
+                child.started = true;
+                boolean killed;
+                synchronized (pending) {
+                    killed = child.killed;
+                }
+                if (killed) {
+                    continue;
+                }
+                if (launch(child)) {
+                    launched.add(child);
+                } else {
+                    release(child);
+                }
+            }
+        }
+        long deadline = System.currentTimeMillis() + LAUNCH_TIMEOUT;
+        for (Child child : launched) {
+            awaitStopped(child, deadline);
+        }
+
+        ArrayList<Child> stop = new ArrayList<>();
+        ArrayList<Child> cont = new ArrayList<>();
+        for (Child child : batch) {
+            boolean running;
+            boolean killed;
+            synchronized (pending) {
+                running = child.running;
+                killed = child.killed;
+            }
+            java.lang.Process process = child.process;
+            if (process == null || !process.isAlive()) {
+                continue;
+            }
+            if (killed) {
+                if (child.stopped) {
+                    process.destroyForcibly();
+                } else {
+                    process.destroy();
+                }
+                continue;
+            }
+            if (running == child.stopped) {
+                (running ? cont : stop).add(child);
+                child.stopped = !running;
+            }
+        }
+        signal("STOP", stop);
+        signal("CONT", cont);
+    }
+
+    private boolean launch(Child child) {
+        String[] command = new String[child.command.length + 3];
+        command[0] = "/bin/sh";
+        command[1] = "-c";
+        command[2] = STOPPED_LAUNCH;
+        System.arraycopy(child.command, 0, command, 3, child.command.length);
+        ProcessBuilder builder = new ProcessBuilder(command)
+            .redirectInput(ProcessBuilder.Redirect.from(new File("/dev/null")))
+            .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+            .redirectError(ProcessBuilder.Redirect.DISCARD);
+        try {
+            java.lang.Process process = builder.start();
+            synchronized (pending) {
+                child.process = process;
+            }
+            child.stopped = true;
+            process.onExit().thenRun(() -> exited(child));
+            return true;
+        } catch (IOException ex) {
+            Logger.getLogger(ProcessHost.class.getName()).log(Level.WARNING, "Cannot launch " + Arrays.toString(child.command), ex);
+            return false;
+        }
+    }
+
+    private static void awaitStopped(Child child, long deadline) {
+        java.lang.Process process = child.process;
+        try {
+            while (process.isAlive()) {
+                String stat = new String(Files.readAllBytes(Paths.get("/proc", Long.toString(process.pid()), "stat")), StandardCharsets.US_ASCII);
+                int end = stat.lastIndexOf(')');
+                String[] fields = end >= 0 && end + 2 < stat.length() ? stat.substring(end + 2).trim().split(" ") : new String[0];
+                if (fields.length > 19) {
+                    child.startTime = fields[19];
+                }
+                char state = fields.length > 0 ? fields[0].charAt(0) : 'T';
+                if (state == 'T' || state == 't') {
+                    return;
+                }
+                if (System.currentTimeMillis() >= deadline) {
+                    Logger.getLogger(ProcessHost.class.getName()).log(Level.WARNING, "Process {0} did not stop after launch", process.pid());
+                    return;
+                }
+                Thread.sleep(1);
+            }
+        } catch (IOException ex) {
+            return;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void release(Child child) {
+        pm.batch(() -> {
+            if (children.get(child.instance) == child) {
+                children.remove(child.instance);
+                pm.setHosted(child.instance, false);
+            }
+        });
+    }
+
+    private void exited(Child child) {
+        pm.batch(() -> {
+            if (children.get(child.instance) == child) {
+                children.remove(child.instance);
+                pm.complete(child.instance);
+            }
+        });
+    }
+
+    private static void signal(String signal, List<Child> targets) {
+        for (int from = 0; from < targets.size(); from += SIGNAL_BATCH) {
+            int to = Math.min(targets.size(), from + SIGNAL_BATCH);
+            ArrayList<String> command = new ArrayList<>(to - from + 5);
+            command.add("/bin/sh");
+            command.add("-c");
+            command.add(CHECKED_SIGNAL);
+            command.add("sh");
+            command.add(signal);
+            for (int i = from; i < to; i++) {
+                Child child = targets.get(i);
+                java.lang.Process process = child.process;
+                if (child.startTime != null && process.isAlive() && !process.onExit().isDone()) {
+                    command.add(process.pid() + ":" + child.startTime);
+                }
+            }
+            if (command.size() == 5) {
+                continue;
+            }
+            try {
+                new ProcessBuilder(command)
+                    .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                    .redirectError(ProcessBuilder.Redirect.DISCARD)
+                    .start()
+                    .waitFor();
+            } catch (IOException ex) {
+                Logger.getLogger(ProcessHost.class.getName()).log(Level.WARNING, "Cannot send SIG" + signal, ex);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package fxprocessmanager.index;
+
+import fxprocessmanager.process.ProcessPriority;
+import fxprocessmanager.process.ProcessState;
+import java.util.EnumSet;
+import java.util.Set;
+
+public final class InstanceFilter {
+    private EnumSet<ProcessState> states;
+    private EnumSet<ProcessPriority> priorities;
+    private String namePrefix;
+    private Boolean paused;
+    private Boolean reading;
+
+    public InstanceFilter() {
+        states = null;
+        priorities = null;
+        namePrefix = null;
+        paused = null;
+        reading = null;
+    }
+
+    public Set<ProcessState> getStates() {
+        return states;
+    }
+
+    public void setStates(Set<ProcessState> states) {
+        this.states = states == null ? null : EnumSet.copyOf(states);
+    }
+
+    public Set<ProcessPriority> getPriorities() {
+        return priorities;
+    }
+
+    public void setPriorities(Set<ProcessPriority> priorities) {
+        this.priorities = priorities == null ? null : EnumSet.copyOf(priorities);
+    }
+
+    public String getNamePrefix() {
+        return namePrefix;
+    }
+
+    public void setNamePrefix(String namePrefix) {
+        this.namePrefix = namePrefix == null || namePrefix.isEmpty() ? null : namePrefix;
+    }
+
+    public Boolean getPaused() {
+        return paused;
+    }
+
+    public void setPaused(Boolean paused) {
+        this.paused = paused;
+    }
+
+    public Boolean getReading() {
+        return reading;
+    }
+
+    public void setReading(Boolean reading) {
+        this.reading = reading;
+    }
+
+    public boolean isEmpty() {
+        return states == null && priorities == null && namePrefix == null && paused == null && reading == null;
+    }
+}
@@ -0,0 +1,179 @@
+package fxprocessmanager.index;
+
+import fxprocessmanager.process.InstanceSnapshot;
+import fxprocessmanager.process.ProcessPriority;
+import fxprocessmanager.process.ProcessSnapshot;
+import fxprocessmanager.process.ProcessState;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+
+public final class InstanceIndex {
+    private static final int PIDS = 0x10000;
+    private static final int WORDS = PIDS >>> 6;
+    private static final ProcessState[] states = ProcessState.values();
+    private static final ProcessPriority[] priorities = ProcessPriority.values();
+
+    private final long[][] byState;
+    private final long[][] byPriority;
+    private final long[] paused;
+    private final long[] reading;
+    private final long[] all;
+    private final long[] names;
+    private final long[] stateMask;
+    private final long[] priorityMask;
+    private final NameTrie trie;
+    private final ArrayList<NameTrie.Group> groups;
+    private final BiConsumer<InstanceSnapshot, InstanceSnapshot> apply;
+    private ProcessSnapshot snapshot;
+    private int words;
+    private int size;
+
+    public InstanceIndex() {
+        byState = new long[states.length][WORDS];
+        byPriority = new long[priorities.length][WORDS];
+        paused = new long[WORDS];
+        reading = new long[WORDS];
+        all = new long[WORDS];
+        names = new long[WORDS];
+        stateMask = new long[WORDS];
+        priorityMask = new long[WORDS];
+        trie = new NameTrie(PIDS);
+        groups = new ArrayList<>();
+        apply = this::apply;
+        snapshot = null;
+        words = 0;
+        size = 0;
+    }
+
+    public ProcessSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void update(ProcessSnapshot current) {
+        update(current, null);
+    }
+
+    public void update(ProcessSnapshot current, BiConsumer<InstanceSnapshot, InstanceSnapshot> listener) {
+        if (current == snapshot) {
+            return;
+        }
+
+        current.diff(snapshot, listener == null ? apply : apply.andThen(listener));
+        snapshot = current;
+    }
+
+    public int[] select(InstanceFilter filter) {
+        boolean byStates = filter.getStates() != null;
+        boolean byPriorities = filter.getPriorities() != null;
+        String prefix = filter.getNamePrefix();
+        Boolean pausedFilter = filter.getPaused();
+        Boolean readingFilter = filter.getReading();
+
+        if (byStates) {
+            Arrays.fill(stateMask, 0, words, 0);
+            for (ProcessState state : filter.getStates()) {
+                or(stateMask, byState[state.ordinal()]);
+            }
+        }
+        if (byPriorities) {
+            Arrays.fill(priorityMask, 0, words, 0);
+            for (ProcessPriority priority : filter.getPriorities()) {
+                or(priorityMask, byPriority[priority.ordinal()]);
+            }
+        }
+        if (prefix != null) {
+            Arrays.fill(names, 0, words, 0);
+            groups.clear();
+            trie.collect(prefix, groups);
+            for (NameTrie.Group group : groups) {
+                for (int i = 0; i < group.size(); i++) {
+                    int pid = group.get(i);
+                    names[pid >>> 6] |= 1L << pid;
+                }
+            }
+            groups.clear();
+        }
+
+        int[] result = new int[16];
+        int count = 0;
+        for (int w = 0; w < words; w++) {
+            long v = all[w];
+            if (byStates) {
+                v &= stateMask[w];
+            }
+            if (byPriorities) {
+                v &= priorityMask[w];
+            }
+            if (prefix != null) {
+                v &= names[w];
+            }
+            if (pausedFilter != null) {
+                v &= pausedFilter ? paused[w] : ~paused[w];
+            }
+            if (readingFilter != null) {
+                v &= readingFilter ? reading[w] : ~reading[w];
+            }
+            while (v != 0) {
+                if (count == result.length) {
+                    result = Arrays.copyOf(result, count << 1);
+                }
+                result[count++] = (w << 6) | Long.numberOfTrailingZeros(v);
+                v &= v - 1;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    private void or(long[] target, long[] source) {
+        for (int w = 0; w < words; w++) {
+            target[w] |= source[w];
+        }
+    }
+
+    private void apply(InstanceSnapshot before, InstanceSnapshot after) {
+        if (before != null) {
+            remove(before);
+        }
+        if (after != null) {
+            add(after);
+        }
+    }
+
+    private void add(InstanceSnapshot s) {
+        int pid = s.getPID();
+        int w = pid >>> 6;
+        long bit = 1L << pid;
+        if (w >= words) {
+            words = w + 1;
+        }
+        all[w] |= bit;
+        byState[s.getState().ordinal()][w] |= bit;
+        byPriority[s.getPriority().ordinal()][w] |= bit;
+        if (s.isPaused()) {
+            paused[w] |= bit;
+        }
+        if (s.isReading()) {
+            reading[w] |= bit;
+        }
+        trie.add(pid, s.getProcess().getName());
+        size++;
+    }
+
+    private void remove(InstanceSnapshot s) {
+        int pid = s.getPID();
+        int w = pid >>> 6;
+        long bit = ~(1L << pid);
+        all[w] &= bit;
+        byState[s.getState().ordinal()][w] &= bit;
+        byPriority[s.getPriority().ordinal()][w] &= bit;
+        paused[w] &= bit;
+        reading[w] &= bit;
+        trie.remove(pid);
+        size--;
+    }
+}
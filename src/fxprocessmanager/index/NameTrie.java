@@ -0,0 +1,124 @@
+package fxprocessmanager.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+final class NameTrie {
+    static final class Group {
+        private int[] pids;
+        private int size;
+
+        Group() {
+            pids = new int[4];
+            size = 0;
+        }
+
+        int size() {
+            return size;
+        }
+
+        int get(int index) {
+            return pids[index];
+        }
+    }
+
+    private static final class Node {
+        private char[] keys;
+        private Node[] children;
+        private int count;
+        private Group group;
+
+        Node() {
+            keys = new char[0];
+            children = new Node[0];
+            count = 0;
+            group = null;
+        }
+
+        Node child(char key) {
+            int index = Arrays.binarySearch(keys, 0, count, key);
+            return index < 0 ? null : children[index];
+        }
+
+        Node childOrCreate(char key) {
+            int index = Arrays.binarySearch(keys, 0, count, key);
+            if (index >= 0) {
+                return children[index];
+            }
+
+            index = -index - 1;
+            if (count == keys.length) {
+                int capacity = Math.max(2, count << 1);
+                keys = Arrays.copyOf(keys, capacity);
+                children = Arrays.copyOf(children, capacity);
+            }
+            System.arraycopy(keys, index, keys, index + 1, count - index);
+            System.arraycopy(children, index, children, index + 1, count - index);
+            Node child = new Node();
+            keys[index] = key;
+            children[index] = child;
+            count++;
+            return child;
+        }
+    }
+
+    private final Node root;
+    private final Group[] groups;
+    private final int[] slots;
+
+    NameTrie(int capacity) {
+        root = new Node();
+        groups = new Group[capacity];
+        slots = new int[capacity];
+    }
+
+    void add(int pid, String name) {
+        Node node = root;
+        for (int i = 0; i < name.length(); i++) {
+            node = node.childOrCreate(name.charAt(i));
+        }
+        if (node.group == null) {
+            node.group = new Group();
+        }
+
+        Group group = node.group;
+        if (group.size == group.pids.length) {
+            group.pids = Arrays.copyOf(group.pids, group.size << 1);
+        }
+        slots[pid] = group.size;
+        group.pids[group.size++] = pid;
+        groups[pid] = group;
+    }
+
+    void remove(int pid) {
+        Group group = groups[pid];
+        if (group == null) {
+            return;
+        }
+
+        int slot = slots[pid];
+        int last = group.pids[--group.size];
+        group.pids[slot] = last;
+        slots[last] = slot;
+        groups[pid] = null;
+    }
+
+    void collect(String prefix, ArrayList<Group> out) {
+        Node node = root;
+        for (int i = 0; i < prefix.length() && node != null; i++) {
+            node = node.child(prefix.charAt(i));
+        }
+        if (node != null) {
+            collect(node, out);
+        }
+    }
+
+    private static void collect(Node node, ArrayList<Group> out) {
+        if (node.group != null && node.group.size > 0) {
+            out.add(node.group);
+        }
+        for (int i = 0; i < node.count; i++) {
+            collect(node.children[i], out);
+        }
+    }
+}
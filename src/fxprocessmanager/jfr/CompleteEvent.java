@@ -0,0 +1,9 @@
+package fxprocessmanager.jfr;
+
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("fxprocessmanager.Complete")
+@Label("Instance Completion")
+public final class CompleteEvent extends InstanceEvent {
+}
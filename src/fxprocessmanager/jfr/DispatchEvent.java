@@ -0,0 +1,9 @@
+package fxprocessmanager.jfr;
+
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("fxprocessmanager.Dispatch")
+@Label("Instance Dispatch")
+public final class DispatchEvent extends InstanceEvent {
+}
@@ -0,0 +1,38 @@
+package fxprocessmanager.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+@Category({"FXProcessManager", "Scheduler"})
+@Enabled(false)
+@StackTrace(false)
+public abstract class InstanceEvent extends jdk.jfr.Event {
+    @Label("Tick")
+    long tick;
+
+    @Label("PID")
+    int pid;
+
+    @Label("Process")
+    String process;
+
+    @Label("Priority")
+    String priority;
+
+    @Label("Executed")
+    int executed;
+
+    @Label("Wait Ticks")
+    long waitTicks;
+
+    public void set(long tick, int pid, String process, String priority, int executed, long waitTicks) {
+        this.tick = tick;
+        this.pid = pid;
+        this.process = process;
+        this.priority = priority;
+        this.executed = executed;
+        this.waitTicks = waitTicks;
+    }
+}
@@ -0,0 +1,9 @@
+package fxprocessmanager.jfr;
+
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("fxprocessmanager.Preempt")
+@Label("Instance Preemption")
+public final class PreemptEvent extends InstanceEvent {
+}
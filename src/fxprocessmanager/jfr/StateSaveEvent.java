@@ -0,0 +1,33 @@
+package fxprocessmanager.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+@Name("fxprocessmanager.StateSave")
+@Label("State Save")
+@Category({"FXProcessManager", "Persistence"})
+@Enabled(false)
+@Threshold("10 ms")
+@StackTrace(false)
+public final class StateSaveEvent extends jdk.jfr.Event {
+    @Label("Path")
+    String path;
+
+    @Label("Processes")
+    int processes;
+
+    @Label("Bytes Written")
+    @DataAmount
+    long bytes;
+
+    public void set(String path, int processes, long bytes) {
+        this.path = path;
+        this.processes = processes;
+        this.bytes = bytes;
+    }
+}
@@ -0,0 +1,31 @@
+package fxprocessmanager.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+@Name("fxprocessmanager.Tick")
+@Label("Scheduler Tick")
+@Category({"FXProcessManager", "Scheduler"})
+@Enabled(false)
+@Threshold("1 ms")
+@StackTrace(false)
+public final class TickEvent extends jdk.jfr.Event {
+    @Label("Tick")
+    long tick;
+
+    @Label("Instances")
+    int instances;
+
+    @Label("Executing PID")
+    int executing;
+
+    public void set(long tick, int instances, int executing) {
+        this.tick = tick;
+        this.instances = instances;
+        this.executing = executing;
+    }
+}
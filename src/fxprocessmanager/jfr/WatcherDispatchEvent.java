@@ -0,0 +1,27 @@
+package fxprocessmanager.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+@Name("fxprocessmanager.WatcherDispatch")
+@Label("Watcher Dispatch")
+@Category({"FXProcessManager", "Watchers"})
+@Enabled(false)
+@Threshold("5 ms")
+@StackTrace(false)
+public final class WatcherDispatchEvent extends jdk.jfr.Event {
+    @Label("Watchers")
+    int watchers;
+
+    @Label("States")
+    String states;
+
+    public void set(int watchers, String states) {
+        this.watchers = watchers;
+        this.states = states;
+    }
+}
@@ -0,0 +1,145 @@
+package fxprocessmanager.process;
+
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.function.Predicate;
+
+public final class ARCReplacementPolicy implements ReplacementPolicy {
+    private final int capacity;
+    private final LinkedHashSet<ProcessInstance> recent;
+    private final LinkedHashSet<ProcessInstance> frequent;
+    private final LinkedHashSet<ProcessInstance> recentGhosts;
+    private final LinkedHashSet<ProcessInstance> frequentGhosts;
+    private long recentSize;
+    private long frequentSize;
+    private long recentGhostSize;
+    private long frequentGhostSize;
+    private long target;
+
+    public ARCReplacementPolicy(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("ARC capacity must be a positive integer");
+        }
+
+        this.capacity = capacity;
+        recent = new LinkedHashSet<>();
+        frequent = new LinkedHashSet<>();
+        recentGhosts = new LinkedHashSet<>();
+        frequentGhosts = new LinkedHashSet<>();
+        target = 0;
+    }
+
+    public long getTarget() {
+        return target;
+    }
+
+    @Override
+    public void admitted(ProcessInstance instance) {
+        if (recent.contains(instance) || frequent.contains(instance)) {
+            accessed(instance);
+            return;
+        }
+
+        long size = instance.getMemoryUsage();
+        if (recentGhosts.remove(instance)) {
+            recentGhostSize -= size;
+            long ratio = recentGhostSize >= frequentGhostSize || recentGhostSize == 0 ? 1 : frequentGhostSize / recentGhostSize;
+            target = Math.min(capacity, target + ratio * size);
+            frequent.add(instance);
+            frequentSize += size;
+        } else if (frequentGhosts.remove(instance)) {
+            frequentGhostSize -= size;
+            long ratio = frequentGhostSize >= recentGhostSize || frequentGhostSize == 0 ? 1 : recentGhostSize / frequentGhostSize;
+            target = Math.max(0, target - ratio * size);
+            frequent.add(instance);
+            frequentSize += size;
+        } else {
+            recent.add(instance);
+            recentSize += size;
+        }
+        trimGhosts();
+    }
+
+    @Override
+    public void accessed(ProcessInstance instance) {
+        long size = instance.getMemoryUsage();
+        if (recent.remove(instance)) {
+            recentSize -= size;
+            frequent.add(instance);
+            frequentSize += size;
+        } else if (frequent.remove(instance)) {
+            frequent.add(instance);
+        }
+    }
+
+    @Override
+    public void evicted(ProcessInstance instance) {
+        long size = instance.getMemoryUsage();
+        if (recent.remove(instance)) {
+            recentSize -= size;
+            recentGhosts.add(instance);
+            recentGhostSize += size;
+        } else if (frequent.remove(instance)) {
+            frequentSize -= size;
+            frequentGhosts.add(instance);
+            frequentGhostSize += size;
+        }
+        trimGhosts();
+    }
+
+    @Override
+    public void removed(ProcessInstance instance) {
+        long size = instance.getMemoryUsage();
+        if (recent.remove(instance)) {
+            recentSize -= size;
+        } else if (frequent.remove(instance)) {
+            frequentSize -= size;
+        } else if (recentGhosts.remove(instance)) {
+            recentGhostSize -= size;
+        } else if (frequentGhosts.remove(instance)) {
+            frequentGhostSize -= size;
+        }
+    }
+
+    @Override
+    public ProcessInstance selectVictim(Predicate<ProcessInstance> evictable) {
+        boolean preferRecent = recentSize > 0 && recentSize > target;
+        ProcessInstance victim = findVictim(preferRecent ? recent : frequent, evictable);
+        if (victim == null) {
+            victim = findVictim(preferRecent ? frequent : recent, evictable);
+        }
+        return victim;
+    }
+
+    private ProcessInstance findVictim(LinkedHashSet<ProcessInstance> list, Predicate<ProcessInstance> evictable) {
+        for (ProcessInstance pi : list) {
+            if (evictable.test(pi)) {
+                return pi;
+            }
+        }
+        return null;
+    }
+
+    private void trimGhosts() {
+        long limit = (long) capacity << 1;
+        while (recentSize + recentGhostSize > capacity && !recentGhosts.isEmpty()) {
+            recentGhostSize -= dropOldest(recentGhosts);
+        }
+        while (recentSize + frequentSize + recentGhostSize + frequentGhostSize > limit) {
+            if (!frequentGhosts.isEmpty()) {
+                frequentGhostSize -= dropOldest(frequentGhosts);
+            } else if (!recentGhosts.isEmpty()) {
+                recentGhostSize -= dropOldest(recentGhosts);
+            } else {
+                break;
+            }
+        }
+    }
+
+    private static long dropOldest(LinkedHashSet<ProcessInstance> ghosts) {
+        Iterator<ProcessInstance> it = ghosts.iterator();
+        ProcessInstance pi = it.next();
+        it.remove();
+        return pi.getMemoryUsage();
+    }
+}
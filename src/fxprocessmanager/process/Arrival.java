@@ -0,0 +1,47 @@
+package fxprocessmanager.process;
+
+public final class Arrival {
+    private final long tick;
+    private final Process process;
+    private final ProcessPriority priority;
+    private final int memoryUsage;
+    private final int processTime;
+    private final boolean reading;
+
+    public Arrival(long tick, Process process, ProcessPriority priority, int memoryUsage, int processTime, boolean reading) {
+        if (tick < 0) {
+            throw new IllegalArgumentException("Arrival tick cannot be negative");
+        }
+
+        this.tick = tick;
+        this.process = process;
+        this.priority = priority;
+        this.memoryUsage = memoryUsage;
+        this.processTime = processTime;
+        this.reading = reading;
+    }
+
+    public long getTick() {
+        return tick;
+    }
+
+    public Process getProcess() {
+        return process;
+    }
+
+    public ProcessPriority getPriority() {
+        return priority;
+    }
+
+    public int getMemoryUsage() {
+        return memoryUsage;
+    }
+
+    public int getProcessTime() {
+        return processTime;
+    }
+
+    public boolean isReading() {
+        return reading;
+    }
+}
@@ -0,0 +1,7 @@
+package fxprocessmanager.process;
+
+public interface ArrivalSource {
+    public Arrival peek();
+
+    public Arrival poll();
+}
@@ -0,0 +1,101 @@
+package fxprocessmanager.process;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+
+public final class ClockReplacementPolicy implements ReplacementPolicy {
+    private ProcessInstance[] frames;
+    private boolean[] referenced;
+    private int[] freeFrames;
+    private int freeCount;
+    private int frameCount;
+    private int hand;
+    private final Map<ProcessInstance, Integer> frameIndices;
+
+    public ClockReplacementPolicy() {
+        frames = new ProcessInstance[16];
+        referenced = new boolean[16];
+        freeFrames = new int[16];
+        freeCount = 0;
+        frameCount = 0;
+        hand = 0;
+        frameIndices = new HashMap<>();
+    }
+
+    @Override
+    public void admitted(ProcessInstance instance) {
+        if (frameIndices.containsKey(instance)) {
+            accessed(instance);
+            return;
+        }
+
+        int index;
+        if (freeCount > 0) {
+            index = freeFrames[--freeCount];
+        } else {
+            if (frameCount == frames.length) {
+                int length = frames.length << 1;
+                frames = Arrays.copyOf(frames, length);
+                referenced = Arrays.copyOf(referenced, length);
+                freeFrames = Arrays.copyOf(freeFrames, length);
+            }
+            index = frameCount++;
+        }
+        frames[index] = instance;
+        referenced[index] = true;
+        frameIndices.put(instance, index);
+    }
+
+    @Override
+    public void accessed(ProcessInstance instance) {
+        Integer index = frameIndices.get(instance);
+        if (index != null) {
+            referenced[index] = true;
+        }
+    }
+
+    @Override
+    public void evicted(ProcessInstance instance) {
+        release(instance);
+    }
+
+    @Override
+    public void removed(ProcessInstance instance) {
+        release(instance);
+    }
+
+    @Override
+    public ProcessInstance selectVictim(Predicate<ProcessInstance> evictable) {
+        if (frameCount == 0) {
+            return null;
+        }
+
+        for (int i = 0, limit = frameCount << 1; i < limit; i++) {
+            int index = hand;
+            hand = (hand + 1) % frameCount;
+            ProcessInstance pi = frames[index];
+            if (pi == null || !evictable.test(pi)) {
+                continue;
+            }
+            if (referenced[index]) {
+                referenced[index] = false;
+                continue;
+            }
+            return pi;
+        }
+        return null;
+    }
+
+    private void release(ProcessInstance instance) {
+        Integer index = frameIndices.remove(instance);
+        if (index == null) {
+            return;
+        }
+
+        frames[index] = null;
+        referenced[index] = false;
+        freeFrames[freeCount++] = index;
+    }
+}
@@ -0,0 +1,5 @@
+package fxprocessmanager.process;
+
+public interface DeadlockListener {
+    public void deadlock(long tick, ProcessInstance[] cycle);
+}
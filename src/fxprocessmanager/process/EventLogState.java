@@ -0,0 +1,187 @@
+package fxprocessmanager.process;
+
+final class EventLogState {
+    static final class Entry {
+        final int pid;
+        final Process process;
+        final ProcessPriority priority;
+        final int memoryUsage;
+        final int processTime;
+        ProcessState state;
+        int executed;
+        int stallTicks;
+        boolean reading;
+        boolean paused;
+        boolean blocked;
+
+        Entry(int pid, Process process, ProcessPriority priority, int memoryUsage, int processTime) {
+            this.pid = pid;
+            this.process = process;
+            this.priority = priority;
+            this.memoryUsage = memoryUsage;
+            this.processTime = processTime;
+            this.state = ProcessState.INACTIVE;
+        }
+    }
+
+    private final Entry[] entries;
+    private int size;
+    private int lastPid;
+    private int executingPid;
+    private int highestPid;
+
+    EventLogState() {
+        entries = new Entry[0x10000];
+    }
+
+    int size() {
+        return size;
+    }
+
+    int getLastPid() {
+        return lastPid;
+    }
+
+    int getExecutingPid() {
+        return executingPid;
+    }
+
+    int getHighestPid() {
+        return highestPid;
+    }
+
+    Entry get(int pid) {
+        return entries[pid];
+    }
+
+    void reset(int lastPid, int executingPid, int highestPid) {
+        for (int pid = 1; pid < entries.length && size > 0; pid++) {
+            if (entries[pid] != null) {
+                entries[pid] = null;
+                size--;
+            }
+        }
+        this.lastPid = lastPid;
+        this.executingPid = executingPid;
+        this.highestPid = highestPid;
+    }
+
+    void put(Entry entry) {
+        if (entries[entry.pid] == null) {
+            size++;
+        }
+        entries[entry.pid] = entry;
+    }
+
+    void start(Entry entry) {
+        put(entry);
+        lastPid = entry.pid;
+    }
+
+    void capture(ProcessManager pm) {
+        ProcessInstance executing = pm.getExecutingInstance();
+        ProcessInstance highest = pm.getHighestPriorityInstance();
+        reset(pm.getLastPID(), executing == null ? 0 : executing.getPID(), highest == null ? 0 : highest.getPID());
+        for (ProcessInstance pi : pm.getInstances()) {
+            ProcessInfo info = pi.info;
+            Entry entry = new Entry(pi.getPID(), pi.getProcess(), pi.getPriority(), pi.getMemoryUsage(), pi.getProcessTime());
+            entry.state = info.getState();
+            entry.executed = info.getExecuted();
+            entry.stallTicks = info.getStallTicks();
+            entry.reading = info.isReading();
+            entry.paused = pm.isPaused(pi);
+            entry.blocked = info.getIORequest() != null;
+            put(entry);
+        }
+    }
+
+    void apply(ProcessEventType type, int pid, int value) {
+        Entry entry = entries[pid];
+        if (entry == null) {
+            throw new IllegalStateException("Unknown PID " + pid + " in event log");
+        }
+
+        switch (type) {
+            case ACTIVATE:
+                entry.state = ProcessState.READY;
+                break;
+            case DISPATCH:
+                entry.state = ProcessState.EXECUTING;
+                entry.stallTicks = value;
+                executingPid = pid;
+                if (entry.priority == ProcessPriority.HIGHEST) {
+                    highestPid = pid;
+                }
+                break;
+            case RUN:
+                if (entry.stallTicks > 0) {
+                    entry.stallTicks--;
+                }
+                entry.executed = value;
+                break;
+            case PREEMPT:
+                entry.state = ProcessState.SUSPENDED;
+                executingPid = 0;
+                break;
+            case BLOCK:
+                entry.state = ProcessState.SUSPENDED;
+                entry.blocked = true;
+                release(pid);
+                break;
+            case WAKE:
+                entry.state = ProcessState.READY;
+                if (entry.blocked) {
+                    entry.blocked = false;
+                    entry.reading = false;
+                }
+                break;
+            case PAUSE:
+                entry.state = ProcessState.INACTIVE;
+                entry.paused = true;
+                entry.blocked = false;
+                if (executingPid == pid) {
+                    executingPid = 0;
+                }
+                break;
+            case RESUME:
+                entry.paused = false;
+                break;
+            case COMPLETE:
+            case STOP:
+            case MIGRATE:
+                entries[pid] = null;
+                size--;
+                release(pid);
+                break;
+            default:
+                break;
+        }
+    }
+
+    ProcessManager rebuild(long tick, int delta) {
+        ProcessManager pm = new ProcessManager(delta);
+        pm.restoreClock(tick, lastPid);
+        for (Entry entry : entries) {
+            if (entry == null) {
+                continue;
+            }
+            ProcessInstance instance = new ProcessInstance(entry.process, entry.pid, entry.priority, entry.memoryUsage, entry.processTime);
+            ProcessInfo info = instance.info;
+            info.setState(entry.state);
+            info.perform(entry.executed);
+            info.setStallTicks(entry.stallTicks);
+            info.setReadState(entry.reading);
+            pm.restore(instance, entry.paused, entry.blocked, entry.pid == highestPid);
+        }
+        return pm;
+    }
+
+    private void release(int pid) {
+        if (executingPid == pid) {
+            executingPid = 0;
+        }
+        if (highestPid == pid) {
+            highestPid = 0;
+        }
+    }
+}
@@ -0,0 +1,318 @@
+package fxprocessmanager.process;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+public final class EventRecorder implements ProcessEventListener, Closeable {
+    static final byte[] MAGIC = {'F', 'X', 'P', 'R'};
+    static final int VERSION = 2;
+    static final int HEADER_SIZE = 32;
+    static final int FLAGS_OFFSET = 16;
+    static final int LOCKS = 1;
+    static final int FAIR = 2;
+    static final int SEGMENT_HEADER_SIZE = 16;
+    static final int END = 0;
+    static final int DEFINE = 0xf;
+    static final int TYPE_BITS = 4;
+    private static final int MAX_EVENT_SIZE = 32;
+    private static final int KEYFRAME_ENTRY_SIZE = 20;
+    private static final int KEYFRAME_HEADER_SIZE = 15;
+    static final int MIN_SEGMENT_SIZE = SEGMENT_HEADER_SIZE + KEYFRAME_HEADER_SIZE
+        + PidAllocator.MAX_PID * KEYFRAME_ENTRY_SIZE + MAX_EVENT_SIZE + 1;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int segmentSize;
+    private final int segmentCount;
+    private final EventLogState state;
+    private final Map<Process, Integer> names;
+    private ProcessManager pm;
+    private int segment;
+    private long sequence;
+    private int position;
+    private int limit;
+    private long lastTick;
+    private long recorded;
+    private long dropped;
+    private boolean overflowed;
+    private int flags;
+
+    public EventRecorder(Path file, int segmentSize, int segmentCount) throws IOException {
+        if (file == null) {
+            throw new IllegalArgumentException("Event log file cannot be null");
+        }
+        if (segmentSize < MIN_SEGMENT_SIZE) {
+            throw new IllegalArgumentException("Event log segment size must be at least " + MIN_SEGMENT_SIZE + " bytes to hold a keyframe of " + PidAllocator.MAX_PID + " instances");
+        }
+        if (segmentCount < 2) {
+            throw new IllegalArgumentException("Event log must have at least two segments");
+        }
+
+        long length = HEADER_SIZE + (long) segmentSize * segmentCount;
+        if (length > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Event log cannot be larger than 2 GiB");
+        }
+
+        this.channel = FileChannel.open(
+            file,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.READ,
+            StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING
+        );
+        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, length);
+        this.segmentSize = segmentSize;
+        this.segmentCount = segmentCount;
+        this.state = new EventLogState();
+        this.names = new IdentityHashMap<>();
+        this.pm = null;
+        this.segment = -1;
+        this.sequence = 0;
+        this.recorded = 0;
+        this.dropped = 0;
+        this.overflowed = false;
+        this.flags = 0;
+
+        buffer.put(0, MAGIC[0]).put(1, MAGIC[1]).put(2, MAGIC[2]).put(3, MAGIC[3]);
+        buffer.putInt(4, VERSION);
+        buffer.putInt(8, segmentSize);
+        buffer.putInt(12, segmentCount);
+        buffer.putInt(FLAGS_OFFSET, flags);
+    }
+
+    public long getRecorded() {
+        return recorded;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public long getDropped() {
+        return dropped;
+    }
+
+    public boolean isOverflowed() {
+        return overflowed;
+    }
+
+    public void attach(ProcessManager pm) {
+        if (pm == null) {
+            throw new IllegalArgumentException("Process manager cannot be null");
+        }
+        if (this.pm != null) {
+            throw new IllegalStateException("Event recorder is already attached to a process manager");
+        }
+
+        synchronized (pm) {
+            this.pm = pm;
+            if (pm.getSchedulingPolicy() == SchedulingPolicy.FAIR) {
+                mark(FAIR);
+            }
+            for (ProcessInstance pi : pm.getInstances()) {
+                inspect(pi);
+            }
+            state.capture(pm);
+            roll(pm.getTick());
+            pm.listen(this);
+        }
+    }
+
+    public void detach() {
+        if (pm != null) {
+            pm.unlisten(this);
+            pm = null;
+        }
+    }
+
+    public void force() {
+        buffer.force();
+    }
+
+    @Override
+    public void close() throws IOException {
+        detach();
+        buffer.force();
+        channel.close();
+    }
+
+    @Override
+    public void onEvent(ProcessEventType type, long tick, ProcessInstance instance) {
+        inspect(instance);
+        if (overflowed) {
+            dropped++;
+            return;
+        }
+
+        int pid = instance.getPID();
+        if (position + MAX_EVENT_SIZE > limit && !roll(tick)) {
+            dropped++;
+            return;
+        }
+
+        int value;
+        if (type == ProcessEventType.START) {
+            Integer index = names.get(instance.getProcess());
+            if (index == null) {
+                byte[] name = instance.getProcess().getName().getBytes(StandardCharsets.UTF_8);
+                if (position + MAX_EVENT_SIZE + name.length + 10 > limit) {
+                    if (!roll(tick)) {
+                        dropped++;
+                        return;
+                    }
+                    index = names.get(instance.getProcess());
+                    if (index == null && position + MAX_EVENT_SIZE + name.length + 10 > limit) {
+                        overflowed = true;
+                        dropped++;
+                        return;
+                    }
+                }
+                if (index == null) {
+                    writeVarLong(((long) name.length << TYPE_BITS) | DEFINE);
+                    for (byte b : name) {
+                        buffer.put(position++, b);
+                    }
+                    index = names.size();
+                    names.put(instance.getProcess(), index);
+                }
+            }
+            value = index;
+            EventLogState.Entry entry = new EventLogState.Entry(
+                pid,
+                instance.getProcess(),
+                instance.getPriority(),
+                instance.getMemoryUsage(),
+                instance.getProcessTime()
+            );
+            entry.reading = instance.info.isReading();
+            state.start(entry);
+        } else if (type == ProcessEventType.DISPATCH) {
+            value = instance.info.getStallTicks();
+        } else if (type == ProcessEventType.RUN) {
+            value = instance.info.getExecuted();
+        } else {
+            value = 0;
+        }
+
+        writeVarLong(((tick - lastTick) << TYPE_BITS) | (type.ordinal() + 1));
+        writeVarLong(pid);
+        if (type == ProcessEventType.START) {
+            writeVarLong(value);
+            buffer.put(position++, (byte) (instance.getPriority().ordinal() | (instance.info.isReading() ? 4 : 0)));
+            buffer.put(position++, (byte) (instance.getMemoryUsage() - 100));
+            buffer.put(position++, (byte) (instance.getProcessTime() - 10));
+        } else {
+            if (type == ProcessEventType.DISPATCH || type == ProcessEventType.RUN) {
+                writeVarLong(value);
+            }
+            state.apply(type, pid, value);
+        }
+        buffer.put(position, (byte) END);
+        lastTick = tick;
+        recorded++;
+    }
+
+    private void inspect(ProcessInstance instance) {
+        ProcessInfo info = instance.info;
+        if ((flags & LOCKS) == 0 && (info.getLockPlan() != null || info.getWaitingLock() != null || info.holdsLocks())) {
+            mark(LOCKS);
+        }
+        if ((flags & FAIR) == 0 && pm != null && pm.getSchedulingPolicy() == SchedulingPolicy.FAIR) {
+            mark(FAIR);
+        }
+    }
+
+    private void mark(int flag) {
+        flags |= flag;
+        buffer.putInt(FLAGS_OFFSET, flags);
+    }
+
+    private boolean roll(long tick) {
+        segment = (segment + 1) % segmentCount;
+        int base = HEADER_SIZE + segment * segmentSize;
+        buffer.putLong(base, 0);
+        position = base + SEGMENT_HEADER_SIZE;
+        limit = base + segmentSize - 1;
+        lastTick = tick;
+        names.clear();
+
+        writeVarLong(state.getLastPid());
+        writeVarLong(state.getExecutingPid());
+        writeVarLong(state.getHighestPid());
+        int live = state.size();
+        int[] pids = new int[live];
+        int[] indices = new int[live];
+        int count = 0;
+        for (int pid = 1; count < live; pid++) {
+            EventLogState.Entry entry = state.get(pid);
+            if (entry == null) {
+                continue;
+            }
+            Integer index = names.get(entry.process);
+            if (index == null) {
+                index = names.size();
+                names.put(entry.process, index);
+            }
+            pids[count] = pid;
+            indices[count] = index;
+            count++;
+        }
+
+        Process[] ordered = new Process[names.size()];
+        byte[][] encoded = new byte[ordered.length][];
+        long required = position + KEYFRAME_HEADER_SIZE + (long) live * KEYFRAME_ENTRY_SIZE + MAX_EVENT_SIZE;
+        for (Map.Entry<Process, Integer> e : names.entrySet()) {
+            ordered[e.getValue()] = e.getKey();
+            encoded[e.getValue()] = e.getKey().getName().getBytes(StandardCharsets.UTF_8);
+            required += encoded[e.getValue()].length + 5;
+        }
+        if (required > limit) {
+            overflowed = true;
+            return false;
+        }
+
+        writeVarLong(ordered.length);
+        for (byte[] name : encoded) {
+            writeVarLong(name.length);
+            for (byte b : name) {
+                buffer.put(position++, b);
+            }
+        }
+
+        writeVarLong(live);
+        for (int i = 0; i < live; i++) {
+            EventLogState.Entry entry = state.get(pids[i]);
+            writeVarLong(entry.pid);
+            writeVarLong(indices[i]);
+            buffer.put(position++, (byte) (entry.priority.ordinal()
+                | (entry.reading ? 4 : 0)
+                | (entry.paused ? 8 : 0)
+                | (entry.blocked ? 16 : 0)));
+            buffer.put(position++, (byte) (entry.memoryUsage - 100));
+            buffer.put(position++, (byte) (entry.processTime - 10));
+            buffer.put(position++, (byte) entry.state.ordinal());
+            writeVarLong(entry.executed);
+            writeVarLong(entry.stallTicks);
+        }
+
+        buffer.put(position, (byte) END);
+        buffer.putLong(base + 8, tick);
+        buffer.putLong(base, ++sequence);
+        return true;
+    }
+
+    private void writeVarLong(long value) {
+        while ((value & ~0x7fL) != 0) {
+            buffer.put(position++, (byte) ((value & 0x7f) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put(position++, (byte) value);
+    }
+}
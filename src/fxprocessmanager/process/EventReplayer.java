@@ -0,0 +1,299 @@
+package fxprocessmanager.process;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+public final class EventReplayer implements Closeable {
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final Map<String, Process> catalog;
+    private final ArrayList<Process> names;
+    private final int[] segments;
+    private final int segmentSize;
+    private final int flags;
+    private int position;
+    private long lastTick;
+
+    public EventReplayer(Path file, Process[] catalog) throws IOException {
+        if (file == null) {
+            throw new IllegalArgumentException("Event log file cannot be null");
+        }
+
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        this.buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        this.catalog = new HashMap<>();
+        if (catalog != null) {
+            for (Process p : catalog) {
+                this.catalog.putIfAbsent(p.getName(), p);
+            }
+        }
+        this.names = new ArrayList<>();
+
+        if (buffer.limit() < EventRecorder.HEADER_SIZE) {
+            throw new IOException("Invalid event log format");
+        }
+        for (int i = 0; i < EventRecorder.MAGIC.length; i++) {
+            if (buffer.get(i) != EventRecorder.MAGIC[i]) {
+                throw new IOException("Invalid event log format");
+            }
+        }
+        if (buffer.getInt(4) != EventRecorder.VERSION) {
+            throw new IOException("Unsupported event log version");
+        }
+
+        segmentSize = buffer.getInt(8);
+        int segmentCount = buffer.getInt(12);
+        flags = buffer.getInt(EventRecorder.FLAGS_OFFSET);
+        if ((long) EventRecorder.HEADER_SIZE + (long) segmentSize * segmentCount > buffer.limit()) {
+            throw new IOException("Truncated event log");
+        }
+
+        long[] keys = new long[segmentCount];
+        int used = 0;
+        for (int i = 0; i < segmentCount; i++) {
+            long sequence = buffer.getLong(base(i));
+            if (sequence != 0) {
+                keys[used++] = (sequence << 20) | i;
+            }
+        }
+        Arrays.sort(keys, 0, used);
+        segments = new int[used];
+        for (int i = 0; i < used; i++) {
+            segments[i] = (int) (keys[i] & 0xfffff);
+        }
+    }
+
+    public EventReplayer(Path file) throws IOException {
+        this(file, null);
+    }
+
+    public long getFirstTick() {
+        if (segments.length == 0) {
+            return -1;
+        }
+        return buffer.getLong(base(segments[0]) + 8);
+    }
+
+    public long getLastTick() throws IOException {
+        if (segments.length == 0) {
+            return -1;
+        }
+
+        EventLogState state = new EventLogState();
+        replay(segments.length - 1, Long.MAX_VALUE, state);
+        return lastTick;
+    }
+
+    public boolean isRebuildable() {
+        return (flags & (EventRecorder.LOCKS | EventRecorder.FAIR)) == 0;
+    }
+
+    public ProcessManager rebuild(long tick, int delta) throws IOException {
+        if (delta <= 0) {
+            throw new IllegalArgumentException("Process manager delta per tick must be a positive integer");
+        }
+        if ((flags & EventRecorder.LOCKS) != 0) {
+            throw new IllegalStateException("Cannot rebuild a process manager from an event log with resource lock activity");
+        }
+        if ((flags & EventRecorder.FAIR) != 0) {
+            throw new IllegalStateException("Cannot rebuild a process manager from an event log recorded under the fair scheduling policy");
+        }
+
+        int first = -1;
+        for (int i = segments.length - 1; i >= 0; i--) {
+            if (buffer.getLong(base(segments[i]) + 8) <= tick) {
+                first = i;
+                break;
+            }
+        }
+        if (first < 0) {
+            throw new IllegalArgumentException("Tick " + tick + " is not covered by the event log");
+        }
+
+        EventLogState state = new EventLogState();
+        replay(first, tick, state);
+        return state.rebuild(tick, delta);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private void replay(int first, long until, EventLogState state) throws IOException {
+        boolean keyframe = true;
+        for (int i = first; i < segments.length; i++) {
+            int base = base(segments[i]);
+            lastTick = buffer.getLong(base + 8);
+            position = base + EventRecorder.SEGMENT_HEADER_SIZE;
+            names.clear();
+            if (keyframe) {
+                readKeyframe(state);
+                keyframe = false;
+            } else {
+                skipKeyframe();
+            }
+            if (!readEvents(state, until)) {
+                return;
+            }
+        }
+    }
+
+    private void readKeyframe(EventLogState state) throws IOException {
+        int lastPid = (int) readVarLong();
+        int executingPid = (int) readVarLong();
+        int highestPid = (int) readVarLong();
+        state.reset(lastPid, executingPid, highestPid);
+        readNames();
+
+        int live = (int) readVarLong();
+        for (int i = 0; i < live; i++) {
+            int pid = (int) readVarLong();
+            Process process = name((int) readVarLong());
+            int flags = readByte();
+            EventLogState.Entry entry = new EventLogState.Entry(
+                pid,
+                process,
+                ProcessPriority.getValue(flags & 3),
+                100 + readByte(),
+                10 + readByte()
+            );
+            entry.reading = (flags & 4) != 0;
+            entry.paused = (flags & 8) != 0;
+            entry.blocked = (flags & 16) != 0;
+            entry.state = ProcessState.values()[readByte()];
+            entry.executed = (int) readVarLong();
+            entry.stallTicks = (int) readVarLong();
+            state.put(entry);
+        }
+    }
+
+    private void skipKeyframe() throws IOException {
+        readVarLong();
+        readVarLong();
+        readVarLong();
+        readNames();
+        int live = (int) readVarLong();
+        for (int i = 0; i < live; i++) {
+            readVarLong();
+            readVarLong();
+            position += 4;
+            readVarLong();
+            readVarLong();
+        }
+    }
+
+    private void readNames() throws IOException {
+        int count = (int) readVarLong();
+        for (int i = 0; i < count; i++) {
+            names.add(process(readString((int) readVarLong())));
+        }
+    }
+
+    private boolean readEvents(EventLogState state, long until) throws IOException {
+        while (true) {
+            long head = readVarLong();
+            int code = (int) (head & ((1 << EventRecorder.TYPE_BITS) - 1));
+            if (code == EventRecorder.END) {
+                return true;
+            }
+            if (code == EventRecorder.DEFINE) {
+                names.add(process(readString((int) (head >>> EventRecorder.TYPE_BITS))));
+                continue;
+            }
+            if (code > ProcessEventType.count) {
+                throw new IOException("Invalid event log format");
+            }
+
+            long tick = lastTick + (head >>> EventRecorder.TYPE_BITS);
+            if (tick > until) {
+                return false;
+            }
+            lastTick = tick;
+
+            ProcessEventType type = ProcessEventType.getValue(code - 1);
+            int pid = (int) readVarLong();
+            switch (type) {
+                case START:
+                    Process process = name((int) readVarLong());
+                    int flags = readByte();
+                    EventLogState.Entry entry = new EventLogState.Entry(
+                        pid,
+                        process,
+                        ProcessPriority.getValue(flags & 3),
+                        100 + readByte(),
+                        10 + readByte()
+                    );
+                    entry.reading = (flags & 4) != 0;
+                    state.start(entry);
+                    break;
+                case DISPATCH:
+                case RUN:
+                    state.apply(type, pid, (int) readVarLong());
+                    break;
+                default:
+                    state.apply(type, pid, 0);
+                    break;
+            }
+        }
+    }
+
+    private Process name(int index) throws IOException {
+        if (index >= names.size()) {
+            throw new IOException("Invalid event log format");
+        }
+        return names.get(index);
+    }
+
+    private Process process(String name) {
+        Process process = catalog.get(name);
+        if (process == null) {
+            process = new Process(name);
+            catalog.put(name, process);
+        }
+        return process;
+    }
+
+    private String readString(int length) throws IOException {
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = (byte) readByte();
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private int base(int segment) {
+        return EventRecorder.HEADER_SIZE + segment * segmentSize;
+    }
+
+    private int readByte() throws IOException {
+        if (position >= buffer.limit()) {
+            throw new IOException("Unexpected end of event log");
+        }
+        return buffer.get(position++) & 0xff;
+    }
+
+    private long readVarLong() throws IOException {
+        long value = 0;
+        int shift = 0;
+        int b;
+        do {
+            if (shift > 63) {
+                throw new IOException("Invalid event log format");
+            }
+            b = readByte();
+            value |= (long) (b & 0x7f) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+}
@@ -0,0 +1,16 @@
+package fxprocessmanager.process;
+
+public enum EvictionPolicy {
+    LRU, CLOCK, ARC;
+
+    public ReplacementPolicy create(int capacity) {
+        switch (this) {
+            case CLOCK:
+                return new ClockReplacementPolicy();
+            case ARC:
+                return new ARCReplacementPolicy(capacity);
+            default:
+                return new LRUReplacementPolicy();
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package fxprocessmanager.process;
+
+import java.util.ArrayDeque;
+
+final class FCFSIOQueue implements IOQueue {
+    private final ArrayDeque<IORequest> queue = new ArrayDeque<>();
+
+    @Override
+    public void add(IORequest request) {
+        queue.add(request);
+    }
+
+    @Override
+    public IORequest next(int head) {
+        IORequest request;
+        while ((request = queue.poll()) != null) {
+            if (!request.cancelled) {
+                return request;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public int size() {
+        return queue.size();
+    }
+}
@@ -0,0 +1,336 @@
+package fxprocessmanager.process;
+
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.TreeSet;
+
+final class FairQueue extends AbstractCollection<ProcessInstance> implements ReadyQueue {
+    static final int DEFAULT_SHARES = 1024;
+    private static final long SCALE = (long) DEFAULT_SHARES << 10;
+    private static final int[] weights = {335, 1024, 3121, 9548};
+    private static final Comparator<ProcessInstance> byRuntime = Comparator
+        .comparingLong((ProcessInstance pi) -> pi.info.getVirtualRuntime())
+        .thenComparingInt(ProcessInstance::getPID);
+    private static final Comparator<Group> byGroupRuntime = Comparator
+        .comparingLong((Group group) -> group.runtime)
+        .thenComparingInt(group -> group.id);
+
+    private static final class Group {
+        private final int id;
+        private final TreeSet<ProcessInstance> members;
+        private long runtime;
+        private long minRuntime;
+        private int shares;
+        private int quota;
+        private int period;
+        private int used;
+        private int live;
+        private long periodEnd;
+        private boolean queued;
+        private boolean throttled;
+
+        Group(int id) {
+            this.id = id;
+            this.members = new TreeSet<>(byRuntime);
+            this.runtime = 0;
+            this.minRuntime = 0;
+            this.shares = DEFAULT_SHARES;
+            this.quota = 0;
+            this.period = 0;
+            this.used = 0;
+            this.live = 0;
+            this.periodEnd = 0;
+            this.queued = false;
+            this.throttled = false;
+        }
+    }
+
+    private final IdentityHashMap<Process, Group> groups;
+    private final TreeSet<Group> tree;
+    private final ArrayList<Group> throttled;
+    private long minRuntime;
+    private int size;
+    private int nextId;
+
+    FairQueue() {
+        groups = new IdentityHashMap<>();
+        tree = new TreeSet<>(byGroupRuntime);
+        throttled = new ArrayList<>();
+        minRuntime = 0;
+        size = 0;
+        nextId = 0;
+    }
+
+    static int weightOf(ProcessPriority priority) {
+        return weights[priority.ordinal()];
+    }
+
+    void setShares(Process process, int shares) {
+        Group group = group(process);
+        group.shares = shares;
+        prune(process, group);
+    }
+
+    int getShares(Process process) {
+        Group group = groups.get(process);
+        return group == null ? DEFAULT_SHARES : group.shares;
+    }
+
+    void setQuota(Process process, int quota, int period) {
+        Group group = group(process);
+        group.quota = quota;
+        group.period = period;
+        group.used = 0;
+        group.periodEnd = 0;
+        if (group.throttled) {
+            throttled.remove(group);
+            group.throttled = false;
+            if (!group.members.isEmpty()) {
+                enqueue(group);
+            }
+        }
+        prune(process, group);
+    }
+
+    boolean isThrottled(Process process) {
+        Group group = groups.get(process);
+        return group != null && group.throttled;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean add(ProcessInstance instance) {
+        ProcessInfo info = instance.info;
+        if (info.getQueueIndex() >= 0) {
+            return false;
+        }
+
+        Group group = group(instance.getProcess());
+        if (info.getVirtualRuntime() < group.minRuntime) {
+            info.setVirtualRuntime(group.minRuntime);
+        }
+        group.members.add(instance);
+        info.setQueueIndex(0);
+        size++;
+        if (!group.queued && !group.throttled) {
+            enqueue(group);
+        }
+        return true;
+    }
+
+    @Override
+    public ProcessInstance peek() {
+        return tree.isEmpty() ? null : tree.first().members.first();
+    }
+
+    @Override
+    public ProcessInstance poll() {
+        if (tree.isEmpty()) {
+            return null;
+        }
+
+        Group group = tree.first();
+        ProcessInstance instance = group.members.pollFirst();
+        instance.info.setQueueIndex(-1);
+        size--;
+        group.minRuntime = Math.max(group.minRuntime, instance.info.getVirtualRuntime());
+        minRuntime = Math.max(minRuntime, group.runtime);
+        if (group.members.isEmpty()) {
+            dequeue(group);
+        }
+        return instance;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return o instanceof ProcessInstance && ((ProcessInstance) o).info.getQueueIndex() >= 0;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if (!contains(o)) {
+            return false;
+        }
+
+        ProcessInstance instance = (ProcessInstance) o;
+        Group group = groups.get(instance.getProcess());
+        group.members.remove(instance);
+        instance.info.setQueueIndex(-1);
+        size--;
+        if (group.members.isEmpty() && group.queued) {
+            dequeue(group);
+        }
+        return true;
+    }
+
+    @Override
+    public void update(ProcessInstance instance) {
+    }
+
+    @Override
+    public void admit(ProcessInstance instance) {
+        group(instance.getProcess()).live++;
+    }
+
+    @Override
+    public void retire(ProcessInstance instance) {
+        Group group = groups.get(instance.getProcess());
+        if (group != null) {
+            group.live--;
+            prune(instance.getProcess(), group);
+        }
+    }
+
+    int getGroupCount() {
+        return groups.size();
+    }
+
+    @Override
+    public void charge(ProcessInstance instance, long tick, int ticks) {
+        ProcessInfo info = instance.info;
+        info.setVirtualRuntime(info.getVirtualRuntime() + ticks * SCALE / weightOf(info.getEffectivePriority()));
+
+        Group group = group(instance.getProcess());
+        boolean queued = group.queued;
+        if (queued) {
+            dequeue(group);
+        }
+        group.runtime += ticks * SCALE / group.shares;
+        if (group.quota > 0) {
+            if (tick >= group.periodEnd) {
+                group.used = 0;
+                group.periodEnd = (tick / group.period + 1) * group.period;
+            }
+            group.used += ticks;
+            if (group.used >= group.quota && !group.throttled) {
+                group.throttled = true;
+                throttled.add(group);
+                queued = false;
+            }
+        }
+        if (queued) {
+            enqueue(group);
+        }
+    }
+
+    @Override
+    public void advance(long tick) {
+        for (int i = throttled.size() - 1; i >= 0; i--) {
+            Group group = throttled.get(i);
+            if (group.periodEnd > tick) {
+                continue;
+            }
+            throttled.remove(i);
+            group.throttled = false;
+            group.used = 0;
+            if (!group.members.isEmpty()) {
+                enqueue(group);
+            }
+        }
+    }
+
+    @Override
+    public void clear() {
+        for (Group group : groups.values()) {
+            for (ProcessInstance instance : group.members) {
+                instance.info.setQueueIndex(-1);
+            }
+            group.members.clear();
+            group.queued = false;
+            group.throttled = false;
+            group.used = 0;
+            group.periodEnd = 0;
+        }
+        tree.clear();
+        throttled.clear();
+        size = 0;
+    }
+
+    @Override
+    public Iterator<ProcessInstance> iterator() {
+        return new Iterator<ProcessInstance>() {
+            private final Iterator<Group> outer = groups.values().iterator();
+            private Iterator<ProcessInstance> inner = null;
+
+            @Override
+            public boolean hasNext() {
+                while (inner == null || !inner.hasNext()) {
+                    if (!outer.hasNext()) {
+                        return false;
+                    }
+                    inner = outer.next().members.iterator();
+                }
+                return true;
+            }
+
+            @Override
+            public ProcessInstance next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return inner.next();
+            }
+        };
+    }
+
+    @Override
+    public ProcessInstance[] sorted() {
+        ProcessInstance[] sorted = new ProcessInstance[size];
+        int index = 0;
+        for (Group group : tree) {
+            for (ProcessInstance instance : group.members) {
+                sorted[index++] = instance;
+            }
+        }
+        for (Group group : throttled) {
+            for (ProcessInstance instance : group.members) {
+                sorted[index++] = instance;
+            }
+        }
+        return sorted;
+    }
+
+    private Group group(Process process) {
+        Group group = groups.get(process);
+        if (group == null) {
+            group = new Group(nextId++);
+            groups.put(process, group);
+        }
+        return group;
+    }
+
+    private void prune(Process process, Group group) {
+        if (group.live <= 0 && group.members.isEmpty() && group.shares == DEFAULT_SHARES && group.quota == 0) {
+            if (group.queued) {
+                dequeue(group);
+            }
+            groups.remove(process);
+        }
+    }
+
+    private void enqueue(Group group) {
+        if (group.runtime < minRuntime) {
+            group.runtime = minRuntime;
+        }
+        tree.add(group);
+        group.queued = true;
+    }
+
+    private void dequeue(Group group) {
+        tree.remove(group);
+        group.queued = false;
+    }
+}
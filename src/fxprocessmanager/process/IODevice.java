@@ -0,0 +1,217 @@
+package fxprocessmanager.process;
+
+import java.util.Random;
+import java.util.function.Consumer;
+
+public final class IODevice {
+    private final class CompletionTimer extends WheelTimer {
+        @Override
+        void expire(long tick) {
+            complete(tick);
+        }
+    }
+
+    private final class RequestTimer extends WheelTimer {
+        private final IORequest request;
+
+        RequestTimer(IORequest request) {
+            this.request = request;
+        }
+
+        @Override
+        void expire(long tick) {
+            inFlight--;
+            finish(request, tick);
+        }
+    }
+
+    private final String name;
+    private final IODiscipline discipline;
+    private final ServiceTimeDistribution distribution;
+    private final int tracks;
+    private final int tracksPerTick;
+    private final Random random;
+    private final boolean queued;
+    private final IOQueue queue;
+    private int head;
+    private final CompletionTimer timer;
+    private TimingWheel wheel;
+    private Consumer<ProcessInstance> completion;
+    private IORequest current;
+    private int inFlight;
+    private long completionTick;
+    private long requests;
+    private long completed;
+    private long cancelled;
+    private long busyTicks;
+    private long totalLatency;
+    private long totalQueueWait;
+    private int maxQueueLength;
+
+    public IODevice(String name, IODiscipline discipline, ServiceTimeDistribution distribution, int tracks, int tracksPerTick, long seed) {
+        this(name, discipline, distribution, tracks, tracksPerTick, seed, true);
+    }
+
+    public IODevice(String name, IODiscipline discipline, ServiceTimeDistribution distribution) {
+        this(name, discipline, distribution, 1, 1, 0);
+    }
+
+    private IODevice(String name, IODiscipline discipline, ServiceTimeDistribution distribution, int tracks, int tracksPerTick, long seed, boolean queued) {
+        if (name == null) {
+            throw new IllegalArgumentException("Device name cannot be null");
+        }
+        if (discipline == null) {
+            throw new IllegalArgumentException("Device queue discipline cannot be null");
+        }
+        if (distribution == null) {
+            throw new IllegalArgumentException("Device service time distribution cannot be null");
+        }
+        if (tracks < 1) {
+            throw new IllegalArgumentException("Device track count must be a positive integer");
+        }
+        if (tracksPerTick < 1) {
+            throw new IllegalArgumentException("Device seek speed must be a positive integer");
+        }
+
+        this.name = name;
+        this.discipline = discipline;
+        this.distribution = distribution;
+        this.tracks = tracks;
+        this.tracksPerTick = tracksPerTick;
+        this.random = new Random(seed);
+        this.queued = queued;
+        this.queue = discipline.createQueue();
+        this.head = 0;
+        this.timer = new CompletionTimer();
+        this.current = null;
+        this.inFlight = 0;
+    }
+
+    public static IODevice unqueued(String name, ServiceTimeDistribution distribution) {
+        return new IODevice(name, IODiscipline.FCFS, distribution, 1, 1, 0, false);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public IODiscipline getDiscipline() {
+        return discipline;
+    }
+
+    public boolean isQueued() {
+        return queued;
+    }
+
+    public boolean isBusy() {
+        return current != null || inFlight > 0;
+    }
+
+    public int getQueueLength() {
+        return queue.size();
+    }
+
+    public int getMaxQueueLength() {
+        return maxQueueLength;
+    }
+
+    public long getRequests() {
+        return requests;
+    }
+
+    public long getCompleted() {
+        return completed;
+    }
+
+    public long getCancelled() {
+        return cancelled;
+    }
+
+    public long getBusyTicks() {
+        return busyTicks;
+    }
+
+    public long getTotalLatency() {
+        return totalLatency;
+    }
+
+    public long getTotalQueueWait() {
+        return totalQueueWait;
+    }
+
+    public double getAverageLatency() {
+        return completed == 0 ? 0 : (double) totalLatency / completed;
+    }
+
+    void attach(TimingWheel wheel, Consumer<ProcessInstance> completion) {
+        if (this.wheel != null) {
+            this.wheel.cancel(timer);
+        }
+        this.wheel = wheel;
+        this.completion = completion;
+        if (current != null) {
+            wheel.schedule(timer, completionTick);
+        }
+    }
+
+    IORequest submit(ProcessInstance instance, long tick) {
+        IORequest request = new IORequest(instance, this, random.nextInt(tracks), tick);
+        requests++;
+        if (!queued) {
+            int service = Math.max(1, distribution.sample(random));
+            request.timer = new RequestTimer(request);
+            inFlight++;
+            busyTicks += service;
+            wheel.schedule(request.timer, tick + service);
+        } else if (current == null) {
+            begin(request, tick);
+        } else {
+            queue.add(request);
+            if (queue.size() > maxQueueLength) {
+                maxQueueLength = queue.size();
+            }
+        }
+        return request;
+    }
+
+    void cancel(IORequest request) {
+        if (!request.cancelled) {
+            request.cancelled = true;
+            cancelled++;
+        }
+        if (request.timer != null && request.timer.isScheduled()) {
+            wheel.cancel(request.timer);
+            inFlight--;
+        }
+    }
+
+    private void complete(long tick) {
+        IORequest request = current;
+        current = null;
+        finish(request, tick);
+
+        IORequest next = queue.next(head);
+        if (next != null) {
+            begin(next, tick);
+        }
+    }
+
+    private void finish(IORequest request, long tick) {
+        if (!request.cancelled) {
+            completed++;
+            totalLatency += tick - request.submitTick;
+            completion.accept(request.instance);
+        }
+    }
+
+    private void begin(IORequest request, long tick) {
+        int seek = (Math.abs(request.track - head) + tracksPerTick - 1) / tracksPerTick;
+        int service = Math.max(1, seek + distribution.sample(random));
+        head = request.track;
+        current = request;
+        completionTick = tick + service;
+        busyTicks += service;
+        totalQueueWait += tick - request.submitTick;
+        wheel.schedule(timer, completionTick);
+    }
+}
@@ -0,0 +1,16 @@
+package fxprocessmanager.process;
+
+public enum IODiscipline {
+    FCFS, SSTF, SCAN;
+
+    IOQueue createQueue() {
+        switch (this) {
+            case SSTF:
+                return new SSTFIOQueue();
+            case SCAN:
+                return new ScanIOQueue();
+            default:
+                return new FCFSIOQueue();
+        }
+    }
+}
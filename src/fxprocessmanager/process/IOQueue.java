@@ -0,0 +1,9 @@
+package fxprocessmanager.process;
+
+interface IOQueue {
+    public void add(IORequest request);
+
+    public IORequest next(int head);
+
+    public int size();
+}
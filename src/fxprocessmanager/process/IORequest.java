@@ -0,0 +1,19 @@
+package fxprocessmanager.process;
+
+final class IORequest {
+    final ProcessInstance instance;
+    final IODevice device;
+    final int track;
+    final long submitTick;
+    boolean cancelled;
+    WheelTimer timer;
+
+    IORequest(ProcessInstance instance, IODevice device, int track, long submitTick) {
+        this.instance = instance;
+        this.device = device;
+        this.track = track;
+        this.submitTick = submitTick;
+        this.cancelled = false;
+        this.timer = null;
+    }
+}
@@ -0,0 +1,80 @@
+package fxprocessmanager.process;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+public final class IOSubsystem {
+    private final ArrayList<IODevice> devices;
+
+    public IOSubsystem(IODevice... devices) {
+        if (devices.length == 0) {
+            throw new IllegalArgumentException("I/O subsystem requires at least one device");
+        }
+
+        this.devices = new ArrayList<>(Arrays.asList(devices));
+    }
+
+    public static IOSubsystem singleTick() {
+        return new IOSubsystem(new IODevice("io0", IODiscipline.FCFS, ServiceTimeDistribution.constant(1)));
+    }
+
+    public static IOSubsystem unqueued(int ticks) {
+        return new IOSubsystem(IODevice.unqueued("io0", ServiceTimeDistribution.constant(ticks)));
+    }
+
+    public List<IODevice> getDevices() {
+        return Collections.unmodifiableList(devices);
+    }
+
+    public long getRequests() {
+        long total = 0;
+        for (IODevice device : devices) {
+            total += device.getRequests();
+        }
+        return total;
+    }
+
+    public long getCompleted() {
+        long total = 0;
+        for (IODevice device : devices) {
+            total += device.getCompleted();
+        }
+        return total;
+    }
+
+    public long getBusyTicks() {
+        long total = 0;
+        for (IODevice device : devices) {
+            total += device.getBusyTicks();
+        }
+        return total;
+    }
+
+    public double getAverageLatency() {
+        long completed = 0;
+        long latency = 0;
+        for (IODevice device : devices) {
+            completed += device.getCompleted();
+            latency += device.getTotalLatency();
+        }
+        return completed == 0 ? 0 : (double) latency / completed;
+    }
+
+    IORequest submit(ProcessInstance instance, long tick) {
+        IODevice device = devices.get(instance.getPID() % devices.size());
+        return device.submit(instance, tick);
+    }
+
+    void cancel(IORequest request) {
+        request.device.cancel(request);
+    }
+
+    void attach(TimingWheel wheel, Consumer<ProcessInstance> completion) {
+        for (IODevice device : devices) {
+            device.attach(wheel, completion);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package fxprocessmanager.process;
+
+public final class InstanceSnapshot {
+    private final ProcessInstance instance;
+    private final int pid;
+    private final Process process;
+    private final ProcessPriority priority;
+    private final int memoryUsage;
+    private final int processTime;
+    private final long hash;
+    private final ProcessState state;
+    private final int executed;
+    private final boolean reading;
+    private final boolean paused;
+    private final ProcessPriority effectivePriority;
+    private final long usage;
+
+    InstanceSnapshot(ProcessInstance instance, boolean paused) {
+        long word = instance.info.getWord();
+        this.instance = instance;
+        this.pid = instance.getPID();
+        this.process = instance.getProcess();
+        this.priority = instance.getPriority();
+        this.memoryUsage = instance.getMemoryUsage();
+        this.processTime = instance.getProcessTime();
+        this.hash = instance.getHash();
+        this.state = ProcessInfo.stateOf(word);
+        this.executed = ProcessInfo.executedOf(word);
+        this.reading = ProcessInfo.readingOf(word);
+        this.paused = paused;
+        this.effectivePriority = instance.info.getEffectivePriority();
+        this.usage = instance.info.getUsage();
+    }
+
+    public ProcessInstance getInstance() {
+        return instance;
+    }
+
+    public int getPID() {
+        return pid;
+    }
+
+    public Process getProcess() {
+        return process;
+    }
+
+    public ProcessPriority getPriority() {
+        return priority;
+    }
+
+    public ProcessPriority getEffectivePriority() {
+        return effectivePriority;
+    }
+
+    long getEffectiveHash() {
+        return ((long) effectivePriority.ordinal() << 22) | (hash & 0x3fffff);
+    }
+
+    public int getMemoryUsage() {
+        return memoryUsage;
+    }
+
+    public int getProcessTime() {
+        return processTime;
+    }
+
+    public long getHash() {
+        return hash;
+    }
+
+    public ProcessState getState() {
+        return state;
+    }
+
+    public int getExecuted() {
+        return executed;
+    }
+
+    public boolean isReading() {
+        return reading;
+    }
+
+    public boolean isPaused() {
+        return paused;
+    }
+
+    public int getCpuUsage() {
+        return ProcessInfo.cpuOf(usage);
+    }
+
+    public long getResidentMemory() {
+        return ProcessInfo.memoryOf(usage);
+    }
+
+    public double getProgress() {
+        double executed = this.executed;
+        return executed / processTime;
+    }
+}
@@ -0,0 +1,42 @@
+package fxprocessmanager.process;
+
+import java.util.LinkedHashMap;
+import java.util.function.Predicate;
+
+public final class LRUReplacementPolicy implements ReplacementPolicy {
+    private final LinkedHashMap<ProcessInstance, Boolean> resident;
+
+    public LRUReplacementPolicy() {
+        resident = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    @Override
+    public void admitted(ProcessInstance instance) {
+        resident.put(instance, Boolean.TRUE);
+    }
+
+    @Override
+    public void accessed(ProcessInstance instance) {
+        resident.get(instance);
+    }
+
+    @Override
+    public void evicted(ProcessInstance instance) {
+        resident.remove(instance);
+    }
+
+    @Override
+    public void removed(ProcessInstance instance) {
+        resident.remove(instance);
+    }
+
+    @Override
+    public ProcessInstance selectVictim(Predicate<ProcessInstance> evictable) {
+        for (ProcessInstance pi : resident.keySet()) {
+            if (evictable.test(pi)) {
+                return pi;
+            }
+        }
+        return null;
+    }
+}
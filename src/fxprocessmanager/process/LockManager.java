@@ -0,0 +1,300 @@
+package fxprocessmanager.process;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+
+public final class LockManager {
+    private final ProcessManager pm;
+    private final ArrayList<ResourceLock> locks;
+    private DeadlockListener[] listeners;
+    private long acquisitions;
+    private long contentions;
+    private long boosts;
+    private long deadlocks;
+
+    LockManager(ProcessManager pm) {
+        this.pm = pm;
+        this.locks = new ArrayList<>();
+        this.listeners = new DeadlockListener[0];
+        this.acquisitions = 0;
+        this.contentions = 0;
+        this.boosts = 0;
+        this.deadlocks = 0;
+    }
+
+    public ResourceLock createMutex(String name, LockProtocol protocol) {
+        return create(name, 1, protocol, null);
+    }
+
+    public ResourceLock createMutex(String name, ProcessPriority ceiling) {
+        return create(name, 1, LockProtocol.CEILING, ceiling);
+    }
+
+    public ResourceLock createSemaphore(String name, int permits, LockProtocol protocol) {
+        return create(name, permits, protocol, null);
+    }
+
+    public ResourceLock create(String name, int permits, LockProtocol protocol, ProcessPriority ceiling) {
+        if (name == null) {
+            throw new IllegalArgumentException("Lock name cannot be null");
+        }
+        if (permits <= 0) {
+            throw new IllegalArgumentException("Lock permits must be a positive integer");
+        }
+        if (protocol == null) {
+            throw new IllegalArgumentException("Lock protocol cannot be null");
+        }
+        if (protocol == LockProtocol.CEILING && ceiling == null) {
+            throw new IllegalArgumentException("Lock ceiling cannot be null");
+        }
+
+        synchronized (pm) {
+            ResourceLock lock = new ResourceLock(this, locks.size(), name, permits, protocol, ceiling);
+            locks.add(lock);
+            return lock;
+        }
+    }
+
+    public ResourceLock getLock(int id) {
+        synchronized (pm) {
+            return locks.get(id);
+        }
+    }
+
+    public int getLockCount() {
+        synchronized (pm) {
+            return locks.size();
+        }
+    }
+
+    public long getAcquisitions() {
+        return acquisitions;
+    }
+
+    public long getContentions() {
+        return contentions;
+    }
+
+    public long getBoosts() {
+        return boosts;
+    }
+
+    public long getDeadlocks() {
+        return deadlocks;
+    }
+
+    public void listen(DeadlockListener listener) {
+        synchronized (pm) {
+            DeadlockListener[] updated = Arrays.copyOf(listeners, listeners.length + 1);
+            updated[listeners.length] = listener;
+            listeners = updated;
+        }
+    }
+
+    public void unlisten(DeadlockListener listener) {
+        synchronized (pm) {
+            for (int i = 0; i < listeners.length; i++) {
+                if (listeners[i] == listener) {
+                    DeadlockListener[] updated = new DeadlockListener[listeners.length - 1];
+                    System.arraycopy(listeners, 0, updated, 0, i);
+                    System.arraycopy(listeners, i + 1, updated, i, updated.length - i);
+                    listeners = updated;
+                    return;
+                }
+            }
+        }
+    }
+
+    ProcessManager getProcessManager() {
+        return pm;
+    }
+
+    boolean acquire(ProcessInstance instance, ResourceLock lock) {
+        if (lock.available > 0) {
+            grant(instance, lock);
+            return true;
+        }
+
+        contentions++;
+        instance.info.setWaitingLock(lock);
+        lock.waiters.add(instance);
+        if (lock.getProtocol() == LockProtocol.INHERITANCE) {
+            ProcessPriority priority = instance.info.getEffectivePriority();
+            for (int i = 0; i < lock.holders.size(); i++) {
+                raise(lock.holders.get(i), priority);
+            }
+        }
+        detect(instance, lock);
+        return false;
+    }
+
+    List<ProcessInstance> release(ProcessInstance instance, ResourceLock lock) {
+        if (!lock.holders.remove(instance)) {
+            return Collections.emptyList();
+        }
+        instance.info.getHeldLocks().remove(lock);
+        lock.available++;
+
+        List<ProcessInstance> granted = Collections.emptyList();
+        while (lock.available > 0 && !lock.waiters.isEmpty()) {
+            ProcessInstance waiter = lock.waiters.poll();
+            waiter.info.setWaitingLock(null);
+            grant(waiter, lock);
+            if (granted.isEmpty()) {
+                granted = new ArrayList<>(1);
+            }
+            granted.add(waiter);
+        }
+        if (lock.getProtocol() == LockProtocol.INHERITANCE) {
+            for (int i = 0; i < lock.holders.size(); i++) {
+                recompute(lock.holders.get(i));
+            }
+        }
+        recompute(instance);
+        return granted;
+    }
+
+    List<ProcessInstance> releaseAll(ProcessInstance instance) {
+        cancelWait(instance);
+        if (!instance.info.holdsLocks()) {
+            return Collections.emptyList();
+        }
+
+        ArrayList<ProcessInstance> granted = new ArrayList<>();
+        ArrayList<ResourceLock> held = instance.info.getHeldLocks();
+        while (!held.isEmpty()) {
+            granted.addAll(release(instance, held.get(held.size() - 1)));
+        }
+        return granted;
+    }
+
+    boolean cancelWait(ProcessInstance instance) {
+        ResourceLock lock = instance.info.getWaitingLock();
+        if (lock == null) {
+            return false;
+        }
+
+        lock.waiters.remove(instance);
+        instance.info.setWaitingLock(null);
+        if (lock.getProtocol() == LockProtocol.INHERITANCE) {
+            for (int i = 0; i < lock.holders.size(); i++) {
+                recompute(lock.holders.get(i));
+            }
+        }
+        return true;
+    }
+
+    private void grant(ProcessInstance instance, ResourceLock lock) {
+        lock.available--;
+        lock.holders.add(instance);
+        instance.info.getHeldLocks().add(lock);
+        acquisitions++;
+        if (lock.getProtocol() == LockProtocol.CEILING) {
+            raise(instance, lock.getCeiling());
+        } else if (lock.getProtocol() == LockProtocol.INHERITANCE && !lock.waiters.isEmpty()) {
+            raise(instance, lock.waiters.peek().info.getEffectivePriority());
+        }
+    }
+
+    private void raise(ProcessInstance instance, ProcessPriority priority) {
+        if (priority.compareTo(instance.info.getEffectivePriority()) <= 0) {
+            return;
+        }
+
+        boosts++;
+        ResourceLock lock = update(instance, priority);
+        if (lock != null && lock.getProtocol() == LockProtocol.INHERITANCE) {
+            for (int i = 0; i < lock.holders.size(); i++) {
+                raise(lock.holders.get(i), priority);
+            }
+        }
+    }
+
+    private void recompute(ProcessInstance instance) {
+        ProcessPriority priority = instance.getPriority();
+        if (instance.info.holdsLocks()) {
+            ArrayList<ResourceLock> held = instance.info.getHeldLocks();
+            for (int i = 0; i < held.size(); i++) {
+                ResourceLock lock = held.get(i);
+                ProcessPriority inherited = null;
+                if (lock.getProtocol() == LockProtocol.CEILING) {
+                    inherited = lock.getCeiling();
+                } else if (lock.getProtocol() == LockProtocol.INHERITANCE && !lock.waiters.isEmpty()) {
+                    inherited = lock.waiters.peek().info.getEffectivePriority();
+                }
+                if (inherited != null && inherited.compareTo(priority) > 0) {
+                    priority = inherited;
+                }
+            }
+        }
+        if (priority == instance.info.getEffectivePriority()) {
+            return;
+        }
+
+        ResourceLock lock = update(instance, priority);
+        if (lock != null && lock.getProtocol() == LockProtocol.INHERITANCE) {
+            for (int i = 0; i < lock.holders.size(); i++) {
+                recompute(lock.holders.get(i));
+            }
+        }
+    }
+
+    private ResourceLock update(ProcessInstance instance, ProcessPriority priority) {
+        ResourceLock lock = instance.info.getWaitingLock();
+        if (lock != null) {
+            lock.waiters.remove(instance);
+        }
+        pm.reprioritize(instance, priority);
+        if (lock != null) {
+            lock.waiters.add(instance);
+        }
+        return lock;
+    }
+
+    private void detect(ProcessInstance instance, ResourceLock lock) {
+        IdentityHashMap<ProcessInstance, ProcessInstance> parents = new IdentityHashMap<>();
+        ArrayDeque<ProcessInstance> pending = new ArrayDeque<>();
+        for (int i = 0; i < lock.holders.size(); i++) {
+            ProcessInstance holder = lock.holders.get(i);
+            if (parents.put(holder, instance) == null) {
+                pending.add(holder);
+            }
+        }
+
+        while (!pending.isEmpty()) {
+            ProcessInstance current = pending.poll();
+            if (current == instance) {
+                ArrayList<ProcessInstance> cycle = new ArrayList<>();
+                ProcessInstance node = parents.get(instance);
+                cycle.add(instance);
+                while (node != instance) {
+                    cycle.add(node);
+                    node = parents.get(node);
+                }
+                Collections.reverse(cycle.subList(1, cycle.size()));
+                deadlocks++;
+                ProcessInstance[] members = cycle.toArray(new ProcessInstance[cycle.size()]);
+                for (DeadlockListener listener : listeners) {
+                    listener.deadlock(pm.getTick(), members);
+                }
+                return;
+            }
+
+            ResourceLock waiting = current.info.getWaitingLock();
+            if (waiting == null) {
+                continue;
+            }
+            for (int i = 0; i < waiting.holders.size(); i++) {
+                ProcessInstance holder = waiting.holders.get(i);
+                if (!parents.containsKey(holder)) {
+                    parents.put(holder, current);
+                    pending.add(holder);
+                }
+            }
+        }
+    }
+}
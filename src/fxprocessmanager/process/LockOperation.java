@@ -0,0 +1,40 @@
+package fxprocessmanager.process;
+
+public final class LockOperation {
+    private final int at;
+    private final ResourceLock lock;
+    private final boolean acquire;
+
+    private LockOperation(int at, ResourceLock lock, boolean acquire) {
+        if (at < 0) {
+            throw new IllegalArgumentException("Lock operation progress must be a positive integer");
+        }
+        if (lock == null) {
+            throw new IllegalArgumentException("Lock cannot be null");
+        }
+
+        this.at = at;
+        this.lock = lock;
+        this.acquire = acquire;
+    }
+
+    public static LockOperation acquire(int at, ResourceLock lock) {
+        return new LockOperation(at, lock, true);
+    }
+
+    public static LockOperation release(int at, ResourceLock lock) {
+        return new LockOperation(at, lock, false);
+    }
+
+    public int getAt() {
+        return at;
+    }
+
+    public ResourceLock getLock() {
+        return lock;
+    }
+
+    public boolean isAcquire() {
+        return acquire;
+    }
+}
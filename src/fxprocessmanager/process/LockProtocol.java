@@ -0,0 +1,5 @@
+package fxprocessmanager.process;
+
+public enum LockProtocol {
+    NONE, INHERITANCE, CEILING
+}
@@ -0,0 +1,127 @@
+package fxprocessmanager.process;
+
+import java.util.function.Predicate;
+
+public final class MemoryManager {
+    private final int capacity;
+    private final ReplacementPolicy policy;
+    private final int swapInCost;
+    private long used;
+    private long swapped;
+    private long peakUsed;
+    private long swapIns;
+    private long swapOuts;
+    private long overcommits;
+
+    public MemoryManager(int capacity, ReplacementPolicy policy, int swapInCost) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Memory capacity must be a positive integer");
+        }
+        if (policy == null) {
+            throw new IllegalArgumentException("Replacement policy cannot be null");
+        }
+        if (swapInCost < 0) {
+            throw new IllegalArgumentException("Swap-in cost cannot be negative");
+        }
+
+        this.capacity = capacity;
+        this.policy = policy;
+        this.swapInCost = swapInCost;
+    }
+
+    public MemoryManager(int capacity, EvictionPolicy policy, int swapInCost) {
+        this(capacity, policy.create(capacity), swapInCost);
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public ReplacementPolicy getPolicy() {
+        return policy;
+    }
+
+    public int getSwapInCost() {
+        return swapInCost;
+    }
+
+    public long getUsed() {
+        return used;
+    }
+
+    public long getSwapped() {
+        return swapped;
+    }
+
+    public long getPeakUsed() {
+        return peakUsed;
+    }
+
+    public long getSwapIns() {
+        return swapIns;
+    }
+
+    public long getSwapOuts() {
+        return swapOuts;
+    }
+
+    public long getOvercommits() {
+        return overcommits;
+    }
+
+    void admit(ProcessInstance instance, Predicate<ProcessInstance> evictable) {
+        reserve(instance.getMemoryUsage(), evictable);
+        load(instance);
+        policy.admitted(instance);
+    }
+
+    int touch(ProcessInstance instance, Predicate<ProcessInstance> evictable) {
+        ProcessInfo info = instance.info;
+        if (!info.isSwapped()) {
+            policy.accessed(instance);
+            return 0;
+        }
+
+        reserve(instance.getMemoryUsage(), evictable);
+        swapped -= instance.getMemoryUsage();
+        load(instance);
+        policy.admitted(instance);
+        swapIns++;
+        return swapInCost;
+    }
+
+    void release(ProcessInstance instance) {
+        ProcessInfo info = instance.info;
+        if (info.isSwapped()) {
+            swapped -= instance.getMemoryUsage();
+            info.setSwapped(false);
+        } else {
+            used -= instance.getMemoryUsage();
+        }
+        policy.removed(instance);
+    }
+
+    private void reserve(int size, Predicate<ProcessInstance> evictable) {
+        while (used + size > capacity) {
+            ProcessInstance victim = policy.selectVictim(evictable);
+            if (victim == null) {
+                overcommits++;
+                return;
+            }
+
+            policy.evicted(victim);
+            victim.info.setSwapped(true);
+            used -= victim.getMemoryUsage();
+            swapped += victim.getMemoryUsage();
+            swapOuts++;
+        }
+    }
+
+    private void load(ProcessInstance instance) {
+        instance.info.setSwapped(false);
+        used += instance.getMemoryUsage();
+        if (used > peakUsed) {
+            peakUsed = used;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package fxprocessmanager.process;
+
+import java.util.Arrays;
+
+final class PidAllocator {
+    static final int MAX_PID = 0xffff;
+    private static final int WORDS = (MAX_PID + 1) >>> 6;
+
+    private final long[] words;
+    private final long[] full;
+    private int last;
+    private int used;
+
+    PidAllocator() {
+        words = new long[WORDS];
+        full = new long[WORDS >>> 6];
+        clear();
+    }
+
+    int getLast() {
+        return last;
+    }
+
+    void setLast(int last) {
+        this.last = last;
+    }
+
+    int size() {
+        return used;
+    }
+
+    int allocate() {
+        if (used == MAX_PID) {
+            return -1;
+        }
+
+        int pid = find(last == MAX_PID ? 1 : last + 1);
+        if (pid < 0) {
+            pid = find(1);
+        }
+        mark(pid);
+        last = pid;
+        return pid;
+    }
+
+    void reserve(int pid) {
+        if ((words[pid >>> 6] & (1L << pid)) == 0) {
+            mark(pid);
+        }
+    }
+
+    void release(int pid) {
+        int word = pid >>> 6;
+        long bit = 1L << pid;
+        if ((words[word] & bit) == 0) {
+            return;
+        }
+        words[word] &= ~bit;
+        full[word >>> 6] &= ~(1L << word);
+        used--;
+    }
+
+    void clear() {
+        Arrays.fill(words, 0);
+        Arrays.fill(full, 0);
+        words[0] = 1;
+        last = 0;
+        used = 0;
+    }
+
+    private void mark(int pid) {
+        int word = pid >>> 6;
+        words[word] |= 1L << pid;
+        if (words[word] == -1L) {
+            full[word >>> 6] |= 1L << word;
+        }
+        used++;
+    }
+
+    private int find(int from) {
+        int word = from >>> 6;
+        long free = ~words[word] & (-1L << from);
+        if (free != 0) {
+            return (word << 6) | Long.numberOfTrailingZeros(free);
+        }
+
+        word++;
+        if (word == WORDS) {
+            return -1;
+        }
+        int group = word >>> 6;
+        long open = ~full[group] & (-1L << word);
+        while (open == 0) {
+            if (++group == full.length) {
+                return -1;
+            }
+            open = ~full[group];
+        }
+        word = (group << 6) | Long.numberOfTrailingZeros(open);
+        return (word << 6) | Long.numberOfTrailingZeros(~words[word]);
+    }
+}
@@ -0,0 +1,163 @@
+package fxprocessmanager.process;
+
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+final class PidMap<V> {
+    private static final int BITS = 4;
+    private static final int MASK = (1 << BITS) - 1;
+    private static final int TOP = 16 - BITS;
+    private static final PidMap<?> EMPTY = new PidMap<>(null, 0);
+
+    private static final class Node {
+        final int bitmap;
+        final Object[] slots;
+
+        Node(int bitmap, Object[] slots) {
+            this.bitmap = bitmap;
+            this.slots = slots;
+        }
+    }
+
+    private final Node root;
+    private final int size;
+
+    private PidMap(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <V> PidMap<V> empty() {
+        return (PidMap<V>) EMPTY;
+    }
+
+    int size() {
+        return size;
+    }
+
+    @SuppressWarnings("unchecked")
+    V get(int pid) {
+        Node node = root;
+        for (int shift = TOP; node != null; shift -= BITS) {
+            int bit = 1 << ((pid >>> shift) & MASK);
+            if ((node.bitmap & bit) == 0) {
+                return null;
+            }
+            Object slot = node.slots[Integer.bitCount(node.bitmap & (bit - 1))];
+            if (shift == 0) {
+                return (V) slot;
+            }
+            node = (Node) slot;
+        }
+        return null;
+    }
+
+    PidMap<V> put(int pid, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Snapshot value cannot be null");
+        }
+        int updated = get(pid) == null ? size + 1 : size;
+        return new PidMap<>(put(root, TOP, pid, value), updated);
+    }
+
+    PidMap<V> remove(int pid) {
+        if (get(pid) == null) {
+            return this;
+        }
+        return new PidMap<>(remove(root, TOP, pid), size - 1);
+    }
+
+    @SuppressWarnings("unchecked")
+    void forEach(Consumer<? super V> action) {
+        forEach(root, TOP, (Consumer<Object>) action);
+    }
+
+    @SuppressWarnings("unchecked")
+    void diff(PidMap<V> previous, BiConsumer<? super V, ? super V> action) {
+        diff(previous.root, root, TOP, (BiConsumer<Object, Object>) action);
+    }
+
+    private static Node put(Node node, int shift, int pid, Object value) {
+        int bit = 1 << ((pid >>> shift) & MASK);
+        if (node == null) {
+            return new Node(bit, new Object[] {shift == 0 ? value : put(null, shift - BITS, pid, value)});
+        }
+
+        int index = Integer.bitCount(node.bitmap & (bit - 1));
+        if ((node.bitmap & bit) != 0) {
+            Object[] slots = node.slots.clone();
+            slots[index] = shift == 0 ? value : put((Node) slots[index], shift - BITS, pid, value);
+            return new Node(node.bitmap, slots);
+        }
+
+        Object[] slots = new Object[node.slots.length + 1];
+        System.arraycopy(node.slots, 0, slots, 0, index);
+        slots[index] = shift == 0 ? value : put(null, shift - BITS, pid, value);
+        System.arraycopy(node.slots, index, slots, index + 1, node.slots.length - index);
+        return new Node(node.bitmap | bit, slots);
+    }
+
+    private static Node remove(Node node, int shift, int pid) {
+        int bit = 1 << ((pid >>> shift) & MASK);
+        int index = Integer.bitCount(node.bitmap & (bit - 1));
+        if (shift != 0) {
+            Node child = remove((Node) node.slots[index], shift - BITS, pid);
+            if (child != null) {
+                Object[] slots = node.slots.clone();
+                slots[index] = child;
+                return new Node(node.bitmap, slots);
+            }
+        }
+
+        if (node.slots.length == 1) {
+            return null;
+        }
+        Object[] slots = new Object[node.slots.length - 1];
+        System.arraycopy(node.slots, 0, slots, 0, index);
+        System.arraycopy(node.slots, index + 1, slots, index, slots.length - index);
+        return new Node(node.bitmap & ~bit, slots);
+    }
+
+    private static void diff(Node before, Node after, int shift, BiConsumer<Object, Object> action) {
+        if (before == after) {
+            return;
+        }
+        if (before == null) {
+            forEach(after, shift, value -> action.accept(null, value));
+            return;
+        }
+        if (after == null) {
+            forEach(before, shift, value -> action.accept(value, null));
+            return;
+        }
+
+        int bits = before.bitmap | after.bitmap;
+        while (bits != 0) {
+            int bit = bits & -bits;
+            bits &= ~bit;
+            Object old = (before.bitmap & bit) == 0 ? null : before.slots[Integer.bitCount(before.bitmap & (bit - 1))];
+            Object current = (after.bitmap & bit) == 0 ? null : after.slots[Integer.bitCount(after.bitmap & (bit - 1))];
+            if (shift == 0) {
+                if (old != current) {
+                    action.accept(old, current);
+                }
+            } else {
+                diff((Node) old, (Node) current, shift - BITS, action);
+            }
+        }
+    }
+
+    private static void forEach(Node node, int shift, Consumer<Object> action) {
+        if (node == null) {
+            return;
+        }
+        for (Object slot : node.slots) {
+            if (shift == 0) {
+                action.accept(slot);
+            } else {
+                forEach((Node) slot, shift - BITS, action);
+            }
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package fxprocessmanager.process;
+
+public interface ProcessEventListener {
+    public void onEvent(ProcessEventType type, long tick, ProcessInstance instance);
+
+    public default void beforeTick() {
+    }
+}
@@ -0,0 +1,12 @@
+package fxprocessmanager.process;
+
+public enum ProcessEventType {
+    START, ACTIVATE, DISPATCH, RUN, PREEMPT, BLOCK, WAKE, COMPLETE, PAUSE, RESUME, STOP, MIGRATE;
+
+    private static final ProcessEventType[] cache = values();
+    public static final int count = cache.length;
+
+    public static ProcessEventType getValue(int index) {
+        return cache[index];
+    }
+}
@@ -1,20 +1,56 @@
 package fxprocessmanager.process;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
 import java.util.Date;
 
 public class ProcessInfo {
+    private static final VarHandle WORD;
+    private static final long EXECUTED_MASK = 0xffffffffL;
+    private static final int STATE_SHIFT = 32;
+    private static final long STATE_MASK = 3L << STATE_SHIFT;
+    private static final long READING_BIT = 1L << 34;
+    private static final long UNSAMPLED = -1;
+    private static final long MEMORY_MASK = 0xffffffffL;
+    private static final ProcessState[] states = ProcessState.values();
+
+    static {
+        try {
+            WORD = MethodHandles.lookup().findVarHandle(ProcessInfo.class, "word", long.class);
+        } catch (ReflectiveOperationException ex) {
+            throw new ExceptionInInitializerError(ex);
+        }
+    }
+
     private ProcessInstance instance;
-    private ProcessState state;
-    private int executed;
-    private Date lastExecuted;
-    private boolean reading;
+    private volatile long word;
+    private volatile long lastExecuted;
+    private volatile long usage;
+    private long startTick;
+    private long readySince;
+    private long waitTicks;
+    private boolean swapped;
+    private boolean hosted;
+    private int stallTicks;
+    private IORequest ioRequest;
+    private WheelTimer wakeTimer;
+    private boolean dirty;
+    private volatile ProcessPriority effectivePriority;
+    private ResourceLock waitingLock;
+    private ArrayList<ResourceLock> heldLocks;
+    private LockOperation[] lockPlan;
+    private int lockStep;
+    private int queueIndex;
+    private long virtualRuntime;
 
     public ProcessInfo(ProcessInstance instance, ProcessState state, int executed, boolean reading) {
-        this.state = state;
         this.instance = instance;
-        this.executed = executed;
-        this.lastExecuted = null;
-        this.reading = reading;
+        this.lastExecuted = 0;
+        this.usage = UNSAMPLED;
+        this.effectivePriority = instance == null ? null : instance.getPriority();
+        this.queueIndex = -1;
+        word = pack(state, executed, reading);
     }
 
     public ProcessInfo(ProcessInstance instance, ProcessState state) {
@@ -25,46 +61,270 @@ public class ProcessInfo {
         this(instance, ProcessState.INACTIVE);
     }
 
+    public static ProcessState stateOf(long word) {
+        return states[(int) ((word & STATE_MASK) >>> STATE_SHIFT)];
+    }
+
+    public static int executedOf(long word) {
+        return (int) (word & EXECUTED_MASK);
+    }
+
+    public static boolean readingOf(long word) {
+        return (word & READING_BIT) != 0;
+    }
+
+    public static int cpuOf(long usage) {
+        return usage == UNSAMPLED ? -1 : (int) (usage >>> 32);
+    }
+
+    public static long memoryOf(long usage) {
+        return usage == UNSAMPLED ? -1 : usage & MEMORY_MASK;
+    }
+
+    public long getWord() {
+        return word;
+    }
+
     public ProcessState getState() {
-        return state;
+        return stateOf(word);
     }
 
     public void setState(ProcessState state) {
-        this.state = state;
+        update(STATE_MASK, (long) state.ordinal() << STATE_SHIFT);
     }
 
     public int getExecuted() {
-        return executed;
+        return executedOf(word);
     }
 
     public boolean isTerminated() {
-        return executed == instance.getProcessTime();
+        return getExecuted() == instance.getProcessTime();
     }
 
     public void perform(int delta) {
-        int result = executed + delta;
         int processTime = instance.getProcessTime();
-        if (result < 0) {
-            result = 0;
-        } else if (result > processTime) {
-            result = processTime;
-        }
-
-        if (result != executed) {
-            executed = result;
-            lastExecuted = new Date();
-        }
+        long current;
+        long updated;
+        do {
+            current = word;
+            int executed = executedOf(current);
+            int result = executed + delta;
+            if (result < 0) {
+                result = 0;
+            } else if (result > processTime) {
+                result = processTime;
+            }
+            if (result == executed) {
+                return;
+            }
+            updated = (current & ~EXECUTED_MASK) | result;
+        } while (!WORD.compareAndSet(this, current, updated));
+        lastExecuted = System.currentTimeMillis();
     }
 
     public boolean isReading() {
-        return reading;
+        return readingOf(word);
     }
 
     public void setReadState(boolean reading) {
-        this.reading = reading;
+        update(READING_BIT, reading ? READING_BIT : 0);
+    }
+
+    public ProcessPriority getEffectivePriority() {
+        return effectivePriority;
+    }
+
+    public long getEffectiveHash() {
+        return ((long) effectivePriority.ordinal() << 22) | (instance.getHash() & 0x3fffff);
+    }
+
+    public long getVirtualRuntime() {
+        return virtualRuntime;
+    }
+
+    public long getUsage() {
+        return usage;
+    }
+
+    public int getCpuUsage() {
+        return cpuOf(usage);
+    }
+
+    public long getResidentMemory() {
+        return memoryOf(usage);
+    }
+
+    public void setUsage(int cpuUsage, long residentMemory) {
+        if (cpuUsage < 0) {
+            usage = UNSAMPLED;
+            return;
+        }
+        usage = ((long) cpuUsage << 32) | Math.min(residentMemory, MEMORY_MASK);
     }
 
     public Date getLastExecuted() {
-        return lastExecuted;
+        long millis = lastExecuted;
+        return millis == 0 ? null : new Date(millis);
+    }
+
+    public long getStartTick() {
+        return startTick;
+    }
+
+    public long getWaitTicks() {
+        return waitTicks;
+    }
+
+    public boolean isSwapped() {
+        return swapped;
+    }
+
+    public boolean isHosted() {
+        return hosted;
+    }
+
+    void started(long tick) {
+        startTick = tick;
+        readySince = tick;
+        waitTicks = 0;
+    }
+
+    void adopted(long startTick, long waitTicks) {
+        this.startTick = startTick;
+        this.waitTicks = waitTicks;
+    }
+
+    void readied(long tick) {
+        readySince = tick;
+    }
+
+    void dispatched(long tick) {
+        waitTicks += tick - readySince;
+    }
+
+    void setSwapped(boolean swapped) {
+        this.swapped = swapped;
+    }
+
+    void setHosted(boolean hosted) {
+        this.hosted = hosted;
+    }
+
+    int getStallTicks() {
+        return stallTicks;
+    }
+
+    void setStallTicks(int stallTicks) {
+        this.stallTicks = stallTicks;
+    }
+
+    IORequest getIORequest() {
+        return ioRequest;
+    }
+
+    void setIORequest(IORequest ioRequest) {
+        this.ioRequest = ioRequest;
+    }
+
+    WheelTimer getWakeTimer() {
+        return wakeTimer;
+    }
+
+    void setWakeTimer(WheelTimer wakeTimer) {
+        this.wakeTimer = wakeTimer;
+    }
+
+    boolean isDirty() {
+        return dirty;
+    }
+
+    void setDirty(boolean dirty) {
+        this.dirty = dirty;
+    }
+
+    void reset() {
+        word = pack(ProcessState.INACTIVE, 0, false);
+        lastExecuted = 0;
+        usage = UNSAMPLED;
+        startTick = 0;
+        readySince = 0;
+        waitTicks = 0;
+        swapped = false;
+        hosted = false;
+        stallTicks = 0;
+        ioRequest = null;
+        dirty = false;
+        effectivePriority = instance.getPriority();
+        waitingLock = null;
+        if (heldLocks != null) {
+            heldLocks.clear();
+        }
+        lockPlan = null;
+        lockStep = 0;
+        queueIndex = -1;
+        virtualRuntime = 0;
+    }
+
+    void setEffectivePriority(ProcessPriority effectivePriority) {
+        this.effectivePriority = effectivePriority;
+    }
+
+    ResourceLock getWaitingLock() {
+        return waitingLock;
+    }
+
+    void setWaitingLock(ResourceLock waitingLock) {
+        this.waitingLock = waitingLock;
+    }
+
+    ArrayList<ResourceLock> getHeldLocks() {
+        if (heldLocks == null) {
+            heldLocks = new ArrayList<>(2);
+        }
+        return heldLocks;
+    }
+
+    boolean holdsLocks() {
+        return heldLocks != null && !heldLocks.isEmpty();
+    }
+
+    LockOperation[] getLockPlan() {
+        return lockPlan;
+    }
+
+    int getLockStep() {
+        return lockStep;
+    }
+
+    void setLockPlan(LockOperation[] lockPlan) {
+        this.lockPlan = lockPlan;
+        this.lockStep = 0;
+    }
+
+    void setLockStep(int lockStep) {
+        this.lockStep = lockStep;
+    }
+
+    int getQueueIndex() {
+        return queueIndex;
+    }
+
+    void setQueueIndex(int queueIndex) {
+        this.queueIndex = queueIndex;
+    }
+
+    void setVirtualRuntime(long virtualRuntime) {
+        this.virtualRuntime = virtualRuntime;
+    }
+
+    private static long pack(ProcessState state, int executed, boolean reading) {
+        return ((long) state.ordinal() << STATE_SHIFT) | (executed & EXECUTED_MASK) | (reading ? READING_BIT : 0);
+    }
+
+    private void update(long mask, long bits) {
+        long current;
+        do {
+            current = word;
+        } while (!WORD.compareAndSet(this, current, (current & ~mask) | bits));
     }
 }
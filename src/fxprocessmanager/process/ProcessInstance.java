@@ -2,14 +2,24 @@ package fxprocessmanager.process;
 
 public class ProcessInstance {
     private Process process;
-    private final int pid;
-    private final ProcessPriority priority;
-    private final int memoryUsage;
-    private final int processTime;
-    private final long hash;
+    private int pid;
+    private ProcessPriority priority;
+    private int memoryUsage;
+    private int processTime;
+    private long hash;
     public final ProcessInfo info;
 
     public ProcessInstance(Process process, int pid, ProcessPriority priority, int memoryUsage, int processTime) {
+        assign(process, pid, priority, memoryUsage, processTime);
+        this.info = new ProcessInfo(this);
+    }
+
+    void recycle(Process process, int pid, ProcessPriority priority, int memoryUsage, int processTime) {
+        assign(process, pid, priority, memoryUsage, processTime);
+        info.reset();
+    }
+
+    private void assign(Process process, int pid, ProcessPriority priority, int memoryUsage, int processTime) {
         if (process == null) {
             throw new IllegalArgumentException("Process cannot be null");
         }
@@ -32,7 +42,6 @@ public class ProcessInstance {
         this.memoryUsage = memoryUsage;
         this.processTime = processTime;
         this.hash = (priority.ordinal() << 22) | ((50 - processTime) << 16) | (0xffff - pid);
-        this.info = new ProcessInfo(this);
     }
 
     public Process getProcess() {
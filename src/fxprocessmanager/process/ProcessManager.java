@@ -1,26 +1,46 @@
 package fxprocessmanager.process;
 
+import fxprocessmanager.jfr.CompleteEvent;
+import fxprocessmanager.jfr.DispatchEvent;
+import fxprocessmanager.jfr.InstanceEvent;
+import fxprocessmanager.jfr.PreemptEvent;
+import fxprocessmanager.jfr.TickEvent;
+import fxprocessmanager.jfr.WatcherDispatchEvent;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Comparator;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
-import java.util.PriorityQueue;
 import java.util.Set;
 import java.util.Timer;
 import java.util.TimerTask;
-import javafx.application.Platform;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 public final class ProcessManager {
-    public static final Comparator<ProcessInstance> hashComparator = Comparator.comparing(ProcessInstance::getHash).reversed();
+    private static final int RECYCLE_LIMIT = 4096;
+    private static final TickEvent TICK_PROBE = new TickEvent();
+    private static final DispatchEvent DISPATCH_PROBE = new DispatchEvent();
+    private static final PreemptEvent PREEMPT_PROBE = new PreemptEvent();
+    private static final CompleteEvent COMPLETE_PROBE = new CompleteEvent();
+    private static final WatcherDispatchEvent WATCHER_PROBE = new WatcherDispatchEvent();
+    public static final Comparator<ProcessInstance> hashComparator = Comparator.comparingLong((ProcessInstance pi) -> pi.info.getEffectiveHash()).reversed();
     private final ProcessManager self = this;
     private final ArrayList<ProcessInstance> instances;
-    public final Map<ProcessState, Collection<ProcessInstance>> collections;
+    private final HashMap<Integer, ProcessInstance> pids;
+    private final Map<ProcessState, Collection<ProcessInstance>> collections;
     private final Set<ProcessManagerWatcher> watchers;
     private final ArrayList<ProcessInstance> inactiveList;
-    private final ArrayList<ProcessInstance> suspendedList;
-    private final PriorityQueue<ProcessInstance> readyQueue;
+    private final LinkedHashSet<ProcessInstance> suspendedSet;
+    private ReadyQueue readyQueue;
+    private SchedulingPolicy schedulingPolicy;
     private final Set<ProcessInstance> pausedInstances;
     private final class ProcessManagerTimerTask extends TimerTask {
         @Override
@@ -28,14 +48,43 @@ public final class ProcessManager {
             nextTick();
         }
     }
+    private final class WakeTimer extends WheelTimer {
+        private final ProcessInstance instance;
+
+        WakeTimer(ProcessInstance instance) {
+            this.instance = instance;
+        }
+
+        @Override
+        void expire(long tick) {
+            wake(instance);
+        }
+    }
     private Timer timer;
-    private int processCount;
+    private final PidAllocator pidAllocator;
+    private final ArrayDeque<ProcessInstance> recycled;
+    private boolean recycling;
     private ProcessInstance executingInstance;
     private ProcessInstance highestPriorityInstance;
     private int delta;
+    private final int[] priorityDeltas;
     private Long tickInterval;
     private Set<ProcessState> changes;
     private boolean commitingChanges;
+    private Executor watcherExecutor;
+    private long tick;
+    private final ProcessManagerStats stats;
+    private final Predicate<ProcessInstance> evictable;
+    private MemoryManager memoryManager;
+    private IOSubsystem ioSubsystem;
+    private final Consumer<ProcessInstance> ioCompletion;
+    private final TimingWheel wheel;
+    private final LockManager lockManager;
+    private volatile ProcessEventListener[] listeners;
+    private final ArrayList<ProcessInstance> dirty;
+    private final ArrayList<ProcessInstance> removed;
+    private volatile ProcessSnapshot snapshot;
+    private int batchDepth;
 
     public ProcessManager(int delta, Long tickInterval) {
         if (delta <= 0) {
@@ -46,24 +95,44 @@ public final class ProcessManager {
         }
 
         instances = new ArrayList<>();
+        pids = new HashMap<>();
         watchers = new HashSet<>();
         collections = new HashMap<>();
         inactiveList = new ArrayList<>();
         collections.put(ProcessState.INACTIVE, inactiveList);
-        suspendedList = new ArrayList<>();
-        collections.put(ProcessState.SUSPENDED, suspendedList);
-        readyQueue = new PriorityQueue<>(hashComparator);
+        suspendedSet = new LinkedHashSet<>();
+        collections.put(ProcessState.SUSPENDED, suspendedSet);
+        schedulingPolicy = SchedulingPolicy.PRIORITY;
+        readyQueue = schedulingPolicy.createQueue();
         collections.put(ProcessState.READY, readyQueue);
         pausedInstances = new HashSet<>();
-        processCount = 0;
+        pidAllocator = new PidAllocator();
+        recycled = new ArrayDeque<>();
+        recycling = false;
         executingInstance = null;
         highestPriorityInstance = null;
         this.delta = delta;
-        timer = new Timer();
+        priorityDeltas = new int[ProcessPriority.values().length];
+        timer = null;
         ProcessManager that = this;
-        setTickInterval(tickInterval);
         changes = new HashSet<>();
         commitingChanges = false;
+        watcherExecutor = Runnable::run;
+        tick = 0;
+        stats = new ProcessManagerStats();
+        evictable = pi -> pi.info.getState() == ProcessState.SUSPENDED || pausedInstances.contains(pi);
+        memoryManager = null;
+        wheel = new TimingWheel(tick + 1);
+        ioCompletion = this::completeIO;
+        ioSubsystem = IOSubsystem.unqueued(2);
+        ioSubsystem.attach(wheel, ioCompletion);
+        lockManager = new LockManager(this);
+        listeners = new ProcessEventListener[0];
+        dirty = new ArrayList<>();
+        removed = new ArrayList<>();
+        snapshot = ProcessSnapshot.EMPTY;
+        batchDepth = 0;
+        setTickInterval(tickInterval);
     }
 
     public ProcessManager(int delta) {
@@ -75,6 +144,22 @@ public final class ProcessManager {
         return instances.toArray(instancesArray);
     }
 
+    public synchronized ProcessInstance getInstance(int pid) {
+        return pids.get(pid);
+    }
+
+    public ProcessSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    public int getInstanceCount() {
+        return instances.size();
+    }
+
+    public synchronized ProcessInstance[] getReadyOrder() {
+        return readyQueue.sorted();
+    }
+
     public ProcessInstance getExecutingInstance() {
         return executingInstance;
     }
@@ -83,41 +168,305 @@ public final class ProcessManager {
         return highestPriorityInstance;
     }
 
+    public long getTick() {
+        return tick;
+    }
+
+    public ProcessManagerStats getStats() {
+        return stats.copy();
+    }
+
+    public boolean isIdle() {
+        return executingInstance == null && readyQueue.isEmpty() && inactiveList.size() == pausedInstances.size();
+    }
+
+    public long nextEventTick() {
+        if (!isIdle()) {
+            return tick + 1;
+        }
+        return wheel.nextDeadline();
+    }
+
+    public synchronized void fastForward(long targetTick) {
+        if (tickInterval != null) {
+            throw new IllegalStateException("Cannot fast-forward a process manager driven by a timer");
+        }
+        if (targetTick <= tick) {
+            return;
+        }
+        if (targetTick >= nextEventTick()) {
+            throw new IllegalArgumentException("Cannot fast-forward past the next scheduled event");
+        }
+
+        stats.idle(targetTick - tick);
+        tick = targetTick;
+        wheel.skipTo(tick);
+        publish();
+    }
+
+    public MemoryManager getMemoryManager() {
+        return memoryManager;
+    }
+
+    public LockManager getLockManager() {
+        return lockManager;
+    }
+
+    public synchronized void setLockPlan(ProcessInstance instance, LockOperation... operations) {
+        if (instance == null) {
+            throw new IllegalArgumentException("Process instance cannot be null");
+        }
+        if (pids.get(instance.getPID()) != instance) {
+            throw new IllegalArgumentException("Process instance is not managed by this process manager");
+        }
+        if (operations != null) {
+            for (LockOperation operation : operations) {
+                if (operation == null) {
+                    throw new IllegalArgumentException("Lock operation cannot be null");
+                }
+                if (operation.getLock().getManager() != lockManager) {
+                    throw new IllegalArgumentException("Lock belongs to a different process manager");
+                }
+            }
+        }
+
+        instance.info.setLockPlan(operations == null || operations.length == 0 ? null : operations.clone());
+    }
+
+    public IOSubsystem getIOSubsystem() {
+        return ioSubsystem;
+    }
+
+    public synchronized void setIOSubsystem(IOSubsystem ioSubsystem) {
+        if (ioSubsystem == null) {
+            throw new IllegalArgumentException("I/O subsystem cannot be null");
+        }
+
+        IOSubsystem previous = this.ioSubsystem;
+        this.ioSubsystem = ioSubsystem;
+        ioSubsystem.attach(wheel, ioCompletion);
+        for (ProcessInstance pi : suspendedSet) {
+            IORequest request = pi.info.getIORequest();
+            if (request != null) {
+                previous.cancel(request);
+                pi.info.setIORequest(ioSubsystem.submit(pi, tick));
+            }
+        }
+    }
+
+    public synchronized void setMemoryManager(MemoryManager memoryManager) {
+        if (this.memoryManager != null) {
+            for (ProcessInstance pi : instances) {
+                this.memoryManager.release(pi);
+            }
+        }
+        this.memoryManager = memoryManager;
+        if (memoryManager != null) {
+            for (ProcessInstance pi : instances) {
+                memoryManager.admit(pi, evictable);
+            }
+        }
+    }
+
+    public SchedulingPolicy getSchedulingPolicy() {
+        return schedulingPolicy;
+    }
+
+    public synchronized void setSchedulingPolicy(SchedulingPolicy schedulingPolicy) {
+        if (schedulingPolicy == null) {
+            throw new IllegalArgumentException("Scheduling policy cannot be null");
+        }
+        if (schedulingPolicy == this.schedulingPolicy) {
+            return;
+        }
+
+        ProcessInstance[] ready = readyQueue.toArray(new ProcessInstance[readyQueue.size()]);
+        readyQueue.clear();
+        this.schedulingPolicy = schedulingPolicy;
+        readyQueue = schedulingPolicy.createQueue();
+        for (ProcessInstance pi : instances) {
+            readyQueue.admit(pi);
+        }
+        readyQueue.addAll(Arrays.asList(ready));
+        collections.put(ProcessState.READY, readyQueue);
+        if (schedulingPolicy == SchedulingPolicy.FAIR) {
+            highestPriorityInstance = null;
+        }
+        publish();
+    }
+
+    public synchronized int getGroupShares(Process process) {
+        return fairQueue().getShares(process);
+    }
+
+    public synchronized void setGroupShares(Process process, int shares) {
+        if (process == null) {
+            throw new IllegalArgumentException("Process cannot be null");
+        }
+        if (shares <= 0) {
+            throw new IllegalArgumentException("Group shares must be a positive integer");
+        }
+
+        fairQueue().setShares(process, shares);
+    }
+
+    public synchronized void setGroupQuota(Process process, int quota, int period) {
+        if (process == null) {
+            throw new IllegalArgumentException("Process cannot be null");
+        }
+        if (quota < 0) {
+            throw new IllegalArgumentException("Group quota cannot be negative");
+        }
+        if (quota > 0 && period < quota) {
+            throw new IllegalArgumentException("Group quota period cannot be shorter than the quota");
+        }
+
+        fairQueue().setQuota(process, quota, period);
+    }
+
+    synchronized int getGroupCount() {
+        return schedulingPolicy == SchedulingPolicy.FAIR ? fairQueue().getGroupCount() : 0;
+    }
+
+    public synchronized boolean isThrottled(Process process) {
+        return schedulingPolicy == SchedulingPolicy.FAIR && fairQueue().isThrottled(process);
+    }
+
     public ProcessInstance start(Process process, ProcessPriority priority, int memoryUsage, int processTime) {
-        processCount++;
-        ProcessInstance instance = new ProcessInstance(process, processCount, priority, memoryUsage, processTime);
+        return start(process, priority, memoryUsage, processTime, false);
+    }
+
+    public synchronized ProcessInstance start(Process process, ProcessPriority priority, int memoryUsage, int processTime, boolean reading) {
+        ProcessInstance instance = create(process, priority, memoryUsage, processTime);
+        instance.info.setReadState(reading);
+        instance.info.started(tick);
+        stats.started();
+        if (memoryManager != null) {
+            memoryManager.admit(instance, evictable);
+        }
         instances.add(instance);
+        pids.put(instance.getPID(), instance);
+        readyQueue.admit(instance);
         inactiveList.add(instance);
-        Set<ProcessState> changes = new HashSet<>();
         pushChanges(ProcessState.INACTIVE);
+        emit(ProcessEventType.START, instance);
+        publish();
+        return instance;
+    }
+
+    public synchronized ProcessInstance adopt(Process process, ProcessPriority priority, int memoryUsage, int processTime, boolean reading, int executed, long age, long waitTicks, int transitTicks) {
+        if (executed < 0 || executed >= processTime) {
+            throw new IllegalArgumentException("Executed time must be a value between 0 and the process time");
+        }
+        if (age < 0 || waitTicks < 0 || waitTicks > age) {
+            throw new IllegalArgumentException("Adopted wait time must be a value between 0 and the instance age");
+        }
+        if (transitTicks < 0) {
+            throw new IllegalArgumentException("Transit ticks cannot be negative");
+        }
+
+        ProcessInstance instance = create(process, priority, memoryUsage, processTime);
+        ProcessInfo info = instance.info;
+        info.setReadState(reading);
+        info.perform(executed);
+        info.adopted(tick - age, waitTicks);
+        stats.migratedIn();
+        if (memoryManager != null) {
+            memoryManager.admit(instance, evictable);
+        }
+        instances.add(instance);
+        pids.put(instance.getPID(), instance);
+        readyQueue.admit(instance);
+        if (transitTicks > 0) {
+            info.setState(ProcessState.SUSPENDED);
+            suspendedSet.add(instance);
+            sleep(instance, tick + transitTicks);
+            pushChanges(ProcessState.SUSPENDED);
+        } else {
+            inactiveList.add(instance);
+            pushChanges(ProcessState.INACTIVE);
+        }
+        emit(ProcessEventType.START, instance);
+        publish();
         return instance;
     }
 
-    public void stop(ProcessInstance instance) {
+    public synchronized boolean isMigratable(ProcessInstance instance) {
+        ProcessInfo info = instance.info;
+        return pids.get(instance.getPID()) == instance
+            && info.getState() == ProcessState.READY
+            && instance != highestPriorityInstance
+            && !isPaused(instance)
+            && info.getLockPlan() == null
+            && !info.holdsLocks()
+            && !info.isHosted()
+            && info.getExecuted() < instance.getProcessTime();
+    }
+
+    public synchronized boolean migrate(ProcessInstance instance) {
+        if (!isMigratable(instance)) {
+            return false;
+        }
+
+        instances.remove(instance);
+        instance.info.dispatched(tick);
+        stats.migratedOut();
+        detach(instance);
+        emit(ProcessEventType.MIGRATE, instance);
+        publish();
+        return true;
+    }
+
+    public synchronized void stop(ProcessInstance instance) {
         if (!instances.remove(instance)) {
             return;
         }
 
-        if (executingInstance == instance) {
-            executingInstance = null;
-            pushChanges(ProcessState.EXECUTING);
-        } else {
-            ProcessState state = instance.info.getState();
-            collections.get(state).remove(instance);
-            pushChanges(state);
+        stats.stopped();
+        detach(instance);
+        emit(ProcessEventType.STOP, instance);
+        publish();
+    }
+
+    public synchronized boolean complete(ProcessInstance instance) {
+        if (!instances.remove(instance)) {
+            return false;
         }
 
-        if (highestPriorityInstance == instance) {
-            highestPriorityInstance = null;
+        stats.completed(instance.info, tick);
+        detach(instance);
+        emit(ProcessEventType.COMPLETE, instance);
+        publish();
+        return true;
+    }
+
+    public synchronized boolean setHosted(ProcessInstance instance, boolean hosted) {
+        if (pids.get(instance.getPID()) != instance) {
+            return false;
         }
 
-        if (isPaused(instance)) {
-            pausedInstances.remove(instance);
+        instance.info.setHosted(hosted);
+        return true;
+    }
+
+    public synchronized boolean touch(ProcessInstance instance) {
+        if (pids.get(instance.getPID()) != instance) {
+            return false;
         }
+
+        markDirty(instance);
+        pushChanges(instance.info.getState());
+        publish();
+        return true;
     }
 
-    public void pause(ProcessInstance instance) {
+    public synchronized void pause(ProcessInstance instance) {
         ProcessInfo info = instance.info;
+        cancelIO(instance);
+        wheel.cancel(info.getWakeTimer());
+        if (lockManager.cancelWait(instance)) {
+            info.setLockStep(info.getLockStep() - 1);
+        }
         if (executingInstance != instance) {
             ProcessState state = info.getState();
             collections.get(state).remove(instance);
@@ -130,32 +479,70 @@ public final class ProcessManager {
         inactiveList.add(instance);
         pushChanges(ProcessState.INACTIVE);
         pausedInstances.add(instance);
+        emit(ProcessEventType.PAUSE, instance);
+        publish();
     }
 
-    public boolean resume(ProcessInstance instance) {
+    public synchronized boolean resume(ProcessInstance instance) {
         if (!pausedInstances.remove(instance)) {
             return false;
         }
 
         pushChanges(instance.info.getState());
+        emit(ProcessEventType.RESUME, instance);
+        publish();
         return true;
     }
 
-    public boolean isPaused(ProcessInstance instance) {
+    public synchronized boolean isPaused(ProcessInstance instance) {
         return pausedInstances.contains(instance);
     }
 
     public void nextTick() {
+        if (!Thread.holdsLock(this)) {
+            for (ProcessEventListener listener : listeners) {
+                listener.beforeTick();
+            }
+        }
+        advance();
+    }
+
+    private synchronized void advance() {
+        if (!TICK_PROBE.isEnabled()) {
+            step();
+            return;
+        }
+
+        TickEvent event = new TickEvent();
+        event.begin();
+        try {
+            step();
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.set(tick, instances.size(), executingInstance == null ? 0 : executingInstance.getPID());
+                event.commit();
+            }
+        }
+    }
+
+    private void step() {
+        tick++;
+        stats.tick(executingInstance != null);
         if (instances.isEmpty()) {
+            wheel.advanceTo(tick);
+            publish();
             return;
         }
 
+        boolean stalled = executingInstance != null && executingInstance.info.getStallTicks() > 0;
         ProcessInstance next = null;
-        if (highestPriorityInstance == null) {
+        readyQueue.advance(tick);
+        if (highestPriorityInstance == null && !stalled) {
             next = readyQueue.poll();
             if (next != null) {
                 pushChanges(ProcessState.READY);
-                if (next.getPriority() == ProcessPriority.HIGHEST) {
+                if (schedulingPolicy == SchedulingPolicy.PRIORITY && next.info.getEffectivePriority() == ProcessPriority.HIGHEST) {
                     highestPriorityInstance = next;
                 }
             }
@@ -170,7 +557,9 @@ public final class ProcessManager {
                     continue;
                 }
                 pi.info.setState(ProcessState.READY);
+                pi.info.readied(tick);
                 readyQueue.add(pi);
+                emit(ProcessEventType.ACTIVATE, pi);
             }
             inactiveList.clear();
             inactiveList.addAll(pausedInstances);
@@ -178,72 +567,86 @@ public final class ProcessManager {
             pushChanges(ProcessState.READY);
         }
 
-        int suspendedSize = suspendedList.size();
-        if (suspendedSize > 0) {
-            boolean didChangeReady = false;
-            ProcessInstance[] suspendedArr = new ProcessInstance[suspendedSize];
-            suspendedList.toArray(suspendedArr);
-            for (ProcessInstance pi : suspendedArr) {
-                ProcessInfo info = pi.info;
-                if (info.isReading()) {
-                    info.setReadState(false);
-                    continue;
-                }
-
-                info.setState(ProcessState.READY);
-                suspendedList.remove(pi);
-                readyQueue.add(pi);
-                if (!didChangeReady) {
-                    didChangeReady = true;
-                }
-            }
-
-            pushChanges(ProcessState.SUSPENDED);
-            if (didChangeReady) {
-                pushChanges(ProcessState.READY);
-            }
-        }
+        wheel.advanceTo(tick);
 
         if (executingInstance != null) {
             ProcessInfo info = executingInstance.info;
-            if (!info.isReading() || info.getExecuted() == 0) {
-                info.perform(self.delta);
-            } else {
-                info.setReadState(false);
-            }
-            if (info.getExecuted() < executingInstance.getProcessTime()) {
-                if (executingInstance != highestPriorityInstance) {
-                    info.setState(ProcessState.SUSPENDED);
-                    suspendedList.add(executingInstance);
-                    pushChanges(ProcessState.SUSPENDED);
-                }
-            } else if (!info.isReading()) {
-                instances.remove(executingInstance);
+            if (stalled) {
+                info.setStallTicks(info.getStallTicks() - 1);
+                stats.stalled();
+                readyQueue.charge(executingInstance, tick, 1);
+                emit(ProcessEventType.RUN, executingInstance);
+            } else if (!advanceLockPlan(executingInstance)) {
+                info.setState(ProcessState.SUSPENDED);
+                suspendedSet.add(executingInstance);
                 if (executingInstance == highestPriorityInstance) {
                     highestPriorityInstance = null;
                 }
-            }
-            if (highestPriorityInstance == null) {
+                pushChanges(ProcessState.SUSPENDED);
+                emit(ProcessEventType.BLOCK, executingInstance);
                 executingInstance = null;
+            } else {
+                info.perform(deltaFor(info));
+                readyQueue.charge(executingInstance, tick, 1);
+                emit(ProcessEventType.RUN, executingInstance);
+                if (info.getExecuted() < executingInstance.getProcessTime() || info.isHosted()) {
+                    if (info.isReading()) {
+                        info.setState(ProcessState.SUSPENDED);
+                        suspendedSet.add(executingInstance);
+                        info.setIORequest(ioSubsystem.submit(executingInstance, tick));
+                        if (executingInstance == highestPriorityInstance) {
+                            highestPriorityInstance = null;
+                        }
+                        pushChanges(ProcessState.SUSPENDED);
+                        emit(ProcessEventType.BLOCK, executingInstance);
+                    } else if (executingInstance != highestPriorityInstance) {
+                        info.setState(ProcessState.SUSPENDED);
+                        suspendedSet.add(executingInstance);
+                        sleep(executingInstance, tick + 1);
+                        pushChanges(ProcessState.SUSPENDED);
+                        emit(ProcessEventType.PREEMPT, executingInstance);
+                    }
+                } else {
+                    instances.remove(executingInstance);
+                    stats.completed(info, tick);
+                    if (memoryManager != null) {
+                        memoryManager.release(executingInstance);
+                    }
+                    if (executingInstance == highestPriorityInstance) {
+                        highestPriorityInstance = null;
+                    }
+                    wakeAll(lockManager.releaseAll(executingInstance));
+                    readyQueue.retire(executingInstance);
+                    emit(ProcessEventType.COMPLETE, executingInstance);
+                }
+                if (highestPriorityInstance == null) {
+                    executingInstance = null;
+                }
             }
             pushChanges(ProcessState.EXECUTING);
         }
 
         if (next != null) {
-            next.info.setState(ProcessState.EXECUTING);
+            ProcessInfo info = next.info;
+            info.setState(ProcessState.EXECUTING);
+            info.dispatched(tick);
+            stats.dispatched();
+            if (memoryManager != null) {
+                info.setStallTicks(memoryManager.touch(next, evictable));
+            }
             executingInstance = next;
             pushChanges(ProcessState.EXECUTING);
+            emit(ProcessEventType.DISPATCH, next);
         }
 
-        if (changes.isEmpty()) {
-            return;
-        }
+        publish();
     }
 
     public void setTickInterval(Long tickInterval) {
-        if (this.tickInterval != null) {
+        if (timer != null) {
             timer.cancel();
             timer.purge();
+            timer = null;
         }
         this.tickInterval = tickInterval;
         if (tickInterval != null) {
@@ -252,49 +655,432 @@ public final class ProcessManager {
         }
     }
 
-    public void setDelta(int delta) {
+    public synchronized void batch(Runnable commands) {
+        if (commands == null) {
+            throw new IllegalArgumentException("Batch commands cannot be null");
+        }
+
+        batchDepth++;
+        try {
+            commands.run();
+        } finally {
+            batchDepth--;
+            if (batchDepth == 0) {
+                publish();
+            }
+        }
+    }
+
+    public synchronized boolean isRecycling() {
+        return recycling;
+    }
+
+    public synchronized void setRecycling(boolean recycling) {
+        this.recycling = recycling;
+        if (!recycling) {
+            recycled.clear();
+        }
+    }
+
+    public int getDelta() {
+        return delta;
+    }
+
+    public synchronized void setDelta(int delta) {
         this.delta = delta;
     }
 
-    public void watch(ProcessManagerWatcher watcher) {
+    public synchronized int getDelta(ProcessPriority priority) {
+        int override = priorityDeltas[priority.ordinal()];
+        return override == 0 ? delta : override;
+    }
+
+    public synchronized void setDelta(ProcessPriority priority, int delta) {
+        if (priority == null) {
+            throw new IllegalArgumentException("Process priority cannot be null");
+        }
+        if (delta < 0) {
+            throw new IllegalArgumentException("Process manager delta per tick cannot be negative");
+        }
+        priorityDeltas[priority.ordinal()] = delta;
+    }
+
+    public synchronized void listen(ProcessEventListener listener) {
+        ProcessEventListener[] updated = Arrays.copyOf(listeners, listeners.length + 1);
+        updated[listeners.length] = listener;
+        listeners = updated;
+    }
+
+    public synchronized void unlisten(ProcessEventListener listener) {
+        for (int i = 0; i < listeners.length; i++) {
+            if (listeners[i] == listener) {
+                ProcessEventListener[] updated = new ProcessEventListener[listeners.length - 1];
+                System.arraycopy(listeners, 0, updated, 0, i);
+                System.arraycopy(listeners, i + 1, updated, i, updated.length - i);
+                listeners = updated;
+                return;
+            }
+        }
+    }
+
+    public synchronized void watch(ProcessManagerWatcher watcher) {
         watchers.add(watcher);
     }
 
-    public void unwatch(ProcessManagerWatcher watcher) {
+    public synchronized void unwatch(ProcessManagerWatcher watcher) {
         watchers.remove(watcher);
     }
 
+    public synchronized void setWatcherExecutor(Executor watcherExecutor) {
+        if (watcherExecutor == null) {
+            throw new IllegalArgumentException("Watcher executor cannot be null");
+        }
+        this.watcherExecutor = watcherExecutor;
+    }
+
     public void destroy() {
         instances.clear();
+        pids.clear();
         collections.clear();
         watchers.clear();
         inactiveList.clear();
-        suspendedList.clear();
+        suspendedSet.clear();
         readyQueue.clear();
-        timer.cancel();
-        timer.purge();
-        processCount = 0;
+        if (timer != null) {
+            timer.cancel();
+            timer.purge();
+            timer = null;
+        }
+        pidAllocator.clear();
+        recycled.clear();
         executingInstance = null;
         tickInterval = null;
+        dirty.clear();
+        removed.clear();
+        snapshot = ProcessSnapshot.EMPTY;
+    }
+
+    private ProcessInstance create(Process process, ProcessPriority priority, int memoryUsage, int processTime) {
+        int pid = pidAllocator.allocate();
+        if (pid < 0) {
+            throw new IllegalStateException("Process manager cannot hold more than " + PidAllocator.MAX_PID + " instances");
+        }
+        try {
+            if (recycled.isEmpty()) {
+                return new ProcessInstance(process, pid, priority, memoryUsage, processTime);
+            }
+            ProcessInstance instance = recycled.peek();
+            instance.recycle(process, pid, priority, memoryUsage, processTime);
+            recycled.pop();
+            return instance;
+        } catch (IllegalArgumentException ex) {
+            pidAllocator.release(pid);
+            throw ex;
+        }
+    }
+
+    private void detach(ProcessInstance instance) {
+        cancelIO(instance);
+        wheel.cancel(instance.info.getWakeTimer());
+        if (memoryManager != null) {
+            memoryManager.release(instance);
+        }
+
+        if (executingInstance == instance) {
+            executingInstance = null;
+            pushChanges(ProcessState.EXECUTING);
+        } else {
+            ProcessState state = instance.info.getState();
+            collections.get(state).remove(instance);
+            pushChanges(state);
+        }
+
+        if (highestPriorityInstance == instance) {
+            highestPriorityInstance = null;
+        }
+
+        if (isPaused(instance)) {
+            pausedInstances.remove(instance);
+        }
+        wakeAll(lockManager.releaseAll(instance));
+        readyQueue.retire(instance);
+    }
+
+    private int deltaFor(ProcessInfo info) {
+        int override = priorityDeltas[info.getEffectivePriority().ordinal()];
+        return override == 0 ? delta : override;
+    }
+
+    private void sleep(ProcessInstance instance, long wakeTick) {
+        ProcessInfo info = instance.info;
+        WheelTimer wakeTimer = info.getWakeTimer();
+        if (wakeTimer == null) {
+            wakeTimer = new WakeTimer(instance);
+            info.setWakeTimer(wakeTimer);
+        }
+        wheel.schedule(wakeTimer, wakeTick);
+    }
+
+    private void wake(ProcessInstance instance) {
+        ProcessInfo info = instance.info;
+        suspendedSet.remove(instance);
+        info.setState(ProcessState.READY);
+        info.readied(tick);
+        readyQueue.add(instance);
+        pushChanges(ProcessState.SUSPENDED);
+        pushChanges(ProcessState.READY);
+        emit(ProcessEventType.WAKE, instance);
+    }
+
+    private void wakeAll(List<ProcessInstance> granted) {
+        for (int i = 0; i < granted.size(); i++) {
+            wake(granted.get(i));
+        }
+    }
+
+    private boolean advanceLockPlan(ProcessInstance instance) {
+        ProcessInfo info = instance.info;
+        LockOperation[] plan = info.getLockPlan();
+        if (plan == null) {
+            return true;
+        }
+
+        int executed = info.getExecuted();
+        int step = info.getLockStep();
+        while (step < plan.length && plan[step].getAt() <= executed) {
+            LockOperation operation = plan[step++];
+            info.setLockStep(step);
+            if (operation.isAcquire()) {
+                if (!lockManager.acquire(instance, operation.getLock())) {
+                    return false;
+                }
+            } else {
+                wakeAll(lockManager.release(instance, operation.getLock()));
+            }
+        }
+        return true;
+    }
+
+    void reprioritize(ProcessInstance instance, ProcessPriority priority) {
+        ProcessInfo info = instance.info;
+        info.setEffectivePriority(priority);
+        readyQueue.update(instance);
+        if (instance == highestPriorityInstance && priority != ProcessPriority.HIGHEST) {
+            highestPriorityInstance = null;
+        }
+        markDirty(instance);
+    }
+
+    private FairQueue fairQueue() {
+        if (schedulingPolicy != SchedulingPolicy.FAIR) {
+            throw new IllegalStateException("Group scheduling requires the fair scheduling policy");
+        }
+        return (FairQueue) readyQueue;
+    }
+
+    private void completeIO(ProcessInstance instance) {
+        ProcessInfo info = instance.info;
+        info.setIORequest(null);
+        info.setReadState(false);
+        wake(instance);
+    }
+
+    private void cancelIO(ProcessInstance instance) {
+        IORequest request = instance.info.getIORequest();
+        if (request != null) {
+            ioSubsystem.cancel(request);
+            instance.info.setIORequest(null);
+        }
+    }
+
+    int getLastPID() {
+        return pidAllocator.getLast();
+    }
+
+    void restoreClock(long tick, int lastPid) {
+        this.tick = tick;
+        pidAllocator.setLast(lastPid);
+        wheel.skipTo(tick);
+        publish();
+    }
+
+    void restore(ProcessInstance instance, boolean paused, boolean blocked, boolean highest) {
+        ProcessInfo info = instance.info;
+        info.started(tick);
+        pidAllocator.reserve(instance.getPID());
+        instances.add(instance);
+        pids.put(instance.getPID(), instance);
+        readyQueue.admit(instance);
+        if (memoryManager != null) {
+            memoryManager.admit(instance, evictable);
+        }
+
+        ProcessState state = info.getState();
+        switch (state) {
+            case INACTIVE:
+                inactiveList.add(instance);
+                if (paused) {
+                    pausedInstances.add(instance);
+                }
+                break;
+            case READY:
+                readyQueue.add(instance);
+                break;
+            case EXECUTING:
+                executingInstance = instance;
+                break;
+            case SUSPENDED:
+                suspendedSet.add(instance);
+                if (blocked) {
+                    info.setIORequest(ioSubsystem.submit(instance, tick));
+                } else {
+                    sleep(instance, tick + 1);
+                }
+                break;
+        }
+        if (highest) {
+            highestPriorityInstance = instance;
+        }
+        pushChanges(state);
+        markDirty(instance);
+        publish();
+    }
+
+    private void markDirty(ProcessInstance instance) {
+        if (!instance.info.isDirty()) {
+            instance.info.setDirty(true);
+            dirty.add(instance);
+        }
+    }
+
+    private void publish() {
+        if (batchDepth > 0) {
+            return;
+        }
+
+        ProcessSnapshot previous = snapshot;
+        PidMap<InstanceSnapshot> map = previous.getMap();
+        int[] counts = previous.getCounts();
+        if (!dirty.isEmpty() || !removed.isEmpty()) {
+            counts = counts.clone();
+            for (ProcessInstance pi : dirty) {
+                pi.info.setDirty(false);
+                InstanceSnapshot old = map.get(pi.getPID());
+                if (old != null) {
+                    counts[old.getState().ordinal()]--;
+                }
+                InstanceSnapshot current = new InstanceSnapshot(pi, pausedInstances.contains(pi));
+                counts[current.getState().ordinal()]++;
+                map = map.put(pi.getPID(), current);
+            }
+            for (ProcessInstance pi : removed) {
+                InstanceSnapshot old = map.get(pi.getPID());
+                if (old != null && old.getInstance() == pi) {
+                    counts[old.getState().ordinal()]--;
+                    map = map.remove(pi.getPID());
+                }
+                pidAllocator.release(pi.getPID());
+                if (recycling && recycled.size() < RECYCLE_LIMIT) {
+                    recycled.push(pi);
+                }
+            }
+            dirty.clear();
+            removed.clear();
+        }
+
+        snapshot = new ProcessSnapshot(
+            tick,
+            map,
+            counts,
+            executingInstance == null ? 0 : executingInstance.getPID(),
+            highestPriorityInstance == null ? 0 : highestPriorityInstance.getPID(),
+            stats.copy()
+        );
+        commitChanges();
+    }
+
+    private void emit(ProcessEventType type, ProcessInstance instance) {
+        if (type == ProcessEventType.COMPLETE || type == ProcessEventType.STOP || type == ProcessEventType.MIGRATE) {
+            removed.add(instance);
+            pids.remove(instance.getPID());
+        } else {
+            markDirty(instance);
+        }
+        switch (type) {
+            case DISPATCH:
+                if (DISPATCH_PROBE.isEnabled()) {
+                    record(new DispatchEvent(), instance);
+                }
+                break;
+            case PREEMPT:
+                if (PREEMPT_PROBE.isEnabled()) {
+                    record(new PreemptEvent(), instance);
+                }
+                break;
+            case COMPLETE:
+                if (COMPLETE_PROBE.isEnabled()) {
+                    record(new CompleteEvent(), instance);
+                }
+                break;
+            default:
+                break;
+        }
+        ProcessEventListener[] current = listeners;
+        for (ProcessEventListener listener : current) {
+            listener.onEvent(type, tick, instance);
+        }
+    }
+
+    private void record(InstanceEvent event, ProcessInstance instance) {
+        ProcessInfo info = instance.info;
+        event.set(tick, instance.getPID(), instance.getProcess().getName(), instance.getPriority().name(), info.getExecuted(), info.getWaitTicks());
+        event.commit();
     }
 
     private void pushChanges(ProcessState state) {
         if (!changes.contains(state)) {
             changes.add(state);
         }
-        if (commitingChanges) {
+    }
+
+    private void commitChanges() {
+        if (changes.isEmpty() || commitingChanges) {
+            return;
+        }
+        if (watchers.isEmpty()) {
+            changes.clear();
             return;
         }
 
         commitingChanges = true;
-        Platform.runLater(() -> {
-            dispatchWatchers();
-            commitingChanges = false;
-        });
+        watcherExecutor.execute(this::dispatchWatchers);
     }
 
     private void dispatchWatchers() {
-        watchers.forEach(w -> w.updated(changes));
-        changes.clear();
+        WatcherDispatchEvent event = WATCHER_PROBE.isEnabled() ? new WatcherDispatchEvent() : null;
+        if (event != null) {
+            event.begin();
+        }
+        Set<ProcessState> committed;
+        ProcessManagerWatcher[] targets;
+        synchronized (this) {
+            committed = changes.isEmpty() ? EnumSet.noneOf(ProcessState.class) : EnumSet.copyOf(changes);
+            changes.clear();
+            commitingChanges = false;
+            targets = watchers.toArray(new ProcessManagerWatcher[watchers.size()]);
+        }
+        try {
+            for (ProcessManagerWatcher watcher : targets) {
+                watcher.updated(committed);
+            }
+        } finally {
+            if (event != null) {
+                event.end();
+                if (event.shouldCommit()) {
+                    event.set(targets.length, committed.toString());
+                    event.commit();
+                }
+            }
+        }
     }
 }
@@ -0,0 +1,137 @@
+package fxprocessmanager.process;
+
+public final class ProcessManagerStats {
+    private long ticks;
+    private long busyTicks;
+    private long stallTicks;
+    private long started;
+    private long completed;
+    private long stopped;
+    private long migratedIn;
+    private long migratedOut;
+    private long dispatches;
+    private long totalTurnaround;
+    private long totalWait;
+
+    public ProcessManagerStats() {
+    }
+
+    private ProcessManagerStats(ProcessManagerStats other) {
+        ticks = other.ticks;
+        busyTicks = other.busyTicks;
+        stallTicks = other.stallTicks;
+        started = other.started;
+        completed = other.completed;
+        stopped = other.stopped;
+        migratedIn = other.migratedIn;
+        migratedOut = other.migratedOut;
+        dispatches = other.dispatches;
+        totalTurnaround = other.totalTurnaround;
+        totalWait = other.totalWait;
+    }
+
+    public ProcessManagerStats copy() {
+        return new ProcessManagerStats(this);
+    }
+
+    public long getTicks() {
+        return ticks;
+    }
+
+    public long getBusyTicks() {
+        return busyTicks;
+    }
+
+    public long getStallTicks() {
+        return stallTicks;
+    }
+
+    public long getStarted() {
+        return started;
+    }
+
+    public long getCompleted() {
+        return completed;
+    }
+
+    public long getStopped() {
+        return stopped;
+    }
+
+    public long getMigratedIn() {
+        return migratedIn;
+    }
+
+    public long getMigratedOut() {
+        return migratedOut;
+    }
+
+    public long getDispatches() {
+        return dispatches;
+    }
+
+    public long getTotalTurnaround() {
+        return totalTurnaround;
+    }
+
+    public long getTotalWait() {
+        return totalWait;
+    }
+
+    public double getThroughput() {
+        return ticks == 0 ? 0 : (double) completed / ticks;
+    }
+
+    public double getUtilization() {
+        return ticks == 0 ? 0 : (double) busyTicks / ticks;
+    }
+
+    public double getAverageTurnaround() {
+        return completed == 0 ? 0 : (double) totalTurnaround / completed;
+    }
+
+    public double getAverageWait() {
+        return completed == 0 ? 0 : (double) totalWait / completed;
+    }
+
+    void tick(boolean busy) {
+        ticks++;
+        if (busy) {
+            busyTicks++;
+        }
+    }
+
+    void idle(long ticks) {
+        this.ticks += ticks;
+    }
+
+    void stalled() {
+        stallTicks++;
+    }
+
+    void started() {
+        started++;
+    }
+
+    void dispatched() {
+        dispatches++;
+    }
+
+    void completed(ProcessInfo info, long tick) {
+        completed++;
+        totalTurnaround += tick - info.getStartTick();
+        totalWait += info.getWaitTicks();
+    }
+
+    void stopped() {
+        stopped++;
+    }
+
+    void migratedIn() {
+        migratedIn++;
+    }
+
+    void migratedOut() {
+        migratedOut++;
+    }
+}
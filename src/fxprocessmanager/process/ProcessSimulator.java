@@ -0,0 +1,87 @@
+package fxprocessmanager.process;
+
+import java.util.Comparator;
+import java.util.PriorityQueue;
+
+public final class ProcessSimulator {
+    private static final Comparator<ArrivalSource> sourceComparator = Comparator.comparingLong(s -> s.peek().getTick());
+    private final ProcessManager pm;
+    private final SimulationMode mode;
+    private final PriorityQueue<ArrivalSource> sources;
+    private long steps;
+
+    public ProcessSimulator(ProcessManager pm, SimulationMode mode) {
+        if (pm == null) {
+            throw new IllegalArgumentException("Process manager cannot be null");
+        }
+        if (mode == null) {
+            throw new IllegalArgumentException("Simulation mode cannot be null");
+        }
+
+        this.pm = pm;
+        this.mode = mode;
+        this.sources = new PriorityQueue<>(sourceComparator);
+        this.steps = 0;
+    }
+
+    public ProcessManager getProcessManager() {
+        return pm;
+    }
+
+    public SimulationMode getMode() {
+        return mode;
+    }
+
+    public long getSteps() {
+        return steps;
+    }
+
+    public void addSource(ArrivalSource source) {
+        if (source.peek() != null) {
+            sources.add(source);
+        }
+    }
+
+    public boolean isDrained() {
+        return sources.isEmpty() && pm.getInstanceCount() == 0;
+    }
+
+    public void run(long endTick) {
+        while (pm.getTick() < endTick && !isDrained()) {
+            if (mode == SimulationMode.DISCRETE_EVENT) {
+                long target = Math.min(Math.min(pm.nextEventTick(), nextArrivalTick()), endTick);
+                if (target == Long.MAX_VALUE) {
+                    return;
+                }
+                if (target - 1 > pm.getTick()) {
+                    pm.fastForward(target - 1);
+                }
+            }
+            deliver(pm.getTick() + 1);
+            pm.nextTick();
+            steps++;
+        }
+    }
+
+    private long nextArrivalTick() {
+        ArrivalSource source = sources.peek();
+        return source == null ? Long.MAX_VALUE : source.peek().getTick();
+    }
+
+    private void deliver(long tick) {
+        while (!sources.isEmpty() && sources.peek().peek().getTick() <= tick) {
+            ArrivalSource source = sources.poll();
+            Arrival arrival = source.poll();
+            pm.start(
+                arrival.getProcess(),
+                arrival.getPriority(),
+                arrival.getMemoryUsage(),
+                arrival.getProcessTime(),
+                arrival.isReading()
+            );
+            if (source.peek() != null) {
+                sources.add(source);
+            }
+        }
+    }
+}
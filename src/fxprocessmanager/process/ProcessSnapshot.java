@@ -0,0 +1,135 @@
+package fxprocessmanager.process;
+
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+public final class ProcessSnapshot {
+    static final ProcessSnapshot EMPTY = new ProcessSnapshot(
+        0,
+        PidMap.<InstanceSnapshot>empty(),
+        new int[ProcessState.count],
+        0,
+        0,
+        new ProcessManagerStats()
+    );
+
+    private final long tick;
+    private final PidMap<InstanceSnapshot> instances;
+    private final int[] counts;
+    private final int executingPid;
+    private final int highestPid;
+    private final ProcessManagerStats stats;
+    private volatile InstanceSnapshot[] ordered;
+
+    ProcessSnapshot(long tick, PidMap<InstanceSnapshot> instances, int[] counts, int executingPid, int highestPid, ProcessManagerStats stats) {
+        this.tick = tick;
+        this.instances = instances;
+        this.counts = counts;
+        this.executingPid = executingPid;
+        this.highestPid = highestPid;
+        this.stats = stats;
+    }
+
+    public long getTick() {
+        return tick;
+    }
+
+    public int size() {
+        return instances.size();
+    }
+
+    public InstanceSnapshot get(int pid) {
+        return instances.get(pid);
+    }
+
+    public InstanceSnapshot getExecuting() {
+        return executingPid == 0 ? null : instances.get(executingPid);
+    }
+
+    public InstanceSnapshot getHighestPriority() {
+        return highestPid == 0 ? null : instances.get(highestPid);
+    }
+
+    public int count(ProcessState state) {
+        return counts[state.ordinal()];
+    }
+
+    public ProcessManagerStats getStats() {
+        return stats;
+    }
+
+    public void forEach(Consumer<InstanceSnapshot> action) {
+        instances.forEach(action);
+    }
+
+    public InstanceSnapshot[] toArray() {
+        InstanceSnapshot[] array = new InstanceSnapshot[instances.size()];
+        int[] index = new int[1];
+        instances.forEach(s -> array[index[0]++] = s);
+        return array;
+    }
+
+    public void diff(ProcessSnapshot previous, BiConsumer<InstanceSnapshot, InstanceSnapshot> action) {
+        instances.diff(previous == null ? PidMap.<InstanceSnapshot>empty() : previous.instances, action);
+    }
+
+    public InstanceSnapshot[] ordered() {
+        InstanceSnapshot[] result = ordered;
+        if (result == null) {
+            result = order(toArray());
+            ordered = result;
+        }
+        return result.clone();
+    }
+
+    public InstanceSnapshot[] ordered(int[] pids, int count) {
+        InstanceSnapshot[] subset = new InstanceSnapshot[count];
+        int size = 0;
+        for (int i = 0; i < count; i++) {
+            InstanceSnapshot s = instances.get(pids[i]);
+            if (s != null) {
+                subset[size++] = s;
+            }
+        }
+        return order(size == count ? subset : Arrays.copyOf(subset, size));
+    }
+
+    private static InstanceSnapshot[] order(InstanceSnapshot[] all) {
+        InstanceSnapshot[] result = new InstanceSnapshot[all.length];
+        long[] ready = new long[all.length];
+        int readyCount = 0;
+        int position = 0;
+        for (int i = 0; i < all.length; i++) {
+            ProcessState state = all[i].getState();
+            if (state == ProcessState.EXECUTING) {
+                result[position++] = all[i];
+            } else if (state == ProcessState.READY) {
+                ready[readyCount++] = (all[i].getEffectiveHash() << 32) | i;
+            }
+        }
+        RadixSort.descending(ready, readyCount, 32, 24);
+        for (int i = 0; i < readyCount; i++) {
+            result[position++] = all[(int) ready[i]];
+        }
+        for (int i = 0; i < all.length; i++) {
+            if (all[i].getState() == ProcessState.SUSPENDED) {
+                result[position++] = all[i];
+            }
+        }
+        for (int i = 0; i < all.length; i++) {
+            if (all[i].getState() == ProcessState.INACTIVE) {
+                result[position++] = all[i];
+            }
+        }
+        return result;
+    }
+
+    PidMap<InstanceSnapshot> getMap() {
+        return instances;
+    }
+
+    int[] getCounts() {
+        return counts;
+    }
+}
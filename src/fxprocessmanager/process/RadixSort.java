@@ -0,0 +1,41 @@
+package fxprocessmanager.process;
+
+import java.util.Arrays;
+
+final class RadixSort {
+    private static final int DIGIT_BITS = 12;
+    private static final int DIGIT_MASK = (1 << DIGIT_BITS) - 1;
+
+    private RadixSort() {
+    }
+
+    static void descending(long[] values, int length, int shift, int bits) {
+        if (length < 2) {
+            return;
+        }
+
+        long[] source = values;
+        long[] target = new long[length];
+        int[] counts = new int[DIGIT_MASK + 2];
+        for (int offset = 0; offset < bits; offset += DIGIT_BITS) {
+            int digitShift = shift + offset;
+            Arrays.fill(counts, 0);
+            for (int i = 0; i < length; i++) {
+                counts[DIGIT_MASK - (int) ((source[i] >>> digitShift) & DIGIT_MASK) + 1]++;
+            }
+            for (int i = 1; i < counts.length; i++) {
+                counts[i] += counts[i - 1];
+            }
+            for (int i = 0; i < length; i++) {
+                long value = source[i];
+                target[counts[DIGIT_MASK - (int) ((value >>> digitShift) & DIGIT_MASK)]++] = value;
+            }
+            long[] swap = source;
+            source = target;
+            target = swap;
+        }
+        if (source != values) {
+            System.arraycopy(source, 0, values, 0, length);
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package fxprocessmanager.process;
+
+import java.util.AbstractCollection;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+final class ReadyHeap extends AbstractCollection<ProcessInstance> implements ReadyQueue {
+    private static final int KEY_BITS = 24;
+
+    private long[] keys;
+    private ProcessInstance[] values;
+    private int size;
+
+    ReadyHeap() {
+        keys = new long[16];
+        values = new ProcessInstance[16];
+        size = 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean add(ProcessInstance instance) {
+        if (instance.info.getQueueIndex() >= 0) {
+            return false;
+        }
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size << 1);
+            values = Arrays.copyOf(values, size << 1);
+        }
+        siftUp(size++, instance.info.getEffectiveHash(), instance);
+        return true;
+    }
+
+    @Override
+    public ProcessInstance peek() {
+        return size == 0 ? null : values[0];
+    }
+
+    @Override
+    public ProcessInstance poll() {
+        if (size == 0) {
+            return null;
+        }
+
+        ProcessInstance top = values[0];
+        top.info.setQueueIndex(-1);
+        removeLast(0);
+        return top;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return indexOf(o) >= 0;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        int index = indexOf(o);
+        if (index < 0) {
+            return false;
+        }
+
+        values[index].info.setQueueIndex(-1);
+        removeLast(index);
+        return true;
+    }
+
+    @Override
+    public void update(ProcessInstance instance) {
+        int index = indexOf(instance);
+        if (index < 0) {
+            return;
+        }
+
+        long key = instance.info.getEffectiveHash();
+        if (key > keys[index]) {
+            siftUp(index, key, instance);
+        } else {
+            siftDown(index, key, instance);
+        }
+    }
+
+    @Override
+    public void charge(ProcessInstance instance, long tick, int ticks) {
+    }
+
+    @Override
+    public void advance(long tick) {
+    }
+
+    @Override
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            values[i].info.setQueueIndex(-1);
+            values[i] = null;
+        }
+        size = 0;
+    }
+
+    @Override
+    public Iterator<ProcessInstance> iterator() {
+        return new Iterator<ProcessInstance>() {
+            private int index = 0;
+
+            @Override
+            public boolean hasNext() {
+                return index < size;
+            }
+
+            @Override
+            public ProcessInstance next() {
+                if (index >= size) {
+                    throw new NoSuchElementException();
+                }
+                return values[index++];
+            }
+        };
+    }
+
+    @Override
+    public ProcessInstance[] sorted() {
+        long[] order = new long[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = (keys[i] << 32) | i;
+        }
+        RadixSort.descending(order, size, 32, KEY_BITS);
+        ProcessInstance[] sorted = new ProcessInstance[size];
+        for (int i = 0; i < size; i++) {
+            sorted[i] = values[(int) order[i]];
+        }
+        return sorted;
+    }
+
+    private int indexOf(Object o) {
+        if (!(o instanceof ProcessInstance)) {
+            return -1;
+        }
+        int index = ((ProcessInstance) o).info.getQueueIndex();
+        return index >= 0 && index < size && values[index] == o ? index : -1;
+    }
+
+    private void removeLast(int index) {
+        int last = --size;
+        long key = keys[last];
+        ProcessInstance instance = values[last];
+        values[last] = null;
+        if (index == last) {
+            return;
+        }
+        siftDown(index, key, instance);
+        if (values[index] == instance) {
+            siftUp(index, key, instance);
+        }
+    }
+
+    private void siftUp(int index, long key, ProcessInstance instance) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            long parentKey = keys[parent];
+            if (parentKey >= key) {
+                break;
+            }
+            place(index, parentKey, values[parent]);
+            index = parent;
+        }
+        place(index, key, instance);
+    }
+
+    private void siftDown(int index, long key, ProcessInstance instance) {
+        int half = size >>> 1;
+        while (index < half) {
+            int child = (index << 1) + 1;
+            long childKey = keys[child];
+            int right = child + 1;
+            if (right < size && keys[right] > childKey) {
+                child = right;
+                childKey = keys[right];
+            }
+            if (key >= childKey) {
+                break;
+            }
+            place(index, childKey, values[child]);
+            index = child;
+        }
+        place(index, key, instance);
+    }
+
+    private void place(int index, long key, ProcessInstance instance) {
+        keys[index] = key;
+        values[index] = instance;
+        instance.info.setQueueIndex(index);
+    }
+}
@@ -0,0 +1,23 @@
+package fxprocessmanager.process;
+
+import java.util.Collection;
+
+interface ReadyQueue extends Collection<ProcessInstance> {
+    public ProcessInstance peek();
+
+    public ProcessInstance poll();
+
+    public void update(ProcessInstance instance);
+
+    public void charge(ProcessInstance instance, long tick, int ticks);
+
+    public void advance(long tick);
+
+    public default void admit(ProcessInstance instance) {
+    }
+
+    public default void retire(ProcessInstance instance) {
+    }
+
+    public ProcessInstance[] sorted();
+}
@@ -0,0 +1,15 @@
+package fxprocessmanager.process;
+
+import java.util.function.Predicate;
+
+public interface ReplacementPolicy {
+    public void admitted(ProcessInstance instance);
+
+    public void accessed(ProcessInstance instance);
+
+    public void evicted(ProcessInstance instance);
+
+    public void removed(ProcessInstance instance);
+
+    public ProcessInstance selectVictim(Predicate<ProcessInstance> evictable);
+}
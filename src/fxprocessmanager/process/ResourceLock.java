@@ -0,0 +1,80 @@
+package fxprocessmanager.process;
+
+import java.util.ArrayList;
+import java.util.PriorityQueue;
+
+public final class ResourceLock {
+    private final LockManager manager;
+    private final int id;
+    private final String name;
+    private final int permits;
+    private final LockProtocol protocol;
+    private final ProcessPriority ceiling;
+    final ArrayList<ProcessInstance> holders;
+    final PriorityQueue<ProcessInstance> waiters;
+    int available;
+
+    ResourceLock(LockManager manager, int id, String name, int permits, LockProtocol protocol, ProcessPriority ceiling) {
+        this.manager = manager;
+        this.id = id;
+        this.name = name;
+        this.permits = permits;
+        this.protocol = protocol;
+        this.ceiling = ceiling;
+        this.holders = new ArrayList<>(permits == 1 ? 1 : 4);
+        this.waiters = new PriorityQueue<>(4, ProcessManager.hashComparator);
+        this.available = permits;
+    }
+
+    LockManager getManager() {
+        return manager;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getPermits() {
+        return permits;
+    }
+
+    public boolean isMutex() {
+        return permits == 1;
+    }
+
+    public LockProtocol getProtocol() {
+        return protocol;
+    }
+
+    public ProcessPriority getCeiling() {
+        return ceiling;
+    }
+
+    public int getAvailable() {
+        synchronized (manager.getProcessManager()) {
+            return available;
+        }
+    }
+
+    public ProcessInstance getOwner() {
+        synchronized (manager.getProcessManager()) {
+            return holders.isEmpty() ? null : holders.get(0);
+        }
+    }
+
+    public ProcessInstance[] getHolders() {
+        synchronized (manager.getProcessManager()) {
+            return holders.toArray(new ProcessInstance[holders.size()]);
+        }
+    }
+
+    public int getWaiterCount() {
+        synchronized (manager.getProcessManager()) {
+            return waiters.size();
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package fxprocessmanager.process;
+
+import java.util.ArrayDeque;
+import java.util.Map;
+
+final class SSTFIOQueue extends TrackIOQueue {
+    @Override
+    protected Map.Entry<Integer, ArrayDeque<IORequest>> select(int head) {
+        Map.Entry<Integer, ArrayDeque<IORequest>> below = below(head);
+        Map.Entry<Integer, ArrayDeque<IORequest>> above = above(head);
+        if (below == null) {
+            return above;
+        }
+        if (above == null) {
+            return below;
+        }
+        return head - below.getKey() <= above.getKey() - head ? below : above;
+    }
+}
@@ -0,0 +1,18 @@
+package fxprocessmanager.process;
+
+import java.util.ArrayDeque;
+import java.util.Map;
+
+final class ScanIOQueue extends TrackIOQueue {
+    private boolean ascending = true;
+
+    @Override
+    protected Map.Entry<Integer, ArrayDeque<IORequest>> select(int head) {
+        Map.Entry<Integer, ArrayDeque<IORequest>> entry = ascending ? above(head) : below(head);
+        if (entry == null) {
+            ascending = !ascending;
+            entry = ascending ? above(head) : below(head);
+        }
+        return entry;
+    }
+}
@@ -0,0 +1,14 @@
+package fxprocessmanager.process;
+
+public enum SchedulingPolicy {
+    PRIORITY, FAIR;
+
+    ReadyQueue createQueue() {
+        switch (this) {
+            case FAIR:
+                return new FairQueue();
+            default:
+                return new ReadyHeap();
+        }
+    }
+}
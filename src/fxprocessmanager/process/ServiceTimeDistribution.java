@@ -0,0 +1,28 @@
+package fxprocessmanager.process;
+
+import java.util.Random;
+
+public interface ServiceTimeDistribution {
+    public int sample(Random random);
+
+    public static ServiceTimeDistribution constant(int ticks) {
+        if (ticks < 1) {
+            throw new IllegalArgumentException("Service time must be a positive integer");
+        }
+        return random -> ticks;
+    }
+
+    public static ServiceTimeDistribution uniform(int min, int max) {
+        if (min < 1 || max < min) {
+            throw new IllegalArgumentException("Invalid service time range");
+        }
+        return random -> min + random.nextInt(max - min + 1);
+    }
+
+    public static ServiceTimeDistribution exponential(double mean) {
+        if (mean < 1) {
+            throw new IllegalArgumentException("Mean service time must be at least one tick");
+        }
+        return random -> 1 + (int) Math.round(-(mean - 1) * StrictMath.log(1 - random.nextDouble()));
+    }
+}
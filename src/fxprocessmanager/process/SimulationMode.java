@@ -0,0 +1,5 @@
+package fxprocessmanager.process;
+
+public enum SimulationMode {
+    TICK, DISCRETE_EVENT;
+}
@@ -0,0 +1,162 @@
+package fxprocessmanager.process;
+
+final class TimingWheel {
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int MASK = SLOTS - 1;
+    private static final int LEVELS = 8;
+
+    private static final class Head extends WheelTimer {
+        Head() {
+            prev = this;
+            next = this;
+        }
+
+        @Override
+        void expire(long tick) {
+        }
+    }
+
+    private final Head[][] heads;
+    private long current;
+    private int size;
+
+    TimingWheel(long start) {
+        heads = new Head[LEVELS][SLOTS];
+        for (int level = 0; level < LEVELS; level++) {
+            for (int slot = 0; slot < SLOTS; slot++) {
+                heads[level][slot] = new Head();
+            }
+        }
+        current = start;
+        size = 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void schedule(WheelTimer timer, long deadline) {
+        if (timer.isScheduled()) {
+            unlink(timer);
+        } else {
+            size++;
+        }
+        timer.deadline = deadline;
+        place(timer);
+    }
+
+    void cancel(WheelTimer timer) {
+        if (timer != null && timer.isScheduled()) {
+            unlink(timer);
+            size--;
+        }
+    }
+
+    long nextDeadline() {
+        if (size == 0) {
+            return Long.MAX_VALUE;
+        }
+
+        long best = Long.MAX_VALUE;
+        for (int level = 0; level < LEVELS; level++) {
+            int start = (int) ((current >>> (SLOT_BITS * level)) & MASK);
+            int first = level == 0 ? 0 : 1;
+            for (int i = first; i < SLOTS + first; i++) {
+                Head head = heads[level][(start + i) & MASK];
+                if (head.next == head) {
+                    continue;
+                }
+                for (WheelTimer timer = head.next; timer != head; timer = timer.next) {
+                    best = Math.min(best, timer.deadline);
+                }
+                break;
+            }
+        }
+        return best;
+    }
+
+    void skipTo(long tick) {
+        if (tick < current) {
+            return;
+        }
+
+        current = tick + 1;
+        if (size == 0) {
+            return;
+        }
+        for (int level = LEVELS - 1; level > 0; level--) {
+            int index = (int) ((current >>> (SLOT_BITS * level)) & MASK);
+            replace(heads[level][index]);
+        }
+    }
+
+    void advanceTo(long tick) {
+        while (current <= tick) {
+            if (size == 0) {
+                current = tick + 1;
+                return;
+            }
+
+            Head head = heads[0][(int) (current & MASK)];
+            while (head.next != head) {
+                WheelTimer timer = head.next;
+                unlink(timer);
+                size--;
+                timer.expire(current);
+            }
+            current++;
+            if ((current & MASK) == 0) {
+                cascade();
+            }
+        }
+    }
+
+    private void cascade() {
+        for (int level = 1; level < LEVELS; level++) {
+            int index = (int) ((current >>> (SLOT_BITS * level)) & MASK);
+            replace(heads[level][index]);
+            if (index != 0) {
+                return;
+            }
+        }
+    }
+
+    private void replace(Head head) {
+        WheelTimer timer = head.next;
+        head.next = head;
+        head.prev = head;
+        while (timer != head) {
+            WheelTimer next = timer.next;
+            place(timer);
+            timer = next;
+        }
+    }
+
+    private void place(WheelTimer timer) {
+        long delta = timer.deadline - current;
+        int level = 0;
+        int slot;
+        if (delta < 0) {
+            slot = (int) (current & MASK);
+        } else {
+            while (level < LEVELS - 1 && delta >= (1L << (SLOT_BITS * (level + 1)))) {
+                level++;
+            }
+            slot = (int) ((timer.deadline >>> (SLOT_BITS * level)) & MASK);
+        }
+
+        Head head = heads[level][slot];
+        timer.prev = head.prev;
+        timer.next = head;
+        head.prev.next = timer;
+        head.prev = timer;
+    }
+
+    private static void unlink(WheelTimer timer) {
+        timer.prev.next = timer.next;
+        timer.next.prev = timer.prev;
+        timer.prev = null;
+        timer.next = null;
+    }
+}
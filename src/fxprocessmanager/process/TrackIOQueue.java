@@ -0,0 +1,53 @@
+package fxprocessmanager.process;
+
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.TreeMap;
+
+abstract class TrackIOQueue implements IOQueue {
+    private final TreeMap<Integer, ArrayDeque<IORequest>> tracks = new TreeMap<>();
+    private int size = 0;
+
+    @Override
+    public void add(IORequest request) {
+        ArrayDeque<IORequest> queue = tracks.get(request.track);
+        if (queue == null) {
+            queue = new ArrayDeque<>();
+            tracks.put(request.track, queue);
+        }
+        queue.add(request);
+        size++;
+    }
+
+    @Override
+    public IORequest next(int head) {
+        Map.Entry<Integer, ArrayDeque<IORequest>> entry;
+        while ((entry = select(head)) != null) {
+            ArrayDeque<IORequest> queue = entry.getValue();
+            IORequest request = queue.poll();
+            size--;
+            if (queue.isEmpty()) {
+                tracks.remove(entry.getKey());
+            }
+            if (!request.cancelled) {
+                return request;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    protected Map.Entry<Integer, ArrayDeque<IORequest>> below(int head) {
+        return tracks.floorEntry(head);
+    }
+
+    protected Map.Entry<Integer, ArrayDeque<IORequest>> above(int head) {
+        return tracks.ceilingEntry(head);
+    }
+
+    protected abstract Map.Entry<Integer, ArrayDeque<IORequest>> select(int head);
+}
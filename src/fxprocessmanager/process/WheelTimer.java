@@ -0,0 +1,13 @@
+package fxprocessmanager.process;
+
+abstract class WheelTimer {
+    long deadline;
+    WheelTimer prev;
+    WheelTimer next;
+
+    boolean isScheduled() {
+        return prev != null;
+    }
+
+    abstract void expire(long tick);
+}
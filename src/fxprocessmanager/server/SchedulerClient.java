@@ -0,0 +1,201 @@
+package fxprocessmanager.server;
+
+import fxprocessmanager.process.ProcessPriority;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+
+public final class SchedulerClient implements Closeable {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final SocketChannel channel;
+    private final ByteBuffer out;
+    private final ByteBuffer in;
+    private final ArrayDeque<SchedulerReply> backlog;
+    private int[] opcodes;
+    private int head;
+    private int pending;
+    private int window;
+
+    public SchedulerClient(int port) throws IOException {
+        this(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+    }
+
+    public SchedulerClient(InetSocketAddress address) throws IOException {
+        if (address == null) {
+            throw new IllegalArgumentException("Server address cannot be null");
+        }
+
+        this.channel = SocketChannel.open(address);
+        channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        this.out = ByteBuffer.allocateDirect(BUFFER_SIZE + SchedulerProtocol.MAX_FRAME_SIZE + SchedulerProtocol.HEADER_SIZE);
+        this.in = ByteBuffer.allocateDirect(BUFFER_SIZE + SchedulerProtocol.MAX_FRAME_SIZE + SchedulerProtocol.HEADER_SIZE);
+        this.in.flip();
+        this.backlog = new ArrayDeque<>();
+        this.opcodes = new int[1024];
+        this.head = 0;
+        this.pending = 0;
+        this.window = 1 << 16;
+    }
+
+    public int getPending() {
+        return pending + backlog.size();
+    }
+
+    public void setWindow(int window) {
+        if (window <= 0) {
+            throw new IllegalArgumentException("Client window must be a positive integer");
+        }
+        this.window = window;
+    }
+
+    public void start(int catalogIndex, ProcessPriority priority, int memoryUsage, int processTime, boolean reading) throws IOException {
+        if (catalogIndex < 0 || catalogIndex > 0xffff) {
+            throw new IllegalArgumentException("Catalog index must be a value between 0 and 65535");
+        }
+        begin(SchedulerProtocol.START, 7);
+        out.putShort((short) catalogIndex);
+        putStart(priority, memoryUsage, processTime, reading);
+    }
+
+    public void start(String name, ProcessPriority priority, int memoryUsage, int processTime, boolean reading) throws IOException {
+        if (name == null) {
+            throw new IllegalArgumentException("Process name cannot be null");
+        }
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length == 0 || bytes.length > SchedulerProtocol.MAX_FRAME_SIZE - 5) {
+            throw new IllegalArgumentException("Process name must be between 1 and " + (SchedulerProtocol.MAX_FRAME_SIZE - 5) + " bytes");
+        }
+        begin(SchedulerProtocol.START_NAMED, 5 + bytes.length);
+        putStart(priority, memoryUsage, processTime, reading);
+        out.put(bytes);
+    }
+
+    public void stop(int pid) throws IOException {
+        request(SchedulerProtocol.STOP, pid);
+    }
+
+    public void pause(int pid) throws IOException {
+        request(SchedulerProtocol.PAUSE, pid);
+    }
+
+    public void resume(int pid) throws IOException {
+        request(SchedulerProtocol.RESUME, pid);
+    }
+
+    public void query(int pid) throws IOException {
+        request(SchedulerProtocol.QUERY, pid);
+    }
+
+    public void status() throws IOException {
+        begin(SchedulerProtocol.STATUS, 1);
+    }
+
+    public void catalog() throws IOException {
+        begin(SchedulerProtocol.CATALOG, 1);
+    }
+
+    public void tick(int count) throws IOException {
+        if (count < 0 || count > 0xffff) {
+            throw new IllegalArgumentException("Tick count must be a value between 0 and 65535");
+        }
+        request(SchedulerProtocol.TICK, count);
+    }
+
+    public void flush() throws IOException {
+        out.flip();
+        while (out.hasRemaining()) {
+            channel.write(out);
+        }
+        out.clear();
+    }
+
+    public SchedulerReply receive() throws IOException {
+        if (!backlog.isEmpty()) {
+            return backlog.poll();
+        }
+        if (pending == 0) {
+            throw new IllegalStateException("No pending requests");
+        }
+        if (out.position() > 0) {
+            flush();
+        }
+        return read();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private void request(int opcode, int value) throws IOException {
+        begin(opcode, 3);
+        out.putShort((short) value);
+    }
+
+    private void putStart(ProcessPriority priority, int memoryUsage, int processTime, boolean reading) {
+        if (priority == null) {
+            throw new IllegalArgumentException("Process priority cannot be null");
+        }
+        out.put((byte) (priority.ordinal() | (reading ? SchedulerProtocol.READING : 0)));
+        out.putShort((short) memoryUsage);
+        out.put((byte) processTime);
+    }
+
+    private void begin(int opcode, int length) throws IOException {
+        if (out.position() >= BUFFER_SIZE) {
+            flush();
+        }
+        while (pending >= window) {
+            flush();
+            backlog.add(read());
+        }
+        if (pending == opcodes.length) {
+            int[] grown = new int[opcodes.length << 1];
+            for (int i = 0; i < pending; i++) {
+                grown[i] = opcodes[(head + i) & (opcodes.length - 1)];
+            }
+            opcodes = grown;
+            head = 0;
+        }
+        opcodes[(head + pending) & (opcodes.length - 1)] = opcode;
+        pending++;
+        out.putShort((short) length);
+        out.put((byte) opcode);
+    }
+
+    private SchedulerReply read() throws IOException {
+        fill(SchedulerProtocol.HEADER_SIZE);
+        int length = in.getShort(in.position()) & 0xffff;
+        fill(SchedulerProtocol.HEADER_SIZE + length);
+        in.position(in.position() + SchedulerProtocol.HEADER_SIZE);
+        int status = in.get() & 0xff;
+        byte[] payload = new byte[length - 1];
+        in.get(payload);
+
+        int opcode = opcodes[head];
+        head = (head + 1) & (opcodes.length - 1);
+        pending--;
+        return new SchedulerReply(opcode, status, ByteBuffer.wrap(payload).asReadOnlyBuffer());
+    }
+
+    private void fill(int length) throws IOException {
+        if (in.remaining() >= length) {
+            return;
+        }
+        in.compact();
+        while (in.position() < length) {
+            if (channel.read(in) < 0) {
+                throw new EOFException("Scheduler server closed the connection");
+            }
+        }
+        in.flip();
+    }
+}
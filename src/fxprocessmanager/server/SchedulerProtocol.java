@@ -0,0 +1,28 @@
+package fxprocessmanager.server;
+
+public final class SchedulerProtocol {
+    public static final int HEADER_SIZE = 2;
+    public static final int MAX_FRAME_SIZE = 0xffff;
+
+    public static final int START = 1;
+    public static final int START_NAMED = 2;
+    public static final int STOP = 3;
+    public static final int PAUSE = 4;
+    public static final int RESUME = 5;
+    public static final int QUERY = 6;
+    public static final int STATUS = 7;
+    public static final int CATALOG = 8;
+    public static final int TICK = 9;
+
+    public static final int OK = 0;
+    public static final int UNKNOWN_PID = 1;
+    public static final int INVALID_ARGUMENT = 2;
+    public static final int UNKNOWN_OPCODE = 3;
+    public static final int REJECTED = 4;
+
+    public static final int READING = 4;
+    public static final int PAUSED = 8;
+
+    private SchedulerProtocol() {
+    }
+}
@@ -0,0 +1,38 @@
+package fxprocessmanager.server;
+
+import java.nio.ByteBuffer;
+
+public final class SchedulerReply {
+    private final int opcode;
+    private final int status;
+    private final ByteBuffer payload;
+
+    SchedulerReply(int opcode, int status, ByteBuffer payload) {
+        this.opcode = opcode;
+        this.status = status;
+        this.payload = payload;
+    }
+
+    public int getOpcode() {
+        return opcode;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public boolean isOk() {
+        return status == SchedulerProtocol.OK;
+    }
+
+    public ByteBuffer getPayload() {
+        return payload.duplicate();
+    }
+
+    public int getPID() {
+        if (!isOk() || (opcode != SchedulerProtocol.START && opcode != SchedulerProtocol.START_NAMED)) {
+            return 0;
+        }
+        return payload.getShort(0) & 0xffff;
+    }
+}
@@ -0,0 +1,399 @@
+package fxprocessmanager.server;
+
+import fxprocessmanager.process.Process;
+import fxprocessmanager.process.ProcessInstance;
+import fxprocessmanager.process.ProcessManager;
+import fxprocessmanager.process.ProcessManagerStats;
+import fxprocessmanager.process.ProcessPriority;
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+public final class SchedulerServer implements Closeable {
+    private static final int INPUT_SIZE = 1 << 17;
+    private static final int OUTPUT_SIZE = 1 << 17;
+    private static final int HIGH_WATER = 1 << 22;
+
+    private static final class Connection {
+        private final SocketChannel channel;
+        private final ByteBuffer in;
+        private ByteBuffer out;
+
+        Connection(SocketChannel channel) {
+            this.channel = channel;
+            this.in = ByteBuffer.allocateDirect(INPUT_SIZE);
+            this.out = ByteBuffer.allocate(OUTPUT_SIZE);
+        }
+    }
+
+    private final ProcessManager pm;
+    private final Process[] catalog;
+    private final Map<String, Process> names;
+    private final Selector selector;
+    private final ServerSocketChannel server;
+    private final Thread thread;
+    private volatile boolean running;
+    private Connection current;
+    private long requests;
+
+    public SchedulerServer(ProcessManager pm, Process[] catalog, int port) throws IOException {
+        this(pm, catalog, new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+    }
+
+    public SchedulerServer(ProcessManager pm, Process[] catalog, InetSocketAddress address) throws IOException {
+        if (pm == null) {
+            throw new IllegalArgumentException("Process manager cannot be null");
+        }
+        if (address == null) {
+            throw new IllegalArgumentException("Server address cannot be null");
+        }
+
+        this.pm = pm;
+        this.catalog = catalog == null ? new Process[0] : catalog.clone();
+        this.names = new HashMap<>();
+        for (Process p : this.catalog) {
+            names.putIfAbsent(p.getName(), p);
+        }
+        this.selector = Selector.open();
+        this.server = ServerSocketChannel.open();
+        server.bind(address);
+        server.configureBlocking(false);
+        server.register(selector, SelectionKey.OP_ACCEPT);
+        this.thread = new Thread(this::loop, "scheduler-server");
+        this.thread.setDaemon(true);
+        this.running = false;
+        this.requests = 0;
+    }
+
+    public void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        thread.start();
+    }
+
+    public InetSocketAddress getAddress() throws IOException {
+        return (InetSocketAddress) server.getLocalAddress();
+    }
+
+    public int getPort() throws IOException {
+        return getAddress().getPort();
+    }
+
+    public long getRequests() {
+        return requests;
+    }
+
+    @Override
+    public void close() throws IOException {
+        running = false;
+        selector.wakeup();
+        if (thread.isAlive() && thread != Thread.currentThread()) {
+            try {
+                thread.join();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        for (SelectionKey key : selector.keys()) {
+            key.channel().close();
+        }
+        selector.close();
+    }
+
+    private void loop() {
+        while (running) {
+            try {
+                selector.select();
+            } catch (IOException ex) {
+                return;
+            }
+
+            Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+            while (keys.hasNext()) {
+                SelectionKey key = keys.next();
+                keys.remove();
+                try {
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isAcceptable()) {
+                        accept();
+                        continue;
+                    }
+                    Connection connection = (Connection) key.attachment();
+                    if (key.isWritable()) {
+                        write(key, connection);
+                    }
+                    if (key.isValid() && key.isReadable()) {
+                        read(key, connection);
+                    }
+                } catch (IOException | RuntimeException ex) {
+                    disconnect(key);
+                }
+            }
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel = server.accept();
+        if (channel == null) {
+            return;
+        }
+        channel.configureBlocking(false);
+        channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        channel.register(selector, SelectionKey.OP_READ, new Connection(channel));
+    }
+
+    private void disconnect(SelectionKey key) {
+        key.cancel();
+        try {
+            key.channel().close();
+        } catch (IOException ex) {
+        }
+    }
+
+    private void read(SelectionKey key, Connection connection) throws IOException {
+        if (connection.channel.read(connection.in) < 0) {
+            disconnect(key);
+            return;
+        }
+        process(connection);
+        write(key, connection);
+    }
+
+    private void write(SelectionKey key, Connection connection) throws IOException {
+        ByteBuffer out = connection.out;
+        if (out.position() > 0) {
+            out.flip();
+            connection.channel.write(out);
+            out.compact();
+        }
+
+        if (out.position() == 0 && connection.in.position() > 0) {
+            process(connection);
+            out = connection.out;
+            out.flip();
+            connection.channel.write(out);
+            out.compact();
+        }
+
+        int ops = out.position() > 0 ? SelectionKey.OP_WRITE : 0;
+        if (out.position() < HIGH_WATER && connection.in.hasRemaining()) {
+            ops |= SelectionKey.OP_READ;
+        }
+        key.interestOps(ops);
+    }
+
+    private void process(Connection connection) {
+        ByteBuffer in = connection.in;
+        in.flip();
+        if (in.remaining() < SchedulerProtocol.HEADER_SIZE + 1) {
+            in.compact();
+            return;
+        }
+
+        current = connection;
+        try {
+            pm.batch(this::drain);
+        } finally {
+            current = null;
+            in.compact();
+        }
+    }
+
+    private void drain() {
+        ByteBuffer in = current.in;
+        int limit = in.limit();
+        while (in.remaining() >= SchedulerProtocol.HEADER_SIZE && current.out.position() < HIGH_WATER) {
+            int start = in.position();
+            int length = in.getShort(start) & 0xffff;
+            if (length == 0) {
+                throw new IllegalStateException("Empty request frame");
+            }
+            int end = start + SchedulerProtocol.HEADER_SIZE + length;
+            if (end > limit) {
+                break;
+            }
+
+            in.position(start + SchedulerProtocol.HEADER_SIZE);
+            in.limit(end);
+            execute(in);
+            in.limit(limit);
+            in.position(end);
+            requests++;
+        }
+    }
+
+    private void execute(ByteBuffer in) {
+        int opcode = in.get() & 0xff;
+        int mark = begin();
+        try {
+            int status = dispatch(opcode, in);
+            finish(mark, status);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException ex) {
+            finish(mark, SchedulerProtocol.INVALID_ARGUMENT);
+        } catch (RuntimeException ex) {
+            finish(mark, SchedulerProtocol.REJECTED);
+        }
+    }
+
+    private int dispatch(int opcode, ByteBuffer in) {
+        ByteBuffer out = current.out;
+        ProcessInstance instance;
+        switch (opcode) {
+            case SchedulerProtocol.START: {
+                int index = in.getShort() & 0xffff;
+                if (index >= catalog.length) {
+                    return SchedulerProtocol.INVALID_ARGUMENT;
+                }
+                return start(catalog[index], in);
+            }
+            case SchedulerProtocol.START_NAMED: {
+                int nameStart = in.position() + 4;
+                if (nameStart >= in.limit()) {
+                    return SchedulerProtocol.INVALID_ARGUMENT;
+                }
+                byte[] bytes = new byte[in.limit() - nameStart];
+                for (int i = 0; i < bytes.length; i++) {
+                    bytes[i] = in.get(nameStart + i);
+                }
+                String name = new String(bytes, StandardCharsets.UTF_8);
+                Process process = names.get(name);
+                if (process == null) {
+                    return SchedulerProtocol.INVALID_ARGUMENT;
+                }
+                return start(process, in);
+            }
+            case SchedulerProtocol.STOP:
+                instance = instance(in);
+                if (instance == null) {
+                    return SchedulerProtocol.UNKNOWN_PID;
+                }
+                pm.stop(instance);
+                return SchedulerProtocol.OK;
+            case SchedulerProtocol.PAUSE:
+                instance = instance(in);
+                if (instance == null) {
+                    return SchedulerProtocol.UNKNOWN_PID;
+                }
+                if (!pm.isPaused(instance)) {
+                    pm.pause(instance);
+                }
+                return SchedulerProtocol.OK;
+            case SchedulerProtocol.RESUME:
+                instance = instance(in);
+                if (instance == null) {
+                    return SchedulerProtocol.UNKNOWN_PID;
+                }
+                out.put((byte) (pm.resume(instance) ? 1 : 0));
+                return SchedulerProtocol.OK;
+            case SchedulerProtocol.QUERY:
+                instance = instance(in);
+                if (instance == null) {
+                    return SchedulerProtocol.UNKNOWN_PID;
+                }
+                out.put((byte) instance.info.getState().ordinal());
+                out.put((byte) (instance.getPriority().ordinal()
+                    | (instance.info.isReading() ? SchedulerProtocol.READING : 0)
+                    | (pm.isPaused(instance) ? SchedulerProtocol.PAUSED : 0)));
+                out.putShort((short) instance.getMemoryUsage());
+                out.put((byte) instance.getProcessTime());
+                out.putInt(instance.info.getExecuted());
+                return SchedulerProtocol.OK;
+            case SchedulerProtocol.STATUS: {
+                ProcessInstance executing = pm.getExecutingInstance();
+                ProcessInstance highest = pm.getHighestPriorityInstance();
+                ProcessManagerStats stats = pm.getStats();
+                out.putLong(pm.getTick());
+                out.putInt(pm.getInstanceCount());
+                out.putShort((short) (executing == null ? 0 : executing.getPID()));
+                out.putShort((short) (highest == null ? 0 : highest.getPID()));
+                out.putLong(stats.getStarted());
+                out.putLong(stats.getCompleted());
+                return SchedulerProtocol.OK;
+            }
+            case SchedulerProtocol.CATALOG: {
+                int mark = out.position();
+                out.putShort((short) 0);
+                int count = 0;
+                for (Process p : catalog) {
+                    byte[] name = p.getName().getBytes(StandardCharsets.UTF_8);
+                    if (name.length > 0xff || out.position() - mark + name.length + 1 > SchedulerProtocol.MAX_FRAME_SIZE - 1) {
+                        break;
+                    }
+                    out.put((byte) name.length);
+                    out.put(name);
+                    count++;
+                }
+                out.putShort(mark, (short) count);
+                return SchedulerProtocol.OK;
+            }
+            case SchedulerProtocol.TICK: {
+                int count = in.getShort() & 0xffff;
+                for (int i = 0; i < count; i++) {
+                    pm.nextTick();
+                }
+                out.putLong(pm.getTick());
+                return SchedulerProtocol.OK;
+            }
+            default:
+                return SchedulerProtocol.UNKNOWN_OPCODE;
+        }
+    }
+
+    private int start(Process process, ByteBuffer in) {
+        int flags = in.get() & 0xff;
+        int memory = in.getShort() & 0xffff;
+        int time = in.get() & 0xff;
+        ProcessInstance instance = pm.start(
+            process,
+            ProcessPriority.getValue(flags & 3),
+            memory,
+            time,
+            (flags & SchedulerProtocol.READING) != 0
+        );
+        current.out.putShort((short) instance.getPID());
+        return SchedulerProtocol.OK;
+    }
+
+    private ProcessInstance instance(ByteBuffer in) {
+        return pm.getInstance(in.getShort() & 0xffff);
+    }
+
+    private int begin() {
+        ByteBuffer out = current.out;
+        if (out.remaining() < SchedulerProtocol.MAX_FRAME_SIZE + SchedulerProtocol.HEADER_SIZE) {
+            ByteBuffer grown = ByteBuffer.allocate(Math.max(out.capacity() << 1, out.position() + (OUTPUT_SIZE << 1)));
+            out.flip();
+            grown.put(out);
+            current.out = grown;
+            out = grown;
+        }
+        int mark = out.position();
+        out.position(mark + SchedulerProtocol.HEADER_SIZE + 1);
+        return mark;
+    }
+
+    private void finish(int mark, int status) {
+        ByteBuffer out = current.out;
+        if (status != SchedulerProtocol.OK) {
+            out.position(mark + SchedulerProtocol.HEADER_SIZE + 1);
+        }
+        out.putShort(mark, (short) (out.position() - mark - SchedulerProtocol.HEADER_SIZE));
+        out.put(mark + SchedulerProtocol.HEADER_SIZE, (byte) status);
+    }
+}
@@ -0,0 +1,90 @@
+package fxprocessmanager.sweep;
+
+public final class LatencyHistogram {
+    private static final int LINEAR_BITS = 6;
+    private static final int SUB_BITS = 4;
+    private static final int LINEAR = 1 << LINEAR_BITS;
+    private static final int SUB = 1 << SUB_BITS;
+    private static final int BUCKETS = LINEAR + (64 - LINEAR_BITS) * SUB;
+
+    private final long[] counts;
+    private long count;
+    private long sum;
+    private long max;
+
+    public LatencyHistogram() {
+        counts = new long[BUCKETS];
+    }
+
+    public void record(long value) {
+        if (value < 0) {
+            value = 0;
+        }
+        counts[index(value)]++;
+        count++;
+        sum += value;
+        if (value > max) {
+            max = value;
+        }
+    }
+
+    public void merge(LatencyHistogram other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] += other.counts[i];
+        }
+        count += other.count;
+        sum += other.sum;
+        if (other.max > max) {
+            max = other.max;
+        }
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    public double getMean() {
+        return count == 0 ? Double.NaN : (double) sum / count;
+    }
+
+    public long getPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be a value between 0 and 100");
+        }
+        if (count == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(upperBound(i), max);
+            }
+        }
+        return max;
+    }
+
+    private static int index(long value) {
+        if (value < LINEAR) {
+            return (int) value;
+        }
+        int log = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (log - SUB_BITS)) & (SUB - 1);
+        return LINEAR + (log - LINEAR_BITS) * SUB + sub;
+    }
+
+    private static long upperBound(int index) {
+        if (index < LINEAR) {
+            return index;
+        }
+        int log = (index - LINEAR) / SUB + LINEAR_BITS;
+        int sub = (index - LINEAR) % SUB;
+        return ((long) (SUB + sub + 1) << (log - SUB_BITS)) - 1;
+    }
+}
@@ -0,0 +1,71 @@
+package fxprocessmanager.sweep;
+
+public final class SweepCell {
+    private final SweepParameters parameters;
+    private final LatencyHistogram turnaround;
+    private final LatencyHistogram wait;
+    private int runs;
+    private double throughputSum;
+    private double throughputSquares;
+    private double utilizationSum;
+    private long swapIns;
+    private long completed;
+
+    SweepCell(SweepParameters parameters) {
+        this.parameters = parameters;
+        this.turnaround = new LatencyHistogram();
+        this.wait = new LatencyHistogram();
+    }
+
+    void add(SweepRun run) {
+        double throughput = run.getStats().getThroughput();
+        runs++;
+        throughputSum += throughput;
+        throughputSquares += throughput * throughput;
+        utilizationSum += run.getStats().getUtilization();
+        swapIns += run.getSwapIns();
+        completed += run.getStats().getCompleted();
+        turnaround.merge(run.getTurnaround());
+        wait.merge(run.getWait());
+    }
+
+    public SweepParameters getParameters() {
+        return parameters;
+    }
+
+    public int getRuns() {
+        return runs;
+    }
+
+    public long getCompleted() {
+        return completed;
+    }
+
+    public double getThroughputMean() {
+        return throughputSum / runs;
+    }
+
+    public double getThroughputStdDev() {
+        if (runs < 2) {
+            return 0;
+        }
+        double mean = getThroughputMean();
+        return Math.sqrt(Math.max(0, (throughputSquares - runs * mean * mean) / (runs - 1)));
+    }
+
+    public double getUtilizationMean() {
+        return utilizationSum / runs;
+    }
+
+    public double getSwapInsMean() {
+        return (double) swapIns / runs;
+    }
+
+    public LatencyHistogram getTurnaround() {
+        return turnaround;
+    }
+
+    public LatencyHistogram getWait() {
+        return wait;
+    }
+}
@@ -0,0 +1,183 @@
+package fxprocessmanager.sweep;
+
+import fxprocessmanager.process.ArrivalSource;
+import fxprocessmanager.process.MemoryManager;
+import fxprocessmanager.process.Process;
+import fxprocessmanager.process.ProcessEventType;
+import fxprocessmanager.process.ProcessManager;
+import fxprocessmanager.process.ProcessSimulator;
+import fxprocessmanager.process.SchedulingPolicy;
+import fxprocessmanager.process.SimulationMode;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+public final class SweepEngine {
+    private final ForkJoinPool pool;
+    private final SweepWorkload workload;
+    private int memory;
+    private int swapCost;
+    private SimulationMode mode;
+    private SchedulingPolicy policy;
+    private long endTick;
+
+    private final class SweepTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final List<SweepParameters> points;
+        private final SweepRun[] results;
+        private final int from;
+        private final int to;
+
+        SweepTask(List<SweepParameters> points, SweepRun[] results, int from, int to) {
+            this.points = points;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                try {
+                    results[from] = runOne(points.get(from));
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+                return;
+            }
+
+            int mid = (from + to) >>> 1;
+            invokeAll(new SweepTask(points, results, from, mid), new SweepTask(points, results, mid, to));
+        }
+    }
+
+    public SweepEngine(ForkJoinPool pool, SweepWorkload workload) {
+        if (pool == null) {
+            throw new IllegalArgumentException("Sweep pool cannot be null");
+        }
+        if (workload == null) {
+            throw new IllegalArgumentException("Sweep workload cannot be null");
+        }
+
+        this.pool = pool;
+        this.workload = workload;
+        this.memory = 0;
+        this.swapCost = 0;
+        this.mode = SimulationMode.DISCRETE_EVENT;
+        this.policy = SchedulingPolicy.PRIORITY;
+        this.endTick = Long.MAX_VALUE;
+    }
+
+    public SweepEngine(Process[] catalog) {
+        this(ForkJoinPool.commonPool(), SweepWorkload.generated(catalog, null));
+    }
+
+    public void setMemory(int memory, int swapCost) {
+        if (memory <= 0) {
+            throw new IllegalArgumentException("Memory capacity must be a positive integer");
+        }
+        if (swapCost < 0) {
+            throw new IllegalArgumentException("Swap-in cost cannot be negative");
+        }
+        this.memory = memory;
+        this.swapCost = swapCost;
+    }
+
+    public void setMode(SimulationMode mode) {
+        if (mode == null) {
+            throw new IllegalArgumentException("Simulation mode cannot be null");
+        }
+        this.mode = mode;
+    }
+
+    public void setPolicy(SchedulingPolicy policy) {
+        if (policy == null) {
+            throw new IllegalArgumentException("Scheduling policy cannot be null");
+        }
+        this.policy = policy;
+    }
+
+    public void setEndTick(long endTick) {
+        this.endTick = endTick;
+    }
+
+    public List<SweepRun> run(SweepGrid grid) {
+        return run(grid.points());
+    }
+
+    public List<SweepRun> run(List<SweepParameters> points) {
+        SweepRun[] results = new SweepRun[points.size()];
+        if (results.length > 0) {
+            pool.invoke(new SweepTask(points, results, 0, results.length));
+        }
+        return Arrays.asList(results);
+    }
+
+    public static List<SweepCell> aggregate(List<SweepRun> runs) {
+        Map<Integer, List<SweepCell>> buckets = new HashMap<>();
+        ArrayList<SweepCell> cells = new ArrayList<>();
+        for (SweepRun run : runs) {
+            SweepParameters parameters = run.getParameters();
+            List<SweepCell> bucket = buckets.computeIfAbsent(parameters.cellHash(), h -> new ArrayList<>(1));
+            SweepCell cell = null;
+            for (SweepCell candidate : bucket) {
+                if (candidate.getParameters().sameCell(parameters)) {
+                    cell = candidate;
+                    break;
+                }
+            }
+            if (cell == null) {
+                cell = new SweepCell(parameters);
+                bucket.add(cell);
+                cells.add(cell);
+            }
+            cell.add(run);
+        }
+        return cells;
+    }
+
+    SweepRun runOne(SweepParameters parameters) throws IOException {
+        long start = System.nanoTime();
+        ProcessManager pm = new ProcessManager(parameters.getDelta());
+        pm.setRecycling(true);
+        pm.setSchedulingPolicy(policy);
+        MemoryManager memoryManager = null;
+        if (parameters.getEviction() != null) {
+            if (memory <= 0) {
+                throw new IllegalStateException("Sweeping eviction policies requires a memory capacity");
+            }
+            memoryManager = new MemoryManager(memory, parameters.getEviction(), swapCost);
+            pm.setMemoryManager(memoryManager);
+        }
+
+        LatencyHistogram turnaround = new LatencyHistogram();
+        LatencyHistogram wait = new LatencyHistogram();
+        pm.listen((type, tick, instance) -> {
+            if (type == ProcessEventType.COMPLETE) {
+                turnaround.record(tick - instance.info.getStartTick());
+                wait.record(instance.info.getWaitTicks());
+            }
+        });
+
+        ProcessSimulator simulator = new ProcessSimulator(pm, mode);
+        ArrivalSource source = workload.create(parameters);
+        try {
+            simulator.addSource(source);
+            simulator.run(endTick);
+        } finally {
+            if (source instanceof Closeable) {
+                ((Closeable) source).close();
+            }
+        }
+
+        return new SweepRun(parameters, pm.getStats(), turnaround, wait, memoryManager, pm.getIOSubsystem(), simulator.getSteps(), System.nanoTime() - start);
+    }
+}
@@ -0,0 +1,107 @@
+package fxprocessmanager.sweep;
+
+import fxprocessmanager.process.EvictionPolicy;
+import java.util.ArrayList;
+import java.util.List;
+
+public final class SweepGrid {
+    private int[] deltas;
+    private EvictionPolicy[] evictions;
+    private long[] populations;
+    private double[] readings;
+    private double[] rates;
+    private long[] seeds;
+
+    public SweepGrid() {
+        deltas = new int[] {5};
+        evictions = new EvictionPolicy[] {null};
+        populations = new long[] {10000};
+        readings = new double[] {0.5};
+        rates = new double[] {0.1};
+        seeds = new long[] {1};
+    }
+
+    public void setDeltas(int... deltas) {
+        if (deltas.length == 0) {
+            throw new IllegalArgumentException("Sweep grid needs at least one delta");
+        }
+        for (int delta : deltas) {
+            if (delta <= 0) {
+                throw new IllegalArgumentException("Process manager delta per tick must be a positive integer");
+            }
+        }
+        this.deltas = deltas.clone();
+    }
+
+    public void setEvictions(EvictionPolicy... evictions) {
+        if (evictions.length == 0) {
+            throw new IllegalArgumentException("Sweep grid needs at least one eviction policy");
+        }
+        this.evictions = evictions.clone();
+    }
+
+    public void setPopulations(long... populations) {
+        if (populations.length == 0) {
+            throw new IllegalArgumentException("Sweep grid needs at least one population size");
+        }
+        for (long population : populations) {
+            if (population < 1) {
+                throw new IllegalArgumentException("Population size must be a positive integer");
+            }
+        }
+        this.populations = populations.clone();
+    }
+
+    public void setReadings(double... readings) {
+        if (readings.length == 0) {
+            throw new IllegalArgumentException("Sweep grid needs at least one reading ratio");
+        }
+        for (double reading : readings) {
+            if (reading < 0 || reading > 1) {
+                throw new IllegalArgumentException("Reading ratio must be a value between 0 and 1");
+            }
+        }
+        this.readings = readings.clone();
+    }
+
+    public void setRates(double... rates) {
+        if (rates.length == 0) {
+            throw new IllegalArgumentException("Sweep grid needs at least one arrival rate");
+        }
+        for (double rate : rates) {
+            if (rate <= 0) {
+                throw new IllegalArgumentException("Arrival rate must be a positive number");
+            }
+        }
+        this.rates = rates.clone();
+    }
+
+    public void setSeeds(long... seeds) {
+        if (seeds.length == 0) {
+            throw new IllegalArgumentException("Sweep grid needs at least one seed");
+        }
+        this.seeds = seeds.clone();
+    }
+
+    public int size() {
+        return deltas.length * evictions.length * populations.length * readings.length * rates.length * seeds.length;
+    }
+
+    public List<SweepParameters> points() {
+        ArrayList<SweepParameters> points = new ArrayList<>(size());
+        for (int delta : deltas) {
+            for (EvictionPolicy eviction : evictions) {
+                for (long population : populations) {
+                    for (double reading : readings) {
+                        for (double rate : rates) {
+                            for (long seed : seeds) {
+                                points.add(new SweepParameters(points.size(), delta, eviction, population, reading, rate, seed));
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return points;
+    }
+}
@@ -0,0 +1,64 @@
+package fxprocessmanager.sweep;
+
+import fxprocessmanager.process.EvictionPolicy;
+import java.util.Objects;
+
+public final class SweepParameters {
+    private final int index;
+    private final int delta;
+    private final EvictionPolicy eviction;
+    private final long population;
+    private final double reading;
+    private final double rate;
+    private final long seed;
+
+    SweepParameters(int index, int delta, EvictionPolicy eviction, long population, double reading, double rate, long seed) {
+        this.index = index;
+        this.delta = delta;
+        this.eviction = eviction;
+        this.population = population;
+        this.reading = reading;
+        this.rate = rate;
+        this.seed = seed;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public int getDelta() {
+        return delta;
+    }
+
+    public EvictionPolicy getEviction() {
+        return eviction;
+    }
+
+    public long getPopulation() {
+        return population;
+    }
+
+    public double getReading() {
+        return reading;
+    }
+
+    public double getRate() {
+        return rate;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    boolean sameCell(SweepParameters other) {
+        return delta == other.delta
+            && eviction == other.eviction
+            && population == other.population
+            && reading == other.reading
+            && rate == other.rate;
+    }
+
+    int cellHash() {
+        return Objects.hash(delta, eviction, population, reading, rate);
+    }
+}
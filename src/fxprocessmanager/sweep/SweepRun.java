@@ -0,0 +1,72 @@
+package fxprocessmanager.sweep;
+
+import fxprocessmanager.process.IOSubsystem;
+import fxprocessmanager.process.MemoryManager;
+import fxprocessmanager.process.ProcessManagerStats;
+
+public final class SweepRun {
+    private final SweepParameters parameters;
+    private final ProcessManagerStats stats;
+    private final LatencyHistogram turnaround;
+    private final LatencyHistogram wait;
+    private final long swapIns;
+    private final long swapOuts;
+    private final long ioRequests;
+    private final double ioAverageLatency;
+    private final long steps;
+    private final long elapsedNanos;
+
+    SweepRun(SweepParameters parameters, ProcessManagerStats stats, LatencyHistogram turnaround, LatencyHistogram wait,
+            MemoryManager memoryManager, IOSubsystem ioSubsystem, long steps, long elapsedNanos) {
+        this.parameters = parameters;
+        this.stats = stats;
+        this.turnaround = turnaround;
+        this.wait = wait;
+        this.swapIns = memoryManager == null ? 0 : memoryManager.getSwapIns();
+        this.swapOuts = memoryManager == null ? 0 : memoryManager.getSwapOuts();
+        this.ioRequests = ioSubsystem.getRequests();
+        this.ioAverageLatency = ioSubsystem.getAverageLatency();
+        this.steps = steps;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public SweepParameters getParameters() {
+        return parameters;
+    }
+
+    public ProcessManagerStats getStats() {
+        return stats;
+    }
+
+    public LatencyHistogram getTurnaround() {
+        return turnaround;
+    }
+
+    public LatencyHistogram getWait() {
+        return wait;
+    }
+
+    public long getSwapIns() {
+        return swapIns;
+    }
+
+    public long getSwapOuts() {
+        return swapOuts;
+    }
+
+    public long getIORequests() {
+        return ioRequests;
+    }
+
+    public double getIOAverageLatency() {
+        return ioAverageLatency;
+    }
+
+    public long getSteps() {
+        return steps;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+}
@@ -0,0 +1,23 @@
+package fxprocessmanager.sweep;
+
+import fxprocessmanager.process.ArrivalSource;
+import fxprocessmanager.process.Process;
+import fxprocessmanager.workload.WorkloadGenerator;
+import java.io.IOException;
+
+public interface SweepWorkload {
+    public ArrivalSource create(SweepParameters parameters) throws IOException;
+
+    public static SweepWorkload generated(Process[] catalog, double[] weights) {
+        Process[] processes = catalog.clone();
+        double[] priorityWeights = weights == null ? null : weights.clone();
+        return p -> {
+            WorkloadGenerator generator = new WorkloadGenerator(processes, p.getSeed(), p.getRate(), p.getPopulation());
+            generator.setReadingRatio(p.getReading());
+            if (priorityWeights != null) {
+                generator.setPriorityWeights(priorityWeights);
+            }
+            return generator;
+        };
+    }
+}
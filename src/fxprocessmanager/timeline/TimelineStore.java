@@ -0,0 +1,426 @@
+package fxprocessmanager.timeline;
+
+import fxprocessmanager.process.ProcessEventListener;
+import fxprocessmanager.process.ProcessEventType;
+import fxprocessmanager.process.ProcessInstance;
+import fxprocessmanager.process.ProcessState;
+import java.util.Arrays;
+
+public final class TimelineStore implements ProcessEventListener {
+    private static final int CHUNK_BITS = 12;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    private static final int PIDS = 0x10000;
+    private static final ProcessState[] states = ProcessState.values();
+
+    private long[][] starts;
+    private int[][] durations;
+    private char[][] pids;
+    private byte[][] kinds;
+    private char[][] orders;
+    private long[] chunkEnds;
+    private long[] tree;
+    private int capacity;
+    private int chunks;
+    private int size;
+    private long maxSegments;
+    private long maxAge;
+    private long evicted;
+    private final byte[] openStates;
+    private final long[] openStarts;
+    private int openCount;
+    private int lowestOpen;
+    private int highestPid;
+    private long lastTick;
+
+    public TimelineStore(long maxSegments, long maxAge) {
+        openStates = new byte[PIDS];
+        openStarts = new long[PIDS];
+        clear();
+        setRetention(maxSegments, maxAge);
+    }
+
+    public TimelineStore() {
+        this(Long.MAX_VALUE, Long.MAX_VALUE);
+    }
+
+    public synchronized void setRetention(long maxSegments, long maxAge) {
+        if (maxSegments < CHUNK_SIZE) {
+            throw new IllegalArgumentException("Timeline retention must keep at least " + CHUNK_SIZE + " segments");
+        }
+        if (maxAge <= 0) {
+            throw new IllegalArgumentException("Timeline retention age must be a positive integer");
+        }
+        this.maxSegments = maxSegments;
+        this.maxAge = maxAge;
+        trim();
+    }
+
+    public synchronized long getMaxSegments() {
+        return maxSegments;
+    }
+
+    public synchronized long getMaxAge() {
+        return maxAge;
+    }
+
+    public synchronized void clear() {
+        starts = new long[16][];
+        durations = new int[16][];
+        pids = new char[16][];
+        kinds = new byte[16][];
+        orders = new char[16][];
+        chunkEnds = new long[16];
+        capacity = 16;
+        tree = new long[capacity << 1];
+        Arrays.fill(tree, Long.MAX_VALUE);
+        chunks = 0;
+        size = 0;
+        evicted = 0;
+        Arrays.fill(openStates, (byte) 0);
+        openCount = 0;
+        lowestOpen = PIDS;
+        highestPid = 0;
+        lastTick = 0;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public synchronized long getEvicted() {
+        return evicted;
+    }
+
+    public synchronized long getLastTick() {
+        return lastTick;
+    }
+
+    public synchronized int getHighestPID() {
+        return highestPid;
+    }
+
+    public synchronized int getLowestOpenPID() {
+        return openCount == 0 ? 0 : lowestOpen;
+    }
+
+    @Override
+    public synchronized void onEvent(ProcessEventType type, long tick, ProcessInstance instance) {
+        int pid = instance.getPID();
+        if (tick > lastTick) {
+            lastTick = tick;
+            if (chunks > 1 && lastTick - chunkEnds[0] > maxAge) {
+                trim();
+            }
+        }
+        switch (type) {
+            case START:
+            case PAUSE:
+                transition(pid, ProcessState.INACTIVE);
+                break;
+            case ACTIVATE:
+            case WAKE:
+                transition(pid, ProcessState.READY);
+                break;
+            case DISPATCH:
+                transition(pid, ProcessState.EXECUTING);
+                break;
+            case PREEMPT:
+            case BLOCK:
+                transition(pid, ProcessState.SUSPENDED);
+                break;
+            case COMPLETE:
+            case STOP:
+            case MIGRATE:
+                close(pid);
+                break;
+            default:
+                break;
+        }
+    }
+
+    public void query(long from, long to, int minPid, int maxPid, long now, TimelineVisitor visitor) {
+        if (from >= to) {
+            return;
+        }
+
+        Window window = new Window();
+        synchronized (this) {
+            collect(from, to, minPid, maxPid, now, window);
+        }
+        window.replay(visitor);
+    }
+
+    private void collect(long from, long to, int minPid, int maxPid, long now, TimelineVisitor visitor) {
+        int lo = 0;
+        int hi = chunks;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (chunkEnds[mid] > from) {
+                hi = mid;
+            } else {
+                lo = mid + 1;
+            }
+        }
+        if (lo < chunks) {
+            collect(1, 0, capacity, lo, from, to, minPid, maxPid, visitor);
+        }
+
+        if (openCount == 0) {
+            return;
+        }
+        int first = Math.max(minPid, lowestOpen);
+        int last = Math.min(maxPid, highestPid);
+        for (int pid = first; pid <= last; pid++) {
+            byte state = openStates[pid];
+            if (state == 0) {
+                continue;
+            }
+            long start = openStarts[pid];
+            long end = Math.max(now, start);
+            if (start < to && end >= from) {
+                visitor.visit(pid, states[state - 1], start, end);
+            }
+        }
+    }
+
+    private void collect(int node, int lo, int hi, int first, long from, long to, int minPid, int maxPid, TimelineVisitor visitor) {
+        if (hi <= first || lo >= chunks || tree[node] >= to) {
+            return;
+        }
+        if (hi - lo > 1) {
+            int mid = (lo + hi) >>> 1;
+            collect(node << 1, lo, mid, first, from, to, minPid, maxPid, visitor);
+            collect((node << 1) | 1, mid, hi, first, from, to, minPid, maxPid, visitor);
+            return;
+        }
+
+        long[] chunkStarts = starts[lo];
+        int[] chunkDurations = durations[lo];
+        char[] chunkPids = pids[lo];
+        byte[] chunkKinds = kinds[lo];
+        char[] order = orders[lo];
+        if (order != null) {
+            int i = 0;
+            int j = CHUNK_SIZE;
+            while (i < j) {
+                int mid = (i + j) >>> 1;
+                if (chunkPids[order[mid]] >= minPid) {
+                    j = mid;
+                } else {
+                    i = mid + 1;
+                }
+            }
+            for (; i < CHUNK_SIZE; i++) {
+                int index = order[i];
+                int pid = chunkPids[index];
+                if (pid > maxPid) {
+                    break;
+                }
+                long start = chunkStarts[index];
+                long end = start + chunkDurations[index];
+                if (start < to && end > from) {
+                    visitor.visit(pid, states[chunkKinds[index]], start, end);
+                }
+            }
+            return;
+        }
+
+        int count = lo == chunks - 1 ? ((size - 1) & CHUNK_MASK) + 1 : CHUNK_SIZE;
+        int i = 0;
+        int j = count;
+        while (i < j) {
+            int mid = (i + j) >>> 1;
+            if (chunkStarts[mid] + chunkDurations[mid] > from) {
+                j = mid;
+            } else {
+                i = mid + 1;
+            }
+        }
+        for (; i < count; i++) {
+            long start = chunkStarts[i];
+            int pid = chunkPids[i];
+            if (start < to && pid >= minPid && pid <= maxPid) {
+                visitor.visit(pid, states[chunkKinds[i]], start, start + chunkDurations[i]);
+            }
+        }
+    }
+
+    private void transition(int pid, ProcessState state) {
+        close(pid);
+        openStates[pid] = (byte) (state.ordinal() + 1);
+        openStarts[pid] = lastTick;
+        openCount++;
+        if (pid < lowestOpen) {
+            lowestOpen = pid;
+        }
+        if (pid > highestPid) {
+            highestPid = pid;
+        }
+    }
+
+    private void close(int pid) {
+        byte state = openStates[pid];
+        if (state == 0) {
+            return;
+        }
+
+        openStates[pid] = 0;
+        openCount--;
+        if (openCount == 0) {
+            lowestOpen = PIDS;
+        } else if (pid == lowestOpen) {
+            while (openStates[lowestOpen] == 0) {
+                lowestOpen++;
+            }
+        }
+
+        long start = openStarts[pid];
+        if (lastTick > start) {
+            append(pid, state - 1, start, lastTick);
+        }
+    }
+
+    private void append(int pid, int state, long start, long end) {
+        int index = size & CHUNK_MASK;
+        int chunk = size >>> CHUNK_BITS;
+        if (index == 0) {
+            if (chunk == capacity) {
+                grow();
+            }
+            starts[chunk] = new long[CHUNK_SIZE];
+            durations[chunk] = new int[CHUNK_SIZE];
+            pids[chunk] = new char[CHUNK_SIZE];
+            kinds[chunk] = new byte[CHUNK_SIZE];
+            orders[chunk] = null;
+            chunks++;
+            trim();
+            chunk = chunks - 1;
+        }
+
+        starts[chunk][index] = start;
+        durations[chunk][index] = (int) Math.min(end - start, Integer.MAX_VALUE);
+        pids[chunk][index] = (char) pid;
+        kinds[chunk][index] = (byte) state;
+        chunkEnds[chunk] = end;
+        size++;
+        if (index == CHUNK_MASK) {
+            index(chunk);
+        }
+
+        int node = capacity + chunk;
+        if (start < tree[node]) {
+            tree[node] = start;
+            for (node >>>= 1; node > 0 && start < tree[node]; node >>>= 1) {
+                tree[node] = start;
+            }
+        }
+    }
+
+    private void index(int chunk) {
+        char[] chunkPids = pids[chunk];
+        int[] keys = new int[CHUNK_SIZE];
+        for (int i = 0; i < CHUNK_SIZE; i++) {
+            keys[i] = (chunkPids[i] << CHUNK_BITS) | i;
+        }
+        Arrays.sort(keys);
+        char[] order = new char[CHUNK_SIZE];
+        for (int i = 0; i < CHUNK_SIZE; i++) {
+            order[i] = (char) (keys[i] & CHUNK_MASK);
+        }
+        orders[chunk] = order;
+    }
+
+    private void trim() {
+        int drop = 0;
+        while (chunks - drop > 1) {
+            boolean full = size - ((long) drop << CHUNK_BITS) > maxSegments;
+            boolean expired = lastTick - chunkEnds[drop] > maxAge;
+            if (!full && !expired) {
+                break;
+            }
+            drop++;
+        }
+        if (drop == 0) {
+            return;
+        }
+
+        int kept = chunks - drop;
+        System.arraycopy(starts, drop, starts, 0, kept);
+        System.arraycopy(durations, drop, durations, 0, kept);
+        System.arraycopy(pids, drop, pids, 0, kept);
+        System.arraycopy(kinds, drop, kinds, 0, kept);
+        System.arraycopy(orders, drop, orders, 0, kept);
+        System.arraycopy(chunkEnds, drop, chunkEnds, 0, kept);
+        System.arraycopy(tree, capacity + drop, tree, capacity, kept);
+        for (int chunk = kept; chunk < chunks; chunk++) {
+            starts[chunk] = null;
+            durations[chunk] = null;
+            pids[chunk] = null;
+            kinds[chunk] = null;
+            orders[chunk] = null;
+            tree[capacity + chunk] = Long.MAX_VALUE;
+        }
+        for (int node = capacity - 1; node > 0; node--) {
+            tree[node] = Math.min(tree[node << 1], tree[(node << 1) | 1]);
+        }
+        chunks = kept;
+        size -= drop << CHUNK_BITS;
+        evicted += (long) drop << CHUNK_BITS;
+    }
+
+    private void grow() {
+        int updated = capacity << 1;
+        starts = Arrays.copyOf(starts, updated);
+        durations = Arrays.copyOf(durations, updated);
+        pids = Arrays.copyOf(pids, updated);
+        kinds = Arrays.copyOf(kinds, updated);
+        orders = Arrays.copyOf(orders, updated);
+        chunkEnds = Arrays.copyOf(chunkEnds, updated);
+        long[] leaves = Arrays.copyOfRange(tree, capacity, capacity << 1);
+        capacity = updated;
+        tree = new long[capacity << 1];
+        Arrays.fill(tree, Long.MAX_VALUE);
+        System.arraycopy(leaves, 0, tree, capacity, leaves.length);
+        for (int node = capacity - 1; node > 0; node--) {
+            tree[node] = Math.min(tree[node << 1], tree[(node << 1) | 1]);
+        }
+    }
+
+    private static final class Window implements TimelineVisitor {
+        private int[] pids;
+        private byte[] kinds;
+        private long[] starts;
+        private long[] ends;
+        private int size;
+
+        Window() {
+            pids = new int[64];
+            kinds = new byte[64];
+            starts = new long[64];
+            ends = new long[64];
+            size = 0;
+        }
+
+        @Override
+        public void visit(int pid, ProcessState state, long start, long end) {
+            if (size == pids.length) {
+                pids = Arrays.copyOf(pids, size << 1);
+                kinds = Arrays.copyOf(kinds, size << 1);
+                starts = Arrays.copyOf(starts, size << 1);
+                ends = Arrays.copyOf(ends, size << 1);
+            }
+            pids[size] = pid;
+            kinds[size] = (byte) state.ordinal();
+            starts[size] = start;
+            ends[size] = end;
+            size++;
+        }
+
+        void replay(TimelineVisitor visitor) {
+            for (int i = 0; i < size; i++) {
+                visitor.visit(pids[i], states[kinds[i]], starts[i], ends[i]);
+            }
+        }
+    }
+}
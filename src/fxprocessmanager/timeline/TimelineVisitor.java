@@ -0,0 +1,7 @@
+package fxprocessmanager.timeline;
+
+import fxprocessmanager.process.ProcessState;
+
+public interface TimelineVisitor {
+    public void visit(int pid, ProcessState state, long start, long end);
+}
@@ -0,0 +1,242 @@
+package fxprocessmanager.tuning;
+
+import fxprocessmanager.process.ProcessEventListener;
+import fxprocessmanager.process.ProcessEventType;
+import fxprocessmanager.process.ProcessInstance;
+import fxprocessmanager.process.ProcessManager;
+import fxprocessmanager.process.ProcessPriority;
+import java.io.Closeable;
+import java.util.Arrays;
+
+public final class QuantumController implements ProcessEventListener, Closeable {
+    public static final int DEFAULT_WINDOW = 50;
+    private static final int HISTORY = 256;
+    private static final double TOLERANCE = 0.02;
+    private static final ProcessPriority[] priorities = ProcessPriority.values();
+    private static final int GLOBAL = priorities.length;
+
+    private final ProcessManager pm;
+    private final long[] dispatches;
+    private final long[] completed;
+    private final long[] turnaround;
+    private final long[] wait;
+    private final int[] directions;
+    private final double[] lastCosts;
+    private final TuningDecision[] decisions;
+    private long decisionCount;
+    private int window;
+    private int minDelta;
+    private int maxDelta;
+    private double switchBudget;
+    private boolean perPriority;
+    private long windowStart;
+    private boolean closed;
+
+    public QuantumController(ProcessManager pm, int window) {
+        if (pm == null) {
+            throw new IllegalArgumentException("Process manager cannot be null");
+        }
+        if (window <= 0) {
+            throw new IllegalArgumentException("Tuning window must be a positive integer");
+        }
+
+        this.pm = pm;
+        this.dispatches = new long[GLOBAL + 1];
+        this.completed = new long[GLOBAL + 1];
+        this.turnaround = new long[GLOBAL + 1];
+        this.wait = new long[GLOBAL + 1];
+        this.directions = new int[GLOBAL + 1];
+        Arrays.fill(directions, 1);
+        this.lastCosts = new double[GLOBAL + 1];
+        Arrays.fill(lastCosts, Double.NaN);
+        this.decisions = new TuningDecision[HISTORY];
+        this.decisionCount = 0;
+        this.window = window;
+        this.minDelta = 5;
+        this.maxDelta = 15;
+        this.switchBudget = Double.MAX_VALUE;
+        this.perPriority = false;
+        this.windowStart = pm.getTick();
+        this.closed = false;
+        pm.listen(this);
+    }
+
+    public QuantumController(ProcessManager pm) {
+        this(pm, DEFAULT_WINDOW);
+    }
+
+    public synchronized void setRange(int minDelta, int maxDelta) {
+        if (minDelta <= 0 || maxDelta < minDelta) {
+            throw new IllegalArgumentException("Invalid delta range " + minDelta + ".." + maxDelta);
+        }
+        this.minDelta = minDelta;
+        this.maxDelta = maxDelta;
+    }
+
+    public synchronized int getMinDelta() {
+        return minDelta;
+    }
+
+    public synchronized int getMaxDelta() {
+        return maxDelta;
+    }
+
+    public synchronized void setSwitchBudget(double switchBudget) {
+        if (!(switchBudget > 0)) {
+            throw new IllegalArgumentException("Switch budget must be a positive number");
+        }
+        this.switchBudget = switchBudget;
+    }
+
+    public synchronized double getSwitchBudget() {
+        return switchBudget;
+    }
+
+    public void setPerPriority(boolean perPriority) {
+        synchronized (pm) {
+            synchronized (this) {
+                if (this.perPriority == perPriority) {
+                    return;
+                }
+                this.perPriority = perPriority;
+                if (!perPriority) {
+                    for (ProcessPriority priority : priorities) {
+                        pm.setDelta(priority, 0);
+                    }
+                }
+                Arrays.fill(lastCosts, Double.NaN);
+            }
+        }
+    }
+
+    public synchronized boolean isPerPriority() {
+        return perPriority;
+    }
+
+    public synchronized int getWindow() {
+        return window;
+    }
+
+    public synchronized long getDecisionCount() {
+        return decisionCount;
+    }
+
+    public synchronized TuningDecision getLastDecision() {
+        return decisionCount == 0 ? null : decisions[(int) ((decisionCount - 1) % HISTORY)];
+    }
+
+    public synchronized TuningDecision[] getDecisions() {
+        int count = (int) Math.min(decisionCount, HISTORY);
+        TuningDecision[] result = new TuningDecision[count];
+        for (int i = 0; i < count; i++) {
+            result[i] = decisions[(int) ((decisionCount - count + i) % HISTORY)];
+        }
+        return result;
+    }
+
+    @Override
+    public synchronized void onEvent(ProcessEventType type, long tick, ProcessInstance instance) {
+        if (tick - windowStart >= window) {
+            evaluate(tick);
+        }
+
+        int p = instance.info.getEffectivePriority().ordinal();
+        switch (type) {
+            case DISPATCH:
+                dispatches[p]++;
+                dispatches[GLOBAL]++;
+                break;
+            case COMPLETE:
+                long t = tick - instance.info.getStartTick();
+                long w = instance.info.getWaitTicks();
+                completed[p]++;
+                completed[GLOBAL]++;
+                turnaround[p] += t;
+                turnaround[GLOBAL] += t;
+                wait[p] += w;
+                wait[GLOBAL] += w;
+                break;
+            default:
+                break;
+        }
+    }
+
+    @Override
+    public void close() {
+        synchronized (pm) {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                pm.unlisten(this);
+                if (perPriority) {
+                    for (ProcessPriority priority : priorities) {
+                        pm.setDelta(priority, 0);
+                    }
+                }
+            }
+        }
+    }
+
+    private void evaluate(long tick) {
+        long ticks = tick - windowStart;
+        if (perPriority) {
+            for (int p = 0; p < GLOBAL; p++) {
+                tune(p, tick, ticks);
+            }
+        } else {
+            tune(GLOBAL, tick, ticks);
+        }
+        Arrays.fill(dispatches, 0);
+        Arrays.fill(completed, 0);
+        Arrays.fill(turnaround, 0);
+        Arrays.fill(wait, 0);
+        windowStart = tick;
+    }
+
+    private void tune(int lane, long tick, long ticks) {
+        if (dispatches[lane] == 0) {
+            return;
+        }
+
+        ProcessPriority priority = lane == GLOBAL ? null : priorities[lane];
+        int current = priority == null ? pm.getDelta() : pm.getDelta(priority);
+        double switchRate = (double) dispatches[lane] / ticks;
+        double switches = completed[lane] == 0 ? Double.POSITIVE_INFINITY : (double) dispatches[lane] / completed[lane];
+        double cost = completed[lane] == 0 ? Double.POSITIVE_INFINITY : (double) turnaround[lane] / completed[lane];
+        double averageWait = completed[lane] == 0 ? 0 : (double) wait[lane] / completed[lane];
+
+        TuningReason reason;
+        if (completed[lane] == 0) {
+            reason = TuningReason.STARVED;
+            directions[lane] = 1;
+        } else if (switches > switchBudget) {
+            reason = TuningReason.SWITCH_BUDGET;
+            directions[lane] = 1;
+        } else if (!Double.isNaN(lastCosts[lane]) && cost > lastCosts[lane] * (1 + TOLERANCE)) {
+            reason = TuningReason.REVERSING;
+            directions[lane] = -directions[lane];
+        } else {
+            reason = TuningReason.IMPROVING;
+        }
+        lastCosts[lane] = cost;
+
+        int next = Math.max(minDelta, Math.min(maxDelta, current + directions[lane]));
+        if (next == current && reason == TuningReason.IMPROVING) {
+            directions[lane] = -directions[lane];
+        }
+        if (next != current) {
+            if (priority == null) {
+                pm.setDelta(next);
+            } else {
+                pm.setDelta(priority, next);
+            }
+        }
+
+        decisions[(int) (decisionCount % HISTORY)] = new TuningDecision(
+            tick, priority, current, next, reason, switchRate, switches, cost, averageWait
+        );
+        decisionCount++;
+    }
+}
@@ -0,0 +1,64 @@
+package fxprocessmanager.tuning;
+
+import fxprocessmanager.process.ProcessPriority;
+
+public final class TuningDecision {
+    private final long tick;
+    private final ProcessPriority priority;
+    private final int previousDelta;
+    private final int delta;
+    private final TuningReason reason;
+    private final double switchRate;
+    private final double switchesPerCompletion;
+    private final double averageTurnaround;
+    private final double averageWait;
+
+    TuningDecision(long tick, ProcessPriority priority, int previousDelta, int delta, TuningReason reason,
+            double switchRate, double switchesPerCompletion, double averageTurnaround, double averageWait) {
+        this.tick = tick;
+        this.priority = priority;
+        this.previousDelta = previousDelta;
+        this.delta = delta;
+        this.reason = reason;
+        this.switchRate = switchRate;
+        this.switchesPerCompletion = switchesPerCompletion;
+        this.averageTurnaround = averageTurnaround;
+        this.averageWait = averageWait;
+    }
+
+    public long getTick() {
+        return tick;
+    }
+
+    public ProcessPriority getPriority() {
+        return priority;
+    }
+
+    public int getPreviousDelta() {
+        return previousDelta;
+    }
+
+    public int getDelta() {
+        return delta;
+    }
+
+    public TuningReason getReason() {
+        return reason;
+    }
+
+    public double getSwitchRate() {
+        return switchRate;
+    }
+
+    public double getSwitchesPerCompletion() {
+        return switchesPerCompletion;
+    }
+
+    public double getAverageTurnaround() {
+        return averageTurnaround;
+    }
+
+    public double getAverageWait() {
+        return averageWait;
+    }
+}
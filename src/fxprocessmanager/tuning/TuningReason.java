@@ -0,0 +1,5 @@
+package fxprocessmanager.tuning;
+
+public enum TuningReason {
+    SWITCH_BUDGET, STARVED, IMPROVING, REVERSING
+}
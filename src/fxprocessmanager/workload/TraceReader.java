@@ -0,0 +1,175 @@
+package fxprocessmanager.workload;
+
+import fxprocessmanager.process.Arrival;
+import fxprocessmanager.process.ArrivalSource;
+import fxprocessmanager.process.Process;
+import fxprocessmanager.process.ProcessPriority;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+
+public final class TraceReader implements ArrivalSource, Closeable {
+    private final InputStream in;
+    private final byte[] buffer;
+    private final Map<String, Process> catalog;
+    private final ArrayList<Process> processes;
+    private int position;
+    private int limit;
+    private long tick;
+    private long read;
+    private Arrival next;
+    private boolean exhausted;
+
+    public TraceReader(InputStream in, Process[] catalog) throws IOException {
+        if (in == null) {
+            throw new IllegalArgumentException("Trace input stream cannot be null");
+        }
+
+        this.in = in;
+        this.buffer = new byte[1 << 16];
+        this.catalog = new HashMap<>();
+        if (catalog != null) {
+            for (Process p : catalog) {
+                this.catalog.putIfAbsent(p.getName(), p);
+            }
+        }
+        this.processes = new ArrayList<>();
+        this.position = 0;
+        this.limit = 0;
+        this.tick = 0;
+        this.read = 0;
+        this.next = null;
+        this.exhausted = false;
+
+        for (byte b : TraceWriter.MAGIC) {
+            if (readByte() != b) {
+                throw new IOException("Invalid trace format");
+            }
+        }
+        if (readByte() != TraceWriter.VERSION) {
+            throw new IOException("Unsupported trace version");
+        }
+    }
+
+    public TraceReader(InputStream in) throws IOException {
+        this(in, null);
+    }
+
+    public long getRead() {
+        return read;
+    }
+
+    @Override
+    public Arrival peek() {
+        if (next == null && !exhausted) {
+            try {
+                next = readArrival();
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+        return next;
+    }
+
+    @Override
+    public Arrival poll() {
+        Arrival arrival = peek();
+        next = null;
+        return arrival;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private Arrival readArrival() throws IOException {
+        while (true) {
+            if (!fill(1)) {
+                exhausted = true;
+                return null;
+            }
+
+            long head = readVarLong();
+            if ((head & 1) != 0) {
+                int length = (int) (head >>> 1);
+                byte[] name = new byte[length];
+                for (int i = 0; i < length; i++) {
+                    name[i] = (byte) readByte();
+                }
+                String processName = new String(name, StandardCharsets.UTF_8);
+                Process process = catalog.get(processName);
+                if (process == null) {
+                    process = new Process(processName);
+                    catalog.put(processName, process);
+                }
+                processes.add(process);
+                continue;
+            }
+
+            tick += head >>> 1;
+            int index = (int) readVarLong();
+            if (index >= processes.size()) {
+                throw new IOException("Invalid trace format");
+            }
+            int flags = readByte();
+            int memoryUsage = 100 + readByte();
+            int processTime = 10 + readByte();
+            read++;
+            return new Arrival(
+                tick,
+                processes.get(index),
+                ProcessPriority.getValue(flags & 3),
+                memoryUsage,
+                processTime,
+                (flags & 4) != 0
+            );
+        }
+    }
+
+    private boolean fill(int length) throws IOException {
+        if (limit - position >= length) {
+            return true;
+        }
+
+        int remaining = limit - position;
+        System.arraycopy(buffer, position, buffer, 0, remaining);
+        position = 0;
+        limit = remaining;
+        while (limit < length) {
+            int n = in.read(buffer, limit, buffer.length - limit);
+            if (n == -1) {
+                return false;
+            }
+            limit += n;
+        }
+        return true;
+    }
+
+    private int readByte() throws IOException {
+        if (position == limit && !fill(1)) {
+            throw new IOException("Unexpected end of trace");
+        }
+        return buffer[position++] & 0xff;
+    }
+
+    private long readVarLong() throws IOException {
+        long value = 0;
+        int shift = 0;
+        int b;
+        do {
+            if (shift > 63) {
+                throw new IOException("Invalid trace format");
+            }
+            b = readByte();
+            value |= (long) (b & 0x7f) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+}
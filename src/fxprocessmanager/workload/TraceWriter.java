@@ -0,0 +1,108 @@
+package fxprocessmanager.workload;
+
+import fxprocessmanager.process.Arrival;
+import fxprocessmanager.process.ArrivalSource;
+import fxprocessmanager.process.Process;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+public final class TraceWriter implements Closeable {
+    static final byte[] MAGIC = {'F', 'X', 'P', 'T'};
+    static final int VERSION = 1;
+
+    private final OutputStream out;
+    private final byte[] buffer;
+    private final Map<Process, Integer> processIndices;
+    private int position;
+    private long lastTick;
+    private long written;
+
+    public TraceWriter(OutputStream out) throws IOException {
+        if (out == null) {
+            throw new IllegalArgumentException("Trace output stream cannot be null");
+        }
+
+        this.out = out;
+        this.buffer = new byte[1 << 16];
+        this.processIndices = new HashMap<>();
+        this.position = 0;
+        this.lastTick = 0;
+        this.written = 0;
+        out.write(MAGIC);
+        out.write(VERSION);
+    }
+
+    public long getWritten() {
+        return written;
+    }
+
+    public void write(Arrival arrival) throws IOException {
+        if (arrival.getTick() < lastTick) {
+            throw new IllegalArgumentException("Trace arrivals must be written in tick order");
+        }
+
+        Integer index = processIndices.get(arrival.getProcess());
+        if (index == null) {
+            byte[] name = arrival.getProcess().getName().getBytes(StandardCharsets.UTF_8);
+            ensure(10 + name.length);
+            writeVarLong(((long) name.length << 1) | 1);
+            System.arraycopy(name, 0, buffer, position, name.length);
+            position += name.length;
+            index = processIndices.size();
+            processIndices.put(arrival.getProcess(), index);
+        }
+
+        ensure(24);
+        writeVarLong((arrival.getTick() - lastTick) << 1);
+        writeVarLong(index);
+        buffer[position++] = (byte) (arrival.getPriority().ordinal() | (arrival.isReading() ? 4 : 0));
+        buffer[position++] = (byte) (arrival.getMemoryUsage() - 100);
+        buffer[position++] = (byte) (arrival.getProcessTime() - 10);
+        lastTick = arrival.getTick();
+        written++;
+    }
+
+    public long writeAll(ArrivalSource source) throws IOException {
+        long count = 0;
+        Arrival arrival;
+        while ((arrival = source.poll()) != null) {
+            write(arrival);
+            count++;
+        }
+        return count;
+    }
+
+    public void flush() throws IOException {
+        out.write(buffer, 0, position);
+        position = 0;
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+        out.close();
+    }
+
+    private void ensure(int length) throws IOException {
+        if (position + length > buffer.length) {
+            out.write(buffer, 0, position);
+            position = 0;
+        }
+        if (length > buffer.length) {
+            throw new IOException("Trace record too large");
+        }
+    }
+
+    private void writeVarLong(long value) {
+        while ((value & ~0x7fL) != 0) {
+            buffer[position++] = (byte) ((value & 0x7f) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+    }
+}
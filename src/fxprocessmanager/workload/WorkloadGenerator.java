@@ -0,0 +1,143 @@
+package fxprocessmanager.workload;
+
+import fxprocessmanager.process.Arrival;
+import fxprocessmanager.process.ArrivalSource;
+import fxprocessmanager.process.Process;
+import fxprocessmanager.process.ProcessPriority;
+import java.util.SplittableRandom;
+
+public final class WorkloadGenerator implements ArrivalSource {
+    private static final int MIN_MEMORY = 100;
+    private static final int MAX_MEMORY = 300;
+    private static final int MIN_TIME = 10;
+    private static final int MAX_TIME = 50;
+
+    private final Process[] catalog;
+    private final SplittableRandom random;
+    private final double arrivalRate;
+    private final long count;
+    private final double[] priorityThresholds;
+    private double readingRatio;
+    private double burstShape;
+    private double clock;
+    private long generated;
+    private Arrival next;
+
+    public WorkloadGenerator(Process[] catalog, long seed, double arrivalRate, long count) {
+        if (catalog == null || catalog.length == 0) {
+            throw new IllegalArgumentException("Workload catalog must contain at least one process");
+        }
+        if (arrivalRate <= 0) {
+            throw new IllegalArgumentException("Arrival rate must be a positive number");
+        }
+        if (count < 0) {
+            throw new IllegalArgumentException("Arrival count cannot be negative");
+        }
+
+        this.catalog = catalog.clone();
+        this.random = new SplittableRandom(seed);
+        this.arrivalRate = arrivalRate;
+        this.count = count;
+        this.priorityThresholds = new double[ProcessPriority.count];
+        this.readingRatio = 0.5;
+        this.burstShape = 1.1;
+        this.clock = 0;
+        this.generated = 0;
+        this.next = null;
+        setPriorityWeights(1, 1, 1, 1);
+    }
+
+    public void setPriorityWeights(double... weights) {
+        if (weights.length != ProcessPriority.count) {
+            throw new IllegalArgumentException("Expected one weight per process priority");
+        }
+
+        double total = 0;
+        for (double w : weights) {
+            if (w < 0) {
+                throw new IllegalArgumentException("Priority weights cannot be negative");
+            }
+            total += w;
+        }
+        if (total == 0) {
+            throw new IllegalArgumentException("At least one priority weight must be positive");
+        }
+
+        double acc = 0;
+        for (int i = 0; i < weights.length; i++) {
+            acc += weights[i] / total;
+            priorityThresholds[i] = acc;
+        }
+        priorityThresholds[weights.length - 1] = 1;
+    }
+
+    public void setReadingRatio(double readingRatio) {
+        if (readingRatio < 0 || readingRatio > 1) {
+            throw new IllegalArgumentException("Reading ratio must be a value between 0 and 1");
+        }
+        this.readingRatio = readingRatio;
+    }
+
+    public void setBurstShape(double burstShape) {
+        if (burstShape <= 0) {
+            throw new IllegalArgumentException("Burst shape must be a positive number");
+        }
+        this.burstShape = burstShape;
+    }
+
+    public void setStartTick(long startTick) {
+        if (generated > 0 || next != null) {
+            throw new IllegalStateException("Cannot move the start tick of a running generator");
+        }
+        this.clock = startTick;
+    }
+
+    public long getGenerated() {
+        return generated;
+    }
+
+    @Override
+    public Arrival peek() {
+        if (next == null && generated < count) {
+            next = generate();
+        }
+        return next;
+    }
+
+    @Override
+    public Arrival poll() {
+        Arrival arrival = peek();
+        next = null;
+        return arrival;
+    }
+
+    private Arrival generate() {
+        clock += -StrictMath.log(1 - random.nextDouble()) / arrivalRate;
+        generated++;
+        return new Arrival(
+            (long) clock + 1,
+            catalog[random.nextInt(catalog.length)],
+            nextPriority(),
+            MIN_MEMORY + random.nextInt(MAX_MEMORY - MIN_MEMORY + 1),
+            nextBurst(),
+            random.nextDouble() < readingRatio
+        );
+    }
+
+    private ProcessPriority nextPriority() {
+        double u = random.nextDouble();
+        for (int i = 0; i < priorityThresholds.length; i++) {
+            if (u < priorityThresholds[i]) {
+                return ProcessPriority.getValue(i);
+            }
+        }
+        return ProcessPriority.getValue(priorityThresholds.length - 1);
+    }
+
+    private int nextBurst() {
+        double ratio = StrictMath.pow((double) MIN_TIME / MAX_TIME, burstShape);
+        double u = random.nextDouble();
+        double burst = MIN_TIME / StrictMath.pow(1 - u * (1 - ratio), 1 / burstShape);
+        return (int) Math.min(MAX_TIME, Math.max(MIN_TIME, Math.round(burst)));
+    }
+}
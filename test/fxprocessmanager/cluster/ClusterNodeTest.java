@@ -0,0 +1,249 @@
+package fxprocessmanager.cluster;
+
+import fxprocessmanager.process.Process;
+import fxprocessmanager.process.ProcessManager;
+import fxprocessmanager.process.ProcessPriority;
+import fxprocessmanager.process.ProcessState;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.function.BooleanSupplier;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ClusterNodeTest {
+    private static final int TIMEOUT = 5000;
+
+    private ServerSocket fake;
+    private ProcessManager pm;
+    private ClusterNode node;
+
+    @Before
+    public void setUp() throws IOException {
+        fake = new ServerSocket(0, 8, InetAddress.getLoopbackAddress());
+        fake.setSoTimeout(TIMEOUT);
+        pm = new ProcessManager(5);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        if (node != null) {
+            node.close();
+        }
+        fake.close();
+        pm.destroy();
+    }
+
+    private static void await(String what, BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new AssertionError("Timed out waiting for " + what);
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    private static void populate(ProcessManager pm, int count) {
+        Process process = new Process("p");
+        for (int i = 0; i < count; i++) {
+            pm.start(process, ProcessPriority.NORMAL, 150, 50, false);
+        }
+        pm.nextTick();
+    }
+
+    private ClusterNode node(ProcessManager pm, int id) throws IOException {
+        ClusterNode node = new ClusterNode(pm, null, id, 0);
+        node.setGossipInterval(20, 2000);
+        node.setMigration(5, 4);
+        node.setTransitCost(1, 1024);
+        return node;
+    }
+
+    private Socket connect() throws IOException {
+        node = node(pm, 1);
+        node.join(fake.getLocalPort());
+        node.start();
+        Socket socket = fake.accept();
+        socket.setSoTimeout(TIMEOUT);
+        return socket;
+    }
+
+    private static void send(Socket socket, int opcode, byte[] payload) throws IOException {
+        DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+        out.writeShort(payload.length + 1);
+        out.writeByte(opcode);
+        out.write(payload);
+        out.flush();
+    }
+
+    private static byte[] receive(Socket socket, int opcode) throws IOException {
+        DataInputStream in = new DataInputStream(socket.getInputStream());
+        while (true) {
+            byte[] frame = new byte[in.readUnsignedShort()];
+            in.readFully(frame);
+            if ((frame[0] & 0xff) == opcode) {
+                return frame;
+            }
+        }
+    }
+
+    private static void writeVarLong(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7fL) != 0) {
+            out.write((int) ((value & 0x7f) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static byte[] gossip(int id, int port) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        byte[] host = InetAddress.getLoopbackAddress().getAddress();
+        out.writeShort(1);
+        out.writeInt(id);
+        out.writeByte(host.length);
+        out.write(host);
+        out.writeShort(port);
+        out.writeLong(1);
+        out.writeLong(0);
+        out.writeInt(0);
+        out.writeInt(0);
+        for (int i = 0; i < 5; i++) {
+            out.writeLong(0);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static byte[] migrate(int id, int... memoryUsages) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(0);
+        out.write(0);
+        out.write(0);
+        out.write(id);
+        out.write(0);
+        byte[] name = "remote".getBytes(StandardCharsets.UTF_8);
+        writeVarLong(out, 1);
+        writeVarLong(out, name.length);
+        out.write(name, 0, name.length);
+        writeVarLong(out, memoryUsages.length);
+        for (int memoryUsage : memoryUsages) {
+            writeVarLong(out, 0);
+            out.write(ProcessPriority.LOW.ordinal());
+            out.write(memoryUsage - 100);
+            out.write(20 - 10);
+            out.write(5);
+            writeVarLong(out, 30);
+            writeVarLong(out, 10);
+        }
+        return out.toByteArray();
+    }
+
+    private static int records(byte[] frame) {
+        int p = 1 + 4 + 1;
+        int tableSize = frame[p++];
+        for (int i = 0; i < tableSize; i++) {
+            p += 1 + frame[p];
+        }
+        return frame[p];
+    }
+
+    @Test
+    public void gossipBuildsAViewOfEveryNode() throws IOException, InterruptedException {
+        ProcessManager other = new ProcessManager(5);
+        populate(other, 3);
+        try (ClusterNode a = node(pm, 1); ClusterNode b = node(other, 2)) {
+            a.setMigration(1000, 4);
+            b.setMigration(1000, 4);
+            a.start();
+            b.start();
+            b.join(a.getPort());
+
+            await("both nodes to see each other", () -> a.getView().getAliveCount() == 2 && b.getView().getAliveCount() == 2);
+            await("the remote load", () -> a.getView().getNode(2).getInstances() == 3);
+            assertEquals(1, b.getView().getCoordinator());
+            assertTrue(a.getBytesIn() > 0 && b.getBytesIn() > 0);
+        } finally {
+            other.destroy();
+        }
+    }
+
+    @Test
+    public void migrationConservesInstancesAcrossNodes() throws IOException, InterruptedException {
+        ProcessManager other = new ProcessManager(5);
+        populate(pm, 12);
+        try (ClusterNode a = node(pm, 1); ClusterNode b = node(other, 2)) {
+            a.start();
+            b.start();
+            b.join(a.getPort());
+
+            await("the surplus to migrate", () -> other.getSnapshot().size() >= 4);
+            await("every migrated instance to land", () -> pm.getSnapshot().size() + other.getSnapshot().size() == 12);
+            assertTrue(b.getTransitTicks() >= 4);
+            assertEquals(0, a.getDropped());
+            assertEquals(0, b.getDropped());
+        } finally {
+            other.destroy();
+        }
+    }
+
+    @Test
+    public void acknowledgedTransfersAreSettled() throws IOException, InterruptedException {
+        populate(pm, 12);
+        try (Socket socket = connect()) {
+            send(socket, ClusterProtocol.GOSSIP, gossip(2, fake.getLocalPort()));
+            int count = records(receive(socket, ClusterProtocol.MIGRATE));
+            assertEquals(4, count);
+            send(socket, ClusterProtocol.ACK, new byte[0]);
+        }
+        fake.accept().close();
+
+        assertEquals(8, pm.getSnapshot().size());
+        assertEquals(0, node.getDropped());
+        assertEquals(0, node.getUnacknowledged());
+    }
+
+    @Test
+    public void writtenButUnacknowledgedTransfersAreNeitherRestoredNorDropped() throws IOException, InterruptedException {
+        populate(pm, 12);
+        try (Socket socket = connect()) {
+            send(socket, ClusterProtocol.GOSSIP, gossip(2, fake.getLocalPort()));
+            assertEquals(4, records(receive(socket, ClusterProtocol.MIGRATE)));
+        }
+        fake.accept().close();
+
+        await("the transfer to be settled", () -> node.getUnacknowledged() == 4);
+        assertEquals(8, pm.getSnapshot().size());
+        assertEquals(0, node.getDropped());
+    }
+
+    @Test
+    public void corruptBatchesAreRejectedWhole() throws IOException, InterruptedException {
+        try (Socket socket = connect()) {
+            send(socket, ClusterProtocol.MIGRATE, migrate(2, 150, 150, 350));
+            try {
+                receive(socket, ClusterProtocol.ACK);
+                throw new AssertionError("Corrupt batch was acknowledged");
+            } catch (EOFException ex) {
+            }
+        }
+        assertEquals(0, pm.getSnapshot().size());
+
+        try (Socket socket = fake.accept()) {
+            socket.setSoTimeout(TIMEOUT);
+            send(socket, ClusterProtocol.MIGRATE, migrate(2, 150, 200, 300));
+            assertEquals(1, receive(socket, ClusterProtocol.ACK).length);
+        }
+        assertEquals(3, pm.getSnapshot().size());
+        assertEquals(0, node.getDropped());
+    }
+}
@@ -0,0 +1,131 @@
+package fxprocessmanager.flow;
+
+import fxprocessmanager.process.Process;
+import fxprocessmanager.process.ProcessEventType;
+import fxprocessmanager.process.ProcessInstance;
+import fxprocessmanager.process.ProcessPriority;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.Flow;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SchedulerEventPublisherTest {
+    private static final class Recorder implements Flow.Subscriber<SchedulerEvent> {
+        private final List<String> signals = new ArrayList<>();
+        private final long initial;
+        private Flow.Subscription subscription;
+        private Throwable error;
+
+        Recorder(long initial) {
+            this.initial = initial;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            signals.add("subscribe");
+            if (initial > 0) {
+                subscription.request(initial);
+            }
+        }
+
+        @Override
+        public void onNext(SchedulerEvent item) {
+            signals.add("next " + item.getPID());
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+            signals.add("error");
+        }
+
+        @Override
+        public void onComplete() {
+            signals.add("complete");
+        }
+    }
+
+    private static ProcessInstance instance(int pid) {
+        return new ProcessInstance(new Process("p"), pid, ProcessPriority.NORMAL, 150, 20);
+    }
+
+    @Test
+    public void duplicateSubscriberGetsSubscriptionBeforeError() {
+        SchedulerEventPublisher publisher = new SchedulerEventPublisher(Runnable::run);
+        Recorder recorder = new Recorder(0);
+        publisher.subscribe(recorder);
+        publisher.subscribe(recorder);
+
+        assertEquals(3, recorder.signals.size());
+        assertEquals("subscribe", recorder.signals.get(0));
+        assertEquals("subscribe", recorder.signals.get(1));
+        assertEquals("error", recorder.signals.get(2));
+        assertEquals(1, publisher.getSubscriberCount());
+    }
+
+    @Test
+    public void blockSpillIsBoundedAndSignalsOverflow() {
+        SchedulerEventPublisher publisher = new SchedulerEventPublisher(Runnable::run);
+        Recorder recorder = new Recorder(0);
+        publisher.subscribe(recorder, 4, OverflowPolicy.BLOCK, EnumSet.allOf(ProcessEventType.class));
+
+        for (int pid = 1; pid <= 8; pid++) {
+            publisher.onEvent(ProcessEventType.RUN, pid, instance(pid));
+        }
+        assertEquals(1, recorder.signals.size());
+        assertEquals(0, publisher.getDropped());
+
+        publisher.onEvent(ProcessEventType.RUN, 9, instance(9));
+        assertEquals("error", recorder.signals.get(recorder.signals.size() - 1));
+        assertTrue(recorder.error instanceof IllegalStateException);
+        assertEquals(9, publisher.getDropped());
+        assertEquals(0, publisher.getSubscriberCount());
+
+        publisher.onEvent(ProcessEventType.RUN, 10, instance(10));
+        assertEquals(2, recorder.signals.size());
+    }
+
+    @Test
+    public void blockDeliversSpilledEventsInOrder() {
+        SchedulerEventPublisher publisher = new SchedulerEventPublisher(Runnable::run);
+        Recorder recorder = new Recorder(0);
+        publisher.subscribe(recorder, 4, OverflowPolicy.BLOCK, EnumSet.allOf(ProcessEventType.class));
+        for (int pid = 1; pid <= 8; pid++) {
+            publisher.onEvent(ProcessEventType.RUN, pid, instance(pid));
+        }
+
+        recorder.subscription.request(8);
+        assertEquals(9, recorder.signals.size());
+        for (int pid = 1; pid <= 8; pid++) {
+            assertEquals("next " + pid, recorder.signals.get(pid));
+        }
+        assertEquals(8, publisher.getPublished());
+        assertEquals(0, publisher.getDropped());
+    }
+
+    @Test
+    public void countersSurviveConcurrentPublishers() throws InterruptedException {
+        SchedulerEventPublisher publisher = new SchedulerEventPublisher(Runnable::run);
+        publisher.subscribe(new Recorder(0), 1, OverflowPolicy.DROP_OLDEST, null);
+        Thread[] threads = new Thread[4];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(() -> {
+                ProcessInstance instance = instance(1);
+                for (int n = 0; n < 10000; n++) {
+                    publisher.onEvent(ProcessEventType.RUN, n, instance);
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(40000, publisher.getPublished());
+        assertEquals(39999, publisher.getDropped());
+    }
+}
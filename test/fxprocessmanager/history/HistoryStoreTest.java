@@ -0,0 +1,86 @@
+package fxprocessmanager.history;
+
+import fxprocessmanager.process.Process;
+import fxprocessmanager.process.ProcessEventType;
+import fxprocessmanager.process.ProcessInstance;
+import fxprocessmanager.process.ProcessPriority;
+import java.util.Map;
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class HistoryStoreTest {
+    @Test
+    public void chunkCodecRoundTrips() {
+        Random random = new Random(5);
+        HistoryColumns columns = new HistoryColumns(4096);
+        long finishedAt = System.currentTimeMillis();
+        long endTick = 0;
+        for (int i = 0; i < 4096; i++) {
+            columns.pids[i] = 1 + random.nextInt(0xffff);
+            columns.groups[i] = random.nextInt(i < 10 ? 3 : 300);
+            columns.kinds[i] = (byte) random.nextInt(ProcessPriority.values().length << 1);
+            columns.processTimes[i] = 10 + random.nextInt(41);
+            columns.executed[i] = random.nextInt(Integer.MAX_VALUE);
+            endTick += random.nextInt(3) == 0 ? (long) random.nextInt(1 << 30) << 8 : random.nextInt(4);
+            columns.endTicks[i] = endTick;
+            columns.startTicks[i] = endTick - (random.nextBoolean() ? random.nextInt(100) : (long) random.nextInt(Integer.MAX_VALUE) * random.nextInt(1000));
+            columns.waitTicks[i] = random.nextBoolean() ? random.nextInt(128) : Long.MAX_VALUE >>> random.nextInt(60);
+            finishedAt += random.nextInt(5) - 1;
+            columns.finishedAt[i] = finishedAt;
+        }
+        columns.size = 4096;
+
+        HistoryChunk chunk = new HistoryChunk(columns, ProcessPriority.values().length);
+        HistoryColumns decoded = new HistoryColumns(4096);
+        chunk.decode(decoded);
+
+        assertEquals(4096, chunk.size());
+        assertEquals(4096, decoded.size);
+        assertArrayEquals(columns.pids, decoded.pids);
+        assertArrayEquals(columns.groups, decoded.groups);
+        assertArrayEquals(columns.kinds, decoded.kinds);
+        assertArrayEquals(columns.processTimes, decoded.processTimes);
+        assertArrayEquals(columns.executed, decoded.executed);
+        assertArrayEquals(columns.startTicks, decoded.startTicks);
+        assertArrayEquals(columns.endTicks, decoded.endTicks);
+        assertArrayEquals(columns.waitTicks, decoded.waitTicks);
+        assertArrayEquals(columns.finishedAt, decoded.finishedAt);
+        assertEquals(finishedAt, chunk.getNewestFinished());
+    }
+
+    @Test
+    public void evictedChunksReleaseTheirGroups() {
+        HistoryStore store = new HistoryStore(4096, Long.MAX_VALUE);
+        Process shared = new Process("shared");
+        for (int i = 0; i < 5 * 4096; i++) {
+            Process process = i % 2 == 0 ? shared : new Process("p" + i);
+            store.onEvent(ProcessEventType.COMPLETE, i, new ProcessInstance(process, 1 + i % 1000, ProcessPriority.NORMAL, 150, 20));
+        }
+
+        Map<Process, Long> groups = store.getGroupCompletions();
+        assertTrue(store.size() <= 2 * 4096);
+        assertEquals(store.size() / 2 + 1, groups.size());
+        assertEquals(store.size() / 2, (long) groups.get(shared));
+        assertEquals(store.size() / 2, store.getCompletions(shared));
+        assertEquals(5 * 4096 - store.size(), store.getEvicted());
+    }
+
+    @Test
+    public void ageRetentionAppliesToTheOpenChunkOnRead() throws InterruptedException {
+        HistoryStore store = new HistoryStore(4096, 50);
+        Process process = new Process("idle");
+        for (int i = 0; i < 10; i++) {
+            store.onEvent(ProcessEventType.STOP, i, new ProcessInstance(process, 1 + i, ProcessPriority.LOW, 150, 20));
+        }
+        assertEquals(10, store.size());
+
+        Thread.sleep(200);
+        assertEquals(0, store.size());
+        assertEquals(10, store.getEvicted());
+        assertTrue(store.getGroupCompletions().isEmpty());
+        assertEquals(0, store.getStopped(ProcessPriority.LOW));
+    }
+}
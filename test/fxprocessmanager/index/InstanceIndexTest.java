@@ -0,0 +1,161 @@
+package fxprocessmanager.index;
+
+import fxprocessmanager.process.InstanceSnapshot;
+import fxprocessmanager.process.Process;
+import fxprocessmanager.process.ProcessInstance;
+import fxprocessmanager.process.ProcessManager;
+import fxprocessmanager.process.ProcessPriority;
+import fxprocessmanager.process.ProcessSnapshot;
+import fxprocessmanager.process.ProcessState;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import org.junit.Test;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class InstanceIndexTest {
+    private static final String[] names = {"a", "ab", "abc", "b", "ba", "bash", "c"};
+
+    private static boolean matches(InstanceFilter filter, InstanceSnapshot s) {
+        return (filter.getStates() == null || filter.getStates().contains(s.getState()))
+            && (filter.getPriorities() == null || filter.getPriorities().contains(s.getPriority()))
+            && (filter.getNamePrefix() == null || s.getProcess().getName().startsWith(filter.getNamePrefix()))
+            && (filter.getPaused() == null || filter.getPaused() == s.isPaused())
+            && (filter.getReading() == null || filter.getReading() == s.isReading());
+    }
+
+    private static int[] scan(ProcessSnapshot snapshot, InstanceFilter filter) {
+        return Arrays.stream(snapshot.toArray()).filter(s -> matches(filter, s)).mapToInt(InstanceSnapshot::getPID).sorted().toArray();
+    }
+
+    private static <E extends Enum<E>> EnumSet<E> pick(Random random, Class<E> type) {
+        EnumSet<E> set = EnumSet.noneOf(type);
+        for (E value : type.getEnumConstants()) {
+            if (random.nextBoolean()) {
+                set.add(value);
+            }
+        }
+        return set;
+    }
+
+    private static Boolean flag(Random random) {
+        int choice = random.nextInt(3);
+        return choice == 0 ? null : choice == 1;
+    }
+
+    @Test
+    public void selectMatchesFullScanAcrossUpdates() {
+        ProcessManager pm = new ProcessManager(5);
+        Process[] processes = new Process[names.length];
+        for (int i = 0; i < names.length; i++) {
+            processes[i] = new Process(names[i]);
+        }
+        ProcessPriority[] priorities = ProcessPriority.values();
+        List<ProcessInstance> live = new ArrayList<>();
+        InstanceIndex index = new InstanceIndex();
+        Random random = new Random(11);
+
+        for (int round = 0; round < 100; round++) {
+            for (int i = 0; i < 10; i++) {
+                int action = random.nextInt(4);
+                if (action < 2 || live.isEmpty()) {
+                    Process process = processes[random.nextInt(processes.length)];
+                    live.add(pm.start(process, priorities[random.nextInt(priorities.length)], 100 + random.nextInt(200), 10 + random.nextInt(41), random.nextBoolean()));
+                } else if (action == 2) {
+                    pm.stop(live.remove(random.nextInt(live.size())));
+                } else {
+                    ProcessInstance instance = live.get(random.nextInt(live.size()));
+                    if (pm.isPaused(instance)) {
+                        pm.resume(instance);
+                    } else {
+                        pm.pause(instance);
+                    }
+                }
+            }
+            for (int ticks = random.nextInt(5); ticks > 0; ticks--) {
+                pm.nextTick();
+            }
+            live.removeIf(instance -> pm.getInstance(instance.getPID()) != instance);
+
+            ProcessSnapshot snapshot = pm.getSnapshot();
+            index.update(snapshot);
+            assertSame(snapshot, index.getSnapshot());
+            assertEquals(snapshot.size(), index.size());
+
+            for (int query = 0; query < 20; query++) {
+                InstanceFilter filter = new InstanceFilter();
+                if (random.nextBoolean()) {
+                    filter.setStates(pick(random, ProcessState.class));
+                }
+                if (random.nextBoolean()) {
+                    filter.setPriorities(pick(random, ProcessPriority.class));
+                }
+                if (random.nextBoolean()) {
+                    String name = names[random.nextInt(names.length)];
+                    filter.setNamePrefix(name.substring(0, 1 + random.nextInt(name.length())));
+                }
+                filter.setPaused(flag(random));
+                filter.setReading(flag(random));
+                assertArrayEquals(scan(snapshot, filter), index.select(filter));
+            }
+        }
+        pm.destroy();
+    }
+
+    @Test
+    public void updateReportsChangesOnce() {
+        ProcessManager pm = new ProcessManager(5);
+        ProcessInstance a = pm.start(new Process("a"), ProcessPriority.LOW, 150, 20, false);
+        ProcessInstance b = pm.start(new Process("b"), ProcessPriority.HIGH, 150, 20, false);
+        InstanceIndex index = new InstanceIndex();
+        List<String> changes = new ArrayList<>();
+        index.update(pm.getSnapshot(), (before, after) -> changes.add((before == null ? "-" : "" + before.getPID()) + ">" + (after == null ? "-" : "" + after.getPID())));
+        assertEquals(2, changes.size());
+
+        changes.clear();
+        ProcessSnapshot same = index.getSnapshot();
+        index.update(same, (before, after) -> changes.add("unexpected"));
+        assertTrue(changes.isEmpty());
+
+        pm.stop(a);
+        pm.pause(b);
+        index.update(pm.getSnapshot(), (before, after) -> changes.add((before == null ? "-" : "" + before.getPID()) + ">" + (after == null ? "-" : "" + after.getPID())));
+        assertEquals(new HashSet<>(Arrays.asList(a.getPID() + ">-", b.getPID() + ">" + b.getPID())), new HashSet<>(changes));
+        assertEquals(1, index.size());
+
+        InstanceFilter paused = new InstanceFilter();
+        paused.setPaused(true);
+        assertArrayEquals(new int[] {b.getPID()}, index.select(paused));
+        InstanceFilter named = new InstanceFilter();
+        named.setNamePrefix("a");
+        assertEquals(0, index.select(named).length);
+        pm.destroy();
+    }
+
+    @Test
+    public void filterNormalisesItsCriteria() {
+        InstanceFilter filter = new InstanceFilter();
+        assertTrue(filter.isEmpty());
+        filter.setNamePrefix("");
+        assertNull(filter.getNamePrefix());
+        assertTrue(filter.isEmpty());
+
+        Set<ProcessState> states = EnumSet.of(ProcessState.READY);
+        filter.setStates(states);
+        states.add(ProcessState.EXECUTING);
+        assertEquals(EnumSet.of(ProcessState.READY), filter.getStates());
+        filter.setStates(null);
+        filter.setReading(false);
+        assertTrue(!filter.isEmpty());
+        filter.setReading(null);
+        assertTrue(filter.isEmpty());
+    }
+}
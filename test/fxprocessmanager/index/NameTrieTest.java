@@ -0,0 +1,61 @@
+package fxprocessmanager.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import org.junit.Test;
+import static org.junit.Assert.assertArrayEquals;
+
+public class NameTrieTest {
+    private static int[] collect(NameTrie trie, String prefix) {
+        ArrayList<NameTrie.Group> groups = new ArrayList<>();
+        trie.collect(prefix, groups);
+        ArrayList<Integer> pids = new ArrayList<>();
+        for (NameTrie.Group group : groups) {
+            for (int i = 0; i < group.size(); i++) {
+                pids.add(group.get(i));
+            }
+        }
+        int[] result = pids.stream().mapToInt(Integer::intValue).toArray();
+        Arrays.sort(result);
+        return result;
+    }
+
+    @Test
+    public void collectsEveryNameUnderAPrefix() {
+        NameTrie trie = new NameTrie(16);
+        trie.add(1, "bash");
+        trie.add(2, "ba");
+        trie.add(3, "b");
+        trie.add(4, "cat");
+        trie.add(5, "bash");
+
+        assertArrayEquals(new int[] {1, 2, 3, 5}, collect(trie, "b"));
+        assertArrayEquals(new int[] {1, 2, 5}, collect(trie, "ba"));
+        assertArrayEquals(new int[] {1, 5}, collect(trie, "bash"));
+        assertArrayEquals(new int[0], collect(trie, "bashful"));
+        assertArrayEquals(new int[0], collect(trie, "d"));
+        assertArrayEquals(new int[] {1, 2, 3, 4, 5}, collect(trie, ""));
+    }
+
+    @Test
+    public void removeSwapsTheLastPidIntoTheFreedSlot() {
+        NameTrie trie = new NameTrie(16);
+        for (int pid = 1; pid <= 6; pid++) {
+            trie.add(pid, "same");
+        }
+        trie.remove(2);
+        trie.remove(6);
+        trie.remove(2);
+        assertArrayEquals(new int[] {1, 3, 4, 5}, collect(trie, "sa"));
+
+        trie.remove(1);
+        trie.add(2, "same");
+        trie.add(6, "other");
+        assertArrayEquals(new int[] {2, 3, 4, 5}, collect(trie, "same"));
+        assertArrayEquals(new int[] {6}, collect(trie, "o"));
+        for (int pid = 2; pid <= 5; pid++) {
+            trie.remove(pid);
+        }
+        assertArrayEquals(new int[0], collect(trie, "s"));
+    }
+}
@@ -0,0 +1,92 @@
+package fxprocessmanager.process;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class EventReplayerTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path record(ProcessManager pm, int ticks) throws IOException {
+        Path file = folder.newFile().toPath();
+        try (EventRecorder recorder = new EventRecorder(file, EventRecorder.MIN_SEGMENT_SIZE, 2)) {
+            recorder.attach(pm);
+            for (int i = 0; i < ticks; i++) {
+                pm.nextTick();
+            }
+        }
+        return file;
+    }
+
+    @Test
+    public void rebuildRestoresLiveInstances() throws IOException {
+        ProcessManager pm = new ProcessManager(5);
+        Process process = new Process("worker");
+        pm.start(process, ProcessPriority.LOW, 150, 40, false);
+        Path file = folder.newFile().toPath();
+        try (EventRecorder recorder = new EventRecorder(file, EventRecorder.MIN_SEGMENT_SIZE, 2)) {
+            recorder.attach(pm);
+            pm.start(process, ProcessPriority.HIGH, 200, 50, false);
+            pm.start(process, ProcessPriority.NORMAL, 120, 30, true);
+            for (int i = 0; i < 6; i++) {
+                pm.nextTick();
+            }
+        }
+
+        try (EventReplayer replayer = new EventReplayer(file)) {
+            assertTrue(replayer.isRebuildable());
+            ProcessManager rebuilt = replayer.rebuild(pm.getTick(), 5);
+            assertEquals(pm.getInstanceCount(), rebuilt.getInstanceCount());
+            for (ProcessInstance pi : pm.getInstances()) {
+                ProcessInstance copy = rebuilt.getInstance(pi.getPID());
+                assertEquals(pi.info.getState(), copy.info.getState());
+                assertEquals(pi.info.getExecuted(), copy.info.getExecuted());
+                assertEquals(pi.getPriority(), copy.getPriority());
+            }
+            rebuilt.destroy();
+        }
+        pm.destroy();
+    }
+
+    @Test
+    public void rebuildRefusesLogsWithLockActivity() throws IOException {
+        ProcessManager pm = new ProcessManager(5);
+        ResourceLock mutex = pm.getLockManager().createMutex("mutex", LockProtocol.INHERITANCE);
+        ProcessInstance instance = pm.start(new Process("locker"), ProcessPriority.LOW, 150, 40, false);
+        pm.setLockPlan(instance, LockOperation.acquire(0, mutex), LockOperation.release(20, mutex));
+        Path file = record(pm, 6);
+
+        try (EventReplayer replayer = new EventReplayer(file)) {
+            assertFalse(replayer.isRebuildable());
+            replayer.rebuild(pm.getTick(), 5);
+            fail("A log with lock activity must not be rebuilt");
+        } catch (IllegalStateException ex) {
+            assertTrue(ex.getMessage().contains("lock"));
+        }
+        pm.destroy();
+    }
+
+    @Test
+    public void rebuildRefusesFairLogs() throws IOException {
+        ProcessManager pm = new ProcessManager(5);
+        pm.setSchedulingPolicy(SchedulingPolicy.FAIR);
+        pm.start(new Process("fair"), ProcessPriority.HIGHEST, 150, 40, false);
+        Path file = record(pm, 6);
+
+        try (EventReplayer replayer = new EventReplayer(file)) {
+            assertFalse(replayer.isRebuildable());
+            replayer.rebuild(pm.getTick(), 5);
+            fail("A log recorded under the fair policy must not be rebuilt");
+        } catch (IllegalStateException ex) {
+            assertTrue(ex.getMessage().contains("fair"));
+        }
+        pm.destroy();
+    }
+}
@@ -0,0 +1,65 @@
+package fxprocessmanager.process;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class FairQueueTest {
+    @Test
+    public void retiredGroupsAreDropped() {
+        FairQueue queue = new FairQueue();
+        for (int pid = 1; pid <= 1000; pid++) {
+            ProcessInstance instance = new ProcessInstance(new Process("p" + pid), pid, ProcessPriority.NORMAL, 150, 20);
+            queue.admit(instance);
+            queue.add(instance);
+            assertSame(instance, queue.poll());
+            queue.charge(instance, pid, 1);
+            queue.retire(instance);
+        }
+        assertEquals(0, queue.getGroupCount());
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    public void groupsWithLiveMembersOrSettingsAreKept() {
+        FairQueue queue = new FairQueue();
+        Process shared = new Process("shared");
+        Process weighted = new Process("weighted");
+        ProcessInstance a = new ProcessInstance(shared, 1, ProcessPriority.NORMAL, 150, 20);
+        ProcessInstance b = new ProcessInstance(shared, 2, ProcessPriority.NORMAL, 150, 20);
+        ProcessInstance c = new ProcessInstance(weighted, 3, ProcessPriority.NORMAL, 150, 20);
+        queue.setShares(weighted, 2048);
+        queue.admit(a);
+        queue.admit(b);
+        queue.admit(c);
+        queue.add(b);
+
+        queue.retire(a);
+        assertEquals(2, queue.getGroupCount());
+        queue.retire(c);
+        assertEquals(2, queue.getGroupCount());
+        assertEquals(2048, queue.getShares(weighted));
+
+        assertSame(b, queue.poll());
+        queue.retire(b);
+        queue.setShares(weighted, FairQueue.DEFAULT_SHARES);
+        assertEquals(0, queue.getGroupCount());
+    }
+
+    @Test
+    public void managerDropsGroupsOfFinishedProcesses() {
+        ProcessManager pm = new ProcessManager(5);
+        pm.setSchedulingPolicy(SchedulingPolicy.FAIR);
+        for (int i = 0; i < 50; i++) {
+            pm.start(new Process("job" + i), ProcessPriority.NORMAL, 150, 10, false);
+        }
+        ProcessInstance stopped = pm.start(new Process("stopped"), ProcessPriority.LOW, 150, 10, false);
+        pm.stop(stopped);
+        for (int i = 0; i < 1000 && pm.getInstanceCount() > 0; i++) {
+            pm.nextTick();
+        }
+        assertEquals(0, pm.getInstanceCount());
+        assertEquals(0, pm.getGroupCount());
+        pm.destroy();
+    }
+}
@@ -0,0 +1,65 @@
+package fxprocessmanager.process;
+
+import java.util.Arrays;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class LockManagerTest {
+    @Test
+    public void releaseLowersEveryRemainingHolder() {
+        ProcessManager pm = new ProcessManager(5);
+        Process process = new Process("holder");
+        synchronized (pm) {
+            LockManager locks = pm.getLockManager();
+            ResourceLock semaphore = locks.createSemaphore("pool", 2, LockProtocol.INHERITANCE);
+            ProcessInstance a = pm.start(process, ProcessPriority.LOW, 150, 20, false);
+            ProcessInstance b = pm.start(process, ProcessPriority.LOW, 150, 20, false);
+            ProcessInstance w = pm.start(process, ProcessPriority.HIGH, 150, 20, false);
+
+            assertTrue(locks.acquire(a, semaphore));
+            assertTrue(locks.acquire(b, semaphore));
+            assertFalse(locks.acquire(w, semaphore));
+            assertEquals(ProcessPriority.HIGH, a.info.getEffectivePriority());
+            assertEquals(ProcessPriority.HIGH, b.info.getEffectivePriority());
+
+            assertEquals(Arrays.asList(w), locks.release(a, semaphore));
+            assertEquals(0, semaphore.getWaiterCount());
+            assertEquals(ProcessPriority.LOW, a.info.getEffectivePriority());
+            assertEquals(ProcessPriority.LOW, b.info.getEffectivePriority());
+            assertEquals(ProcessPriority.HIGH, w.info.getEffectivePriority());
+        }
+        pm.destroy();
+    }
+
+    @Test
+    public void releaseKeepsBoostFromRemainingWaiters() {
+        ProcessManager pm = new ProcessManager(5);
+        Process process = new Process("holder");
+        synchronized (pm) {
+            LockManager locks = pm.getLockManager();
+            ResourceLock semaphore = locks.createSemaphore("pool", 2, LockProtocol.INHERITANCE);
+            ProcessInstance a = pm.start(process, ProcessPriority.LOW, 150, 20, false);
+            ProcessInstance b = pm.start(process, ProcessPriority.LOW, 150, 20, false);
+            ProcessInstance high = pm.start(process, ProcessPriority.HIGH, 150, 20, false);
+            ProcessInstance normal = pm.start(process, ProcessPriority.NORMAL, 150, 20, false);
+
+            assertTrue(locks.acquire(a, semaphore));
+            assertTrue(locks.acquire(b, semaphore));
+            assertFalse(locks.acquire(high, semaphore));
+            assertFalse(locks.acquire(normal, semaphore));
+
+            assertEquals(Arrays.asList(high), locks.release(a, semaphore));
+            assertEquals(ProcessPriority.LOW, a.info.getEffectivePriority());
+            assertEquals(ProcessPriority.NORMAL, b.info.getEffectivePriority());
+            assertEquals(ProcessPriority.HIGH, high.info.getEffectivePriority());
+
+            assertEquals(Arrays.asList(normal), locks.release(b, semaphore));
+            assertEquals(ProcessPriority.LOW, b.info.getEffectivePriority());
+            assertEquals(ProcessPriority.HIGH, high.info.getEffectivePriority());
+            assertEquals(ProcessPriority.NORMAL, normal.info.getEffectivePriority());
+        }
+        pm.destroy();
+    }
+}
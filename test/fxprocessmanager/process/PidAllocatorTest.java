@@ -0,0 +1,98 @@
+package fxprocessmanager.process;
+
+import java.util.BitSet;
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+
+public class PidAllocatorTest {
+    private static void fill(PidAllocator allocator) {
+        while (allocator.allocate() >= 0) {
+        }
+        assertEquals(PidAllocator.MAX_PID, allocator.size());
+    }
+
+    @Test
+    public void allocatesRoundRobinAndWrapsAround() {
+        PidAllocator allocator = new PidAllocator();
+        assertEquals(1, allocator.allocate());
+        assertEquals(2, allocator.allocate());
+        allocator.release(1);
+        assertEquals(3, allocator.allocate());
+
+        allocator.setLast(PidAllocator.MAX_PID - 1);
+        assertEquals(PidAllocator.MAX_PID, allocator.allocate());
+        assertEquals(1, allocator.allocate());
+        assertEquals(4, allocator.allocate());
+    }
+
+    @Test
+    public void findSkipsFullWordsThroughTheSummary() {
+        PidAllocator allocator = new PidAllocator();
+        fill(allocator);
+        assertEquals(-1, allocator.allocate());
+
+        allocator.release(70);
+        allocator.release(64 * 64 * 3 + 5);
+        allocator.release(PidAllocator.MAX_PID);
+        allocator.setLast(0);
+        assertEquals(70, allocator.allocate());
+        assertEquals(64 * 64 * 3 + 5, allocator.allocate());
+        assertEquals(PidAllocator.MAX_PID, allocator.allocate());
+        assertEquals(-1, allocator.allocate());
+
+        allocator.release(63);
+        allocator.release(64);
+        allocator.setLast(63);
+        assertEquals(64, allocator.allocate());
+        assertEquals(63, allocator.allocate());
+    }
+
+    @Test
+    public void wrapsFromTheLastWordToTheFirstFreePid() {
+        PidAllocator allocator = new PidAllocator();
+        fill(allocator);
+        allocator.release(5);
+        allocator.release(9);
+        assertEquals(PidAllocator.MAX_PID, allocator.getLast());
+        assertEquals(5, allocator.allocate());
+
+        allocator.setLast(PidAllocator.MAX_PID - 3);
+        assertEquals(9, allocator.allocate());
+        assertEquals(-1, allocator.allocate());
+    }
+
+    @Test
+    public void matchesABitSetReference() {
+        Random random = new Random(31);
+        PidAllocator allocator = new PidAllocator();
+        BitSet used = new BitSet();
+        int last = 0;
+        for (int step = 0; step < 200000; step++) {
+            if (random.nextInt(3) > 0 || used.isEmpty()) {
+                int expected = used.nextClearBit(last == PidAllocator.MAX_PID ? 1 : last + 1);
+                if (expected > PidAllocator.MAX_PID) {
+                    expected = used.nextClearBit(1);
+                }
+                if (expected > PidAllocator.MAX_PID) {
+                    expected = -1;
+                } else {
+                    used.set(expected);
+                    last = expected;
+                }
+                assertEquals(expected, allocator.allocate());
+            } else {
+                int pid = 1 + random.nextInt(PidAllocator.MAX_PID);
+                if (random.nextBoolean()) {
+                    pid = used.nextSetBit(pid);
+                    if (pid < 0) {
+                        pid = used.nextSetBit(1);
+                    }
+                }
+                allocator.release(pid);
+                used.clear(pid);
+            }
+            assertEquals(used.cardinality(), allocator.size());
+        }
+    }
+}
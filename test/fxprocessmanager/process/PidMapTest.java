@@ -0,0 +1,114 @@
+package fxprocessmanager.process;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class PidMapTest {
+    private static Map<Integer, String[]> diff(PidMap<String> before, PidMap<String> after) {
+        HashMap<Integer, String[]> changes = new HashMap<>();
+        after.diff(before, (old, current) -> {
+            String value = current == null ? old : current;
+            int pid = Integer.parseInt(value.substring(0, value.indexOf(':')));
+            changes.put(pid, new String[] {old, current});
+        });
+        return changes;
+    }
+
+    @Test
+    public void diffMatchesReferenceMap() {
+        Random random = new Random(7);
+        PidMap<String> map = PidMap.empty();
+        HashMap<Integer, String> reference = new HashMap<>();
+        for (int round = 0; round < 200; round++) {
+            PidMap<String> before = map;
+            HashMap<Integer, String> expected = new HashMap<>(reference);
+            for (int i = 0; i < 50; i++) {
+                int pid = 1 + random.nextInt(PidAllocator.MAX_PID);
+                if (random.nextInt(3) == 0 && !reference.isEmpty()) {
+                    pid = new ArrayList<>(reference.keySet()).get(random.nextInt(reference.size()));
+                    map = map.remove(pid);
+                    reference.remove(pid);
+                } else {
+                    String value = pid + ":" + round + "." + i;
+                    map = map.put(pid, value);
+                    reference.put(pid, value);
+                }
+            }
+
+            assertEquals(reference.size(), map.size());
+            for (Map.Entry<Integer, String> e : reference.entrySet()) {
+                assertEquals(e.getValue(), map.get(e.getKey()));
+            }
+            Map<Integer, String[]> changes = diff(before, map);
+            for (Map.Entry<Integer, String[]> e : changes.entrySet()) {
+                assertEquals(expected.get(e.getKey()), e.getValue()[0]);
+                assertEquals(reference.get(e.getKey()), e.getValue()[1]);
+            }
+            HashMap<Integer, String> all = new HashMap<>(expected);
+            all.putAll(reference);
+            for (Integer pid : all.keySet()) {
+                boolean changed = expected.get(pid) != reference.get(pid);
+                assertEquals("pid " + pid, changed, changes.containsKey(pid));
+            }
+        }
+    }
+
+    @Test
+    public void diffReportsReusedPidAsChange() {
+        PidMap<String> before = PidMap.<String>empty().put(1, "1:a").put(17, "17:b");
+        PidMap<String> after = before.remove(1).put(1, "1:c");
+        Map<Integer, String[]> changes = diff(before, after);
+        assertEquals(1, changes.size());
+        assertEquals("1:a", changes.get(1)[0]);
+        assertEquals("1:c", changes.get(1)[1]);
+        assertTrue(diff(after, after).isEmpty());
+    }
+
+    @Test
+    public void snapshotDiffSurvivesInstanceRecycling() {
+        ProcessManager pm = new ProcessManager(5);
+        pm.setRecycling(true);
+        Process first = new Process("first");
+        Process second = new Process("second");
+
+        ProcessInstance a = pm.start(first, ProcessPriority.HIGH, 150, 20, false);
+        ProcessSnapshot started = pm.getSnapshot();
+        InstanceSnapshot before = started.get(a.getPID());
+        long hash = before.getHash();
+        pm.stop(a);
+        ProcessSnapshot stopped = pm.getSnapshot();
+        ProcessInstance b = pm.start(second, ProcessPriority.LOW, 250, 40, false);
+        ProcessSnapshot restarted = pm.getSnapshot();
+
+        assertSame(a, b);
+        assertNull(stopped.get(before.getPID()));
+        assertSame(first, before.getProcess());
+        assertEquals(150, before.getMemoryUsage());
+        assertEquals(20, before.getProcessTime());
+        assertEquals(hash, before.getHash());
+
+        HashMap<Integer, InstanceSnapshot[]> changes = new HashMap<>();
+        restarted.diff(started, (old, current) -> {
+            int pid = current == null ? old.getPID() : current.getPID();
+            changes.put(pid, new InstanceSnapshot[] {old, current});
+        });
+        InstanceSnapshot after = restarted.get(b.getPID());
+        assertEquals(before.getPID() + 1, b.getPID());
+        assertEquals(2, changes.size());
+        assertSame(before, changes.get(before.getPID())[0]);
+        assertNull(changes.get(before.getPID())[1]);
+        assertNull(changes.get(b.getPID())[0]);
+        assertSame(after, changes.get(b.getPID())[1]);
+        assertSame(second, after.getProcess());
+        assertEquals(250, after.getMemoryUsage());
+        assertEquals(40, after.getProcessTime());
+        pm.destroy();
+    }
+}
@@ -0,0 +1,72 @@
+package fxprocessmanager.process;
+
+import fxprocessmanager.workload.WorkloadGenerator;
+import java.util.ArrayList;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ProcessSimulatorTest {
+    private static final Process[] catalog = {new Process("a"), new Process("b"), new Process("c")};
+
+    private static final class Run {
+        private final ArrayList<Long> events = new ArrayList<>();
+        private ProcessManagerStats stats;
+        private long steps;
+        private long tick;
+    }
+
+    private static Run run(SimulationMode mode, long seed, boolean pressure) {
+        ProcessManager pm = new ProcessManager(5);
+        if (pressure) {
+            pm.setIOSubsystem(new IOSubsystem(
+                new IODevice("disk", IODiscipline.SCAN, ServiceTimeDistribution.exponential(3), 64, 8, seed),
+                new IODevice("net", IODiscipline.FCFS, ServiceTimeDistribution.uniform(1, 6), 1, 1, seed + 1)
+            ));
+            pm.setMemoryManager(new MemoryManager(1200, EvictionPolicy.CLOCK, 2));
+        }
+
+        Run run = new Run();
+        pm.listen((type, tick, instance) -> run.events.add((tick << 24) | ((long) type.ordinal() << 16) | instance.getPID()));
+        ProcessSimulator simulator = new ProcessSimulator(pm, mode);
+        WorkloadGenerator generator = new WorkloadGenerator(catalog, seed, 0.02, 2000);
+        generator.setReadingRatio(0.4);
+        simulator.addSource(generator);
+        simulator.run(Long.MAX_VALUE);
+        run.stats = pm.getStats();
+        run.steps = simulator.getSteps();
+        run.tick = pm.getTick();
+        pm.destroy();
+        return run;
+    }
+
+    private static void assertEquivalent(long seed, boolean pressure) {
+        Run tick = run(SimulationMode.TICK, seed, pressure);
+        Run des = run(SimulationMode.DISCRETE_EVENT, seed, pressure);
+
+        assertEquals(tick.tick, des.tick);
+        assertEquals(tick.events, des.events);
+        assertEquals(tick.stats.getTicks(), des.stats.getTicks());
+        assertEquals(tick.stats.getBusyTicks(), des.stats.getBusyTicks());
+        assertEquals(tick.stats.getStarted(), des.stats.getStarted());
+        assertEquals(tick.stats.getCompleted(), des.stats.getCompleted());
+        assertEquals(tick.stats.getDispatches(), des.stats.getDispatches());
+        assertEquals(tick.stats.getTotalTurnaround(), des.stats.getTotalTurnaround());
+        assertEquals(tick.stats.getTotalWait(), des.stats.getTotalWait());
+        assertTrue("discrete-event mode should skip idle ticks", des.steps < tick.steps);
+    }
+
+    @Test
+    public void discreteEventMatchesTickMode() {
+        for (long seed = 1; seed <= 3; seed++) {
+            assertEquivalent(seed, false);
+        }
+    }
+
+    @Test
+    public void discreteEventMatchesTickModeWithDevicesAndMemoryPressure() {
+        for (long seed = 1; seed <= 3; seed++) {
+            assertEquivalent(seed, true);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package fxprocessmanager.process;
+
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.assertArrayEquals;
+
+public class RadixSortTest {
+    private static long[] reference(long[] values, int shift, int bits) {
+        long mask = (1L << bits) - 1;
+        return Arrays.stream(values).boxed()
+            .sorted((a, b) -> Long.compare((b >>> shift) & mask, (a >>> shift) & mask))
+            .mapToLong(Long::longValue)
+            .toArray();
+    }
+
+    @Test
+    public void sortsKeysDescendingAndKeepsTiesInInputOrder() {
+        Random random = new Random(23);
+        for (int length : new int[] {0, 1, 2, 7, 4096, 10000}) {
+            long[] values = new long[length];
+            for (int i = 0; i < length; i++) {
+                long key = random.nextInt(8) == 0 ? random.nextInt(4) : random.nextInt(1 << 24);
+                values[i] = (key << 32) | i;
+            }
+            long[] expected = reference(values, 32, 24);
+            RadixSort.descending(values, length, 32, 24);
+            assertArrayEquals(expected, values);
+        }
+    }
+
+    @Test
+    public void sortsOnlyThePrefixAndSingleDigitKeys() {
+        Random random = new Random(29);
+        long[] values = new long[300];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = ((long) random.nextInt(1 << 12) << 20) | i;
+        }
+        long[] original = values.clone();
+        RadixSort.descending(values, 200, 20, 12);
+
+        long[] expected = reference(Arrays.copyOf(original, 200), 20, 12);
+        assertArrayEquals(expected, Arrays.copyOf(values, 200));
+        assertArrayEquals(Arrays.copyOfRange(original, 200, 300), Arrays.copyOfRange(values, 200, 300));
+    }
+}
@@ -0,0 +1,102 @@
+package fxprocessmanager.process;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ReadyHeapTest {
+    private static final ProcessPriority[] priorities = ProcessPriority.values();
+    private static final Comparator<ProcessInstance> order = Comparator.comparingLong((ProcessInstance instance) -> instance.info.getEffectiveHash()).reversed();
+
+    private static ProcessInstance instance(Random random, int pid) {
+        return new ProcessInstance(new Process("p"), pid, priorities[random.nextInt(priorities.length)], 150, 10 + random.nextInt(41));
+    }
+
+    @Test
+    public void matchesASortedReference() {
+        Random random = new Random(17);
+        ReadyHeap heap = new ReadyHeap();
+        List<ProcessInstance> reference = new ArrayList<>();
+        List<ProcessInstance> idle = new ArrayList<>();
+        for (int pid = 1; pid <= 500; pid++) {
+            idle.add(instance(random, pid));
+        }
+
+        for (int step = 0; step < 20000; step++) {
+            int action = random.nextInt(5);
+            if (action < 2 && !idle.isEmpty()) {
+                ProcessInstance instance = idle.remove(random.nextInt(idle.size()));
+                assertTrue(heap.add(instance));
+                assertFalse(heap.add(instance));
+                reference.add(instance);
+            } else if (action == 2 && !reference.isEmpty()) {
+                ProcessInstance instance = reference.remove(random.nextInt(reference.size()));
+                assertTrue(heap.remove(instance));
+                assertFalse(heap.remove(instance));
+                idle.add(instance);
+            } else if (action == 3 && !reference.isEmpty()) {
+                ProcessInstance instance = reference.get(random.nextInt(reference.size()));
+                instance.info.setEffectivePriority(priorities[random.nextInt(priorities.length)]);
+                heap.update(instance);
+            } else {
+                reference.sort(order);
+                ProcessInstance top = heap.poll();
+                if (reference.isEmpty()) {
+                    assertNull(top);
+                } else {
+                    assertSame(reference.remove(0), top);
+                    assertFalse(heap.contains(top));
+                    idle.add(top);
+                }
+            }
+            assertEquals(reference.size(), heap.size());
+        }
+
+        reference.sort(order);
+        assertArrayEquals(reference.toArray(), heap.sorted());
+        for (ProcessInstance instance : reference) {
+            assertSame(instance, heap.poll());
+        }
+        assertTrue(heap.isEmpty());
+    }
+
+    @Test
+    public void updateSiftsInTheDirectionOfTheKeyChange() {
+        ReadyHeap heap = new ReadyHeap();
+        ProcessInstance[] instances = new ProcessInstance[15];
+        for (int i = 0; i < instances.length; i++) {
+            instances[i] = new ProcessInstance(new Process("p"), i + 1, ProcessPriority.NORMAL, 150, 20);
+            heap.add(instances[i]);
+        }
+        ProcessInstance top = heap.peek();
+        assertSame(instances[0], top);
+
+        ProcessInstance leaf = instances[instances.length - 1];
+        assertTrue(leaf.info.getQueueIndex() >= instances.length / 2);
+        leaf.info.setEffectivePriority(ProcessPriority.HIGHEST);
+        heap.update(leaf);
+        assertSame(leaf, heap.peek());
+        assertEquals(0, leaf.info.getQueueIndex());
+
+        leaf.info.setEffectivePriority(ProcessPriority.LOW);
+        heap.update(leaf);
+        assertSame(top, heap.peek());
+        assertTrue(leaf.info.getQueueIndex() >= instances.length / 2);
+        ProcessInstance[] sorted = heap.sorted();
+        assertSame(leaf, sorted[sorted.length - 1]);
+
+        heap.clear();
+        assertEquals(-1, top.info.getQueueIndex());
+        assertTrue(heap.isEmpty());
+        assertNull(heap.peek());
+        assertFalse(heap.remove(top));
+    }
+}
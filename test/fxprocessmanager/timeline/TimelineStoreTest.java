@@ -0,0 +1,121 @@
+package fxprocessmanager.timeline;
+
+import fxprocessmanager.process.Process;
+import fxprocessmanager.process.ProcessEventType;
+import fxprocessmanager.process.ProcessInstance;
+import fxprocessmanager.process.ProcessPriority;
+import fxprocessmanager.process.ProcessState;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TimelineStoreTest {
+    private static final ProcessEventType[] transitions = {
+        ProcessEventType.ACTIVATE, ProcessEventType.DISPATCH, ProcessEventType.PREEMPT, ProcessEventType.PAUSE
+    };
+
+    private static ProcessInstance[] instances(int count) {
+        Process process = new Process("p");
+        ProcessInstance[] instances = new ProcessInstance[count + 1];
+        for (int pid = 1; pid <= count; pid++) {
+            instances[pid] = new ProcessInstance(process, pid, ProcessPriority.NORMAL, 150, 20);
+        }
+        return instances;
+    }
+
+    private static List<String> query(TimelineStore store, long from, long to, int minPid, int maxPid, long now) {
+        List<String> segments = new ArrayList<>();
+        store.query(from, to, minPid, maxPid, now, (pid, state, start, end) -> segments.add(pid + " " + state + " " + start + " " + end));
+        Collections.sort(segments);
+        return segments;
+    }
+
+    @Test
+    public void pidRangeQueriesMatchFullScan() {
+        TimelineStore store = new TimelineStore();
+        ProcessInstance[] instances = instances(300);
+        Random random = new Random(3);
+        for (long tick = 1; tick <= 40000; tick++) {
+            int pid = 1 + random.nextInt(300);
+            store.onEvent(transitions[random.nextInt(transitions.length)], tick, instances[pid]);
+        }
+        assertTrue(store.size() > 4 * 4096);
+
+        List<String> all = query(store, 0, Long.MAX_VALUE, 1, 0xffff, 40000);
+        for (int round = 0; round < 50; round++) {
+            long from = random.nextInt(40000);
+            long to = from + 1 + random.nextInt(5000);
+            int minPid = 1 + random.nextInt(300);
+            int maxPid = minPid + random.nextInt(20);
+            List<String> expected = new ArrayList<>();
+            for (String segment : all) {
+                String[] parts = segment.split(" ");
+                int pid = Integer.parseInt(parts[0]);
+                long start = Long.parseLong(parts[2]);
+                long end = Long.parseLong(parts[3]);
+                boolean open = end == 40000 && start <= 40000;
+                if (pid >= minPid && pid <= maxPid && start < to && (end > from || open && end >= from)) {
+                    expected.add(segment);
+                }
+            }
+            assertEquals(expected, query(store, from, to, minPid, maxPid, 40000));
+        }
+    }
+
+    @Test
+    public void retentionEvictsOldestChunksBySize() {
+        TimelineStore store = new TimelineStore(2 * 4096, Long.MAX_VALUE);
+        ProcessInstance[] instances = instances(1);
+        for (long tick = 1; tick <= 5 * 4096; tick++) {
+            store.onEvent(transitions[(int) (tick & 1)], tick, instances[1]);
+        }
+
+        assertTrue(store.size() <= 2 * 4096 + 4096);
+        assertEquals(5 * 4096 - 1, store.size() + store.getEvicted());
+        List<String> kept = query(store, 0, Long.MAX_VALUE, 1, 1, store.getLastTick());
+        assertTrue(Long.parseLong(kept.get(0).split(" ")[2]) > 4096);
+    }
+
+    @Test
+    public void retentionEvictsChunksOlderThanMaxAge() {
+        TimelineStore store = new TimelineStore(Long.MAX_VALUE, 10000);
+        ProcessInstance[] instances = instances(1);
+        for (long tick = 1; tick <= 3 * 4096; tick++) {
+            store.onEvent(transitions[(int) (tick & 1)], tick, instances[1]);
+        }
+        assertEquals(0, store.getEvicted());
+
+        store.onEvent(ProcessEventType.ACTIVATE, 40000, instances[1]);
+        assertEquals(2 * 4096, store.getEvicted());
+        assertEquals(3 * 4096 - 2 * 4096, store.size());
+    }
+
+    @Test
+    public void visitorRunsWithoutHoldingTheStore() throws InterruptedException {
+        TimelineStore store = new TimelineStore();
+        ProcessInstance[] instances = instances(2);
+        store.onEvent(ProcessEventType.DISPATCH, 1, instances[1]);
+        store.onEvent(ProcessEventType.PREEMPT, 5, instances[1]);
+
+        List<ProcessState> seen = new ArrayList<>();
+        store.query(0, 10, 1, 2, 10, (pid, state, start, end) -> {
+            Thread writer = new Thread(() -> store.onEvent(ProcessEventType.DISPATCH, 6, instances[2]));
+            writer.start();
+            try {
+                writer.join(5000);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            assertTrue(!writer.isAlive());
+            seen.add(state);
+        });
+
+        assertEquals(2, seen.size());
+        assertEquals(ProcessState.EXECUTING, seen.get(0));
+        assertEquals(2, store.getHighestPID());
+    }
+}